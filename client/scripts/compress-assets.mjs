@@ -0,0 +1,42 @@
+// Writes Brotli (.br) and gzip (.gz) siblings for text assets in dist/ so the server can hand
+// out precompressed bytes instead of compressing on every request.
+import { readdir, readFile, stat, writeFile } from 'node:fs/promises'
+import { join } from 'node:path'
+import { brotliCompressSync, constants, gzipSync } from 'node:zlib'
+
+const root = process.argv[2] ?? 'dist'
+const COMPRESSIBLE = /\.(js|mjs|css|html|svg|json|txt|xml|map|ico|webmanifest)$/
+const MIN_SIZE = 1024
+
+async function* files(dir) {
+  for (const entry of await readdir(dir, { withFileTypes: true })) {
+    const path = join(dir, entry.name)
+    if (entry.isDirectory()) {
+      yield* files(path)
+    } else if (COMPRESSIBLE.test(entry.name)) {
+      yield path
+    }
+  }
+}
+
+let original = 0
+let brotli = 0
+let count = 0
+for await (const path of files(root)) {
+  if ((await stat(path)).size < MIN_SIZE) continue
+  const source = await readFile(path)
+  const br = brotliCompressSync(source, {
+    params: {
+      [constants.BROTLI_PARAM_QUALITY]: constants.BROTLI_MAX_QUALITY,
+      [constants.BROTLI_PARAM_SIZE_HINT]: source.length,
+    },
+  })
+  const gz = gzipSync(source, { level: 9 })
+  // Only keep an encoding when it actually saves bytes
+  if (br.length < source.length) await writeFile(`${path}.br`, br)
+  if (gz.length < source.length) await writeFile(`${path}.gz`, gz)
+  original += source.length
+  brotli += Math.min(br.length, source.length)
+  count++
+}
+console.log(`compress-assets: ${count} files, ${original} -> ${brotli} bytes with brotli`)
@@ -1,5 +1,6 @@
 package com.synapse.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -8,12 +9,16 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 public class AiConfig {
 
     // Bounded executor for AI streaming tasks to avoid unbounded thread creation.
+    // Queueing and fairness live in AiStreamScheduler, which only hands over work while a thread is
+    // free; core == max so every slot it counts is a real thread, and idle threads still time out.
     @Bean(name = "aiExecutor")
-    public ThreadPoolTaskExecutor aiExecutor() {
+    public ThreadPoolTaskExecutor aiExecutor(@Value("${ai.scheduler.max-concurrent:16}") int maxConcurrent) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(4);
-        executor.setMaxPoolSize(16);
-        executor.setQueueCapacity(100);
+        executor.setCorePoolSize(maxConcurrent);
+        executor.setMaxPoolSize(maxConcurrent);
+        executor.setAllowCoreThreadTimeOut(true);
+        // Covers the short window between a task finishing and its thread returning to the pool
+        executor.setQueueCapacity(maxConcurrent);
         executor.setThreadNamePrefix("ai-");
         executor.initialize();
         return executor;
@@ -0,0 +1,22 @@
+package com.synapse.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class DownloadCacheConfig {
+
+    // Copies missed objects from MinIO to the local download cache without holding request threads.
+    @Bean(name = "downloadCacheExecutor")
+    public ThreadPoolTaskExecutor downloadCacheExecutor(@Value("${download.cache.workers:2}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers * 50);
+        executor.setThreadNamePrefix("download-cache-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,52 @@
+package com.synapse.config;
+
+import com.synapse.service.InMemoryMetricsSnapshotStore;
+import com.synapse.service.MetricsSnapshotStore;
+import com.synapse.service.RedisMetricsSnapshotStore;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@Configuration
+public class MetricsConfig {
+
+    // One refresher per cluster, elected through Redis, when Redis is available
+    @Bean
+    @ConditionalOnProperty(name = "metrics.business.redis.enabled", havingValue = "true")
+    public MetricsSnapshotStore redisMetricsSnapshotStore(StringRedisTemplate redis) {
+        return new RedisMetricsSnapshotStore(redis);
+    }
+
+    // Every instance refreshes its own snapshot otherwise (dev, tests, single-node deployments)
+    @Bean
+    @ConditionalOnProperty(name = "metrics.business.redis.enabled", havingValue = "false", matchIfMissing = true)
+    public MetricsSnapshotStore inMemoryMetricsSnapshotStore() {
+        return new InMemoryMetricsSnapshotStore();
+    }
+
+    // Boot 3.2 does not register the aspect itself; it times every method of the @Timed service classes
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    // Wraps after initialisation, so the cache manager is fully built before it is decorated
+    @Bean
+    public static BeanPostProcessor timedCacheManagerPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof CacheManager cacheManager && !(bean instanceof TimedCacheManager)) {
+                    return new TimedCacheManager(cacheManager, registry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,13 +1,17 @@
 package com.synapse.config;
 
+import com.synapse.util.MinioMultipartClient;
 import io.minio.BucketExistsArgs;
 import io.minio.MakeBucketArgs;
+import io.minio.MinioAsyncClient;
 import io.minio.MinioClient;
 import io.minio.SetBucketPolicyArgs;
+import java.util.concurrent.ThreadPoolExecutor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Slf4j
 @Configuration
@@ -36,6 +40,28 @@ public class MinioConfig {
         return client;
     }
 
+    @Bean
+    public MinioMultipartClient minioMultipartClient() {
+        return new MinioMultipartClient(MinioAsyncClient.builder()
+                .endpoint(endpoint)
+                .credentials(accessKey, secretKey)
+                .build());
+    }
+
+    // Shared by all multipart uploads; each upload caps its own in-flight parts, and a full queue
+    // makes the reading thread send the part itself instead of failing.
+    @Bean(name = "minioUploadExecutor")
+    public ThreadPoolTaskExecutor minioUploadExecutor(@Value("${minio.multipart.workers:8}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers * 4);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("minio-upload-");
+        executor.initialize();
+        return executor;
+    }
+
     private void initBucket(MinioClient client) {
         try {
             boolean exists = client.bucketExists(
@@ -0,0 +1,27 @@
+package com.synapse.config;
+
+import com.synapse.service.InMemoryRankingIndex;
+import com.synapse.service.RankingIndex;
+import com.synapse.service.RedisRankingIndex;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@Configuration
+public class RankingConfig {
+
+    // Shared hot rankings across instances when Redis is available
+    @Bean
+    @ConditionalOnProperty(name = "ranking.redis.enabled", havingValue = "true")
+    public RankingIndex redisRankingIndex(StringRedisTemplate redis) {
+        return new RedisRankingIndex(redis);
+    }
+
+    // Per-instance rankings otherwise (dev, tests, single-node deployments)
+    @Bean
+    @ConditionalOnProperty(name = "ranking.redis.enabled", havingValue = "false", matchIfMissing = true)
+    public RankingIndex inMemoryRankingIndex() {
+        return new InMemoryRankingIndex();
+    }
+}
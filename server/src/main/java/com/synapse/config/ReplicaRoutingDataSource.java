@@ -0,0 +1,224 @@
+package com.synapse.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Sends connections of read-only transactions to a replica and everything else to the primary.
+ *
+ * Replicas take turns, skipping any that failed their last health check or lag more than
+ * {@code maxLag} behind the primary; with none left, reads fall back to the primary. A user whose
+ * write transaction committed less than {@code readYourWritesWindow} ago reads from the primary too,
+ * so they see their own changes. That window is tracked per instance, keyed by the authenticated
+ * user of the current request.
+ *
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the
+ * read-only flag is only known once the transaction has begun, after JPA asked for its connection.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final long readYourWritesNanos;
+    private final Map<Long, Long> recentWriters = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Counter> routed = new HashMap<>();
+
+    private static final class Replica {
+        final String name;
+        final DataSource dataSource;
+        volatile boolean healthy;
+        volatile double lagSeconds = Double.NaN;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    /**
+     * @param lagQuery query returning a replica's lag in seconds; when blank, MySQL replicas are asked
+     *                 via {@code SHOW REPLICA STATUS} and other databases only have to be reachable
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, String lagQuery,
+                                    Duration maxLag, Duration readYourWritesWindow, MeterRegistry registry) {
+        this.primary = primary;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.maxLag = maxLag;
+        this.readYourWritesNanos = readYourWritesWindow.toNanos();
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        targets.put(PRIMARY, primary);
+        routed.put(PRIMARY, routedCounter(registry, PRIMARY));
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource);
+            this.replicas.add(replica);
+            targets.put(name, dataSource);
+            routed.put(name, routedCounter(registry, name));
+            Gauge.builder("synapse.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .tag("pool", name)
+                    .description("Replication lag of a read replica as of its last check (NaN when unreachable)")
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder("synapse.datasource.replica.available", replica, r -> r.healthy ? 1 : 0)
+                    .tag("pool", name)
+                    .description("Whether a read replica currently receives read-only transactions")
+                    .register(registry);
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    private static Counter routedCounter(MeterRegistry registry, String pool) {
+        return Counter.builder("synapse.datasource.connections.routed")
+                .tag("pool", pool)
+                .description("Transaction connections handed out per pool by the read/write router")
+                .register(registry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String key = route();
+        routed.get(key).increment();
+        return key;
+    }
+
+    private String route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriter();
+            return PRIMARY;
+        }
+        Long userId = currentUserId();
+        if (userId != null && wroteRecently(userId)) {
+            return PRIMARY;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    // A write transaction pins its user to the primary once it commits
+    private void rememberWriter() {
+        Long userId = currentUserId();
+        if (userId == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(userId, System.nanoTime() + readYourWritesNanos);
+            }
+        });
+    }
+
+    private boolean wroteRecently(Long userId) {
+        Long until = recentWriters.get(userId);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        recentWriters.remove(userId, until);
+        return false;
+    }
+
+    // Set by JwtAuthenticationFilter for authenticated requests
+    private static Long currentUserId() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        Object userId = request == null ? null : request.getAttribute("userId", RequestAttributes.SCOPE_REQUEST);
+        return userId instanceof Long id ? id : null;
+    }
+
+    /** Re-measures every replica's lag; replicas that are unreachable or too far behind stop taking reads. */
+    @Scheduled(fixedDelayString = "${datasource.replicas.check-interval-ms:2000}")
+    public void checkReplicas() {
+        long now = System.nanoTime();
+        recentWriters.values().removeIf(until -> until - now <= 0);
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                replica.lagSeconds = lagSeconds(connection);
+            } catch (SQLException | RuntimeException e) {
+                replica.lagSeconds = Double.NaN;
+                log.warn("Replica {} failed its health check: {}", replica.name, e.getMessage());
+            }
+            boolean healthy = replica.lagSeconds <= maxLag.toSeconds();
+            if (healthy != replica.healthy) {
+                log.info("Replica {} {} (lag {}s)", replica.name, healthy ? "takes reads" : "is skipped",
+                        replica.lagSeconds);
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    private double lagSeconds(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (lagQuery != null) {
+                try (ResultSet result = statement.executeQuery(lagQuery)) {
+                    return result.next() ? lag(result.getObject(1)) : Double.NaN;
+                }
+            }
+            String product = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+            if (!product.contains("mysql")) {
+                return 0;
+            }
+            // A server that is not replicating returns no row: a stand-in that is always current
+            try (ResultSet result = statement.executeQuery("SHOW REPLICA STATUS")) {
+                return result.next() ? lag(result.getObject("Seconds_Behind_Source")) : 0;
+            }
+        }
+    }
+
+    // NULL lag means replication is stopped
+    private static double lag(Object value) {
+        return value instanceof Number number ? number.doubleValue() : Double.NaN;
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable pool) {
+                pool.close();
+            }
+        }
+        if (primary instanceof Closeable pool) {
+            pool.close();
+        }
+    }
+}
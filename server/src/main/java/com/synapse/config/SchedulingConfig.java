@@ -0,0 +1,30 @@
+package com.synapse.config;
+
+import com.synapse.service.InMemoryJobLease;
+import com.synapse.service.JobLease;
+import com.synapse.service.RedisJobLease;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Enables @Scheduled background jobs (e.g. storage garbage collection).
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    // Jobs that must run on one node at a time take their lease in Redis when it is available
+    @Bean
+    @ConditionalOnProperty(name = "scheduling.lease.redis.enabled", havingValue = "true")
+    public JobLease redisJobLease(StringRedisTemplate redis) {
+        return new RedisJobLease(redis);
+    }
+
+    // A single node needs no coordination (dev, tests, single-node deployments)
+    @Bean
+    @ConditionalOnProperty(name = "scheduling.lease.redis.enabled", havingValue = "false", matchIfMissing = true)
+    public JobLease inMemoryJobLease() {
+        return new InMemoryJobLease();
+    }
+}
@@ -0,0 +1,69 @@
+package com.synapse.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.net.URI;
+import java.util.List;
+import javax.cache.CacheManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate second-level cache for the reference entities {@link com.synapse.entity.User} and
+ * {@link com.synapse.entity.Tag}: entities by id, ids by natural id (username, tag name) and a few
+ * query results, held in Caffeine regions sized in {@code hibernate-cache.conf}.
+ *
+ * Each application context gets its own cache manager rather than the provider's shared default, so
+ * two contexts in one JVM (test contexts on different databases) never see each other's rows. Hit
+ * and miss counts are published by Spring Boot's Hibernate metrics ({@code hibernate.second.level.cache.*},
+ * {@code hibernate.cache.natural.id.*}, {@code hibernate.cache.query.*}); the ratio per region is
+ * added as {@code synapse.hibernate.cache.hit.ratio}.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    static final List<String> REGIONS = List.of(
+            "users", "users-by-username", "user-queries", "tags", "tags-by-name");
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        return new CaffeineCachingProvider().getCacheManager(
+                URI.create("classpath:hibernate-cache.conf"), getClass().getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    @Bean
+    public SmartInitializingSingleton hibernateCacheHitRatios(EntityManagerFactory entityManagerFactory,
+                                                               MeterRegistry registry) {
+        return () -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for (String region : REGIONS) {
+                Gauge.builder("synapse.hibernate.cache.hit.ratio", statistics, s -> hitRatio(s, region))
+                        .tag("region", region)
+                        .description("Share of second-level cache lookups in a region that were hits (NaN before any)")
+                        .register(registry);
+            }
+        };
+    }
+
+    private static double hitRatio(Statistics statistics, String region) {
+        CacheRegionStatistics counts = statistics.getCacheRegionStatistics(region);
+        if (counts == null) {
+            return Double.NaN;
+        }
+        long lookups = counts.getHitCount() + counts.getMissCount();
+        return lookups == 0 ? Double.NaN : (double) counts.getHitCount() / lookups;
+    }
+}
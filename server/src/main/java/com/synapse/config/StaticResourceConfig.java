@@ -6,6 +6,8 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.PathResourceResolver;
 
 @Configuration
 public class StaticResourceConfig implements WebMvcConfigurer {
@@ -17,14 +19,22 @@ public class StaticResourceConfig implements WebMvcConfigurer {
                 .addResourceLocations("file:./uploads/")
                 .setCacheControl(CacheControl.maxAge(7, TimeUnit.DAYS).cachePublic());
 
-        // Static assets from classpath (JS, CSS, images) - cache for 1 year
+        // Static assets from classpath (JS, CSS, images) - cache for 1 year.
+        // The frontend build writes .br/.gz siblings; the encoded resolver serves the best one the
+        // client accepts with Content-Encoding and Vary set, so nothing is compressed at runtime.
         registry.addResourceHandler("/assets/**", "/static/**")
                 .addResourceLocations("classpath:/static/assets/", "classpath:/static/")
-                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic());
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new PathResourceResolver());
 
         // HTML files - no cache to ensure updates are visible
         registry.addResourceHandler("/*.html")
                 .addResourceLocations("classpath:/static/")
-                .setCacheControl(CacheControl.noCache());
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new PathResourceResolver());
     }
 }
@@ -0,0 +1,155 @@
+package com.synapse.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Times every operation on the caches of a {@link CacheManager}, per cache name, into
+ * {@code synapse.cache.operations}; gets are tagged hit or miss, so the same timer gives the hit ratio.
+ */
+public class TimedCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final MeterRegistry registry;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public TimedCacheManager(CacheManager delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        return target == null ? null : caches.computeIfAbsent(name, key -> new TimedCache(target, registry));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    static final class TimedCache implements Cache {
+
+        private final Cache delegate;
+        private final Timer hits;
+        private final Timer misses;
+        private final Timer puts;
+        private final Timer evictions;
+        private final Timer clears;
+
+        TimedCache(Cache delegate, MeterRegistry registry) {
+            this.delegate = delegate;
+            this.hits = timer(registry, delegate.getName(), "get", "hit");
+            this.misses = timer(registry, delegate.getName(), "get", "miss");
+            this.puts = timer(registry, delegate.getName(), "put", "none");
+            this.evictions = timer(registry, delegate.getName(), "evict", "none");
+            this.clears = timer(registry, delegate.getName(), "clear", "none");
+        }
+
+        private static Timer timer(MeterRegistry registry, String cache, String operation, String result) {
+            return Timer.builder("synapse.cache.operations")
+                    .tag("cache", cache)
+                    .tag("operation", operation)
+                    .tag("result", result)
+                    .description("Cache round trips by cache, operation and outcome")
+                    .register(registry);
+        }
+
+        private void recordGet(boolean hit, long start) {
+            (hit ? hits : misses).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return delegate.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            long start = System.nanoTime();
+            ValueWrapper value = delegate.get(key);
+            recordGet(value != null, start);
+            return value;
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            long start = System.nanoTime();
+            T value = delegate.get(key, type);
+            recordGet(value != null, start);
+            return value;
+        }
+
+        // The loader runs inside the delegate, so a miss here includes computing the value
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            boolean[] loaded = new boolean[1];
+            long start = System.nanoTime();
+            T value = delegate.get(key, () -> {
+                loaded[0] = true;
+                return valueLoader.call();
+            });
+            recordGet(!loaded[0], start);
+            return value;
+        }
+
+        @Override
+        public CompletableFuture<?> retrieve(Object key) {
+            return delegate.retrieve(key);
+        }
+
+        @Override
+        public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+            return delegate.retrieve(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            puts.record(() -> delegate.put(key, value));
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return puts.record(() -> delegate.putIfAbsent(key, value));
+        }
+
+        @Override
+        public void evict(Object key) {
+            evictions.record(() -> delegate.evict(key));
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            return Boolean.TRUE.equals(evictions.record(() -> delegate.evictIfPresent(key)));
+        }
+
+        @Override
+        public void clear() {
+            clears.record(delegate::clear);
+        }
+
+        @Override
+        public boolean invalidate() {
+            return Boolean.TRUE.equals(clears.record(delegate::invalidate));
+        }
+    }
+}
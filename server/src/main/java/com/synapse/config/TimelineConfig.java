@@ -0,0 +1,22 @@
+package com.synapse.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class TimelineConfig {
+
+    // Pushes new posts into followers' home timelines after the creating request has committed.
+    @Bean(name = "timelineExecutor")
+    public ThreadPoolTaskExecutor timelineExecutor(@Value("${timeline.workers:2}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers * 500);
+        executor.setThreadNamePrefix("timeline-");
+        executor.initialize();
+        return executor;
+    }
+}
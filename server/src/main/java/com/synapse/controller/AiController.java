@@ -3,13 +3,17 @@ package com.synapse.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.synapse.dto.AiChatRequest;
 import com.synapse.dto.AiStreamChunk;
+import com.synapse.service.AiCompletionCache;
 import com.synapse.service.AiService;
+import com.synapse.service.AiStreamFramer;
+import com.synapse.service.AiStreamScheduler;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -19,7 +23,7 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.UUID;
-import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/api/ai")
@@ -29,11 +33,19 @@ public class AiController {
 
     private final AiService aiService;
     private final ObjectMapper objectMapper;
-    private final ThreadPoolTaskExecutor aiExecutor;
+    private final AiStreamScheduler streamScheduler;
+    private final AiCompletionCache completionCache;
+
+    @Value("${ai.stream.frame-max-chars:256}")
+    private int frameMaxChars;
+
+    @Value("${ai.stream.frame-max-delay-ms:50}")
+    private long frameMaxDelayMs;
 
     @PostMapping(value = "/chat", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     @Operation(summary = "AI chat", description = "Stream AI chat responses via SSE")
-    public ResponseBodyEmitter chat(@Valid @RequestBody AiChatRequest request) {
+    public ResponseBodyEmitter chat(@Valid @RequestBody AiChatRequest request, HttpServletRequest httpRequest) {
+        Long userId = (Long) httpRequest.getAttribute("userId");
         ResponseBodyEmitter emitter = new ResponseBodyEmitter(60000L);
         String chatId = UUID.randomUUID().toString();
 
@@ -52,27 +64,47 @@ public class AiController {
             return emitter;
         }
 
-        // Submit to bounded executor, and cancel if client disconnects or times out.
-        Future<?> future = aiExecutor.submit(() -> aiService.streamChat(
-            request,
-            chunk -> {
-                chunk.setId(chatId);
-                try {
-                    sendSseData(emitter, chunk);
-                } catch (Exception e) {
-                    emitter.completeWithError(e);
-                }
-            },
-            () -> {
-                try {
-                    sendSseDone(emitter);
-                } catch (Exception ignored) {
-                }
-                emitter.complete();
+        AiStreamFramer framer = AiStreamFramer.forMode(request.getStreamMode(), chunk -> {
+            chunk.setId(chatId);
+            try {
+                sendSseData(emitter, chunk);
+            } catch (Exception e) {
+                emitter.completeWithError(e);
+            }
+        }, frameMaxChars, frameMaxDelayMs);
+
+        Runnable onComplete = () -> {
+            framer.finish();
+            try {
+                sendSseDone(emitter);
+            } catch (Exception ignored) {
             }
-        ));
-        emitter.onCompletion(() -> future.cancel(true));
-        emitter.onTimeout(() -> future.cancel(true));
+            emitter.complete();
+        };
+
+        // Identical prompts are answered from the completion cache or share one in-flight upstream call
+        String cacheKey = completionCache.keyFor(aiService.getModel(), request.getMessages());
+        AiCompletionCache.Subscription subscription = completionCache.open(cacheKey, framer, onComplete);
+        if (subscription.isLeader()) {
+            AiCompletionCache.SharedStream stream = subscription.stream();
+            // Only real upstream calls take a scheduler slot; cancelled once every subscriber is gone.
+            Consumer<AiStreamChunk> publish = streamScheduler.timingFirstToken(stream::publish);
+            AiStreamScheduler.Ticket ticket = streamScheduler.submit(userId,
+                    () -> aiService.streamChat(request, publish, stream::complete),
+                    retryAfterMs -> {
+                        stream.publish(AiStreamChunk.builder()
+                                .type("error")
+                                .delta("Too many AI requests, please retry later")
+                                .content("Too many AI requests, please retry later")
+                                .retryAfterMs(retryAfterMs)
+                                .timestamp(System.currentTimeMillis())
+                                .build());
+                        stream.complete();
+                    });
+            stream.attachUpstream(ticket::cancel);
+        }
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
 
         return emitter;
     }
@@ -80,6 +112,10 @@ public class AiController {
     private void sendSseData(ResponseBodyEmitter emitter, AiStreamChunk chunk) throws IOException {
         String json = objectMapper.writeValueAsString(chunk);
         String sse = "data: " + json + "\n\n";
+        if (chunk.getRetryAfterMs() != null) {
+            // Standard SSE reconnection hint, for EventSource-style clients
+            sse = "retry: " + chunk.getRetryAfterMs() + "\n" + sse;
+        }
         emitter.send(sse.getBytes(StandardCharsets.UTF_8));
     }
 
@@ -1,33 +1,49 @@
 package com.synapse.controller;
 
 import com.synapse.dto.ApiResponse;
+import com.synapse.dto.ConfirmUploadRequest;
+import com.synapse.dto.UploadTicketDto;
+import com.synapse.dto.UploadTicketRequest;
+import com.synapse.service.DownloadCache;
+import com.synapse.service.ImageVariantService;
+import com.synapse.service.StoredObjectService;
 import com.synapse.util.FileUtil;
 import io.minio.GetObjectArgs;
 import io.minio.MinioClient;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api")
@@ -35,8 +51,17 @@ import java.util.Map;
 @Tag(name = "Files", description = "File upload and download")
 public class FileController {
 
+    // Request attributes Tomcat's NIO connector uses to send a file with sendfile(2)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final FileUtil fileUtil;
     private final MinioClient minioClient;
+    private final ImageVariantService imageVariantService;
+    private final StoredObjectService storedObjectService;
+    private final DownloadCache downloadCache;
 
     @Value("${minio.bucket}")
     private String bucket;
@@ -66,7 +91,7 @@ public class FileController {
         }
 
         try {
-            String objectName = fileUtil.saveFile(file);
+            String objectName = storedObjectService.saveImage(file);
             String url = fileUtil.getPublicUrl(objectName);
 
             return ResponseEntity.ok(ApiResponse.success(Map.of(
@@ -107,7 +132,7 @@ public class FileController {
         }
 
         try {
-            String objectName = fileUtil.saveAttachment(file);
+            String objectName = storedObjectService.saveAttachment(file);
             String url = fileUtil.getPublicUrl(objectName);
 
             return ResponseEntity.ok(ApiResponse.success(Map.of(
@@ -126,44 +151,305 @@ public class FileController {
         }
     }
 
+    @PostMapping("/upload/ticket")
+    @Operation(summary = "Create upload ticket",
+            description = "Returns a presigned form for uploading an image or attachment directly to storage")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Upload ticket created"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "401",
+            description = "Not authenticated"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "File type or size not allowed")
+    })
+    public ResponseEntity<ApiResponse<UploadTicketDto>> createUploadTicket(
+            @Valid @RequestBody UploadTicketRequest ticketRequest,
+            HttpServletRequest request) {
+
+        Long userId = (Long) request.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(401)
+                    .body(ApiResponse.error("Authentication required"));
+        }
+
+        try {
+            UploadTicketDto ticket = fileUtil.createUploadTicket(
+                    kindOf(ticketRequest.getKind()),
+                    ticketRequest.getFilename(),
+                    ticketRequest.getContentType(),
+                    ticketRequest.getSize(),
+                    userId);
+            return ResponseEntity.ok(ApiResponse.success(ticket));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Failed to create upload ticket"));
+        }
+    }
+
+    @PostMapping("/upload/confirm")
+    @Operation(summary = "Confirm upload",
+            description = "Validates an object uploaded with a ticket and returns the same payload as the "
+                    + "multipart upload endpoints")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Upload confirmed"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "401",
+            description = "Not authenticated"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Uploaded file missing or invalid")
+    })
+    public ResponseEntity<ApiResponse<Map<String, Object>>> confirmUpload(
+            @Valid @RequestBody ConfirmUploadRequest confirmRequest,
+            HttpServletRequest request) {
+
+        Long userId = (Long) request.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(401)
+                    .body(ApiResponse.error("Authentication required"));
+        }
+
+        String kind = kindOf(confirmRequest.getKind());
+        String objectName = confirmRequest.getObjectName();
+        try {
+            StatObjectResponse stat = fileUtil.confirmUpload(kind, objectName, userId);
+            String url = fileUtil.getPublicUrl(objectName);
+            if (FileUtil.KIND_ATTACHMENT.equals(kind)) {
+                String filename = confirmRequest.getFilename() != null
+                        ? confirmRequest.getFilename()
+                        : objectName;
+                return ResponseEntity.ok(ApiResponse.success(Map.of(
+                        "filename", filename,
+                        "storedName", objectName,
+                        "url", url,
+                        "fileSize", stat.size(),
+                        "contentType", stat.contentType()
+                )));
+            }
+            imageVariantService.enqueue(objectName);
+            return ResponseEntity.ok(ApiResponse.success(Map.of(
+                    "filename", objectName,
+                    "url", url
+            )));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Failed to confirm upload"));
+        }
+    }
+
+    private static String kindOf(String kind) {
+        return kind != null ? kind : FileUtil.KIND_IMAGE;
+    }
+
     @GetMapping("/download/{storedName}")
-    @Operation(summary = "Download file", description = "Downloads a file from MinIO storage")
+    @Operation(summary = "Download file",
+            description = "Downloads a file from MinIO storage. Supports single byte ranges and conditional GET.")
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
             responseCode = "200",
             description = "File downloaded successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "206",
+            description = "Requested byte range"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "304",
+            description = "Not modified"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
             responseCode = "404",
-            description = "File not found")
+            description = "File not found"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "416",
+            description = "Range not satisfiable")
     })
     public ResponseEntity<Resource> downloadFile(
             @Parameter(description = "Stored file name in MinIO", required = true)
             @PathVariable String storedName,
             @Parameter(description = "Optional filename for download")
-            @RequestParam(required = false) String filename) {
+            @RequestParam(required = false) String filename,
+            HttpServletRequest request) {
 
+        // Metadata first: conditional requests are answered without opening the object body
+        StatObjectResponse stat;
         try {
-            InputStream stream = minioClient.getObject(
-                    GetObjectArgs.builder()
+            stat = minioClient.statObject(
+                    StatObjectArgs.builder()
                             .bucket(bucket)
                             .object(storedName)
                             .build());
+        } catch (Exception e) {
+            return ResponseEntity.notFound().build();
+        }
+
+        long size = stat.size();
+        String etag = "\"" + stat.etag() + "\"";
+        long lastModified = stat.lastModified().toInstant().toEpochMilli();
+
+        if (isNotModified(request, etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .lastModified(lastModified)
+                    .build();
+        }
+
+        HttpRange range = requestedRange(request, etag, lastModified);
+        long offset = 0;
+        long length = size;
+        if (range != null) {
+            try {
+                offset = range.getRangeStart(size);
+                length = range.getRangeEnd(size) - offset + 1;
+            } catch (IllegalArgumentException e) {
+                length = 0;
+            }
+            if (offset >= size || length <= 0) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                        .build();
+            }
+        }
+
+        String downloadName = (filename != null && !filename.isEmpty())
+                ? filename
+                : storedName;
+        String encodedFilename = URLEncoder.encode(downloadName, StandardCharsets.UTF_8)
+                .replace("+", "%20");
+
+        ResponseEntity.BodyBuilder response = ResponseEntity
+                .status(range != null ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(length)
+                .eTag(etag)
+                .lastModified(lastModified)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(
+                    HttpHeaders.CONTENT_DISPOSITION,
+                    "attachment; filename=\"" + encodedFilename
+                        + "\"; filename*=UTF-8''" + encodedFilename);
+        if (range != null) {
+            response.header(HttpHeaders.CONTENT_RANGE,
+                    "bytes " + offset + "-" + (offset + length - 1) + "/" + size);
+        }
+        if ("HEAD".equalsIgnoreCase(request.getMethod())) {
+            return response.build();
+        }
+
+        Optional<Path> cached = downloadCache.lookup(storedName, stat.etag(), size);
+        if (cached.isPresent()) {
+            ResponseEntity<Resource> fromDisk = serveCached(cached.get(), offset, length, request, response);
+            if (fromDisk != null) {
+                return fromDisk;
+            }
+        }
+
+        return serveFromMinio(storedName, range != null, offset, length, response);
+    }
 
-            String downloadName = (filename != null && !filename.isEmpty())
-                    ? filename
-                    : storedName;
-            String encodedFilename = URLEncoder.encode(downloadName, StandardCharsets.UTF_8)
-                    .replace("+", "%20");
-
-            return ResponseEntity.ok()
-                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                    .header(
-                        HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=\"" + encodedFilename
-                            + "\"; filename*=UTF-8''" + encodedFilename)
-                    .body(new InputStreamResource(stream));
+    private ResponseEntity<Resource> serveFromMinio(String storedName, boolean partial, long offset, long length,
+                                                    ResponseEntity.BodyBuilder response) {
+        try {
+            GetObjectArgs.Builder args = GetObjectArgs.builder()
+                    .bucket(bucket)
+                    .object(storedName);
+            if (partial) {
+                args.offset(offset).length(length);
+            }
+            InputStream stream = minioClient.getObject(args.build());
+            return response.body(new InputStreamResource(stream));
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
     }
+
+    /**
+     * Serves a range of a locally cached object. Under Tomcat the body is left to the connector, which
+     * sends it straight from the page cache with sendfile; elsewhere the file is streamed normally.
+     * Returns null if the file vanished so the caller can fall back to MinIO.
+     */
+    private ResponseEntity<Resource> serveCached(Path file, long offset, long length,
+                                                 HttpServletRequest request,
+                                                 ResponseEntity.BodyBuilder response) {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, offset);
+            request.setAttribute(SENDFILE_END, offset + length);
+            downloadCache.recordServed(length);
+            return response.build();
+        }
+        try {
+            InputStream stream = DownloadCache.open(file, offset, length);
+            downloadCache.recordServed(length);
+            return response.body(new InputStreamResource(stream));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // If-None-Match takes precedence over If-Modified-Since (RFC 9110 13.2.2)
+    private static boolean isNotModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            return etagMatches(ifNoneMatch, etag);
+        }
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        // HTTP dates have second precision
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    /**
+     * Returns the single byte range to serve, or null for the whole object. Multi-range requests,
+     * malformed headers and stale If-Range validators fall back to a full 200 response.
+     */
+    private static HttpRange requestedRange(HttpServletRequest request, String etag, long lastModified) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null) {
+            boolean current = ifRange.startsWith("\"")
+                    ? ifRange.equals(etag)
+                    : dateHeader(request, HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+            if (!current) {
+                return null;
+            }
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean etagMatches(String header, String etag) {
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
 }
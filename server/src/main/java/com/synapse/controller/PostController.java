@@ -6,6 +6,7 @@ import com.synapse.dto.PostDto;
 import com.synapse.dto.UpdatePostRequest;
 import com.synapse.dto.VerifyPasswordRequest;
 import com.synapse.entity.PostType;
+import com.synapse.service.EntityTagService;
 import com.synapse.service.PostService;
 import com.synapse.service.LikeService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -18,6 +19,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -28,6 +31,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/posts")
@@ -37,11 +41,16 @@ public class PostController {
 
     private static final int MAX_PAGE_SIZE = 50;
 
+    // Responses differ per viewer and must be revalidated, but may be kept for If-None-Match
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final PostService postService;
     private final LikeService likeService;
+    private final EntityTagService entityTagService;
 
     @GetMapping
-    @Operation(summary = "Get posts", description = "Returns paginated posts, filterable by tag and type")
+    @Operation(summary = "Get posts",
+            description = "Returns paginated posts, filterable by tag and type, newest first or by hotness")
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
             responseCode = "200",
@@ -52,18 +61,31 @@ public class PostController {
             @Parameter(description = "Filter by post type") @RequestParam(required = false) PostType type,
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size (max 50)") @RequestParam(defaultValue = "10") int size,
-            HttpServletRequest request) {
+            @Parameter(description = "'hot' ranks by time-decayed engagement; ignored with a tag filter")
+            @RequestParam(required = false) String sort,
+            HttpServletRequest request,
+            WebRequest webRequest) {
         int safeSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
         Pageable pageable = PageRequest.of(page, safeSize);
         Long userId = (Long) request.getAttribute("userId");
-        Page<PostDto> posts = postService.getPosts(tag, type, pageable)
-                .map(dto -> {
-                    if (userId != null && dto.getUserState() != null) {
-                        dto.getUserState().setLiked(likeService.hasLikedPost(userId, dto.getId()));
-                    }
-                    return dto;
-                });
-        return ResponseEntity.ok(ApiResponse.success(posts));
+        if ("hot".equalsIgnoreCase(sort) && tag == null) {
+            // The ranking moves with every engagement, so there is nothing stable to validate against
+            Page<PostDto> hot = postService.getHotPosts(type, pageable).map(dto -> withLikedState(dto, userId));
+            return ResponseEntity.ok(ApiResponse.success(hot));
+        }
+        EntityTagService.FeedValidators validators = entityTagService.feedValidators(tag, type, pageable, userId);
+        if (webRequest.checkNotModified(validators.etag(), validators.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
+        Page<PostDto> posts = postService.getPosts(tag, type, pageable).map(dto -> withLikedState(dto, userId));
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(ApiResponse.success(posts));
+    }
+
+    private PostDto withLikedState(PostDto dto, Long userId) {
+        if (userId != null && dto.getUserState() != null) {
+            dto.getUserState().setLiked(likeService.hasLikedPost(userId, dto.getId()));
+        }
+        return dto;
     }
 
     @GetMapping("/search")
@@ -115,14 +137,19 @@ public class PostController {
             responseCode = "404",
             description = "Post not found")
     })
-    public ResponseEntity<ApiResponse<PostDto>> getPost(HttpServletRequest request, @PathVariable Long id) {
+    public ResponseEntity<ApiResponse<PostDto>> getPost(HttpServletRequest request, @PathVariable Long id,
+                                                        WebRequest webRequest) {
         try {
             Long userId = (Long) request.getAttribute("userId");
+            String etag = entityTagService.postTag(id, userId).orElse(null);
+            if (etag != null && webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+            }
             PostDto post = postService.getPost(id, userId);
             if (userId != null && post.getUserState() != null) {
                 post.getUserState().setLiked(likeService.hasLikedPost(userId, post.getId()));
             }
-            return ResponseEntity.ok(ApiResponse.success(post));
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(ApiResponse.success(post));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(404).body(ApiResponse.error(e.getMessage()));
         }
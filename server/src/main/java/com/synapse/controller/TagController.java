@@ -35,6 +35,20 @@ public class TagController {
         return ResponseEntity.ok(ApiResponse.success(tags));
     }
 
+    @GetMapping("/trending")
+    @Operation(summary = "Get trending tags",
+            description = "Returns tags ranked by recent, time-decayed engagement with their posts")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Tags retrieved successfully")
+    })
+    public ResponseEntity<ApiResponse<List<TagDto>>> getTrendingTags(
+            @Parameter(description = "Maximum number of tags to return") @RequestParam(defaultValue = "10") int limit) {
+        List<TagDto> tags = tagService.getTrendingTags(limit);
+        return ResponseEntity.ok(ApiResponse.success(tags));
+    }
+
     @GetMapping("/all")
     @Operation(summary = "Get all tags", description = "Returns all available tags")
     @ApiResponses(value = {
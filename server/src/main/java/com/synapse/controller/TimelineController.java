@@ -0,0 +1,60 @@
+package com.synapse.controller;
+
+import com.synapse.dto.ApiResponse;
+import com.synapse.dto.TimelinePageDto;
+import com.synapse.service.TimelineService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/timeline")
+@RequiredArgsConstructor
+@Tag(name = "Timeline", description = "Home timeline of followed users' posts")
+public class TimelineController {
+
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private final TimelineService timelineService;
+
+    @GetMapping
+    @Operation(summary = "Get home timeline",
+            description = "Returns posts by followed users and the current user, newest first, cursor-paginated")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Timeline retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "401",
+            description = "Not authenticated"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Invalid cursor")
+    })
+    public ResponseEntity<ApiResponse<TimelinePageDto>> getHomeTimeline(
+            HttpServletRequest request,
+            @Parameter(description = "Cursor from the previous page's nextCursor")
+            @RequestParam(required = false) String before,
+            @Parameter(description = "Page size (max 50)")
+            @RequestParam(defaultValue = "20") int size) {
+        Long userId = (Long) request.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
+        }
+
+        int safeSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        try {
+            return ResponseEntity.ok(ApiResponse.success(timelineService.getHomeTimeline(userId, before, safeSize)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.synapse.dto.ApiResponse;
 import com.synapse.dto.PostDto;
 import com.synapse.dto.UpdateProfileRequest;
 import com.synapse.dto.UserDto;
+import com.synapse.service.EntityTagService;
 import com.synapse.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,6 +16,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -23,6 +26,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/users")
@@ -32,7 +36,11 @@ public class UserController {
 
     private static final int MAX_PAGE_SIZE = 50;
 
+    // Clients may keep profiles and post lists but must revalidate them with If-None-Match
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final UserService userService;
+    private final EntityTagService entityTagService;
 
     @GetMapping("/{id}")
     @Operation(summary = "Get user by ID", description = "Returns user profile by ID")
@@ -45,10 +53,15 @@ public class UserController {
             description = "User not found")
     })
     public ResponseEntity<ApiResponse<UserDto>> getUser(
-            @Parameter(description = "User ID", required = true) @PathVariable Long id) {
+            @Parameter(description = "User ID", required = true) @PathVariable Long id,
+            WebRequest webRequest) {
         try {
+            String etag = entityTagService.userTag(id).orElse(null);
+            if (etag != null && webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+            }
             UserDto user = userService.getUser(id);
-            return ResponseEntity.ok(ApiResponse.success(user));
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(ApiResponse.success(user));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(404).body(ApiResponse.error(e.getMessage()));
         }
@@ -87,12 +100,18 @@ public class UserController {
     public ResponseEntity<ApiResponse<Page<PostDto>>> getUserPosts(
             @Parameter(description = "User ID", required = true) @PathVariable Long id,
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Page size (max 50)") @RequestParam(defaultValue = "10") int size) {
+            @Parameter(description = "Page size (max 50)") @RequestParam(defaultValue = "10") int size,
+            WebRequest webRequest) {
         try {
             int safeSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
             Pageable pageable = PageRequest.of(page, safeSize);
+            EntityTagService.FeedValidators validators =
+                    entityTagService.userPostsValidators(id, pageable).orElse(null);
+            if (validators != null && webRequest.checkNotModified(validators.etag(), validators.lastModified())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+            }
             Page<PostDto> posts = userService.getUserPosts(id, pageable);
-            return ResponseEntity.ok(ApiResponse.success(posts));
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(ApiResponse.success(posts));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(404).body(ApiResponse.error(e.getMessage()));
         }
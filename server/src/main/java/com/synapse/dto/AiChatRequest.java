@@ -1,6 +1,7 @@
 package com.synapse.dto;
 
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,6 +17,10 @@ public class AiChatRequest {
     @NotEmpty(message = "Messages cannot be empty")
     private List<Message> messages;
 
+    // "full" (default, accumulated content on every chunk) or "delta" (coalesced deltas only)
+    @Pattern(regexp = "^(?i)(full|delta)$", message = "Stream mode must be 'full' or 'delta'")
+    private String streamMode;
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
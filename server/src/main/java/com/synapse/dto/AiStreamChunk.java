@@ -1,5 +1,6 @@
 package com.synapse.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -8,7 +9,7 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class AiStreamChunk {
     private String type;
     private String delta;
@@ -17,4 +18,13 @@ public class AiStreamChunk {
     private String id;
     private String model;
     private Long timestamp;
+    // Fields added after the legacy format are left out when unset, so legacy frames stay unchanged.
+    // Delta mode only: position of this frame's delta and CRC32 (hex) of the content through it
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer offset;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String checksum;
+    // Set on rejections: how long the client should wait before retrying
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long retryAfterMs;
 }
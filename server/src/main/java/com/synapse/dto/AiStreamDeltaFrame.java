@@ -0,0 +1,32 @@
+package com.synapse.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * A coalesced frame of the {@code delta} stream mode. Unlike the legacy chunks, whose wire format
+ * keeps every field, it leaves out the fields it does not set (notably the accumulated content).
+ */
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AiStreamDeltaFrame extends AiStreamChunk {
+
+    public static AiStreamDeltaFrame of(AiStreamChunk chunk) {
+        AiStreamDeltaFrame frame = new AiStreamDeltaFrame();
+        frame.setType(chunk.getType());
+        frame.setDelta(chunk.getDelta());
+        frame.setContent(chunk.getContent());
+        frame.setRole(chunk.getRole());
+        frame.setId(chunk.getId());
+        frame.setModel(chunk.getModel());
+        frame.setTimestamp(chunk.getTimestamp());
+        frame.setOffset(chunk.getOffset());
+        frame.setChecksum(chunk.getChecksum());
+        frame.setRetryAfterMs(chunk.getRetryAfterMs());
+        return frame;
+    }
+}
@@ -0,0 +1,29 @@
+package com.synapse.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Confirms a direct-to-storage upload made with an upload ticket")
+public class ConfirmUploadRequest {
+
+    @Schema(description = "Upload kind the ticket was issued for", example = "image",
+            allowableValues = {"image", "attachment"})
+    @Pattern(regexp = "^(image|attachment)$", message = "Kind must be image or attachment")
+    private String kind;
+
+    @Schema(description = "Object name from the upload ticket", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotBlank(message = "Object name is required")
+    private String objectName;
+
+    @Schema(description = "Original file name, echoed back for attachments", example = "report.pdf")
+    private String filename;
+}
@@ -0,0 +1,31 @@
+package com.synapse.dto;
+
+import com.synapse.entity.PostImage;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Pixel size of an original image, so clients can reserve its space before it loads. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Image size in pixels")
+public class ImageSizeDto {
+
+    @Schema(description = "Width in pixels", example = "1280")
+    private int width;
+
+    @Schema(description = "Height in pixels", example = "720")
+    private int height;
+
+    /** The size of an image, or null when it was not recorded. */
+    public static ImageSizeDto fromImage(PostImage image) {
+        if (image.width() == null || image.height() == null) {
+            return null;
+        }
+        return new ImageSizeDto(image.width(), image.height());
+    }
+}
@@ -0,0 +1,64 @@
+package com.synapse.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * URLs of the resized copies generated for an uploaded image. Variants are produced asynchronously
+ * after upload, so clients should fall back to the original URL if a variant is not there yet.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Resized image variants")
+public class ImageVariantsDto {
+
+    public static final String THUMB = "thumb";
+    public static final String FEED = "feed";
+    public static final String FULL = "full";
+
+    // Uploaded JPEG/PNG objects: <public-url>/<bucket>/<uuid|sha256>.<ext>
+    private static final Pattern UPLOADED_IMAGE = Pattern.compile(
+            "^(.*/)([0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}|[0-9a-f]{64})\\.(?i:jpe?g|png)$");
+
+    @Schema(description = "Small square-ish thumbnail (320px)")
+    private String thumb;
+
+    @Schema(description = "Feed card width (720px)")
+    private String feed;
+
+    @Schema(description = "Large display size (1600px)")
+    private String full;
+
+    /** Object name of a variant of an uploaded image, e.g. {@code variants/<name>/thumb.jpg}. */
+    public static String objectName(String baseName, String variant) {
+        return "variants/" + baseName + "/" + variant + ".jpg";
+    }
+
+    /**
+     * Derives variant URLs from an uploaded image URL, or returns null for anything that does not
+     * get variants (external URLs, GIFs, WebP).
+     */
+    public static ImageVariantsDto fromUrl(String url) {
+        if (url == null) {
+            return null;
+        }
+        Matcher matcher = UPLOADED_IMAGE.matcher(url);
+        if (!matcher.matches()) {
+            return null;
+        }
+        String prefix = matcher.group(1);
+        String baseName = matcher.group(2);
+        return ImageVariantsDto.builder()
+                .thumb(prefix + objectName(baseName, THUMB))
+                .feed(prefix + objectName(baseName, FEED))
+                .full(prefix + objectName(baseName, FULL))
+                .build();
+    }
+}
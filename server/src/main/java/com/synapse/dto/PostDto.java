@@ -1,9 +1,8 @@
 package com.synapse.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.synapse.entity.Post;
+import com.synapse.entity.PostImage;
 import com.synapse.entity.PostType;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.time.Instant;
@@ -21,8 +20,6 @@ import lombok.NoArgsConstructor;
 @Schema(description = "Post data with user and tag information")
 public class PostDto {
 
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
-
     @Schema(description = "Post ID", example = "1")
     private Long id;
 
@@ -47,6 +44,15 @@ public class PostDto {
     @Schema(description = "Image URLs")
     private List<String> images;
 
+    @Schema(description = "Resized variants of each image, index-aligned with images (null when none)")
+    private List<ImageVariantsDto> imageVariants;
+
+    @Schema(description = "Pixel size of each image, index-aligned with images (null when unknown)")
+    private List<ImageSizeDto> imageSizes;
+
+    @Schema(description = "Resized variants of the cover image")
+    private ImageVariantsDto coverImageVariants;
+
     @Schema(description = "Post author")
     private UserDto user;
 
@@ -70,21 +76,6 @@ public class PostDto {
     private List<AttachmentDto> attachments;
 
     public static PostDto fromEntity(Post post) {
-        List<String> imageList = Collections.emptyList();
-        String imagesJson = post.getImages();
-
-        if (imagesJson != null && !imagesJson.isBlank()) {
-            try {
-                String toParse = imagesJson;
-                if (imagesJson.startsWith("\"") && imagesJson.endsWith("\"")) {
-                    toParse = OBJECT_MAPPER.readValue(imagesJson, String.class);
-                }
-                imageList = OBJECT_MAPPER.readValue(toParse, new TypeReference<List<String>>() {});
-            } catch (Exception e) {
-                imageList = Collections.emptyList();
-            }
-        }
-
         return PostDto.builder()
                 .id(post.getId())
                 .type(post.getType())
@@ -93,7 +84,8 @@ public class PostDto {
                 .language(post.getLanguage())
                 .summary(post.getSummary())
                 .coverImage(post.getCoverImage())
-                .images(imageList)
+                .postImages(post.getImages() != null ? post.getImages() : Collections.emptyList())
+                .coverImageVariants(ImageVariantsDto.fromUrl(post.getCoverImage()))
                 .user(UserDto.fromEntity(post.getUser()))
                 .tags(post.getTags().stream()
                         .map(TagDto::fromEntity)
@@ -109,4 +101,17 @@ public class PostDto {
                         : Collections.emptyList())
                 .build();
     }
+
+    public static class PostDtoBuilder {
+
+        /** Sets the image URLs with their index-aligned variants and sizes; null (hidden images) sets none. */
+        public PostDtoBuilder postImages(List<PostImage> postImages) {
+            if (postImages == null) {
+                return images(null).imageVariants(Collections.emptyList()).imageSizes(null);
+            }
+            return images(postImages.stream().map(PostImage::url).toList())
+                    .imageVariants(postImages.stream().map(image -> ImageVariantsDto.fromUrl(image.url())).toList())
+                    .imageSizes(postImages.stream().map(ImageSizeDto::fromImage).toList());
+        }
+    }
 }
@@ -1,6 +1,8 @@
 package com.synapse.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.synapse.entity.Tag;
+import com.synapse.entity.TagCounter;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -23,6 +25,16 @@ public class TagDto {
     @Schema(description = "Tag icon emoji", example = "💻")
     private String icon;
 
+    // Only the popular tags endpoint fills these in; tags nested in posts stay free of live counters
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Number of posts with this tag, on popular tags only", example = "42")
+    private Long postCount;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Number of posts with this tag created in the recent window, on popular tags only",
+            example = "5")
+    private Long recentPostCount;
+
     public static TagDto fromEntity(Tag tag) {
         return TagDto.builder()
                 .id(tag.getId())
@@ -30,4 +42,11 @@ public class TagDto {
                 .icon(tag.getIcon())
                 .build();
     }
+
+    public static TagDto fromEntity(Tag tag, TagCounter counter) {
+        TagDto dto = fromEntity(tag);
+        dto.setPostCount(counter.getPostCount());
+        dto.setRecentPostCount(counter.getRecentPostCount());
+        return dto;
+    }
 }
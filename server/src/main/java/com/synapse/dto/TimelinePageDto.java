@@ -0,0 +1,23 @@
+package com.synapse.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "A page of the home timeline, newest first")
+public class TimelinePageDto {
+
+    @Schema(description = "Posts from followed users and the current user")
+    private List<PostDto> posts;
+
+    @Schema(description = "Opaque cursor for the next page (pass as 'before'); null on the last page",
+            example = "1767225600000000_42")
+    private String nextCursor;
+}
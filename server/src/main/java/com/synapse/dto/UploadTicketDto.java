@@ -0,0 +1,26 @@
+package com.synapse.dto;
+
+import java.time.Instant;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Presigned POST form for uploading straight to object storage: send a multipart/form-data POST to
+ * {@code url} with every entry of {@code fields} followed by the {@code file} part, then confirm the
+ * upload with {@code objectName}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadTicketDto {
+
+    private String url;
+    private Map<String, String> fields;
+    private String objectName;
+    private Long maxSize;
+    private Instant expiresAt;
+}
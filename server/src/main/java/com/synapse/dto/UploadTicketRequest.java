@@ -0,0 +1,37 @@
+package com.synapse.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Request for a presigned direct-to-storage upload")
+public class UploadTicketRequest {
+
+    @Schema(description = "Upload kind", example = "image", allowableValues = {"image", "attachment"})
+    @Pattern(regexp = "^(image|attachment)$", message = "Kind must be image or attachment")
+    private String kind;
+
+    @Schema(description = "Original file name", example = "photo.jpg", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotBlank(message = "Filename is required")
+    private String filename;
+
+    @Schema(description = "MIME type the file will be uploaded with", example = "image/jpeg",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotBlank(message = "Content type is required")
+    private String contentType;
+
+    @Schema(description = "File size in bytes", example = "204800", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "Size is required")
+    @Positive(message = "Size must be positive")
+    private Long size;
+}
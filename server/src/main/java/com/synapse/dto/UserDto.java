@@ -23,6 +23,9 @@ public class UserDto {
     @Schema(description = "Avatar URL", example = "https://example.com/avatar.png")
     private String avatarUrl;
 
+    @Schema(description = "Resized variants of the avatar")
+    private ImageVariantsDto avatarVariants;
+
     @Schema(description = "Display name", example = "John Doe")
     private String displayName;
 
@@ -34,6 +37,7 @@ public class UserDto {
             .id(user.getId())
             .username(user.getUsername())
             .avatarUrl(user.getAvatarUrl())
+            .avatarVariants(ImageVariantsDto.fromUrl(user.getAvatarUrl()))
             .displayName(user.getDisplayName())
             .bio(user.getBio())
             .build();
@@ -6,9 +6,11 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.Instant;
 import lombok.AllArgsConstructor;
@@ -19,6 +21,10 @@ import lombok.NoArgsConstructor;
 @Entity
 @Table(name = "follows", uniqueConstraints = {
     @jakarta.persistence.UniqueConstraint(columnNames = {"follower_id", "following_id"})
+}, indexes = {
+    @Index(name = "idx_follows_follower_created_at", columnList = "follower_id, created_at DESC"),
+    @Index(name = "idx_follows_following_created_at", columnList = "following_id, created_at DESC"),
+    @Index(name = "idx_follows_following_follower", columnList = "following_id, follower_id")
 })
 @Data
 @NoArgsConstructor
@@ -27,14 +33,15 @@ import lombok.NoArgsConstructor;
 public class Follow {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "follows_seq")
+    @SequenceGenerator(name = "follows_seq", sequenceName = "follows_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "follower_id", nullable = false)
     private User follower;
 
-    @ManyToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "following_id", nullable = false)
     private User following;
 
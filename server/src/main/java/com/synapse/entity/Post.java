@@ -2,6 +2,7 @@ package com.synapse.entity;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -9,14 +10,18 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -25,9 +30,16 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Mutability;
+import org.hibernate.type.descriptor.java.Immutability;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+    @Index(name = "idx_posts_created_at", columnList = "created_at DESC"),
+    @Index(name = "idx_posts_type_created_at", columnList = "type, created_at DESC"),
+    @Index(name = "idx_posts_user_created_at", columnList = "user_id, created_at DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -35,9 +47,16 @@ import lombok.NoArgsConstructor;
 public class Post {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence (a table on MySQL): ids are handed out 50 at a time, so inserts can be JDBC-batched
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "posts_seq")
+    @SequenceGenerator(name = "posts_seq", sequenceName = "posts_seq", allocationSize = 50)
     private Long id;
 
+    // Bumped on every update; also the basis of the API's ETags
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private PostType type;
@@ -54,18 +73,23 @@ public class Post {
     @Column(name = "cover_image")
     private String coverImage;
 
+    // Parsed once per distinct value and only ever replaced, never changed in place, so loads skip deep copies
+    @Convert(converter = PostImagesConverter.class)
+    @Mutability(Immutability.class)
     @Column(columnDefinition = "JSON")
-    private String images;
+    private List<PostImage> images;
 
-    @ManyToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
     @ManyToMany
+    @BatchSize(size = 50)
     @JoinTable(
         name = "post_tags",
         joinColumns = @JoinColumn(name = "post_id"),
-        inverseJoinColumns = @JoinColumn(name = "tag_id")
+        inverseJoinColumns = @JoinColumn(name = "tag_id"),
+        indexes = @Index(name = "idx_post_tags_tag_post", columnList = "tag_id, post_id")
     )
     @Builder.Default
     private Set<Tag> tags = new HashSet<>();
@@ -90,6 +114,7 @@ public class Post {
 
     @PrePersist
     protected void onCreate() {
-        createdAt = Instant.now();
+        // Microseconds are what the database keeps, so the entity, the database and timeline cursors agree
+        createdAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
     }
 }
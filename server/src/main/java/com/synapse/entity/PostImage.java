@@ -0,0 +1,15 @@
+package com.synapse.entity;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One image of a post: its URL and, when known, the pixel size of the original. Sizes are recorded
+ * for uploads since {@link StoredObject} kept them; older uploads and external URLs have none.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PostImage(String url, Integer width, Integer height) {
+
+    public static PostImage of(String url) {
+        return new PostImage(url, null, null);
+    }
+}
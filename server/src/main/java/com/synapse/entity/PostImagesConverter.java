@@ -0,0 +1,115 @@
+package com.synapse.entity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps the posts.images JSON column to an immutable list of {@link PostImage}s.
+ *
+ * Rows are written as {@code [{"url":...,"width":...,"height":...}]}. Older rows hold plain URL arrays,
+ * some of them double-encoded as a JSON string; both still read, until the backfill rewrites them.
+ * Parsed lists are cached by their raw JSON, so a post read on every feed page is parsed once.
+ */
+@Converter
+public class PostImagesConverter implements AttributeConverter<List<PostImage>, String> {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final int CACHE_SIZE = 4_096;
+
+    private final Map<String, List<PostImage>> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Override
+    public String convertToDatabaseColumn(List<PostImage> images) {
+        return toJson(images);
+    }
+
+    @Override
+    public List<PostImage> convertToEntityAttribute(String json) {
+        if (json == null || json.isBlank()) {
+            return List.of();
+        }
+        synchronized (cache) {
+            List<PostImage> images = cache.get(json);
+            if (images != null) {
+                return images;
+            }
+        }
+        List<PostImage> images = parse(json);
+        synchronized (cache) {
+            cache.put(json, images);
+            while (cache.size() > CACHE_SIZE) {
+                cache.remove(cache.keySet().iterator().next());
+            }
+        }
+        return images;
+    }
+
+    /** The column value for the given images; null when there are none. */
+    public static String toJson(List<PostImage> images) {
+        if (images == null || images.isEmpty()) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsString(images);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize post images", e);
+        }
+    }
+
+    /** Parses any stored format, skipping unreadable values and entries without a URL. */
+    public static List<PostImage> parse(String json) {
+        JsonNode array = unwrap(json);
+        if (array == null || !array.isArray()) {
+            return List.of();
+        }
+        List<PostImage> images = new ArrayList<>(array.size());
+        for (JsonNode element : array) {
+            if (element.isTextual()) {
+                images.add(PostImage.of(element.textValue()));
+            } else if (element.hasNonNull("url")) {
+                images.add(new PostImage(element.get("url").asText(), size(element, "width"),
+                        size(element, "height")));
+            }
+        }
+        return List.copyOf(images);
+    }
+
+    /** Whether a stored value predates the object format and should be rewritten. */
+    public static boolean isLegacy(String json) {
+        JsonNode array = unwrap(json);
+        if (array == null || !array.isArray()) {
+            return false;
+        }
+        for (JsonNode element : array) {
+            if (!element.isObject()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // H2 stores a bound string as a JSON string value, and so did older MySQL writes: unwrap one level
+    private static JsonNode unwrap(String json) {
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        try {
+            JsonNode node = OBJECT_MAPPER.readTree(json);
+            return node.isTextual() ? OBJECT_MAPPER.readTree(node.textValue()) : node;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static Integer size(JsonNode element, String field) {
+        JsonNode value = element.get(field);
+        return value != null && value.canConvertToInt() ? value.intValue() : null;
+    }
+}
@@ -0,0 +1,63 @@
+package com.synapse.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A content-addressed object in MinIO. Identical uploads share one object. Nothing here counts its
+ * references: the orphan collector decides liveness by marking what posts, comments, attachments
+ * and avatars actually point at.
+ */
+@Entity
+@Table(name = "stored_objects")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StoredObject {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Hex SHA-256 of the object bytes
+    @Column(name = "content_hash", nullable = false, unique = true, length = 64)
+    private String contentHash;
+
+    @Column(name = "object_name", nullable = false, unique = true)
+    private String objectName;
+
+    @Column(nullable = false)
+    private Long size;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    // Pixel size of image uploads; null for attachments and for images stored before sizes were recorded
+    private Integer width;
+
+    private Integer height;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    // Last time an upload resolved to this object; keeps fresh duplicates safe from garbage collection
+    @Column(name = "last_uploaded_at")
+    private Instant lastUploadedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+        lastUploadedAt = createdAt;
+    }
+}
@@ -0,0 +1,40 @@
+package com.synapse.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+/**
+ * Post counters of one {@link Tag}, kept in their own table so that the writes every tagged post makes
+ * to them never touch the second-level cached tags. Deliberately not cached itself.
+ */
+@Entity
+@Table(name = "tag_counters", indexes = @Index(name = "idx_tag_counters_post_count", columnList = "post_count"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TagCounter {
+
+    @Id
+    @Column(name = "tag_id")
+    private Long tagId;
+
+    // Maintained incrementally by TagCounterService and reconciled against post_tags periodically
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "post_count", nullable = false)
+    private Long postCount = 0L;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "recent_post_count", nullable = false)
+    private Long recentPostCount = 0L;
+}
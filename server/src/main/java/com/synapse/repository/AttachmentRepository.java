@@ -1,12 +1,26 @@
 package com.synapse.repository;
 
 import com.synapse.entity.Attachment;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
     List<Attachment> findByPostId(Long postId);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    List<Attachment> findByPostIdInOrderByIdAsc(Collection<Long> postIds);
+
     void deleteByPostId(Long postId);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a.storedName FROM Attachment a")
+    Stream<String> streamAllStoredNames();
 }
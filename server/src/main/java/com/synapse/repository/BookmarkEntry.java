@@ -0,0 +1,7 @@
+package com.synapse.repository;
+
+import java.time.Instant;
+
+/** A bookmark without its user and post, for listing a user's bookmarks. */
+public record BookmarkEntry(Long id, Long postId, Instant createdAt) {
+}
@@ -1,21 +1,36 @@
 package com.synapse.repository;
 
 import com.synapse.entity.Bookmark;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface BookmarkRepository extends JpaRepository<Bookmark, Long> {
 
+    @Query("SELECT b.createdAt FROM Bookmark b WHERE b.user.id = :userId AND b.post.id = :postId")
+    Optional<Instant> findCreatedAt(@Param("userId") Long userId, @Param("postId") Long postId);
+
+    // (post ID, bookmarked at) for bookmarks on posts created since the given time, to rebuild hot rankings
+    @Query("SELECT b.post.id, b.createdAt FROM Bookmark b WHERE b.post.createdAt >= :since")
+    List<Object[]> findEngagementSince(@Param("since") Instant since);
+
     Optional<Bookmark> findByUserIdAndPostId(Long userId, Long postId);
 
-    @EntityGraph(attributePaths = {"post", "post.user", "post.tags"})
-    Page<Bookmark> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
+    @Query(
+        value = "SELECT new com.synapse.repository.BookmarkEntry(b.id, b.post.id, b.createdAt) FROM Bookmark b "
+            + "WHERE b.user.id = :userId ORDER BY b.createdAt DESC",
+        countQuery = "SELECT COUNT(b) FROM Bookmark b WHERE b.user.id = :userId"
+    )
+    Page<BookmarkEntry> findEntriesByUserId(@Param("userId") Long userId, Pageable pageable);
 
     @EntityGraph(attributePaths = {"user"})
     Page<Bookmark> findByPostIdOrderByCreatedAtDesc(Long postId, Pageable pageable);
@@ -23,7 +38,8 @@ public interface BookmarkRepository extends JpaRepository<Bookmark, Long> {
     boolean existsByUserIdAndPostId(Long userId, Long postId);
 
     @Modifying
-    void deleteByUserIdAndPostId(Long userId, Long postId);
+    @Query("DELETE FROM Bookmark b WHERE b.user.id = :userId AND b.post.id = :postId")
+    int deleteByUserIdAndPostId(@Param("userId") Long userId, @Param("postId") Long postId);
 
     long countByPostId(Long postId);
 }
@@ -1,6 +1,7 @@
 package com.synapse.repository;
 
 import com.synapse.entity.CommentLike;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -12,8 +13,13 @@ public interface CommentLikeRepository extends JpaRepository<CommentLike, Long>
 
     boolean existsByUserIdAndCommentId(Long userId, Long commentId);
 
+    // One statement, returning whether the like existed; the derived delete would load it first
     @Modifying
-    void deleteByUserIdAndCommentId(Long userId, Long commentId);
+    @Query("DELETE FROM CommentLike l WHERE l.user.id = :userId AND l.comment.id = :commentId")
+    int deleteByUserIdAndCommentId(@Param("userId") Long userId, @Param("commentId") Long commentId);
+
+    @Query("SELECT c.likeCount FROM Comment c WHERE c.id = :commentId")
+    Optional<Integer> findCommentLikeCount(@Param("commentId") Long commentId);
 
     long countByCommentId(Long commentId);
 
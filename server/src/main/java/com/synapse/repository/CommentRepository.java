@@ -1,18 +1,36 @@
 package com.synapse.repository;
 
 import com.synapse.entity.Comment;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    // (post ID, commented at) for live comments on posts created since the given time, to rebuild hot rankings
+    @Query(
+        "SELECT c.post.id, c.createdAt FROM Comment c "
+            + "WHERE c.post.createdAt >= :since AND (c.isDeleted IS NULL OR c.isDeleted = false)"
+    )
+    List<Object[]> findEngagementSince(@Param("since") Instant since);
+
+    // Comments render Markdown, so they can embed uploaded images; scanned by storage garbage collection
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c.content FROM Comment c WHERE c.content IS NOT NULL")
+    Stream<String> streamContents();
+
 	@EntityGraph(attributePaths = { "user", "post", "parent", "parent.user" })
 	Page<Comment> findByPostIdOrderByFloorAsc(Long postId, Pageable pageable);
 
@@ -0,0 +1,7 @@
+package com.synapse.repository;
+
+import java.time.Instant;
+
+/** A follow without its users, for listing followers and followed users. */
+public record FollowEntry(Long id, Long followerId, Long followingId, Instant createdAt) {
+}
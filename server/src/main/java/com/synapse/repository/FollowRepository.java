@@ -1,12 +1,15 @@
 package com.synapse.repository;
 
 import com.synapse.entity.Follow;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -14,18 +17,45 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
 
     Optional<Follow> findByFollowerIdAndFollowingId(Long followerId, Long followingId);
 
-    @EntityGraph(attributePaths = {"following"})
-    Page<Follow> findByFollowerIdOrderByCreatedAtDesc(Long followerId, Pageable pageable);
+    @Query(
+        value = "SELECT new com.synapse.repository.FollowEntry(f.id, f.follower.id, f.following.id, f.createdAt) "
+            + "FROM Follow f WHERE f.follower.id = :followerId ORDER BY f.createdAt DESC",
+        countQuery = "SELECT COUNT(f) FROM Follow f WHERE f.follower.id = :followerId"
+    )
+    Page<FollowEntry> findEntriesByFollowerId(@Param("followerId") Long followerId, Pageable pageable);
 
-    @EntityGraph(attributePaths = {"follower"})
-    Page<Follow> findByFollowingIdOrderByCreatedAtDesc(Long followingId, Pageable pageable);
+    @Query(
+        value = "SELECT new com.synapse.repository.FollowEntry(f.id, f.follower.id, f.following.id, f.createdAt) "
+            + "FROM Follow f WHERE f.following.id = :followingId ORDER BY f.createdAt DESC",
+        countQuery = "SELECT COUNT(f) FROM Follow f WHERE f.following.id = :followingId"
+    )
+    Page<FollowEntry> findEntriesByFollowingId(@Param("followingId") Long followingId, Pageable pageable);
 
     boolean existsByFollowerIdAndFollowingId(Long followerId, Long followingId);
 
     @Modifying
-    void deleteByFollowerIdAndFollowingId(Long followerId, Long followingId);
+    @Query("DELETE FROM Follow f WHERE f.follower.id = :followerId AND f.following.id = :followingId")
+    int deleteByFollowerIdAndFollowingId(@Param("followerId") Long followerId,
+                                         @Param("followingId") Long followingId);
 
     long countByFollowerId(Long followerId);
 
     long countByFollowingId(Long followingId);
+
+    @Query("SELECT f.following.id FROM Follow f WHERE f.follower.id = :followerId")
+    List<Long> findFollowingIds(@Param("followerId") Long followerId);
+
+    @Query("SELECT f.following.id FROM Follow f WHERE f.follower.id = :followerId AND f.following.id IN :ids")
+    List<Long> findFollowingIdsIn(@Param("followerId") Long followerId, @Param("ids") Collection<Long> ids);
+
+    // Keyset-paginated follower IDs, for fanning out to large audiences in batches
+    @Query(
+        "SELECT f.follower.id FROM Follow f WHERE f.following.id = :followingId AND f.follower.id > :afterId "
+            + "ORDER BY f.follower.id"
+    )
+    List<Long> findFollowerIdsAfter(
+        @Param("followingId") Long followingId,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
 }
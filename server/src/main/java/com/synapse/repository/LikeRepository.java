@@ -1,6 +1,10 @@
 package com.synapse.repository;
 
 import com.synapse.entity.Like;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -12,11 +16,23 @@ public interface LikeRepository extends JpaRepository<Like, Long> {
 
     boolean existsByUserIdAndPostId(Long userId, Long postId);
 
+    // One statement, returning whether the like existed; the derived delete would load it first
     @Modifying
-    void deleteByUserIdAndPostId(Long userId, Long postId);
+    @Query("DELETE FROM Like l WHERE l.user.id = :userId AND l.post.id = :postId")
+    int deleteByUserIdAndPostId(@Param("userId") Long userId, @Param("postId") Long postId);
 
     long countByPostId(Long postId);
 
+    @Query("SELECT l.createdAt FROM Like l WHERE l.user.id = :userId AND l.post.id = :postId")
+    Optional<Instant> findCreatedAt(@Param("userId") Long userId, @Param("postId") Long postId);
+
+    // (post ID, liked at) for likes on posts created since the given time, to rebuild hot rankings
+    @Query("SELECT l.post.id, l.createdAt FROM Like l WHERE l.post.createdAt >= :since")
+    List<Object[]> findEngagementSince(@Param("since") Instant since);
+
+    @Query("SELECT l.post.id FROM Like l WHERE l.user.id = :userId AND l.post.id IN :postIds")
+    List<Long> findLikedPostIds(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
+
     // Atomic counter operations on Post.likeCount to avoid race conditions
     @Modifying
     @Query("UPDATE Post p SET p.likeCount = p.likeCount + 1 WHERE p.id = :postId")
@@ -1,7 +1,7 @@
 package com.synapse.repository;
 
 import com.synapse.entity.Notification;
-import com.synapse.entity.NotificationType;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -17,9 +17,9 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 
     long countByUserIdAndIsReadFalse(Long userId);
 
-    long countByIsReadFalse();
-
-    long countByType(NotificationType type);
+    // (type, read, count) over all notifications, for the business metrics
+    @Query("SELECT n.type, n.isRead, COUNT(n) FROM Notification n GROUP BY n.type, n.isRead")
+    List<Object[]> countByTypeAndReadState();
 
     @Modifying
     @Query("UPDATE Notification n SET n.isRead = true WHERE n.id = :id AND n.user.id = :userId")
@@ -0,0 +1,25 @@
+package com.synapse.repository;
+
+import com.synapse.entity.PostImage;
+import com.synapse.entity.PostType;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The columns of a post that a feed card shows. {@code content} is only set for public moments and
+ * snippets (article cards show the summary) and {@code images} only for public posts.
+ */
+public record PostCard(
+        Long id,
+        PostType type,
+        String title,
+        String summary,
+        String content,
+        String language,
+        String coverImage,
+        List<PostImage> images,
+        Long authorId,
+        int likeCount,
+        boolean isPrivate,
+        Instant createdAt) {
+}
@@ -2,22 +2,61 @@ package com.synapse.repository;
 
 import com.synapse.entity.Post;
 import com.synapse.entity.PostType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
 
-    long countByType(PostType type);
-
-    long countByIsPrivateTrue();
+    // Optional tag, type and author filters shared by the feed queries and their validators
+    String FEED_FILTER = "WHERE (:tagName IS NULL OR EXISTS (SELECT t.id FROM p.tags t WHERE t.name = :tagName)) "
+            + "AND (:type IS NULL OR p.type = :type) AND (:userId IS NULL OR p.user.id = :userId)";
+
+    // Feed cards: every column but the password, with content only where the card shows it (public moments
+    // and snippets) and images only of public posts. Authors, tags and attachments are loaded separately per
+    // page, so pages join nothing and paginate in the database.
+    String CARD_SELECT = "SELECT new com.synapse.repository.PostCard(p.id, p.type, p.title, p.summary, "
+            + "CASE WHEN p.isPrivate = false AND p.type <> com.synapse.entity.PostType.ARTICLE THEN p.content END, "
+            + "p.language, p.coverImage, CASE WHEN p.isPrivate = false THEN p.images END, p.user.id, p.likeCount, "
+            + "p.isPrivate, p.createdAt) FROM Post p ";
+
+    // Search filters: an optional type, any of several tags, and a title or content substring
+    String SEARCH_TYPE = "(:type IS NULL OR p.type = :type)";
+    String ANY_TAG = "EXISTS (SELECT t.id FROM p.tags t WHERE t.name IN :tagNames)";
+    String KEYWORD = "(LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) "
+            + "OR LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%')))";
+    // Counts start from the tags: unlike a page, a count has no created_at order to walk posts in
+    String COUNT_ANY_TAG = "SELECT COUNT(DISTINCT p) FROM Post p JOIN p.tags t WHERE t.name IN :tagNames AND "
+            + SEARCH_TYPE;
+
+    // (type, private, count) over all posts, for the business metrics
+    @Query("SELECT p.type, p.isPrivate, COUNT(p) FROM Post p GROUP BY p.type, p.isPrivate")
+    List<Object[]> countByTypeAndPrivacy();
+
+    // Cover image and images of every post, for storage garbage collection
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p.coverImage, p.images FROM Post p WHERE p.coverImage IS NOT NULL OR p.images IS NOT NULL")
+    Stream<Object[]> streamImageReferences();
+
+    // Article bodies embed uploaded images as Markdown, so storage garbage collection scans them too
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p.content FROM Post p WHERE p.content IS NOT NULL")
+    Stream<String> streamContents();
 
     List<Post> findByTypeOrderByCreatedAtDesc(PostType type);
 
@@ -35,122 +74,124 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     List<Post> findByUserIdOrderByCreatedAtDesc(Long userId);
 
     @EntityGraph(attributePaths = {"user", "tags"})
-    Page<Post> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
-
-    @EntityGraph(attributePaths = {"user", "tags"})
-    Page<Post> findAllByOrderByCreatedAtDesc(Pageable pageable);
-
-    @EntityGraph(attributePaths = {"user", "tags"})
-    Page<Post> findByTypeOrderByCreatedAtDesc(PostType type, Pageable pageable);
-
-    @EntityGraph(attributePaths = {"user", "tags"})
-    @Query("SELECT DISTINCT p FROM Post p JOIN p.tags t WHERE t.name = :tagName ORDER BY p.createdAt DESC")
-    Page<Post> findByTagName(@Param("tagName") String tagName, Pageable pageable);
+    Optional<Post> findWithDetailsById(Long id);
 
-    @EntityGraph(attributePaths = {"user", "tags"})
     @Query(
-        "SELECT DISTINCT p FROM Post p JOIN p.tags t WHERE t.name = :tagName AND p.type = :type "
-            + "ORDER BY p.createdAt DESC"
+        value = CARD_SELECT + FEED_FILTER + " ORDER BY p.createdAt DESC",
+        countQuery = "SELECT COUNT(p) FROM Post p " + FEED_FILTER
     )
-    Page<Post> findByTagNameAndType(@Param("tagName") String tagName, @Param("type") PostType type, Pageable pageable);
+    Page<PostCard> findFeedCards(
+        @Param("tagName") String tagName,
+        @Param("type") PostType type,
+        @Param("userId") Long userId,
+        Pageable pageable
+    );
 
-    @EntityGraph(attributePaths = {"user", "tags"})
-    Optional<Post> findWithDetailsById(Long id);
+    @Query(CARD_SELECT + "WHERE p.id IN :ids")
+    List<PostCard> findCardsByIdIn(@Param("ids") Collection<Long> ids);
 
-    @EntityGraph(attributePaths = {"user", "tags"})
     @Query(
-        "SELECT p FROM Post p WHERE LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) "
-            + "OR LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%')) ORDER BY p.createdAt DESC"
+        value = CARD_SELECT + "WHERE " + SEARCH_TYPE + " AND " + KEYWORD + " ORDER BY p.createdAt DESC",
+        countQuery = "SELECT COUNT(p) FROM Post p WHERE " + SEARCH_TYPE + " AND " + KEYWORD
     )
-    Page<Post> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
+    Page<PostCard> searchCards(@Param("keyword") String keyword, @Param("type") PostType type, Pageable pageable);
 
-    @EntityGraph(attributePaths = {"user", "tags"})
     @Query(
-        "SELECT p FROM Post p WHERE p.type = :type AND (LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) "
-            + "OR LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%'))) "
-            + "ORDER BY p.createdAt DESC"
+        value = CARD_SELECT + "WHERE " + SEARCH_TYPE + " AND " + ANY_TAG + " AND " + KEYWORD
+            + " ORDER BY p.createdAt DESC",
+        countQuery = COUNT_ANY_TAG + " AND " + KEYWORD
     )
-    Page<Post> searchByKeywordAndType(
+    Page<PostCard> searchCardsWithAnyTag(
         @Param("keyword") String keyword,
+        @Param("tagNames") Collection<String> tagNames,
         @Param("type") PostType type,
         Pageable pageable
     );
 
-    @EntityGraph(attributePaths = {"user", "tags"})
     @Query(
-        "SELECT DISTINCT p FROM Post p JOIN p.tags t "
-            + "WHERE t.name = :tagName AND (LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) "
-            + "OR LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%'))) "
-            + "ORDER BY p.createdAt DESC"
+        value = CARD_SELECT + "WHERE " + SEARCH_TYPE + " AND " + ANY_TAG + " ORDER BY p.createdAt DESC",
+        countQuery = COUNT_ANY_TAG
     )
-    Page<Post> searchByKeywordAndTag(
-        @Param("keyword") String keyword,
-        @Param("tagName") String tagName,
+    Page<PostCard> findCardsWithAnyTag(
+        @Param("tagNames") Collection<String> tagNames,
+        @Param("type") PostType type,
         Pageable pageable
     );
 
-    @EntityGraph(attributePaths = {"user", "tags"})
+    // (post ID, tag) for the tags of the given posts
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT p.id, t FROM Post p JOIN p.tags t WHERE p.id IN :postIds")
+    List<Object[]> findTagsByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    @EntityGraph(attributePaths = {"tags"})
+    List<Post> findByCreatedAtGreaterThanEqual(Instant since);
+
+    // Home timeline: newest posts of the given authors, optionally after a (createdAt, id) keyset cursor
     @Query(
-        "SELECT DISTINCT p FROM Post p JOIN p.tags t "
-            + "WHERE t.name = :tagName AND p.type = :type AND "
-            + "(LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) "
-            + "OR LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%'))) "
-            + "ORDER BY p.createdAt DESC"
+        "SELECT new com.synapse.repository.TimelineEntry(p.id, p.createdAt) FROM Post p "
+            + "WHERE p.user.id IN :authorIds AND (:beforeAt IS NULL OR p.createdAt < :beforeAt "
+            + "OR (p.createdAt = :beforeAt AND p.id < :beforeId)) "
+            + "ORDER BY p.createdAt DESC, p.id DESC"
     )
-    Page<Post> searchByKeywordTagAndType(
-        @Param("keyword") String keyword,
-        @Param("tagName") String tagName,
-        @Param("type") PostType type,
+    List<TimelineEntry> findTimelineEntries(
+        @Param("authorIds") Collection<Long> authorIds,
+        @Param("beforeAt") Instant beforeAt,
+        @Param("beforeId") Long beforeId,
         Pageable pageable
     );
 
-    @EntityGraph(attributePaths = {"user", "tags"})
+    // Edits always bump the version, even when only the attachments collection changes
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    Optional<Post> findForUpdateById(Long id);
+
+    // Validators for conditional GETs: versions and counters only, no entity hydration
     @Query(
-        "SELECT DISTINCT p FROM Post p JOIN p.tags t "
-            + "WHERE t.name IN :tagNames AND (LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) "
-            + "OR LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%'))) "
-            + "ORDER BY p.createdAt DESC"
+        "SELECT new com.synapse.repository.PostStamp(p.id, p.version, p.likeCount, u.id, u.version, p.isPrivate, "
+            + "p.createdAt) FROM Post p JOIN p.user u WHERE p.id = :id"
     )
-    Page<Post> searchByKeywordAndAnyTags(
-        @Param("keyword") String keyword,
-        @Param("tagNames") java.util.List<String> tagNames,
-        Pageable pageable
-    );
+    Optional<PostStamp> findStampById(@Param("id") Long id);
 
-    @EntityGraph(attributePaths = {"user", "tags"})
     @Query(
-        "SELECT DISTINCT p FROM Post p JOIN p.tags t "
-            + "WHERE t.name IN :tagNames AND p.type = :type AND "
-            + "(LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) "
-            + "OR LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%'))) "
-            + "ORDER BY p.createdAt DESC"
+        "SELECT new com.synapse.repository.PostStamp(p.id, p.version, p.likeCount, p.user.id, "
+            + "(SELECT u.version FROM User u WHERE u.id = p.user.id), p.isPrivate, p.createdAt) FROM Post p "
+            + FEED_FILTER + " ORDER BY p.createdAt DESC"
     )
-    Page<Post> searchByKeywordAnyTagsAndType(
-        @Param("keyword") String keyword,
-        @Param("tagNames") java.util.List<String> tagNames,
+    List<PostStamp> findFeedStamps(
+        @Param("tagName") String tagName,
         @Param("type") PostType type,
+        @Param("userId") Long userId,
         Pageable pageable
     );
 
-    @EntityGraph(attributePaths = {"user", "tags"})
+    @Query("SELECT COUNT(p), MAX(p.createdAt) FROM Post p " + FEED_FILTER)
+    List<Object[]> findFeedWatermark(
+        @Param("tagName") String tagName,
+        @Param("type") PostType type,
+        @Param("userId") Long userId
+    );
+
     @Query(
         "SELECT DISTINCT p FROM Post p JOIN p.tags t "
-            + "WHERE t.name IN :tagNames "
+            + "WHERE t.name = :tagName AND (LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) "
+            + "OR LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%'))) "
             + "ORDER BY p.createdAt DESC"
     )
-    Page<Post> findByAnyTags(
-        @Param("tagNames") java.util.List<String> tagNames,
+    Page<Post> searchByKeywordAndTag(
+        @Param("keyword") String keyword,
+        @Param("tagName") String tagName,
         Pageable pageable
     );
 
-    @EntityGraph(attributePaths = {"user", "tags"})
     @Query(
         "SELECT DISTINCT p FROM Post p JOIN p.tags t "
-            + "WHERE t.name IN :tagNames AND p.type = :type "
+            + "WHERE t.name = :tagName AND p.type = :type AND "
+            + "(LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) "
+            + "OR LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%'))) "
             + "ORDER BY p.createdAt DESC"
     )
-    Page<Post> findByAnyTagsAndType(
-        @Param("tagNames") java.util.List<String> tagNames,
+    Page<Post> searchByKeywordTagAndType(
+        @Param("keyword") String keyword,
+        @Param("tagName") String tagName,
         @Param("type") PostType type,
         Pageable pageable
     );
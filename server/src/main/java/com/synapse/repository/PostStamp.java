@@ -0,0 +1,14 @@
+package com.synapse.repository;
+
+import java.time.Instant;
+
+/** The fields of a post (and its author) that determine its API representation's ETag. */
+public record PostStamp(
+        Long id,
+        Long version,
+        int likeCount,
+        Long authorId,
+        Long authorVersion,
+        boolean isPrivate,
+        Instant createdAt) {
+}
@@ -0,0 +1,45 @@
+package com.synapse.repository;
+
+import com.synapse.entity.StoredObject;
+import jakarta.persistence.LockModeType;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface StoredObjectRepository extends JpaRepository<StoredObject, Long> {
+
+    Optional<StoredObject> findByContentHash(String contentHash);
+
+    List<StoredObject> findByObjectNameIn(Collection<String> objectNames);
+
+    // Zero rows when the orphan collector removed the object since it was looked up
+    @Modifying
+    @Transactional
+    @Query("UPDATE StoredObject s SET s.lastUploadedAt = :now WHERE s.contentHash = :hash")
+    int touchUploadedAt(@Param("hash") String contentHash, @Param("now") Instant now);
+
+    // Content re-uploaded recently may be about to be referenced even if its object is old
+    @Query("SELECT s.objectName FROM StoredObject s WHERE s.lastUploadedAt >= :since")
+    List<String> findObjectNamesUploadedSince(@Param("since") Instant since);
+
+    // Held while the garbage collector removes a batch, so uploads of that content wait for the outcome
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM StoredObject s WHERE s.contentHash IN :hashes")
+    List<StoredObject> lockByContentHashIn(@Param("hashes") Collection<String> contentHashes);
+
+    // Records an upload resolved to since the cutoff stay, even if the object looked orphaned
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM StoredObject s WHERE s.objectName IN :names AND s.lastUploadedAt < :cutoff")
+    int deleteByObjectNamesUploadedBefore(@Param("names") Collection<String> objectNames,
+                                          @Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,37 @@
+package com.synapse.repository;
+
+import com.synapse.entity.TagCounter;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TagCounterRepository extends JpaRepository<TagCounter, Long> {
+
+    /**
+     * Rows of (tag, counter) for the most used tags, served by idx_tag_counters_post_count. Not query
+     * cached: every tagged post write changes the counters.
+     */
+    @Query("""
+        SELECT t, c FROM TagCounter c JOIN Tag t ON t.id = c.tagId
+        WHERE c.postCount > 0
+        ORDER BY c.postCount DESC, c.tagId ASC
+        """)
+    List<Object[]> findPopular(Pageable pageable);
+
+    // Only the tag_counters table is written, so the tags cache regions are left alone
+    @Modifying
+    @Query("""
+        UPDATE TagCounter c
+        SET c.postCount = c.postCount + :delta, c.recentPostCount = c.recentPostCount + :recentDelta
+        WHERE c.tagId IN :ids
+        """)
+    int adjustPostCounts(@Param("ids") Collection<Long> ids,
+                         @Param("delta") long delta,
+                         @Param("recentDelta") long recentDelta);
+}
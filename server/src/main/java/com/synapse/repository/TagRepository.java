@@ -1,25 +1,34 @@
 package com.synapse.repository;
 
 import com.synapse.entity.Tag;
+import jakarta.persistence.LockModeType;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface TagRepository extends JpaRepository<Tag, Long> {
-
-    Optional<Tag> findByName(String name);
+public interface TagRepository extends JpaRepository<Tag, Long>, TagRepositoryCustom {
 
     boolean existsByName(String name);
 
+    // Not a natural-id lookup: loading several natural ids at once skips the cache and queries anyway
+    List<Tag> findByNameIn(Collection<String> names);
+
+    // Locking read: sees rows another transaction committed after ours took its snapshot
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT t FROM Tag t WHERE t.name IN :names")
+    List<Tag> findLockedByNameIn(@Param("names") Collection<String> names);
+
+    /** Rows of (tag id, post count, posts created at or after {@code since}) for every tag in use. */
     @Query("""
-        SELECT t FROM Tag t
-        JOIN Post p ON t MEMBER OF p.tags
-        GROUP BY t
-        ORDER BY COUNT(p) DESC
+        SELECT t.id, COUNT(p), SUM(CASE WHEN p.createdAt >= :since THEN 1 ELSE 0 END)
+        FROM Post p JOIN p.tags t
+        GROUP BY t.id
         """)
-    List<Tag> findPopularTags(Pageable pageable);
+    List<Object[]> countPostsByTag(@Param("since") Instant since);
 }
@@ -0,0 +1,10 @@
+package com.synapse.repository;
+
+import com.synapse.entity.Tag;
+import java.util.Optional;
+
+/** Tag name lookups served by the second-level natural-id cache. */
+public interface TagRepositoryCustom {
+
+    Optional<Tag> findByName(String name);
+}
@@ -0,0 +1,21 @@
+package com.synapse.repository;
+
+import com.synapse.entity.Tag;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.Optional;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional(readOnly = true)
+class TagRepositoryCustomImpl implements TagRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Unknown names are not cached: TagResolver creates tags with plain SQL that Hibernate never sees
+    @Override
+    public Optional<Tag> findByName(String name) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Tag.class).loadOptional(name);
+    }
+}
@@ -0,0 +1,54 @@
+package com.synapse.repository;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+
+/**
+ * A post on a home timeline, ordered by creation time and then ID. The last entry of a page is the
+ * keyset cursor of the next one, so posts created in the same instant are never skipped.
+ */
+public record TimelineEntry(Long postId, Instant createdAt) {
+
+    /** Timeline order: newest first, and by descending ID within the same instant. */
+    public static final Comparator<TimelineEntry> NEWEST_FIRST =
+            Comparator.comparing(TimelineEntry::createdAt).thenComparing(TimelineEntry::postId).reversed();
+
+    /** Whether this entry comes after {@code cursor} in timeline order. */
+    public boolean isAfter(TimelineEntry cursor) {
+        int byTime = createdAt.compareTo(cursor.createdAt);
+        return byTime < 0 || (byTime == 0 && postId < cursor.postId);
+    }
+
+    /** This entry as an opaque page cursor: {@code <creation time in epoch micros>_<post ID>}. */
+    public String toCursor() {
+        return epochMicros(createdAt) + "_" + postId;
+    }
+
+    /**
+     * Parses a cursor made by {@link #toCursor()}.
+     *
+     * @throws IllegalArgumentException if {@code cursor} is not one
+     */
+    public static TimelineEntry fromCursor(String cursor) {
+        int separator = cursor.indexOf('_');
+        try {
+            if (separator > 0) {
+                return new TimelineEntry(Long.valueOf(cursor.substring(separator + 1)),
+                        ofEpochMicros(Long.parseLong(cursor.substring(0, separator))));
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid timeline cursor");
+    }
+
+    // Posts are created with microsecond precision, which is also what the database keeps
+    public static long epochMicros(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+
+    public static Instant ofEpochMicros(long micros) {
+        return Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+    }
+}
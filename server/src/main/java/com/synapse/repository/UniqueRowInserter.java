@@ -0,0 +1,80 @@
+package com.synapse.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.type.BasicType;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Inserts rows that a unique key makes idempotent (a like, a follow, a bookmark) without reading
+ * anything first.
+ *
+ * The row is written with plain SQL rather than through the session: a duplicate key then fails only
+ * that statement and the transaction carries on, where a failed Hibernate flush would doom it. The id
+ * comes from the entity's own pooled sequence and every value is bound with Hibernate's type for it,
+ * so the row is indistinguishable from one Hibernate inserted. Referenced rows are not looked up
+ * either; the database rejects a dangling reference with a foreign key violation.
+ */
+@Component
+public class UniqueRowInserter {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public UniqueRowInserter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts a row of {@code entity} into {@code table}, which must be its table. Must run inside the
+     * transaction the row belongs to.
+     *
+     * @param columns column name to value, without the id; values must not be null
+     * @return the new row's id, or empty if a row with the same unique key already exists
+     * @throws DataIntegrityViolationException if the row references one that does not exist
+     */
+    public Optional<Long> insertIfAbsent(Class<?> entity, String table, Map<String, Object> columns) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        List<Object> values = new ArrayList<>();
+        values.add(nextId(session, entity));
+        StringBuilder names = new StringBuilder("id");
+        columns.forEach((name, value) -> {
+            names.append(", ").append(name);
+            values.add(value);
+        });
+        String sql = "INSERT INTO " + table + " (" + names + ") VALUES (?" + ", ?".repeat(columns.size()) + ")";
+        try {
+            jdbcTemplate.update(sql, statement -> {
+                for (int i = 0; i < values.size(); i++) {
+                    typeOf(session, values.get(i)).getJdbcValueBinder().bind(statement, values.get(i), i + 1, session);
+                }
+            });
+            return Optional.of((Long) values.get(0));
+        } catch (DuplicateKeyException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Object nextId(SharedSessionContractImplementor session, Class<?> entity) {
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(entity).getGenerator();
+        return generator.generate(session, null, null, EventType.INSERT);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BasicType<Object> typeOf(SharedSessionContractImplementor session, Object value) {
+        return (BasicType<Object>) session.getTypeConfiguration().getBasicTypeForJavaType(value.getClass());
+    }
+}
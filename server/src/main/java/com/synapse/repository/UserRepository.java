@@ -2,19 +2,38 @@ package com.synapse.repository;
 
 import com.synapse.entity.AuthProvider;
 import com.synapse.entity.User;
+import jakarta.persistence.QueryHint;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 
-    Optional<User> findByUsername(String username);
+    @Query("SELECT u.version FROM User u WHERE u.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 
     boolean existsByUsername(String username);
 
+    // Bypasses the cached copy: the row about to be edited is read from the database and refreshes the cache
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"),
+        @QueryHint(name = AvailableHints.HINT_SPEC_CACHE_STORE_MODE, value = "REFRESH")
+    })
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findFreshById(@Param("id") Long id);
+
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "user-queries")
+    })
     List<User> findByUsernameIn(Collection<String> usernames);
 
     Optional<User> findByEmail(String email);
@@ -22,4 +41,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByProviderAndProviderId(AuthProvider provider, String providerId);
 
     boolean existsByEmail(String email);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT u.avatarUrl FROM User u WHERE u.avatarUrl IS NOT NULL")
+    Stream<String> streamAvatarUrls();
 }
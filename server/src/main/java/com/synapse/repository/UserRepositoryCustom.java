@@ -0,0 +1,15 @@
+package com.synapse.repository;
+
+import com.synapse.entity.User;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/** Lookups served by the second-level cache. */
+public interface UserRepositoryCustom {
+
+    Optional<User> findByUsername(String username);
+
+    /** The users with the given ids that exist, in no particular order. */
+    List<User> findAllCachedById(Collection<Long> ids);
+}
@@ -0,0 +1,31 @@
+package com.synapse.repository;
+
+import com.synapse.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional(readOnly = true)
+class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Unknown usernames are not cached, so a user registered meanwhile is found right away
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(username);
+    }
+
+    // Unlike findAllById, which always queries, only the users missing from the cache are selected
+    @Override
+    public List<User> findAllCachedById(Collection<Long> ids) {
+        return entityManager.unwrap(Session.class).byMultipleIds(User.class)
+                .enableOrderedReturn(false)
+                .multiLoad(List.copyOf(ids));
+    }
+}
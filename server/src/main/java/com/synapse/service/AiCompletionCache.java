@@ -0,0 +1,275 @@
+package com.synapse.service;
+
+import com.synapse.dto.AiChatRequest;
+import com.synapse.dto.AiStreamChunk;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Content-addressed cache for AI chat completions.
+ *
+ * Completed answers are kept in a bounded LRU with a TTL, keyed on a SHA-256 of the normalized
+ * {@code (model, messages)} pair. While an answer is still being generated, identical requests join
+ * the in-flight stream instead of starting another upstream call: they get what has been produced so
+ * far as a single delta, then the live tokens. The upstream call is cancelled once every subscriber
+ * has gone away.
+ */
+@Component
+@Slf4j
+public class AiCompletionCache {
+
+    private final Map<String, CachedCompletion> completed = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, SharedStream> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter joins;
+    private final Counter misses;
+
+    @Value("${ai.cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${ai.cache.max-entries:256}")
+    private int maxEntries;
+
+    @Value("${ai.cache.max-content-chars:32768}")
+    private int maxContentChars;
+
+    public AiCompletionCache(MeterRegistry registry) {
+        this.hits = requests(registry, "hit");
+        this.joins = requests(registry, "joined");
+        this.misses = requests(registry, "miss");
+    }
+
+    private static Counter requests(MeterRegistry registry, String result) {
+        return Counter.builder("synapse.ai.cache.requests")
+                .tag("result", result)
+                .description("AI chat requests by completion cache outcome")
+                .register(registry);
+    }
+
+    public String keyFor(String model, List<AiChatRequest.Message> messages) {
+        StringBuilder normalized = new StringBuilder(model == null ? "" : model.trim());
+        for (AiChatRequest.Message message : messages) {
+            if (message.getContent() == null || message.getContent().isBlank()) {
+                continue;
+            }
+            String role = message.getRole() == null ? "" : message.getRole().trim().toLowerCase(Locale.ROOT);
+            String content = message.getContent().replace("\r\n", "\n").strip();
+            // Length-prefix each part so that different splits of the same text never collide
+            normalized.append('\u0000').append(role.length()).append(':').append(role)
+                    .append(content.length()).append(':').append(content);
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalized.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Opens a stream for {@code key}. A cached answer is replayed synchronously; otherwise the
+     * listener joins the in-flight stream, becoming its leader if there was none. The leader is
+     * responsible for running the upstream call and feeding {@link SharedStream#publish} /
+     * {@link SharedStream#complete}.
+     */
+    public Subscription open(String key, Consumer<AiStreamChunk> listener, Runnable onComplete) {
+        String cachedContent = getCompleted(key);
+        if (cachedContent != null) {
+            hits.increment();
+            listener.accept(contentChunk(cachedContent));
+            onComplete.run();
+            return new Subscription(null, null, false);
+        }
+        while (true) {
+            SharedStream stream = inFlight.computeIfAbsent(key, SharedStream::new);
+            Subscription subscription = stream.join(listener, onComplete);
+            if (subscription != null) {
+                (subscription.isLeader() ? misses : joins).increment();
+                return subscription;
+            }
+            // The stream finished between lookup and join; its answer may be cached now
+            cachedContent = getCompleted(key);
+            if (cachedContent != null) {
+                hits.increment();
+                listener.accept(contentChunk(cachedContent));
+                onComplete.run();
+                return new Subscription(null, null, false);
+            }
+        }
+    }
+
+    private String getCompleted(String key) {
+        synchronized (completed) {
+            CachedCompletion entry = completed.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() < System.currentTimeMillis()) {
+                completed.remove(key);
+                return null;
+            }
+            return entry.content();
+        }
+    }
+
+    private void putCompleted(String key, String content) {
+        if (ttlSeconds <= 0 || content.isEmpty() || content.length() > maxContentChars) {
+            return;
+        }
+        synchronized (completed) {
+            completed.put(key, new CachedCompletion(content, System.currentTimeMillis() + ttlSeconds * 1000));
+            while (completed.size() > maxEntries) {
+                completed.remove(completed.keySet().iterator().next());
+            }
+        }
+    }
+
+    private static AiStreamChunk contentChunk(String text) {
+        return AiStreamChunk.builder()
+                .type("content")
+                .delta(text)
+                .role("assistant")
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+
+    private record CachedCompletion(String content, long expiresAt) {}
+
+    private record Listener(Consumer<AiStreamChunk> onData, Runnable onComplete) {}
+
+    /**
+     * A caller's handle on a shared stream. {@link #cancel()} is idempotent and safe to call from
+     * emitter completion/timeout callbacks.
+     */
+    public static final class Subscription {
+        private final SharedStream stream;
+        private final Listener listener;
+        private final boolean leader;
+
+        private Subscription(SharedStream stream, Listener listener, boolean leader) {
+            this.stream = stream;
+            this.listener = listener;
+            this.leader = leader;
+        }
+
+        public boolean isLeader() {
+            return leader;
+        }
+
+        public SharedStream stream() {
+            return stream;
+        }
+
+        public void cancel() {
+            if (stream != null) {
+                stream.leave(listener);
+            }
+        }
+    }
+
+    /** One upstream generation fanned out to every subscriber with the same key. */
+    public final class SharedStream {
+        private final String key;
+        private final List<Listener> listeners = new ArrayList<>();
+        private final StringBuilder content = new StringBuilder();
+        private boolean done;
+        private boolean failed;
+        private boolean hasLeader;
+        private Runnable cancelUpstream;
+
+        private SharedStream(String key) {
+            this.key = key;
+        }
+
+        private synchronized Subscription join(Consumer<AiStreamChunk> onData, Runnable onComplete) {
+            if (done) {
+                return null;
+            }
+            Listener listener = new Listener(onData, onComplete);
+            // Replay under the lock so the late joiner sees everything before the next live token
+            if (!content.isEmpty()) {
+                onData.accept(contentChunk(content.toString()));
+            }
+            listeners.add(listener);
+            boolean leader = !hasLeader;
+            hasLeader = true;
+            return new Subscription(this, listener, leader);
+        }
+
+        /** Registers how to stop the upstream call; runs it right away if the stream is already over. */
+        public synchronized void attachUpstream(Runnable cancel) {
+            this.cancelUpstream = cancel;
+            if (done) {
+                cancel.run();
+            }
+        }
+
+        public void publish(AiStreamChunk chunk) {
+            List<Listener> targets;
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                if ("content".equals(chunk.getType()) && chunk.getDelta() != null) {
+                    content.append(chunk.getDelta());
+                } else if ("error".equals(chunk.getType())) {
+                    failed = true;
+                }
+                targets = List.copyOf(listeners);
+            }
+            for (Listener target : targets) {
+                // Each subscriber frames its own copy, so never hand out the same instance twice
+                target.onData().accept(chunk.toBuilder().build());
+            }
+        }
+
+        public void complete() {
+            List<Listener> targets;
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                inFlight.remove(key, this);
+                if (!failed) {
+                    putCompleted(key, content.toString());
+                }
+                targets = List.copyOf(listeners);
+                listeners.clear();
+            }
+            targets.forEach(target -> target.onComplete().run());
+        }
+
+        private void leave(Listener listener) {
+            Runnable toCancel;
+            synchronized (this) {
+                if (!listeners.remove(listener) || !listeners.isEmpty() || done) {
+                    return;
+                }
+                // Last subscriber left: nobody wants this answer, and a partial one must not be cached
+                done = true;
+                inFlight.remove(key, this);
+                toCancel = cancelUpstream;
+            }
+            log.debug("Cancelling AI stream with no remaining subscribers");
+            if (toCancel != null) {
+                toCancel.run();
+            }
+        }
+    }
+}
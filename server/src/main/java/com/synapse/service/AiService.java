@@ -36,9 +36,12 @@ public class AiService {
         return apiKey != null && !apiKey.isBlank();
     }
 
+    public String getModel() {
+        return model;
+    }
+
     public void streamChat(AiChatRequest request, Consumer<AiStreamChunk> onData, Runnable onComplete) {
         HttpURLConnection conn = null;
-        StringBuilder contentBuilder = new StringBuilder();
         try {
             conn = (HttpURLConnection) URI.create(baseUrl + "/chat/completions")
                     .toURL().openConnection();
@@ -97,12 +100,10 @@ public class AiService {
                         JsonNode node = objectMapper.readTree(data);
                         JsonNode delta = node.path("choices").path(0).path("delta").path("content");
                         if (!delta.isMissingNode() && !delta.isNull()) {
-                            String deltaText = delta.asText();
-                            contentBuilder.append(deltaText);
+                            // Only the delta is emitted; AiStreamFramer rebuilds full content for legacy clients
                             onData.accept(AiStreamChunk.builder()
                                     .type("content")
-                                    .delta(deltaText)
-                                    .content(contentBuilder.toString())
+                                    .delta(delta.asText())
                                     .role("assistant")
                                     .model(model)
                                     .timestamp(System.currentTimeMillis())
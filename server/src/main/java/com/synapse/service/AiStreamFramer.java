@@ -0,0 +1,109 @@
+package com.synapse.service;
+
+import com.synapse.dto.AiStreamChunk;
+import com.synapse.dto.AiStreamDeltaFrame;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.zip.CRC32;
+
+/**
+ * Adapts the delta-only chunks produced by {@link AiService#streamChat} to the SSE protocol
+ * mode requested by the client.
+ *
+ * <ul>
+ *   <li>{@code full} (default) - legacy mode, every token chunk also carries the accumulated content.</li>
+ *   <li>{@code delta} - only new text is sent. Tokens are coalesced into frames bounded by size and
+ *       age; every frame carries the offset it applies at (in UTF-16 code units, i.e. JavaScript string
+ *       length) and a CRC32 of the UTF-8 content up to the end of the frame, so clients can detect
+ *       a gap and resync.</li>
+ * </ul>
+ *
+ * Instances are single-use and not thread-safe: one framer per stream, driven by the streaming thread.
+ */
+public final class AiStreamFramer implements Consumer<AiStreamChunk> {
+
+    public static final String MODE_FULL = "full";
+    public static final String MODE_DELTA = "delta";
+
+    private final Consumer<AiStreamChunk> sink;
+    private final boolean deltaMode;
+    private final int maxFrameChars;
+    private final long maxFrameDelayNanos;
+    private final LongSupplier clock;
+
+    private final StringBuilder content = new StringBuilder();
+    private final StringBuilder pending = new StringBuilder();
+    private final CRC32 crc = new CRC32();
+    private AiStreamChunk template;
+    private long pendingSince;
+    private int emittedChars;
+
+    AiStreamFramer(Consumer<AiStreamChunk> sink, boolean deltaMode, int maxFrameChars,
+                   long maxFrameDelayMs, LongSupplier clock) {
+        this.sink = sink;
+        this.deltaMode = deltaMode;
+        this.maxFrameChars = Math.max(1, maxFrameChars);
+        this.maxFrameDelayNanos = Math.max(0, maxFrameDelayMs) * 1_000_000L;
+        this.clock = clock;
+    }
+
+    public static AiStreamFramer forMode(String mode, Consumer<AiStreamChunk> sink,
+                                         int maxFrameChars, long maxFrameDelayMs) {
+        return new AiStreamFramer(sink, MODE_DELTA.equalsIgnoreCase(mode),
+                maxFrameChars, maxFrameDelayMs, System::nanoTime);
+    }
+
+    @Override
+    public void accept(AiStreamChunk chunk) {
+        if (!"content".equals(chunk.getType()) || chunk.getDelta() == null) {
+            // Errors and control chunks pass through untouched, after anything still buffered
+            finish();
+            sink.accept(chunk);
+            return;
+        }
+        if (!deltaMode) {
+            content.append(chunk.getDelta());
+            chunk.setContent(content.toString());
+            sink.accept(chunk);
+            return;
+        }
+        if (pending.isEmpty()) {
+            pendingSince = clock.getAsLong();
+        }
+        pending.append(chunk.getDelta());
+        template = chunk;
+        if (pending.length() >= maxFrameChars || clock.getAsLong() - pendingSince >= maxFrameDelayNanos) {
+            flush();
+        }
+    }
+
+    /**
+     * Emits any buffered text. Must be called once the upstream stream ends and before the
+     * terminating {@code [DONE]} event is written. Frames are only closed when a token arrives,
+     * so a stalled upstream can hold back at most one partial frame until this is called.
+     */
+    public void finish() {
+        if (deltaMode && !pending.isEmpty()) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        String text = pending.toString();
+        int offset = emittedChars;
+        emittedChars += text.length();
+        crc.update(text.getBytes(StandardCharsets.UTF_8));
+        pending.setLength(0);
+
+        sink.accept(AiStreamDeltaFrame.of(AiStreamChunk.builder()
+                .type("content")
+                .delta(text)
+                .offset(offset)
+                .checksum(Long.toHexString(crc.getValue()))
+                .role(template.getRole())
+                .model(template.getModel())
+                .timestamp(template.getTimestamp())
+                .build()));
+    }
+}
@@ -0,0 +1,310 @@
+package com.synapse.service;
+
+import com.synapse.dto.AiStreamChunk;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fair scheduler in front of {@code aiExecutor}.
+ *
+ * Each user gets a lane with a bounded queue and a cap on concurrently running streams. Lanes are
+ * served weighted round-robin: a lane may start up to {@code weight} streams per turn before the next
+ * lane is considered, and its running cap is the per-user cap times its weight, so a weight above the
+ * cap still buys a larger share. Work is only handed to the executor when a worker is free, so one user can no
+ * longer fill the shared queue; requests over the limits are rejected immediately with a retry hint.
+ */
+@Component
+@Slf4j
+public class AiStreamScheduler {
+
+    private static final Long ANONYMOUS = 0L;
+
+    private final ThreadPoolTaskExecutor aiExecutor;
+    private final Map<Long, Lane> lanes = new HashMap<>();
+    private final Deque<Lane> ready = new ArrayDeque<>();
+    private int active;
+    private int queued;
+
+    private final Timer queueWait;
+    private final Timer timeToFirstToken;
+    private final MeterRegistry registry;
+
+    @Value("${ai.scheduler.max-streams-per-user:2}")
+    private int maxActivePerUser;
+
+    @Value("${ai.scheduler.max-queued-per-user:3}")
+    private int maxQueuedPerUser;
+
+    @Value("${ai.scheduler.max-queued:100}")
+    private int maxQueued;
+
+    @Value("${ai.scheduler.retry-after-ms:3000}")
+    private long retryAfterMs;
+
+    // Comma-separated userId:weight pairs, e.g. "1:3,42:2"; unlisted users have weight 1. Scales the
+    // lane's turn and its running cap alike
+    @Value("${ai.scheduler.user-weights:}")
+    private String userWeights;
+
+    private Map<Long, Integer> weights;
+
+    public AiStreamScheduler(@Qualifier("aiExecutor") ThreadPoolTaskExecutor aiExecutor, MeterRegistry registry) {
+        this.aiExecutor = aiExecutor;
+        this.registry = registry;
+        this.queueWait = Timer.builder("synapse.ai.queue.wait")
+                .description("Time AI streams spend queued before a worker picks them up")
+                .register(registry);
+        this.timeToFirstToken = Timer.builder("synapse.ai.time_to_first_token")
+                .description("Time from accepting an AI request to its first streamed token")
+                .register(registry);
+        Gauge.builder("synapse.ai.streams.active", this, s -> s.snapshot(true))
+                .description("AI streams currently running upstream")
+                .register(registry);
+        Gauge.builder("synapse.ai.queue.size", this, s -> s.snapshot(false))
+                .description("AI streams waiting for a worker")
+                .register(registry);
+    }
+
+    private synchronized double snapshot(boolean running) {
+        return running ? active : queued;
+    }
+
+    /**
+     * Queues {@code task} for {@code userId}. If the user or the scheduler is over its limits,
+     * {@code onRejected} is called right away with the suggested retry delay in milliseconds; it is
+     * also called later if the executor refuses the task.
+     */
+    public Ticket submit(Long userId, Runnable task, LongConsumer onRejected) {
+        Long key = userId != null ? userId : ANONYMOUS;
+        Ticket ticket = new Ticket(task, onRejected);
+        String rejectReason = null;
+        List<Ticket> failed = List.of();
+        synchronized (this) {
+            Lane lane = lanes.computeIfAbsent(key, k -> new Lane(k, weightFor(k), maxActivePerUser));
+            if (lane.queue.size() >= maxQueuedPerUser) {
+                rejectReason = "user_limit";
+            } else if (queued >= maxQueued) {
+                rejectReason = "queue_full";
+            }
+            if (rejectReason != null) {
+                ticket.claim();
+                dropIfIdle(lane);
+            } else {
+                ticket.lane = lane;
+                lane.queue.addLast(ticket);
+                queued++;
+                if (!lane.inRing && lane.active < lane.maxActive) {
+                    lane.inRing = true;
+                    ready.addLast(lane);
+                }
+                failed = dispatch();
+            }
+        }
+        if (rejectReason != null) {
+            reject(ticket, rejectReason);
+        }
+        failed.forEach(t -> reject(t, "executor"));
+        return ticket;
+    }
+
+    /**
+     * Wraps a chunk consumer so the first content token records time-to-first-token, measured from
+     * the moment this method is called.
+     */
+    public Consumer<AiStreamChunk> timingFirstToken(Consumer<AiStreamChunk> downstream) {
+        long acceptedAt = System.nanoTime();
+        AtomicBoolean seen = new AtomicBoolean();
+        return chunk -> {
+            if ("content".equals(chunk.getType()) && seen.compareAndSet(false, true)) {
+                timeToFirstToken.record(System.nanoTime() - acceptedAt, TimeUnit.NANOSECONDS);
+            }
+            downstream.accept(chunk);
+        };
+    }
+
+    /** Starts queued tickets while workers are free; returns tickets the executor refused. */
+    private List<Ticket> dispatch() {
+        List<Ticket> failed = new ArrayList<>();
+        int capacity = aiExecutor.getMaxPoolSize();
+        while (active < capacity && !ready.isEmpty()) {
+            Lane lane = ready.peekFirst();
+            Ticket ticket = lane.queue.pollFirst();
+            if (ticket == null) {
+                ready.pollFirst();
+                lane.inRing = false;
+                lane.credits = lane.weight;
+                dropIfIdle(lane);
+                continue;
+            }
+            queued--;
+            lane.active++;
+            active++;
+            if (--lane.credits <= 0 || lane.queue.isEmpty() || lane.active >= lane.maxActive) {
+                // Turn is over: rotate to the back if there is more work, otherwise leave the ring
+                ready.pollFirst();
+                lane.credits = lane.weight;
+                if (!lane.queue.isEmpty() && lane.active < lane.maxActive) {
+                    ready.addLast(lane);
+                } else {
+                    lane.inRing = false;
+                }
+            }
+            if (!start(ticket)) {
+                failed.add(ticket);
+            }
+        }
+        return failed;
+    }
+
+    private boolean start(Ticket ticket) {
+        queueWait.record(System.nanoTime() - ticket.queuedAt, TimeUnit.NANOSECONDS);
+        try {
+            ticket.future = aiExecutor.submit(() -> {
+                if (!ticket.claim()) {
+                    return; // cancelled while waiting for a thread; cancel() already freed the slot
+                }
+                try {
+                    ticket.task.run();
+                } finally {
+                    release(ticket);
+                }
+            });
+            return true;
+        } catch (TaskRejectedException e) {
+            log.warn("AI executor rejected a scheduled stream: {}", e.getMessage());
+            ticket.claim();
+            freeSlot(ticket.lane);
+            return false;
+        }
+    }
+
+    private void release(Ticket ticket) {
+        List<Ticket> failed;
+        synchronized (this) {
+            freeSlot(ticket.lane);
+            failed = dispatch();
+        }
+        failed.forEach(t -> reject(t, "executor"));
+    }
+
+    private void freeSlot(Lane lane) {
+        lane.active--;
+        active--;
+        if (!lane.queue.isEmpty() && !lane.inRing) {
+            lane.inRing = true;
+            ready.addLast(lane);
+        }
+        dropIfIdle(lane);
+    }
+
+    private synchronized boolean dequeue(Ticket ticket) {
+        if (ticket.lane != null && ticket.lane.queue.remove(ticket)) {
+            queued--;
+            dropIfIdle(ticket.lane);
+            return true;
+        }
+        return false;
+    }
+
+    private void dropIfIdle(Lane lane) {
+        if (lane.active == 0 && lane.queue.isEmpty() && !lane.inRing) {
+            lanes.remove(lane.userId);
+        }
+    }
+
+    private void reject(Ticket ticket, String reason) {
+        Counter.builder("synapse.ai.rejected")
+                .tag("reason", reason)
+                .description("AI requests rejected by the scheduler")
+                .register(registry)
+                .increment();
+        ticket.onRejected.accept(retryAfterMs);
+    }
+
+    private int weightFor(Long userId) {
+        if (weights == null) {
+            Map<Long, Integer> parsed = new HashMap<>();
+            if (userWeights != null && !userWeights.isBlank()) {
+                for (String pair : userWeights.split(",")) {
+                    String[] parts = pair.trim().split(":");
+                    if (parts.length == 2) {
+                        parsed.put(Long.parseLong(parts[0].trim()), Math.max(1, Integer.parseInt(parts[1].trim())));
+                    }
+                }
+            }
+            weights = parsed;
+        }
+        return weights.getOrDefault(userId, 1);
+    }
+
+    private static final class Lane {
+        private final Long userId;
+        private final int weight;
+        private final int maxActive;
+        private final Deque<Ticket> queue = new ArrayDeque<>();
+        private int active;
+        private int credits;
+        private boolean inRing;
+
+        private Lane(Long userId, int weight, int maxActivePerUser) {
+            this.userId = userId;
+            this.weight = weight;
+            this.maxActive = (int) Math.min(Integer.MAX_VALUE, (long) maxActivePerUser * weight);
+            this.credits = weight;
+        }
+    }
+
+    /** Handle on a submitted stream; {@link #cancel()} dequeues it or interrupts it if running. */
+    public final class Ticket {
+        private final Runnable task;
+        private final LongConsumer onRejected;
+        private final long queuedAt = System.nanoTime();
+        private final AtomicBoolean started = new AtomicBoolean();
+        private Lane lane;
+        private volatile Future<?> future;
+
+        private Ticket(Runnable task, LongConsumer onRejected) {
+            this.task = task;
+            this.onRejected = onRejected;
+        }
+
+        /** Claims the ticket's single start; false if it was already started, rejected or cancelled. */
+        private boolean claim() {
+            return started.compareAndSet(false, true);
+        }
+
+        public void cancel() {
+            if (dequeue(this)) {
+                return;
+            }
+            Future<?> pending = future;
+            if (pending == null) {
+                return;
+            }
+            if (claim()) {
+                // Handed to the executor but never ran: give the slot back ourselves
+                release(this);
+            }
+            pending.cancel(true);
+        }
+    }
+}
@@ -9,10 +9,12 @@ import com.synapse.entity.AuthProvider;
 import com.synapse.repository.UserRepository;
 import com.synapse.util.JwtUtil;
 import com.synapse.util.PasswordUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+@Timed("synapse.service")
 @Service
 @RequiredArgsConstructor
 public class AuthService {
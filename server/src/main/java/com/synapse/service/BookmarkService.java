@@ -1,21 +1,30 @@
 package com.synapse.service;
 
 import com.synapse.dto.BookmarkDto;
+import com.synapse.dto.PostDto;
 import com.synapse.entity.Bookmark;
 import com.synapse.entity.Post;
-import com.synapse.entity.User;
+import com.synapse.repository.BookmarkEntry;
 import com.synapse.repository.BookmarkRepository;
 import com.synapse.repository.PostRepository;
+import com.synapse.repository.UniqueRowInserter;
 import com.synapse.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import java.time.Instant;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+@Timed("synapse.service")
 @Service
 @RequiredArgsConstructor
 public class BookmarkService {
@@ -23,14 +32,24 @@ public class BookmarkService {
     private final BookmarkRepository bookmarkRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final HotRankingService hotRankingService;
+    private final UniqueRowInserter rowInserter;
+    private final PostCardAssembler postCardAssembler;
 
     @Transactional(readOnly = true)
     public Page<BookmarkDto> getUserBookmarks(Long userId, Pageable pageable) {
         if (!userRepository.existsById(userId)) {
             throw new IllegalArgumentException("User not found");
         }
-        return bookmarkRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable)
-                .map(BookmarkDto::fromEntity);
+        Page<BookmarkEntry> bookmarks = bookmarkRepository.findEntriesByUserId(userId, pageable);
+        Map<Long, PostDto> posts = postCardAssembler.findByIds(
+                        bookmarks.stream().map(BookmarkEntry::postId).toList()).stream()
+                .collect(Collectors.toMap(PostDto::getId, Function.identity()));
+        return bookmarks.map(bookmark -> BookmarkDto.builder()
+                .id(bookmark.id())
+                .post(posts.get(bookmark.postId()))
+                .createdAt(bookmark.createdAt())
+                .build());
     }
 
     @Transactional(readOnly = true)
@@ -54,23 +73,24 @@ public class BookmarkService {
     })
     @Transactional
     public BookmarkDto addBookmark(Long userId, Long postId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        Instant now = Instant.now();
+        Long id;
+        try {
+            id = rowInserter.insertIfAbsent(Bookmark.class, "bookmarks",
+                            Map.of("user_id", userId, "post_id", postId, "created_at", now))
+                    .orElseThrow(() -> new IllegalArgumentException("Already bookmarked"));
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Post not found");
+        }
 
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new IllegalArgumentException("Post not found"));
-
-        if (bookmarkRepository.existsByUserIdAndPostId(userId, postId)) {
-            throw new IllegalArgumentException("Already bookmarked");
-        }
-
-        Bookmark bookmark = Bookmark.builder()
-                .user(user)
+        hotRankingService.record(post, HotRankingService.Engagement.BOOKMARK, now);
+        return BookmarkDto.fromEntity(Bookmark.builder()
+                .id(id)
                 .post(post)
-                .build();
-
-        Bookmark saved = bookmarkRepository.save(bookmark);
-        return BookmarkDto.fromEntity(saved);
+                .createdAt(now)
+                .build());
     }
 
     @Caching(evict = {
@@ -79,10 +99,11 @@ public class BookmarkService {
     })
     @Transactional
     public void removeBookmark(Long userId, Long postId) {
-        if (!bookmarkRepository.existsByUserIdAndPostId(userId, postId)) {
-            throw new IllegalArgumentException("Bookmark not found");
-        }
+        Instant bookmarkedAt = bookmarkRepository.findCreatedAt(userId, postId)
+                .orElseThrow(() -> new IllegalArgumentException("Bookmark not found"));
         bookmarkRepository.deleteByUserIdAndPostId(userId, postId);
+        postRepository.findById(postId).ifPresent(post ->
+                hotRankingService.retract(post, HotRankingService.Engagement.BOOKMARK, bookmarkedAt));
     }
 
     @Cacheable(value = "counts", key = "'bookmarks:' + #postId")
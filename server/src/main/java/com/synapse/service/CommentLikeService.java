@@ -1,25 +1,26 @@
 package com.synapse.service;
 
-import com.synapse.entity.Comment;
 import com.synapse.entity.CommentLike;
-import com.synapse.entity.User;
 import com.synapse.repository.CommentLikeRepository;
-import com.synapse.repository.CommentRepository;
-import com.synapse.repository.UserRepository;
+import com.synapse.repository.UniqueRowInserter;
+import io.micrometer.core.annotation.Timed;
+import java.time.Instant;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+@Timed("synapse.service")
 @Service
 @RequiredArgsConstructor
 public class CommentLikeService {
 
     private final CommentLikeRepository commentLikeRepository;
-    private final CommentRepository commentRepository;
-    private final UserRepository userRepository;
+    private final UniqueRowInserter rowInserter;
 
     public record ToggleResult(boolean liked, long count) {}
 
@@ -29,22 +30,21 @@ public class CommentLikeService {
     })
     @Transactional
     public ToggleResult toggleCommentLike(Long userId, Long commentId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        Comment comment = commentRepository.findById(commentId)
-                .orElseThrow(() -> new IllegalArgumentException("Comment not found"));
-
-        boolean exists = commentLikeRepository.existsByUserIdAndCommentId(userId, commentId);
-        if (exists) {
-            commentLikeRepository.deleteByUserIdAndCommentId(userId, commentId);
-            commentLikeRepository.decrementCommentLikeCount(commentId);
-        } else {
-            CommentLike like = CommentLike.builder().user(user).comment(comment).build();
-            commentLikeRepository.save(like);
+        boolean liked;
+        try {
+            liked = rowInserter.insertIfAbsent(CommentLike.class, "comment_likes",
+                    Map.of("user_id", userId, "comment_id", commentId, "created_at", Instant.now())).isPresent();
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Comment not found");
+        }
+        if (liked) {
             commentLikeRepository.incrementCommentLikeCount(commentId);
+        } else if (commentLikeRepository.deleteByUserIdAndCommentId(userId, commentId) > 0) {
+            commentLikeRepository.decrementCommentLikeCount(commentId);
         }
-        long count = commentLikeRepository.countByCommentId(commentId);
-        return new ToggleResult(!exists, count);
+        int count = commentLikeRepository.findCommentLikeCount(commentId)
+                .orElseThrow(() -> new IllegalArgumentException("Comment not found"));
+        return new ToggleResult(liked, count);
     }
 
     @Cacheable(value = "counts", key = "'hasLikedComment:' + #userId + ':' + #commentId")
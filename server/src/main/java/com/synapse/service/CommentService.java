@@ -10,6 +10,7 @@ import com.synapse.entity.User;
 import com.synapse.repository.CommentRepository;
 import com.synapse.repository.PostRepository;
 import com.synapse.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -23,6 +24,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+@Timed("synapse.service")
 @Service
 @RequiredArgsConstructor
 public class CommentService {
@@ -33,6 +35,7 @@ public class CommentService {
 	private final PostRepository postRepository;
 	private final UserRepository userRepository;
 	private final NotificationService notificationService;
+	private final HotRankingService hotRankingService;
 
 	@Transactional(readOnly = true)
 	public Page<CommentDto> getPostComments(Long postId, Pageable pageable) {
@@ -87,6 +90,7 @@ public class CommentService {
 				.build();
 
 		Comment saved = commentRepository.save(comment);
+		hotRankingService.record(post, HotRankingService.Engagement.COMMENT, comment.getCreatedAt());
 
 		notificationService.createNotification(
 				post.getUser(), user, NotificationType.COMMENT, post, saved);
@@ -150,6 +154,10 @@ public class CommentService {
 		Comment comment = commentRepository.findByIdWithUser(commentId)
 				.orElseThrow(() -> new IllegalArgumentException("Comment not found"));
 
+		if (!Boolean.TRUE.equals(comment.getIsDeleted())) {
+			hotRankingService.retract(comment.getPost(), HotRankingService.Engagement.COMMENT,
+					comment.getCreatedAt());
+		}
 		comment.setIsDeleted(true);
 		comment.setContent("[已删除]");
 		commentRepository.save(comment);
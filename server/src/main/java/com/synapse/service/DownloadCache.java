@@ -0,0 +1,312 @@
+package com.synapse.service;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.minio.GetObjectArgs;
+import io.minio.MinioClient;
+import jakarta.annotation.PostConstruct;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Size-bounded LRU cache of MinIO objects on the local disk, used by the download endpoint.
+ *
+ * Entries are keyed by object name and ETag, so a replaced object is never served stale. A miss
+ * is answered from MinIO as before while a background worker copies the object to disk; concurrent
+ * misses on the same object share one fill.
+ *
+ * Evicted files are deleted right away unless the entry was served within a short grace period: Tomcat
+ * only opens a file handed to sendfile once the response is committed, after the lookup returned, so
+ * a recently served file stays on disk until that window passes (a file already opened keeps being
+ * readable after it is unlinked). Files kept back this way still count towards the size bound, so
+ * the disk only ever exceeds it by files that are being sent.
+ */
+@Timed("synapse.service")
+@Service
+@Slf4j
+public class DownloadCache {
+
+    private static final String SUFFIX = ".cache";
+    private static final String PARTIAL_SUFFIX = ".part";
+
+    private final MinioClient minioClient;
+    private final ThreadPoolTaskExecutor fillExecutor;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final List<Entry> evicted = new ArrayList<>();
+    private final Set<String> filling = ConcurrentHashMap.newKeySet();
+    // Bytes on disk, including evicted files that are still being served
+    private long cachedBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final AtomicLong bytesServed = new AtomicLong();
+
+    @Value("${minio.bucket}")
+    private String bucket;
+
+    @Value("${download.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${download.cache.dir:${java.io.tmpdir}/synapse-download-cache}")
+    private Path directory;
+
+    @Value("${download.cache.max-size-mb:1024}")
+    private long maxSizeMb;
+
+    @Value("${download.cache.max-object-size-mb:100}")
+    private long maxObjectSizeMb;
+
+    @Value("${download.cache.sendfile-grace-ms:60000}")
+    private long sendfileGraceMs;
+
+    public DownloadCache(MinioClient minioClient,
+                         @Qualifier("downloadCacheExecutor") ThreadPoolTaskExecutor fillExecutor,
+                         MeterRegistry registry) {
+        this.minioClient = minioClient;
+        this.fillExecutor = fillExecutor;
+        this.hits = lookups(registry, "hit");
+        this.misses = lookups(registry, "miss");
+        FunctionCounter.builder("synapse.download.cache.bytes.served", bytesServed, AtomicLong::get)
+                .description("Download bytes served from the local disk cache instead of MinIO")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("synapse.download.cache.hit.ratio", this, DownloadCache::hitRatio)
+                .description("Share of downloads served from the local disk cache since startup")
+                .register(registry);
+        Gauge.builder("synapse.download.cache.size", this, DownloadCache::size)
+                .description("Bytes currently held in the local download cache")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private static Counter lookups(MeterRegistry registry, String result) {
+        return Counter.builder("synapse.download.cache")
+                .tag("result", result)
+                .description("Download cache lookups by outcome")
+                .register(registry);
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private synchronized double size() {
+        return cachedBytes;
+    }
+
+    /** Files left by a previous process are not indexed, so they are cleared on startup. */
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> stale = Files.newDirectoryStream(directory,
+                    "*{" + SUFFIX + "," + PARTIAL_SUFFIX + "}")) {
+                for (Path file : stale) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Disabling download cache, {} is not usable: {}", directory, e.getMessage());
+            enabled = false;
+        }
+    }
+
+    /**
+     * Returns the cached copy of an object version, or schedules a background fill and returns
+     * empty so the caller streams from MinIO this time.
+     */
+    public Optional<Path> lookup(String objectName, String etag, long size) {
+        if (!enabled || size > maxObjectSizeMb * 1024 * 1024) {
+            return Optional.empty();
+        }
+        String key = objectName + '\n' + etag;
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry != null) {
+                entry.servedUntil = System.currentTimeMillis() + sendfileGraceMs;
+            }
+        }
+        if (entry != null) {
+            hits.increment();
+            return Optional.of(entry.path);
+        }
+        misses.increment();
+        scheduleFill(key, objectName, size);
+        return Optional.empty();
+    }
+
+    /** Records bytes sent to a client from a path returned by {@link #lookup}. */
+    public void recordServed(long bytes) {
+        bytesServed.addAndGet(bytes);
+    }
+
+    private void scheduleFill(String key, String objectName, long size) {
+        if (!filling.add(key)) {
+            return; // another request is already copying this object
+        }
+        try {
+            fillExecutor.execute(() -> {
+                try {
+                    fill(key, objectName, size);
+                } finally {
+                    filling.remove(key);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // Fill pool saturated: skip caching, the next miss will try again
+            filling.remove(key);
+        }
+    }
+
+    void fill(String key, String objectName, long size) {
+        String id = UUID.randomUUID().toString();
+        Path partial = directory.resolve(id + PARTIAL_SUFFIX);
+        Path target = directory.resolve(id + SUFFIX);
+        try {
+            try (InputStream in = minioClient.getObject(
+                    GetObjectArgs.builder().bucket(bucket).object(objectName).build())) {
+                Files.copy(in, partial);
+            }
+            if (Files.size(partial) != size) {
+                // The object changed between stat and fill; do not cache it under the old ETag
+                Files.deleteIfExists(partial);
+                return;
+            }
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+            insert(key, new Entry(target, size));
+        } catch (Exception e) {
+            log.debug("Failed to cache {}: {}", objectName, e.getMessage());
+            deleteQuietly(partial);
+        }
+    }
+
+    private synchronized void insert(String key, Entry entry) {
+        long now = System.currentTimeMillis();
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            evict(previous, now);
+        }
+        cachedBytes += entry.size;
+        long maxBytes = maxSizeMb * 1024 * 1024;
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (cachedBytes > maxBytes && eldest.hasNext()) {
+            Entry victim = eldest.next().getValue();
+            eldest.remove();
+            evict(victim, now);
+        }
+    }
+
+    private void evict(Entry entry, long now) {
+        if (entry.servedUntil > now) {
+            evicted.add(entry);
+        } else {
+            delete(entry);
+        }
+    }
+
+    private void delete(Entry entry) {
+        deleteQuietly(entry.path);
+        cachedBytes -= entry.size;
+    }
+
+    /** Deletes evicted files whose sendfile window has passed. */
+    @Scheduled(fixedDelayString = "${download.cache.purge-interval-ms:10000}")
+    public synchronized void purgeEvicted() {
+        long now = System.currentTimeMillis();
+        evicted.removeIf(entry -> {
+            if (entry.servedUntil > now) {
+                return false;
+            }
+            delete(entry);
+            return true;
+        });
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.debug("Failed to delete cached file {}: {}", path, e.getMessage());
+        }
+    }
+
+    /** Opens {@code length} bytes of a cached file starting at {@code offset}. */
+    public static InputStream open(Path path, long offset, long length) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        channel.position(offset);
+        return new FilterInputStream(Channels.newInputStream(channel)) {
+            private long remaining = length;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int b = super.read();
+                if (b >= 0) {
+                    remaining--;
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int off, int len) throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int read = super.read(buffer, off, (int) Math.min(len, remaining));
+                if (read > 0) {
+                    remaining -= read;
+                }
+                return read;
+            }
+        };
+    }
+
+    private static final class Entry {
+        private final Path path;
+        private final long size;
+        // Until when sendfile may still open the file; guarded by the cache's lock
+        private long servedUntil;
+
+        private Entry(Path path, long size) {
+            this.path = path;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.synapse.service;
+
+import com.synapse.entity.PostType;
+import com.synapse.repository.LikeRepository;
+import com.synapse.repository.PostRepository;
+import com.synapse.repository.PostStamp;
+import com.synapse.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Computes ETags for post, user and feed responses from entity versions and counters, so conditional
+ * GETs can be answered with 304 without loading or serializing the entities themselves.
+ *
+ * Everything that shows up in a response feeds its tag: entity versions (bumped on every update),
+ * like counts (maintained by bulk updates that leave versions alone), the author's version, and the
+ * viewer, whose likes and ownership change the representation.
+ */
+@Timed("synapse.service")
+@Service
+@RequiredArgsConstructor
+public class EntityTagService {
+
+    private static final int TAG_BYTES = 16;
+
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final LikeRepository likeRepository;
+
+    /** Validators for a page of posts; {@code lastModified} is the newest post's creation time. */
+    public record FeedValidators(String etag, long lastModified) {}
+
+    /** ETag of a single post as seen by {@code viewerId}, or empty if the post does not exist. */
+    @Transactional(readOnly = true)
+    public Optional<String> postTag(Long postId, Long viewerId) {
+        return postRepository.findStampById(postId).map(stamp -> {
+            boolean liked = viewerId != null && likeRepository.existsByUserIdAndPostId(viewerId, postId);
+            return hash("post", stamp(stamp), viewerId, liked);
+        });
+    }
+
+    /** ETag of a user profile, or empty if the user does not exist. */
+    @Transactional(readOnly = true)
+    public Optional<String> userTag(Long userId) {
+        return userRepository.findVersionById(userId).map(version -> hash("user", userId, version));
+    }
+
+    /**
+     * Validators for the post feed with optional tag and type filters. The page's posts, the total
+     * count and the viewer's likes among them all contribute.
+     */
+    @Transactional(readOnly = true)
+    public FeedValidators feedValidators(String tag, PostType type, Pageable pageable, Long viewerId) {
+        return feed(tag, type, null, pageable, viewerId);
+    }
+
+    /** Validators for a user's posts, or empty if the user does not exist. */
+    @Transactional(readOnly = true)
+    public Optional<FeedValidators> userPostsValidators(Long userId, Pageable pageable) {
+        return userRepository.findVersionById(userId).map(version -> feed(null, null, userId, pageable, null));
+    }
+
+    private FeedValidators feed(String tag, PostType type, Long authorId, Pageable pageable, Long viewerId) {
+        List<PostStamp> stamps = postRepository.findFeedStamps(tag, type, authorId, pageable);
+        Object[] watermark = postRepository.findFeedWatermark(tag, type, authorId).get(0);
+        Set<Long> liked = Set.of();
+        if (viewerId != null && !stamps.isEmpty()) {
+            liked = new HashSet<>(likeRepository.findLikedPostIds(viewerId,
+                    stamps.stream().map(PostStamp::id).toList()));
+        }
+        StringBuilder parts = new StringBuilder();
+        for (PostStamp stamp : stamps) {
+            parts.append(stamp(stamp)).append(liked.contains(stamp.id()) ? "+" : "").append(';');
+        }
+        Instant latest = (Instant) watermark[1];
+        String etag = hash("feed", pageable.getPageNumber(), pageable.getPageSize(), watermark[0], parts);
+        return new FeedValidators(etag, latest == null ? -1 : latest.toEpochMilli());
+    }
+
+    private static String stamp(PostStamp stamp) {
+        return stamp.id() + ":" + stamp.version() + ":" + stamp.likeCount() + ":" + stamp.authorId() + ":"
+                + stamp.authorVersion() + ":" + stamp.isPrivate();
+    }
+
+    private static String hash(Object... parts) {
+        String joined = Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining("|"));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(joined.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, TAG_BYTES);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
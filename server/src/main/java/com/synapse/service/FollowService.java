@@ -1,20 +1,31 @@
 package com.synapse.service;
 
 import com.synapse.dto.FollowDto;
+import com.synapse.dto.UserDto;
 import com.synapse.entity.Follow;
 import com.synapse.entity.NotificationType;
 import com.synapse.entity.User;
+import com.synapse.repository.FollowEntry;
 import com.synapse.repository.FollowRepository;
+import com.synapse.repository.UniqueRowInserter;
 import com.synapse.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+@Timed("synapse.service")
 @Service
 @RequiredArgsConstructor
 public class FollowService {
@@ -22,14 +33,15 @@ public class FollowService {
     private final FollowRepository followRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final TimelineFanout timelineFanout;
+    private final UniqueRowInserter rowInserter;
 
     @Transactional(readOnly = true)
     public Page<FollowDto> getFollowing(Long userId, Pageable pageable) {
         if (!userRepository.existsById(userId)) {
             throw new IllegalArgumentException("User not found");
         }
-        return followRepository.findByFollowerIdOrderByCreatedAtDesc(userId, pageable)
-                .map(FollowDto::fromEntity);
+        return toDtos(followRepository.findEntriesByFollowerId(userId, pageable));
     }
 
     @Transactional(readOnly = true)
@@ -37,8 +49,24 @@ public class FollowService {
         if (!userRepository.existsById(userId)) {
             throw new IllegalArgumentException("User not found");
         }
-        return followRepository.findByFollowingIdOrderByCreatedAtDesc(userId, pageable)
-                .map(FollowDto::fromEntity);
+        return toDtos(followRepository.findEntriesByFollowingId(userId, pageable));
+    }
+
+    // Both sides of every follow on the page, read through the second-level cache
+    private Page<FollowDto> toDtos(Page<FollowEntry> follows) {
+        Set<Long> userIds = new HashSet<>();
+        follows.forEach(follow -> {
+            userIds.add(follow.followerId());
+            userIds.add(follow.followingId());
+        });
+        Map<Long, UserDto> users = userRepository.findAllCachedById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, UserDto::fromEntity));
+        return follows.map(follow -> FollowDto.builder()
+                .id(follow.id())
+                .follower(users.get(follow.followerId()))
+                .following(users.get(follow.followingId()))
+                .createdAt(follow.createdAt())
+                .build());
     }
 
     @Cacheable(value = "counts", key = "'isFollowing:' + #followerId + ':' + #followingId")
@@ -58,27 +86,29 @@ public class FollowService {
             throw new IllegalArgumentException("Cannot follow yourself");
         }
 
-        User follower = userRepository.findById(followerId)
-                .orElseThrow(() -> new IllegalArgumentException("Follower user not found"));
-
-        User following = userRepository.findById(followingId)
-                .orElseThrow(() -> new IllegalArgumentException("User to follow not found"));
-
-        if (followRepository.existsByFollowerIdAndFollowingId(followerId, followingId)) {
-            throw new IllegalArgumentException("Already following this user");
+        Instant now = Instant.now();
+        Long id;
+        try {
+            id = rowInserter.insertIfAbsent(Follow.class, "follows",
+                            Map.of("follower_id", followerId, "following_id", followingId, "created_at", now))
+                    .orElseThrow(() -> new IllegalArgumentException("Already following this user"));
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("User to follow not found");
         }
 
-        Follow follow = Follow.builder()
-                .follower(follower)
-                .following(following)
-                .build();
-
-        Follow saved = followRepository.save(follow);
+        User follower = userRepository.getReferenceById(followerId);
+        User following = userRepository.getReferenceById(followingId);
+        timelineFanout.followed(followerId, followingId);
 
         notificationService.createNotification(
                 following, follower, NotificationType.FOLLOW, null, null);
 
-        return FollowDto.fromEntity(saved);
+        return FollowDto.fromEntity(Follow.builder()
+                .id(id)
+                .follower(follower)
+                .following(following)
+                .createdAt(now)
+                .build());
     }
 
     @Caching(evict = {
@@ -88,10 +118,10 @@ public class FollowService {
     })
     @Transactional
     public void unfollowUser(Long followerId, Long followingId) {
-        if (!followRepository.existsByFollowerIdAndFollowingId(followerId, followingId)) {
+        if (followRepository.deleteByFollowerIdAndFollowingId(followerId, followingId) == 0) {
             throw new IllegalArgumentException("Not following this user");
         }
-        followRepository.deleteByFollowerIdAndFollowingId(followerId, followingId);
+        timelineFanout.unfollowed(followerId, followingId);
     }
 
     @Cacheable(value = "counts", key = "'following:' + #userId")
@@ -0,0 +1,245 @@
+package com.synapse.service;
+
+import com.synapse.entity.Post;
+import com.synapse.entity.PostType;
+import com.synapse.entity.Tag;
+import com.synapse.repository.BookmarkRepository;
+import com.synapse.repository.CommentRepository;
+import com.synapse.repository.LikeRepository;
+import com.synapse.repository.PostRepository;
+import io.micrometer.core.annotation.Timed;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hot ranking of posts and tags with exponential time decay, maintained incrementally from engagement.
+ *
+ * A post's hotness is {@code sum(weight * 2^(-age / half-life))} over its creation and every like,
+ * comment and bookmark. Dividing by a common factor does not change the order, so events are scored
+ * against a fixed epoch instead ({@code weight * 2^((t - epoch) / half-life)}, kept in log2 space by
+ * {@link RankingIndex}); older events then weigh less without ever rescoring anything. Tags collect the
+ * engagement of their posts. Rankings are rebuilt from the database when the index starts out empty.
+ */
+@Slf4j
+@Timed("synapse.service")
+@Service
+public class HotRankingService {
+
+    static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+    static final String POSTS = "posts";
+    static final String TAGS = "tags";
+
+    /** Ways a post gains hotness. */
+    public enum Engagement { POST, LIKE, COMMENT, BOOKMARK }
+
+    private final RankingIndex index;
+    private final PostRepository postRepository;
+    private final LikeRepository likeRepository;
+    private final CommentRepository commentRepository;
+    private final BookmarkRepository bookmarkRepository;
+
+    @Value("${ranking.half-life-hours:24}")
+    private double halfLifeHours;
+
+    @Value("${ranking.weight.post:1}")
+    private double postWeight;
+
+    @Value("${ranking.weight.like:1}")
+    private double likeWeight;
+
+    @Value("${ranking.weight.comment:3}")
+    private double commentWeight;
+
+    @Value("${ranking.weight.bookmark:2}")
+    private double bookmarkWeight;
+
+    @Value("${ranking.max-posts:10000}")
+    private int maxPosts;
+
+    @Value("${ranking.rebuild-days:7}")
+    private int rebuildDays;
+
+    public HotRankingService(RankingIndex index,
+                             PostRepository postRepository,
+                             LikeRepository likeRepository,
+                             CommentRepository commentRepository,
+                             BookmarkRepository bookmarkRepository) {
+        this.index = index;
+        this.postRepository = postRepository;
+        this.likeRepository = likeRepository;
+        this.commentRepository = commentRepository;
+        this.bookmarkRepository = bookmarkRepository;
+    }
+
+    /** Credits {@code post} with an engagement that happened at {@code at}, once the transaction commits. */
+    public void record(Post post, Engagement engagement, Instant at) {
+        apply(post, engagement, at, true);
+    }
+
+    /** Withdraws an engagement previously recorded with the same time, e.g. on unlike. */
+    public void retract(Post post, Engagement engagement, Instant at) {
+        apply(post, engagement, at, false);
+    }
+
+    public void postDeleted(Post post) {
+        String member = String.valueOf(post.getId());
+        afterCommit(() -> {
+            index.remove(POSTS, member);
+            index.remove(typeBoard(post.getType()), member);
+        });
+    }
+
+    /** IDs of the hottest posts, optionally of one type, for ranks {@code offset} onwards. */
+    public List<Long> topPostIds(PostType type, long offset, int limit) {
+        return index.top(type == null ? POSTS : typeBoard(type), offset, limit).stream()
+                .map(Long::valueOf)
+                .toList();
+    }
+
+    public long rankedPostCount(PostType type) {
+        return index.size(type == null ? POSTS : typeBoard(type));
+    }
+
+    public List<String> topTagNames(int limit) {
+        return index.top(TAGS, 0, limit);
+    }
+
+    /** Caps the post boards so long-cold posts do not accumulate. */
+    @Scheduled(fixedDelayString = "${ranking.trim-interval-ms:3600000}")
+    public void trim() {
+        index.trim(POSTS, maxPosts);
+        for (PostType type : PostType.values()) {
+            index.trim(typeBoard(type), maxPosts);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (index.size(POSTS) == 0) {
+            rebuild();
+        }
+    }
+
+    /** Recomputes all boards from posts created in the last {@code ranking.rebuild-days} and their engagement. */
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Instant since = Instant.now().minus(Duration.ofDays(rebuildDays));
+        Map<Long, Post> posts = new HashMap<>();
+        for (Post post : postRepository.findByCreatedAtGreaterThanEqual(since)) {
+            posts.put(post.getId(), post);
+        }
+        Map<String, Map<String, Double>> boards = new HashMap<>();
+        boards.put(POSTS, new HashMap<>());
+        boards.put(TAGS, new HashMap<>());
+        for (PostType type : PostType.values()) {
+            boards.put(typeBoard(type), new HashMap<>());
+        }
+        posts.values().forEach(post -> credit(boards, post, term(Engagement.POST, post.getCreatedAt())));
+        creditAll(boards, posts, likeRepository.findEngagementSince(since), Engagement.LIKE);
+        creditAll(boards, posts, commentRepository.findEngagementSince(since), Engagement.COMMENT);
+        creditAll(boards, posts, bookmarkRepository.findEngagementSince(since), Engagement.BOOKMARK);
+        boards.forEach(index::replace);
+        log.info("Rebuilt hot rankings from {} post(s) since {}", posts.size(), since);
+    }
+
+    private void creditAll(Map<String, Map<String, Double>> boards, Map<Long, Post> posts,
+                           List<Object[]> events, Engagement engagement) {
+        for (Object[] event : events) {
+            Post post = posts.get((Long) event[0]);
+            if (post != null) {
+                credit(boards, post, term(engagement, (Instant) event[1]));
+            }
+        }
+    }
+
+    private void credit(Map<String, Map<String, Double>> boards, Post post, double term) {
+        if (Double.isInfinite(term)) {
+            return;
+        }
+        for (String[] target : targets(post)) {
+            boards.get(target[0]).merge(target[1], term, RankingIndex::logAdd);
+        }
+    }
+
+    private void apply(Post post, Engagement engagement, Instant at, boolean add) {
+        if (weight(engagement) <= 0) {
+            return;
+        }
+        double term = term(engagement, at != null ? at : Instant.now());
+        // Collected now: the post's tags cannot be loaded after the transaction has ended
+        List<String[]> targets = targets(post);
+        afterCommit(() -> {
+            for (String[] target : targets) {
+                if (add) {
+                    index.add(target[0], target[1], term);
+                } else {
+                    index.subtract(target[0], target[1], term);
+                }
+            }
+        });
+    }
+
+    /** (board, member) pairs an engagement with {@code post} counts towards. */
+    private List<String[]> targets(Post post) {
+        List<String[]> targets = new ArrayList<>();
+        String member = String.valueOf(post.getId());
+        targets.add(new String[] {POSTS, member});
+        targets.add(new String[] {typeBoard(post.getType()), member});
+        for (Tag tag : post.getTags()) {
+            targets.add(new String[] {TAGS, tag.getName()});
+        }
+        return targets;
+    }
+
+    /** log2 of the engagement's weight scaled to the epoch. */
+    double term(Engagement engagement, Instant at) {
+        double halfLives = Duration.between(EPOCH, at).toMillis() / (halfLifeHours * 3_600_000);
+        return Math.log(weight(engagement)) / Math.log(2) + halfLives;
+    }
+
+    private double weight(Engagement engagement) {
+        return switch (engagement) {
+            case POST -> postWeight;
+            case LIKE -> likeWeight;
+            case COMMENT -> commentWeight;
+            case BOOKMARK -> bookmarkWeight;
+        };
+    }
+
+    private static String typeBoard(PostType type) {
+        return POSTS + ":" + type.name();
+    }
+
+    private static void afterCommit(Runnable action) {
+        Runnable safe = () -> {
+            try {
+                action.run();
+            } catch (Exception e) {
+                log.warn("Hot ranking update failed: {}", e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    safe.run();
+                }
+            });
+        } else {
+            safe.run();
+        }
+    }
+}
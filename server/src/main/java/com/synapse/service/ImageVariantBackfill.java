@@ -0,0 +1,196 @@
+package com.synapse.service;
+
+import io.micrometer.core.annotation.Timed;
+import io.minio.ListObjectsArgs;
+import io.minio.MinioClient;
+import io.minio.Result;
+import io.minio.messages.Item;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Schedules variants for uploaded images that do not have a complete set yet: uploads from before
+ * {@link ImageVariantService} existed, and jobs that ran out of retries (for example while MinIO was
+ * down). Their variant URLs would otherwise 404 until the image was uploaded again.
+ *
+ * Runs once per startup on the node holding the {@link JobLease}: the bucket is listed once, and
+ * missing uploads go through {@link ImageVariantService#enqueue} in batches, each waiting for the
+ * image executor to drain so the backlog never crowds out fresh uploads. Objects that are not
+ * decodable images are offered again on every pass, which only costs reading their header.
+ */
+@Slf4j
+@Timed("synapse.service")
+@Service
+public class ImageVariantBackfill {
+
+    private static final Pattern UPLOADED_IMAGE = Pattern.compile(
+            "^([0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}|[0-9a-f]{64})\\.(?i:jpe?g|png)$");
+    private static final Pattern VARIANT_NAME =
+            Pattern.compile("^variants/([0-9a-f-]{36}|[0-9a-f]{64})/([a-z]+)\\.jpg$");
+    private static final String LEASE = "image-variants-backfill";
+    private static final long DRAIN_POLL_MS = 200;
+
+    private final MinioClient minioClient;
+    private final ImageVariantService imageVariantService;
+    private final JobLease lease;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${minio.bucket}")
+    private String bucket;
+
+    @Value("${image.variants.backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${image.variants.backfill.batch-size:100}")
+    private int batchSize;
+
+    @Value("${image.variants.backfill.batch-pause-ms:1000}")
+    private long batchPauseMs;
+
+    @Value("${image.variants.backfill.lease-minutes:30}")
+    private long leaseMinutes;
+
+    public ImageVariantBackfill(MinioClient minioClient, ImageVariantService imageVariantService, JobLease lease) {
+        this.minioClient = minioClient;
+        this.imageVariantService = imageVariantService;
+        this.lease = lease;
+    }
+
+    @Scheduled(initialDelayString = "${image.variants.backfill.initial-delay-ms:120000}")
+    public void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            run();
+        } catch (Exception e) {
+            log.warn("Image variant backfill failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Enqueues every uploaded image without a complete variant set, unless a pass is already in
+     * progress here or on another node.
+     *
+     * @return number of images enqueued, or -1 if skipped
+     */
+    public int run() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Image variant backfill already running, skipping");
+            return -1;
+        }
+        try {
+            if (!holdLease()) {
+                log.info("Image variant backfill running on another instance, skipping");
+                return -1;
+            }
+            try {
+                List<String> missing = findMissing(Instant.now());
+                if (missing == null) {
+                    return 0;
+                }
+                int enqueued = enqueue(missing);
+                if (enqueued > 0) {
+                    log.info("Enqueued image variants for {} upload(s) that had none", enqueued);
+                }
+                return enqueued;
+            } finally {
+                lease.release(LEASE, instanceId);
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private boolean holdLease() {
+        return lease.acquire(LEASE, instanceId, Duration.ofMinutes(leaseMinutes));
+    }
+
+    /** Uploaded images stored before {@code startedAt} that lack at least one variant, or null if listing failed. */
+    List<String> findMissing(Instant startedAt) {
+        Map<String, String> uploads = new HashMap<>();
+        Map<String, Set<String>> variants = new HashMap<>();
+        Iterable<Result<Item>> listing = minioClient.listObjects(ListObjectsArgs.builder()
+                .bucket(bucket)
+                .recursive(true)
+                .maxKeys(1_000)
+                .build());
+        for (Result<Item> result : listing) {
+            Item item;
+            try {
+                item = result.get();
+            } catch (Exception e) {
+                // A partial listing would mistake uploads for missing their variants
+                log.warn("Aborting image variant backfill, listing failed: {}", e.getMessage());
+                return null;
+            }
+            if (item.isDir()) {
+                continue;
+            }
+            Matcher variant = VARIANT_NAME.matcher(item.objectName());
+            Matcher upload = UPLOADED_IMAGE.matcher(item.objectName());
+            if (variant.matches()) {
+                variants.computeIfAbsent(variant.group(1), base -> new HashSet<>()).add(variant.group(2));
+            } else if (upload.matches() && item.lastModified().toInstant().isBefore(startedAt)) {
+                // Uploads arriving during the pass were enqueued by the upload itself
+                uploads.put(upload.group(1), item.objectName());
+            }
+        }
+        Set<String> complete = ImageVariantService.VARIANT_SIZES.keySet();
+        List<String> missing = new ArrayList<>();
+        uploads.forEach((base, objectName) -> {
+            if (!variants.getOrDefault(base, Set.of()).containsAll(complete)) {
+                missing.add(objectName);
+            }
+        });
+        return missing;
+    }
+
+    private int enqueue(List<String> objectNames) {
+        int enqueued = 0;
+        for (String objectName : objectNames) {
+            if (enqueued > 0 && enqueued % batchSize == 0 && !awaitDrained()) {
+                log.warn("Lost the image variant backfill lease, stopping after {} upload(s)", enqueued);
+                break;
+            }
+            imageVariantService.enqueue(objectName);
+            enqueued++;
+        }
+        return enqueued;
+    }
+
+    /** Waits until the image executor has worked off the previous batch; false if the lease was lost. */
+    private boolean awaitDrained() {
+        pause(batchPauseMs);
+        while (imageVariantService.pending() > 0 && !Thread.currentThread().isInterrupted()) {
+            pause(DRAIN_POLL_MS);
+        }
+        return holdLease();
+    }
+
+    private static void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.synapse.service;
+
+import com.synapse.dto.ImageVariantsDto;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.minio.GetObjectArgs;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import jakarta.annotation.PreDestroy;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Generates resized copies of uploaded images in the background.
+ *
+ * Each upload is processed on the bounded {@code imageExecutor}; failures and executor back-pressure
+ * go through a delayed retry queue with exponential backoff. Variants are stored next to the
+ * original as {@code variants/<name>/<thumb|feed|full>.jpg}, so their URLs can be derived from the
+ * original URL alone (see {@link ImageVariantsDto#fromUrl}). Uploads that never got their variants
+ * (older than this service, or out of retries) are picked up again by {@link ImageVariantBackfill}.
+ */
+@Timed("synapse.service")
+@Service
+@Slf4j
+public class ImageVariantService {
+
+    // Longest side of each variant; images are only ever scaled down
+    static final Map<String, Integer> VARIANT_SIZES = Map.of(
+            ImageVariantsDto.THUMB, 320,
+            ImageVariantsDto.FEED, 720,
+            ImageVariantsDto.FULL, 1600);
+    private static final int LARGEST_VARIANT = 1600;
+    private static final long MAX_PIXELS = 50_000_000L;
+    private static final Pattern SOURCE_NAME = Pattern.compile(
+            "^([0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}|[0-9a-f]{64})\\.(?i:jpe?g|png)$");
+
+    private final MinioClient minioClient;
+    private final ThreadPoolTaskExecutor imageExecutor;
+    private final ScheduledExecutorService retryQueue = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "image-retry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter generated;
+    private final Counter retried;
+    private final Counter failed;
+
+    @Value("${minio.bucket}")
+    private String bucket;
+
+    @Value("${image.variants.enabled:true}")
+    private boolean enabled;
+
+    @Value("${image.variants.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${image.variants.retry-delay-ms:2000}")
+    private long retryDelayMs;
+
+    @Value("${image.variants.jpeg-quality:0.82}")
+    private float jpegQuality;
+
+    public ImageVariantService(MinioClient minioClient,
+                               @Qualifier("imageExecutor") ThreadPoolTaskExecutor imageExecutor,
+                               MeterRegistry registry) {
+        this.minioClient = minioClient;
+        this.imageExecutor = imageExecutor;
+        this.generated = outcomes(registry, "generated");
+        this.retried = outcomes(registry, "retried");
+        this.failed = outcomes(registry, "failed");
+    }
+
+    private static Counter outcomes(MeterRegistry registry, String result) {
+        return Counter.builder("synapse.image.variants")
+                .tag("result", result)
+                .description("Image variant jobs by outcome")
+                .register(registry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        retryQueue.shutdownNow();
+    }
+
+    /** Schedules variant generation for an uploaded image; non-JPEG/PNG objects are ignored. */
+    public void enqueue(String objectName) {
+        if (!enabled || objectName == null) {
+            return;
+        }
+        Matcher matcher = SOURCE_NAME.matcher(objectName);
+        if (matcher.matches()) {
+            submit(objectName, matcher.group(1), 1);
+        }
+    }
+
+    /** Jobs waiting for or running on the image executor, so bulk producers can wait for room. */
+    public int pending() {
+        return imageExecutor.getQueueSize() + imageExecutor.getActiveCount();
+    }
+
+    private void submit(String objectName, String baseName, int attempt) {
+        try {
+            imageExecutor.execute(() -> run(objectName, baseName, attempt));
+        } catch (TaskRejectedException e) {
+            // Pool saturated: back off instead of resizing on the caller's thread
+            retry(objectName, baseName, attempt, e);
+        }
+    }
+
+    private void run(String objectName, String baseName, int attempt) {
+        try {
+            if (generate(objectName, baseName)) {
+                generated.increment();
+            }
+        } catch (Exception e) {
+            retry(objectName, baseName, attempt, e);
+        }
+    }
+
+    private void retry(String objectName, String baseName, int attempt, Exception cause) {
+        if (attempt >= maxAttempts || retryQueue.isShutdown()) {
+            failed.increment();
+            log.warn("Giving up on image variants for {} after {} attempts", objectName, attempt, cause);
+            return;
+        }
+        retried.increment();
+        long delay = retryDelayMs << (attempt - 1);
+        log.debug("Retrying image variants for {} in {}ms: {}", objectName, delay, cause.getMessage());
+        retryQueue.schedule(() -> submit(objectName, baseName, attempt + 1), delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Decodes the original once and writes every variant.
+     *
+     * @return false if the object is not a decodable image (permanent, not retried)
+     */
+    boolean generate(String objectName, String baseName) throws Exception {
+        BufferedImage source;
+        try (InputStream in = minioClient.getObject(
+                GetObjectArgs.builder().bucket(bucket).object(objectName).build())) {
+            source = decode(in);
+        }
+        if (source == null) {
+            log.info("Skipping image variants for {}: unsupported or oversized image", objectName);
+            return false;
+        }
+        for (Map.Entry<String, Integer> variant : VARIANT_SIZES.entrySet()) {
+            byte[] jpeg = encodeJpeg(scale(source, variant.getValue()));
+            minioClient.putObject(PutObjectArgs.builder()
+                    .bucket(bucket)
+                    .object(ImageVariantsDto.objectName(baseName, variant.getKey()))
+                    .stream(new ByteArrayInputStream(jpeg), jpeg.length, -1)
+                    .contentType("image/jpeg")
+                    .build());
+        }
+        log.debug("Generated image variants for {}", objectName);
+        return true;
+    }
+
+    /**
+     * Decodes with source subsampling so huge photos are never fully materialized: the decoded
+     * image is only as large as the biggest variant needs.
+     */
+    static BufferedImage decode(InputStream in) throws IOException {
+        try (ImageInputStream stream = ImageIO.createImageInputStream(in)) {
+            if (stream == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(stream, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_PIXELS) {
+                    return null;
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int factor = Math.max(1, Math.max(width, height) / (LARGEST_VARIANT * 2));
+                param.setSourceSubsampling(factor, factor, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /** Scales so the longest side is at most {@code maxSide}, flattening transparency onto white. */
+    static BufferedImage scale(BufferedImage source, int maxSide) {
+        double ratio = Math.min(1.0, (double) maxSide / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
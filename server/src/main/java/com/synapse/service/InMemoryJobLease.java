@@ -0,0 +1,16 @@
+package com.synapse.service;
+
+import java.time.Duration;
+
+/** Single-instance {@link JobLease}: the only instance always holds every lease. */
+public class InMemoryJobLease implements JobLease {
+
+    @Override
+    public boolean acquire(String job, String owner, Duration ttl) {
+        return true;
+    }
+
+    @Override
+    public void release(String job, String owner) {
+    }
+}
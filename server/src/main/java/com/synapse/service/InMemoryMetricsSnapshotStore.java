@@ -0,0 +1,19 @@
+package com.synapse.service;
+
+import java.util.Map;
+
+/** Single-instance {@link MetricsSnapshotStore}. */
+public class InMemoryMetricsSnapshotStore implements MetricsSnapshotStore {
+
+    private volatile Map<String, Long> snapshot = Map.of();
+
+    @Override
+    public void publish(Map<String, Long> snapshot) {
+        this.snapshot = Map.copyOf(snapshot);
+    }
+
+    @Override
+    public Map<String, Long> read() {
+        return snapshot;
+    }
+}
@@ -0,0 +1,107 @@
+package com.synapse.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Single-instance {@link RankingIndex}: a skip list ordered by score per board, so reads never block
+ * and updates are O(log n). Used when Redis is not available.
+ */
+public class InMemoryRankingIndex implements RankingIndex {
+
+    private final Map<String, Board> boards = new ConcurrentHashMap<>();
+
+    private record Scored(String member, double score) {
+        static final Comparator<Scored> ORDER =
+                Comparator.comparingDouble(Scored::score).reversed().thenComparing(Scored::member);
+    }
+
+    private static final class Board {
+        private final Map<String, Double> scores = new HashMap<>();
+        private final ConcurrentSkipListSet<Scored> ranked = new ConcurrentSkipListSet<>(Scored.ORDER);
+
+        synchronized void set(String member, double score) {
+            Double previous = Double.isInfinite(score) ? scores.remove(member) : scores.put(member, score);
+            if (previous != null) {
+                ranked.remove(new Scored(member, previous));
+            }
+            if (!Double.isInfinite(score)) {
+                ranked.add(new Scored(member, score));
+            }
+        }
+
+        synchronized Double get(String member) {
+            return scores.get(member);
+        }
+    }
+
+    private Board board(String name) {
+        return boards.computeIfAbsent(name, key -> new Board());
+    }
+
+    @Override
+    public void add(String board, String member, double term) {
+        Board b = board(board);
+        synchronized (b) {
+            Double score = b.get(member);
+            b.set(member, score == null ? term : RankingIndex.logAdd(score, term));
+        }
+    }
+
+    @Override
+    public void subtract(String board, String member, double term) {
+        Board b = board(board);
+        synchronized (b) {
+            Double score = b.get(member);
+            if (score != null) {
+                b.set(member, RankingIndex.logSubtract(score, term));
+            }
+        }
+    }
+
+    @Override
+    public void remove(String board, String member) {
+        board(board).set(member, Double.NEGATIVE_INFINITY);
+    }
+
+    @Override
+    public List<String> top(String board, long offset, int limit) {
+        List<String> members = new ArrayList<>(limit);
+        Iterator<Scored> it = board(board).ranked.iterator();
+        for (long skipped = 0; skipped < offset && it.hasNext(); skipped++) {
+            it.next();
+        }
+        while (members.size() < limit && it.hasNext()) {
+            members.add(it.next().member());
+        }
+        return members;
+    }
+
+    @Override
+    public long size(String board) {
+        return board(board).ranked.size();
+    }
+
+    @Override
+    public void trim(String board, int keep) {
+        Board b = board(board);
+        synchronized (b) {
+            while (b.ranked.size() > keep) {
+                b.set(b.ranked.last().member(), Double.NEGATIVE_INFINITY);
+            }
+        }
+    }
+
+    @Override
+    public void replace(String board, Map<String, Double> scores) {
+        Board fresh = new Board();
+        scores.forEach(fresh::set);
+        boards.put(board, fresh);
+    }
+}
@@ -0,0 +1,16 @@
+package com.synapse.service;
+
+import java.time.Duration;
+
+/**
+ * Cluster-wide mutual exclusion for scheduled jobs: only the instance holding a job's lease runs it.
+ * A lease expires unless its owner renews it, so a job whose instance died is picked up elsewhere.
+ */
+public interface JobLease {
+
+    /** Takes the lease on {@code job} for {@code owner}, or renews it if {@code owner} already holds it. */
+    boolean acquire(String job, String owner, Duration ttl);
+
+    /** Gives the lease on {@code job} up early, if {@code owner} still holds it. */
+    void release(String job, String owner);
+}
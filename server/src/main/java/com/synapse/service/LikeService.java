@@ -3,17 +3,23 @@ package com.synapse.service;
 import com.synapse.entity.Like;
 import com.synapse.entity.NotificationType;
 import com.synapse.entity.Post;
-import com.synapse.entity.User;
 import com.synapse.repository.LikeRepository;
 import com.synapse.repository.PostRepository;
+import com.synapse.repository.UniqueRowInserter;
 import com.synapse.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+@Timed("synapse.service")
 @Service
 @RequiredArgsConstructor
 public class LikeService {
@@ -22,6 +28,8 @@ public class LikeService {
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final HotRankingService hotRankingService;
+    private final UniqueRowInserter rowInserter;
 
     public record ToggleResult(boolean liked, long count) {}
 
@@ -32,24 +40,37 @@ public class LikeService {
     })
     @Transactional
     public ToggleResult togglePostLike(Long userId, Long postId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        Instant now = Instant.now();
+        boolean liked;
+        try {
+            liked = rowInserter.insertIfAbsent(Like.class, "likes",
+                    Map.of("user_id", userId, "post_id", postId, "created_at", now)).isPresent();
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Post not found");
+        }
+        Instant removedLikeAt = null;
+        if (liked) {
+            likeRepository.incrementPostLikeCount(postId);
+        } else {
+            // The unique key already held this like, so the toggle takes it back
+            Optional<Instant> likedAt = likeRepository.findCreatedAt(userId, postId);
+            if (likeRepository.deleteByUserIdAndPostId(userId, postId) > 0) {
+                likeRepository.decrementPostLikeCount(postId);
+                removedLikeAt = likedAt.orElse(null);
+            }
+        }
+
+        // Read once the counter has moved; the returned count, ranking and notification all use it
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new IllegalArgumentException("Post not found"));
-
-        boolean exists = likeRepository.existsByUserIdAndPostId(userId, postId);
-        if (exists) {
-            likeRepository.deleteByUserIdAndPostId(userId, postId);
-            likeRepository.decrementPostLikeCount(postId);
-        } else {
-            Like like = Like.builder().user(user).post(post).build();
-            likeRepository.save(like);
-            likeRepository.incrementPostLikeCount(postId);
+        if (liked) {
+            hotRankingService.record(post, HotRankingService.Engagement.LIKE, now);
             notificationService.createNotification(
-                    post.getUser(), user, NotificationType.LIKE, post, null);
+                    post.getUser(), userRepository.getReferenceById(userId), NotificationType.LIKE, post, null);
+        } else if (removedLikeAt != null) {
+            hotRankingService.retract(post, HotRankingService.Engagement.LIKE, removedLikeAt);
         }
-        long count = likeRepository.countByPostId(postId);
-        return new ToggleResult(!exists, count);
+        return new ToggleResult(liked, post.getLikeCount());
     }
 
     @Cacheable(value = "counts", key = "'hasLikedPost:' + #userId + ':' + #postId")
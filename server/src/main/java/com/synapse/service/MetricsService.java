@@ -11,13 +11,58 @@ import com.synapse.repository.NotificationRepository;
 import com.synapse.repository.PostRepository;
 import com.synapse.repository.TagRepository;
 import com.synapse.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Business gauges (users, posts, engagement, notifications), served from a snapshot.
+ *
+ * A scrape reads the snapshot and never touches the database. The snapshot is refreshed in the
+ * background: the instance holding the {@link JobLease} on the refresh counts everything in one
+ * read-only transaction (so on a replica when there is one) and publishes the counts, and every
+ * instance exports what was last published. Gauges are NaN until the first snapshot arrives.
+ */
+@Slf4j
+@Timed("synapse.service")
 @Service
 public class MetricsService {
 
+    private static final String REFRESHED_AT = "refreshed_at";
+    private static final String LEASE = "metrics";
+
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final LikeRepository likeRepository;
+    private final NotificationRepository notificationRepository;
+    private final FollowRepository followRepository;
+    private final BookmarkRepository bookmarkRepository;
+    private final CommentLikeRepository commentLikeRepository;
+    private final TagRepository tagRepository;
+    private final MetricsSnapshotStore store;
+    private final JobLease jobLease;
+    private final TransactionTemplate readOnlyTransaction;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private volatile Map<String, Long> snapshot = Map.of();
+
+    @Value("${metrics.business.refresh-interval-ms:60000}")
+    private long refreshIntervalMs;
+
     public MetricsService(
             MeterRegistry registry,
             UserRepository userRepository,
@@ -28,71 +73,157 @@ public class MetricsService {
             FollowRepository followRepository,
             BookmarkRepository bookmarkRepository,
             CommentLikeRepository commentLikeRepository,
-            TagRepository tagRepository) {
+            TagRepository tagRepository,
+            MetricsSnapshotStore store,
+            JobLease jobLease,
+            PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.likeRepository = likeRepository;
+        this.notificationRepository = notificationRepository;
+        this.followRepository = followRepository;
+        this.bookmarkRepository = bookmarkRepository;
+        this.commentLikeRepository = commentLikeRepository;
+        this.tagRepository = tagRepository;
+        this.store = store;
+        this.jobLease = jobLease;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
 
         // ========== User Metrics ==========
-        Gauge.builder("synapse.users.total", userRepository::count)
-                .description("Total number of registered users")
-                .register(registry);
+        gauge(registry, "synapse.users.total", "Total number of registered users");
 
         // ========== Post Metrics ==========
-        Gauge.builder("synapse.posts.total", postRepository::count)
-                .description("Total number of posts")
-                .register(registry);
+        gauge(registry, "synapse.posts.total", "Total number of posts");
 
         for (PostType type : PostType.values()) {
-            Gauge.builder("synapse.posts.by_type", () -> postRepository.countByType(type))
+            Gauge.builder("synapse.posts.by_type", this, metrics -> metrics.value(byType("synapse.posts", type)))
                     .tag("type", type.name().toLowerCase())
                     .description("Number of posts by type")
                     .register(registry);
         }
 
-        Gauge.builder("synapse.posts.private", postRepository::countByIsPrivateTrue)
-                .description("Number of private posts")
-                .register(registry);
+        gauge(registry, "synapse.posts.private", "Number of private posts");
 
         // ========== Engagement Metrics ==========
-        Gauge.builder("synapse.comments.total", commentRepository::count)
-                .description("Total number of comments")
-                .register(registry);
-
-        Gauge.builder("synapse.likes.total", likeRepository::count)
-                .description("Total number of post likes")
-                .register(registry);
-
-        Gauge.builder("synapse.comment_likes.total", commentLikeRepository::count)
-                .description("Total number of comment likes")
-                .register(registry);
-
-        Gauge.builder("synapse.bookmarks.total", bookmarkRepository::count)
-                .description("Total number of bookmarks")
-                .register(registry);
+        gauge(registry, "synapse.comments.total", "Total number of comments");
+        gauge(registry, "synapse.likes.total", "Total number of post likes");
+        gauge(registry, "synapse.comment_likes.total", "Total number of comment likes");
+        gauge(registry, "synapse.bookmarks.total", "Total number of bookmarks");
 
         // ========== Social Metrics ==========
-        Gauge.builder("synapse.follows.total", followRepository::count)
-                .description("Total number of follow relationships")
-                .register(registry);
+        gauge(registry, "synapse.follows.total", "Total number of follow relationships");
 
         // ========== Notification Metrics ==========
-        Gauge.builder("synapse.notifications.total", notificationRepository::count)
-                .description("Total number of notifications")
-                .register(registry);
-
-        Gauge.builder("synapse.notifications.unread", notificationRepository::countByIsReadFalse)
-                .description("Total number of unread notifications")
-                .register(registry);
+        gauge(registry, "synapse.notifications.total", "Total number of notifications");
+        gauge(registry, "synapse.notifications.unread", "Total number of unread notifications");
 
         for (NotificationType type : NotificationType.values()) {
-            Gauge.builder("synapse.notifications.by_type",
-                    () -> notificationRepository.countByType(type))
+            Gauge.builder("synapse.notifications.by_type", this,
+                            metrics -> metrics.value(byType("synapse.notifications", type)))
                     .tag("type", type.name().toLowerCase())
                     .description("Number of notifications by type")
                     .register(registry);
         }
 
         // ========== Content Metrics ==========
-        Gauge.builder("synapse.tags.total", tagRepository::count)
-                .description("Total number of tags")
+        gauge(registry, "synapse.tags.total", "Total number of tags");
+
+        Gauge.builder("synapse.metrics.snapshot.age", this, MetricsService::snapshotAgeSeconds)
+                .description("Age of the business metrics snapshot")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    private void gauge(MeterRegistry registry, String name, String description) {
+        Gauge.builder(name, this, metrics -> metrics.value(name))
+                .description(description)
                 .register(registry);
     }
+
+    private static String byType(String prefix, Enum<?> type) {
+        return prefix + ".by_type." + type.name().toLowerCase();
+    }
+
+    private double value(String name) {
+        Long value = snapshot.get(name);
+        return value == null ? Double.NaN : value;
+    }
+
+    private double snapshotAgeSeconds() {
+        Long refreshedAt = snapshot.get(REFRESHED_AT);
+        return refreshedAt == null ? Double.NaN : (System.currentTimeMillis() - refreshedAt) / 1000.0;
+    }
+
+    @Scheduled(fixedDelayString = "${metrics.business.refresh-interval-ms:60000}",
+            initialDelayString = "${metrics.business.refresh-interval-ms:60000}")
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.warn("Business metrics refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recounts and publishes the snapshot if this instance holds the refresh lease, then loads the
+     * latest published snapshot. The lease outlives a few intervals, so a refresher that dies is
+     * replaced by another instance within that time.
+     *
+     * @return whether this instance did the counting
+     */
+    public boolean refresh() {
+        boolean refresher = jobLease.acquire(LEASE, instanceId, Duration.ofMillis(refreshIntervalMs * 3));
+        if (refresher) {
+            store.publish(readOnlyTransaction.execute(status -> count()));
+        }
+        snapshot = store.read();
+        return refresher;
+    }
+
+    private Map<String, Long> count() {
+        Map<String, Long> counts = new HashMap<>();
+        counts.put("synapse.users.total", userRepository.count());
+        counts.put("synapse.comments.total", commentRepository.count());
+        counts.put("synapse.likes.total", likeRepository.count());
+        counts.put("synapse.comment_likes.total", commentLikeRepository.count());
+        counts.put("synapse.bookmarks.total", bookmarkRepository.count());
+        counts.put("synapse.follows.total", followRepository.count());
+        counts.put("synapse.tags.total", tagRepository.count());
+
+        long posts = 0;
+        long privatePosts = 0;
+        for (PostType type : PostType.values()) {
+            counts.put(byType("synapse.posts", type), 0L);
+        }
+        for (Object[] row : postRepository.countByTypeAndPrivacy()) {
+            long count = ((Number) row[2]).longValue();
+            counts.merge(byType("synapse.posts", (PostType) row[0]), count, Long::sum);
+            posts += count;
+            privatePosts += Boolean.TRUE.equals(row[1]) ? count : 0;
+        }
+        counts.put("synapse.posts.total", posts);
+        counts.put("synapse.posts.private", privatePosts);
+
+        long notifications = 0;
+        long unread = 0;
+        for (NotificationType type : NotificationType.values()) {
+            counts.put(byType("synapse.notifications", type), 0L);
+        }
+        for (Object[] row : notificationRepository.countByTypeAndReadState()) {
+            long count = ((Number) row[2]).longValue();
+            if (row[0] != null) {
+                counts.merge(byType("synapse.notifications", (NotificationType) row[0]), count, Long::sum);
+            }
+            notifications += count;
+            unread += Boolean.FALSE.equals(row[1]) ? count : 0;
+        }
+        counts.put("synapse.notifications.total", notifications);
+        counts.put("synapse.notifications.unread", unread);
+
+        counts.put(REFRESHED_AT, Instant.now().toEpochMilli());
+        return counts;
+    }
 }
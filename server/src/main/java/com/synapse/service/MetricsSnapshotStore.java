@@ -0,0 +1,15 @@
+package com.synapse.service;
+
+import java.util.Map;
+
+/**
+ * Where {@link MetricsService} keeps its business metric snapshot. The instance holding the
+ * {@link JobLease} on the refresh counts and publishes; every instance exports what was published.
+ */
+public interface MetricsSnapshotStore {
+
+    void publish(Map<String, Long> snapshot);
+
+    /** The last published snapshot, empty if none was published yet. */
+    Map<String, Long> read();
+}
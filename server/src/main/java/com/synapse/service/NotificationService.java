@@ -8,6 +8,7 @@ import com.synapse.entity.Post;
 import com.synapse.entity.User;
 import com.synapse.repository.NotificationRepository;
 import com.synapse.websocket.NotificationBroadcaster;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
@@ -19,6 +20,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+@Timed("synapse.service")
 @Service
 @RequiredArgsConstructor
 @Slf4j
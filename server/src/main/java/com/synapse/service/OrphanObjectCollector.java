@@ -0,0 +1,365 @@
+package com.synapse.service;
+
+import com.synapse.entity.PostImage;
+import com.synapse.entity.StoredObject;
+import com.synapse.repository.AttachmentRepository;
+import com.synapse.repository.CommentRepository;
+import com.synapse.repository.PostRepository;
+import com.synapse.repository.StoredObjectRepository;
+import com.synapse.repository.UserRepository;
+import com.synapse.util.BloomFilter;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.minio.ListObjectsArgs;
+import io.minio.MinioClient;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import io.minio.messages.Item;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Mark-and-sweep garbage collector for uploaded objects that nothing references any more.
+ *
+ * Mark: attachment stored names, post cover images and images, avatar URLs, and every upload name
+ * found in post and comment bodies (articles embed uploaded images as Markdown) are streamed into a
+ * Bloom filter, so memory stays proportional to the reference count, not the bucket. A false
+ * positive only means an orphan survives until a later run. Sweep: the bucket is listed page by page
+ * and unreferenced objects older than the grace period are removed in rate-limited batches.
+ * Only the node holding the {@link JobLease} sweeps. Each batch is removed with its dedupe records
+ * locked: content uploaded again since the cutoff keeps its object, and an upload arriving during the
+ * removal waits and then stores the bytes anew instead of resolving to an object that is going away.
+ * Only names this application generates (UUID or SHA-256 uploads and their image variants) are
+ * ever considered; anything else in the bucket is left alone.
+ */
+@Timed("synapse.service")
+@Service
+@Slf4j
+public class OrphanObjectCollector {
+
+    private static final Pattern UPLOAD_NAME = Pattern.compile(
+            "^([0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}|[0-9a-f]{64})\\.[A-Za-z0-9]{1,10}$");
+    private static final Pattern VARIANT_NAME =
+            Pattern.compile("^variants/([0-9a-f-]{36}|[0-9a-f]{64})/[a-z]+\\.jpg$");
+    // An upload name, or the base of a variant path, anywhere in Markdown or HTML text
+    private static final Pattern EMBEDDED_UPLOAD = Pattern.compile(
+            "(?<![0-9A-Za-z-])([0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}|[0-9a-f]{64})"
+                    + "(?![0-9a-f])(\\.[A-Za-z0-9]{1,10})?");
+    private static final String BASE_PREFIX = "base:";
+    private static final String LEASE = "storage-gc";
+
+    private final MinioClient minioClient;
+    private final AttachmentRepository attachmentRepository;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final UserRepository userRepository;
+    private final StoredObjectRepository storedObjectRepository;
+    private final JobLease lease;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Counter scanned;
+    private final Counter orphaned;
+    private final Counter deleted;
+
+    @Value("${minio.bucket}")
+    private String bucket;
+
+    @Value("${storage.gc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${storage.gc.dry-run:true}")
+    private boolean dryRun;
+
+    @Value("${storage.gc.grace-period-hours:24}")
+    private long gracePeriodHours;
+
+    @Value("${storage.gc.batch-size:500}")
+    private int batchSize;
+
+    @Value("${storage.gc.batch-pause-ms:1000}")
+    private long batchPauseMs;
+
+    @Value("${storage.gc.max-deletes-per-run:10000}")
+    private int maxDeletesPerRun;
+
+    @Value("${storage.gc.lease-minutes:30}")
+    private long leaseMinutes;
+
+    public OrphanObjectCollector(MinioClient minioClient,
+                                 AttachmentRepository attachmentRepository,
+                                 PostRepository postRepository,
+                                 CommentRepository commentRepository,
+                                 UserRepository userRepository,
+                                 StoredObjectRepository storedObjectRepository,
+                                 JobLease lease,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry registry) {
+        this.minioClient = minioClient;
+        this.attachmentRepository = attachmentRepository;
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.userRepository = userRepository;
+        this.storedObjectRepository = storedObjectRepository;
+        this.lease = lease;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.scanned = objects(registry, "scanned");
+        this.orphaned = objects(registry, "orphaned");
+        this.deleted = objects(registry, "deleted");
+    }
+
+    private static Counter objects(MeterRegistry registry, String result) {
+        return Counter.builder("synapse.storage.gc.objects")
+                .tag("result", result)
+                .description("Objects seen by the orphan collector, by outcome")
+                .register(registry);
+    }
+
+    @Scheduled(cron = "${storage.gc.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            run();
+        }
+    }
+
+    /**
+     * Runs one collection pass unless one is already in progress here or on another node.
+     *
+     * @return number of orphans found (deleted unless in dry-run mode or kept by a re-upload), or -1 if skipped
+     */
+    public int run() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Orphan collection already running, skipping");
+            return -1;
+        }
+        try {
+            if (!holdLease()) {
+                log.info("Orphan collection running on another instance, skipping");
+                return -1;
+            }
+            try {
+                Instant cutoff = Instant.now().minus(Duration.ofHours(gracePeriodHours));
+                BloomFilter referenced = readOnlyTransaction.execute(status -> mark(cutoff));
+                int found = sweep(referenced, cutoff);
+                log.info("Orphan collection finished: {} orphan(s) {}", found,
+                        dryRun ? "found (dry run)" : "removed");
+                return found;
+            } finally {
+                lease.release(LEASE, instanceId);
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private boolean holdLease() {
+        return lease.acquire(LEASE, instanceId, Duration.ofMinutes(leaseMinutes));
+    }
+
+    BloomFilter mark(Instant cutoff) {
+        long expected = attachmentRepository.count() + postRepository.count() * 4 + commentRepository.count()
+                + userRepository.count();
+        BloomFilter referenced = new BloomFilter(Math.max(1_024, expected * 2), 0.01);
+        try (Stream<String> names = attachmentRepository.streamAllStoredNames()) {
+            names.forEach(name -> markReference(referenced, name));
+        }
+        try (Stream<Object[]> rows = postRepository.streamImageReferences()) {
+            rows.forEach(row -> {
+                markReference(referenced, (String) row[0]);
+                if (row[1] instanceof List<?> images) {
+                    images.forEach(image -> markReference(referenced, ((PostImage) image).url()));
+                }
+            });
+        }
+        try (Stream<String> contents = postRepository.streamContents()) {
+            contents.forEach(content -> markEmbedded(referenced, content));
+        }
+        try (Stream<String> contents = commentRepository.streamContents()) {
+            contents.forEach(content -> markEmbedded(referenced, content));
+        }
+        try (Stream<String> avatars = userRepository.streamAvatarUrls()) {
+            avatars.forEach(url -> markReference(referenced, url));
+        }
+        storedObjectRepository.findObjectNamesUploadedSince(cutoff)
+                .forEach(name -> markReference(referenced, name));
+        return referenced;
+    }
+
+    /** Marks the object a stored name or public URL points at, plus its image variants. */
+    private static void markReference(BloomFilter referenced, String nameOrUrl) {
+        if (nameOrUrl == null || nameOrUrl.isBlank()) {
+            return;
+        }
+        String name = nameOrUrl.substring(nameOrUrl.lastIndexOf('/') + 1);
+        referenced.put(name);
+        int dot = name.lastIndexOf('.');
+        if (dot > 0) {
+            referenced.put(BASE_PREFIX + name.substring(0, dot));
+        }
+    }
+
+    /** Marks every upload a post or comment body links to, whatever the host or markup around it. */
+    static void markEmbedded(BloomFilter referenced, String content) {
+        Matcher upload = EMBEDDED_UPLOAD.matcher(content);
+        while (upload.find()) {
+            if (upload.group(2) != null) {
+                referenced.put(upload.group(1) + upload.group(2));
+            }
+            referenced.put(BASE_PREFIX + upload.group(1));
+        }
+    }
+
+    private int sweep(BloomFilter referenced, Instant cutoff) {
+        List<String> batch = new ArrayList<>();
+        int found = 0;
+        Iterable<Result<Item>> listing = minioClient.listObjects(ListObjectsArgs.builder()
+                .bucket(bucket)
+                .recursive(true)
+                .maxKeys(1_000)
+                .build());
+        for (Result<Item> result : listing) {
+            Item item;
+            try {
+                item = result.get();
+            } catch (Exception e) {
+                log.warn("Aborting orphan sweep, listing failed: {}", e.getMessage());
+                break;
+            }
+            scanned.increment();
+            if (item.isDir() || item.lastModified().toInstant().isAfter(cutoff)
+                    || !isOrphan(referenced, item.objectName())) {
+                continue;
+            }
+            orphaned.increment();
+            found++;
+            batch.add(item.objectName());
+            if (batch.size() >= batchSize) {
+                if (!remove(batch, cutoff)) {
+                    return found;
+                }
+                batch.clear();
+            }
+            if (found >= maxDeletesPerRun) {
+                log.info("Orphan collection reached its per-run limit of {}", maxDeletesPerRun);
+                break;
+            }
+        }
+        remove(batch, cutoff);
+        return found;
+    }
+
+    static boolean isOrphan(BloomFilter referenced, String objectName) {
+        Matcher variant = VARIANT_NAME.matcher(objectName);
+        if (variant.matches()) {
+            return !referenced.mightContain(BASE_PREFIX + variant.group(1));
+        }
+        return UPLOAD_NAME.matcher(objectName).matches() && !referenced.mightContain(objectName);
+    }
+
+    /** Removes one batch; false if the lease was lost and the sweep must stop. */
+    private boolean remove(List<String> names, Instant cutoff) {
+        if (names.isEmpty()) {
+            return true;
+        }
+        if (dryRun) {
+            log.info("Dry run, would remove {} orphan object(s), e.g. {}", names.size(), names.get(0));
+            return true;
+        }
+        if (!holdLease()) {
+            log.warn("Lost the orphan collection lease, stopping the sweep");
+            return false;
+        }
+        Integer removed = transaction.execute(status -> removeUnlessUploaded(names, cutoff));
+        deleted.increment(removed == null ? 0 : removed);
+        pause();
+        return true;
+    }
+
+    // The objects are removed before the locks are released, so a concurrent upload of the same bytes
+    // either refreshed its record first (and is skipped here) or stores them again afterwards
+    private int removeUnlessUploaded(List<String> names, Instant cutoff) {
+        Map<String, String> hashes = new HashMap<>();
+        names.forEach(name -> {
+            String hash = contentHash(name);
+            if (hash != null) {
+                hashes.put(name, hash);
+            }
+        });
+        Set<String> uploaded = new HashSet<>();
+        if (!hashes.isEmpty()) {
+            for (StoredObject object : storedObjectRepository.lockByContentHashIn(Set.copyOf(hashes.values()))) {
+                Instant lastUploaded = object.getLastUploadedAt();
+                if (lastUploaded == null || !lastUploaded.isBefore(cutoff)) {
+                    uploaded.add(object.getContentHash());
+                }
+            }
+        }
+        List<String> removable = names.stream().filter(name -> !uploaded.contains(hashes.get(name))).toList();
+        if (removable.size() < names.size()) {
+            log.info("Keeping {} orphan(s) whose content was uploaded again", names.size() - removable.size());
+        }
+        if (removable.isEmpty()) {
+            return 0;
+        }
+        storedObjectRepository.deleteByObjectNamesUploadedBefore(removable, cutoff);
+        List<DeleteObject> objects = removable.stream().map(DeleteObject::new).toList();
+        Iterable<Result<DeleteError>> errors = minioClient.removeObjects(RemoveObjectsArgs.builder()
+                .bucket(bucket)
+                .objects(objects)
+                .build());
+        int failures = 0;
+        // removeObjects is lazy: the request is only sent while the results are consumed
+        for (Result<DeleteError> error : errors) {
+            failures++;
+            try {
+                log.warn("Failed to remove orphan {}: {}", error.get().objectName(), error.get().message());
+            } catch (Exception e) {
+                log.warn("Failed to remove orphan batch: {}", e.getMessage());
+            }
+        }
+        return removable.size() - failures;
+    }
+
+    /** Content hash a content-addressed upload or one of its variants is named after, or null. */
+    static String contentHash(String objectName) {
+        Matcher variant = VARIANT_NAME.matcher(objectName);
+        Matcher upload = UPLOAD_NAME.matcher(objectName);
+        String id = variant.matches() ? variant.group(1) : upload.matches() ? upload.group(1) : null;
+        return id != null && id.length() == 64 ? id : null;
+    }
+
+    private void pause() {
+        if (batchPauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(batchPauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
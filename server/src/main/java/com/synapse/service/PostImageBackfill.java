@@ -0,0 +1,156 @@
+package com.synapse.service;
+
+import com.synapse.entity.PostImage;
+import com.synapse.entity.PostImagesConverter;
+import io.micrometer.core.annotation.Timed;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Rewrites posts.images values stored as plain (or double-encoded) URL arrays into the object format
+ * of {@link PostImagesConverter}, adding the pixel sizes recorded for uploaded images.
+ *
+ * Runs online, once per startup: posts are walked in id order over the primary key in small batches,
+ * each rewritten in its own short transaction. A row is only rewritten if its version is unchanged,
+ * so a concurrent edit always wins, and the version bump revalidates ETags for the new sizes. Reads
+ * never wait for the backfill, since the converter reads both formats.
+ */
+@Slf4j
+@Timed("synapse.service")
+@Service
+public class PostImageBackfill {
+
+    private static final String SELECT_BATCH =
+            "SELECT id, version, images FROM posts WHERE id > ? AND images IS NOT NULL ORDER BY id LIMIT ?";
+    private static final String REWRITE =
+            "UPDATE posts SET images = ?, version = version + 1 WHERE id = ? AND version = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StoredObjectService storedObjectService;
+    private final ObjectProvider<CacheManager> cacheManager;
+    private final TransactionTemplate transaction;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${posts.images.backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${posts.images.backfill.batch-size:500}")
+    private int batchSize;
+
+    @Value("${posts.images.backfill.batch-pause-ms:200}")
+    private long batchPauseMs;
+
+    public PostImageBackfill(JdbcTemplate jdbcTemplate,
+                             StoredObjectService storedObjectService,
+                             ObjectProvider<CacheManager> cacheManager,
+                             PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.storedObjectService = storedObjectService;
+        this.cacheManager = cacheManager;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    private record Row(long id, long version, String images) {
+    }
+
+    @Scheduled(initialDelayString = "${posts.images.backfill.initial-delay-ms:60000}")
+    public void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            run();
+        } catch (Exception e) {
+            log.warn("Post image backfill failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rewrites every legacy images value unless a pass is already in progress.
+     *
+     * @return number of posts rewritten, or -1 if skipped
+     */
+    public int run() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Post image backfill already running, skipping");
+            return -1;
+        }
+        try {
+            int rewritten = 0;
+            long afterId = 0;
+            List<Row> batch;
+            do {
+                batch = jdbcTemplate.query(SELECT_BATCH, (rs, rowNum) ->
+                        new Row(rs.getLong("id"), rs.getLong("version"), rs.getString("images")), afterId, batchSize);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                afterId = batch.get(batch.size() - 1).id();
+                List<Row> legacy = batch.stream().filter(row -> PostImagesConverter.isLegacy(row.images())).toList();
+                if (!legacy.isEmpty()) {
+                    Integer updated = transaction.execute(status -> rewrite(legacy));
+                    rewritten += updated == null ? 0 : updated;
+                    pause();
+                }
+            } while (batch.size() == batchSize);
+            if (rewritten > 0) {
+                evictCachedPosts();
+                log.info("Rewrote the images of {} post(s) in the typed format", rewritten);
+            }
+            return rewritten;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int rewrite(List<Row> rows) {
+        List<List<PostImage>> images = rows.stream().map(row -> PostImagesConverter.parse(row.images())).toList();
+        Map<String, PostImage> described = storedObjectService.describeImages(
+                images.stream().flatMap(List::stream).map(PostImage::url).toList());
+        List<Object[]> updates = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            List<PostImage> typed = images.get(i).stream()
+                    .map(image -> described.getOrDefault(image.url(), image))
+                    .toList();
+            updates.add(new Object[] {PostImagesConverter.toJson(typed), rows.get(i).id(), rows.get(i).version()});
+        }
+        int rewritten = 0;
+        for (int count : jdbcTemplate.batchUpdate(REWRITE, updates)) {
+            // Drivers may report a batched statement as successful without its row count
+            rewritten += count > 0 || count == Statement.SUCCESS_NO_INFO ? 1 : 0;
+        }
+        return rewritten;
+    }
+
+    private void evictCachedPosts() {
+        CacheManager manager = cacheManager.getIfAvailable();
+        Cache posts = manager == null ? null : manager.getCache("posts");
+        if (posts != null) {
+            posts.clear();
+        }
+    }
+
+    private void pause() {
+        if (batchPauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(batchPauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,93 +1,71 @@
 package com.synapse.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.synapse.dto.CreatePostRequest;
 import com.synapse.dto.PostDto;
 import com.synapse.dto.UpdatePostRequest;
 import com.synapse.entity.Attachment;
 import com.synapse.entity.Post;
+import com.synapse.entity.PostImage;
 import com.synapse.entity.PostType;
 import com.synapse.entity.Tag;
 import com.synapse.entity.User;
+import com.synapse.repository.PostCard;
 import com.synapse.repository.PostRepository;
-import com.synapse.repository.TagRepository;
+import com.synapse.repository.TimelineEntry;
 import com.synapse.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+@Timed("synapse.service")
 @Service
 @RequiredArgsConstructor
 public class PostService {
 
     private final PostRepository postRepository;
-    private final TagRepository tagRepository;
+    private final TagResolver tagResolver;
     private final UserRepository userRepository;
-    private final ObjectMapper objectMapper;
-
-    private String convertImagesToJson(List<String> images) {
-        if (images == null || images.isEmpty()) {
-            return null;
-        }
-        try {
-            return objectMapper.writeValueAsString(images);
-        } catch (JsonProcessingException e) {
+    private final TimelineFanout timelineFanout;
+    private final HotRankingService hotRankingService;
+    private final TagCounterService tagCounterService;
+    private final PostCardAssembler postCardAssembler;
+    private final StoredObjectService storedObjectService;
+
+    // Image URLs as stored, with the pixel sizes recorded when they were uploaded
+    private List<PostImage> toPostImages(List<String> urls) {
+        if (urls == null || urls.isEmpty()) {
             return null;
         }
+        Map<String, PostImage> described = storedObjectService.describeImages(urls);
+        return urls.stream().map(url -> described.getOrDefault(url, PostImage.of(url))).toList();
     }
 
     private Set<Tag> processTags(List<String> tagNames) {
-        Set<Tag> tags = new HashSet<>();
-        if (tagNames == null) {
-            return tags;
-        }
-        for (String tagName : tagNames) {
-            String normalizedName = tagName.trim();
-            if (normalizedName.isEmpty()) {
-                continue;
-            }
-            Tag tag = tagRepository.findByName(normalizedName)
-                    .orElseGet(() -> tagRepository.save(
-                            Tag.builder().name(normalizedName).build()));
-            tags.add(tag);
-        }
-        return tags;
+        return tagResolver.resolve(tagNames);
     }
 
     @Transactional(readOnly = true)
     public Page<PostDto> getPosts(String tag, PostType type, Pageable pageable) {
-        Page<Post> posts;
-
-        if (tag != null && type != null) {
-            posts = postRepository.findByTagNameAndType(tag, type, pageable);
-        } else if (tag != null) {
-            posts = postRepository.findByTagName(tag, pageable);
-        } else if (type != null) {
-            posts = postRepository.findByTypeOrderByCreatedAtDesc(type, pageable);
-        } else {
-            posts = postRepository.findAllByOrderByCreatedAtDesc(pageable);
-        }
-
-        return posts.map(this::sanitizePrivatePost);
+        return postCardAssembler.toDtos(postRepository.findFeedCards(tag, type, null, pageable));
     }
 
-    private PostDto sanitizePrivatePost(Post post) {
-        PostDto dto = PostDto.fromEntity(post);
-        if (post.isPrivate()) {
-            dto.setContent(null);
-            dto.setImages(null);
-            dto.setAttachments(null);
-        }
-        return dto;
+    /** Posts ranked by decayed engagement (see {@link HotRankingService}), optionally of one type. */
+    @Transactional(readOnly = true)
+    public Page<PostDto> getHotPosts(PostType type, Pageable pageable) {
+        List<Long> ids = hotRankingService.topPostIds(type, pageable.getOffset(), pageable.getPageSize());
+        List<PostDto> content = postCardAssembler.findByIds(ids);
+        return new PageImpl<>(content, pageable, hotRankingService.rankedPostCount(type));
     }
 
     @Cacheable(
@@ -104,6 +82,8 @@ public class PostService {
         if (post.isPrivate() && !isOwner(post, requesterId)) {
             dto.setContent(null);
             dto.setImages(null);
+            dto.setImageVariants(null);
+            dto.setImageSizes(null);
             dto.setAttachments(null);
         }
 
@@ -154,7 +134,7 @@ public class PostService {
                 .content(request.getContent())
                 .language(request.getLanguage())
                 .coverImage(request.getCoverImage())
-                .images(convertImagesToJson(request.getImages()))
+                .images(toPostImages(request.getImages()))
                 .user(user)
                 .isPrivate(isPrivate)
                 .password(isPrivate ? request.getPassword() : null)
@@ -192,6 +172,10 @@ public class PostService {
             saved = postRepository.save(saved);
         }
 
+        tagCounterService.postCreated(saved.getTags(), saved.getCreatedAt());
+        hotRankingService.record(saved, HotRankingService.Engagement.POST, saved.getCreatedAt());
+        timelineFanout.postCreated(user.getId(), new TimelineEntry(saved.getId(), saved.getCreatedAt()));
+
         return PostDto.fromEntity(saved);
     }
 
@@ -208,7 +192,10 @@ public class PostService {
             throw new IllegalArgumentException("Not authorized to delete this post");
         }
 
+        tagCounterService.postDeleted(post.getTags(), post.getCreatedAt());
         postRepository.delete(post);
+        timelineFanout.postDeleted(userId, postId);
+        hotRankingService.postDeleted(post);
     }
 
     @Caching(evict = {
@@ -217,7 +204,7 @@ public class PostService {
     })
     @Transactional
     public PostDto updatePost(Long postId, Long userId, UpdatePostRequest request) {
-        Post post = postRepository.findById(postId)
+        Post post = postRepository.findForUpdateById(postId)
                 .orElseThrow(() -> new IllegalArgumentException("Post not found"));
 
         if (!post.getUser().getId().equals(userId)) {
@@ -249,11 +236,13 @@ public class PostService {
             post.setCoverImage(request.getCoverImage());
         }
         if (request.getImages() != null) {
-            post.setImages(convertImagesToJson(request.getImages()));
+            post.setImages(toPostImages(request.getImages()));
         }
 
         if (request.getTags() != null) {
+            Set<Tag> previousTags = new HashSet<>(post.getTags());
             post.setTags(processTags(request.getTags()));
+            tagCounterService.tagsChanged(previousTags, post.getTags(), post.getCreatedAt());
         }
 
         if (request.getAttachments() != null) {
@@ -293,7 +282,7 @@ public class PostService {
 
     @Transactional(readOnly = true)
     public Page<PostDto> searchPosts(String keyword, java.util.List<String> tags, PostType type, Pageable pageable) {
-        Page<Post> posts;
+        Page<PostCard> posts;
         String kw = keyword == null ? "" : keyword.trim();
 
         java.util.List<String> normTags = null;
@@ -315,27 +304,15 @@ public class PostService {
         boolean hasKeyword = !kw.isEmpty();
 
         if (hasKeyword) {
-            if (normTags != null && type != null) {
-                posts = postRepository.searchByKeywordAnyTagsAndType(kw, normTags, type, pageable);
-            } else if (normTags != null) {
-                posts = postRepository.searchByKeywordAndAnyTags(kw, normTags, pageable);
-            } else if (type != null) {
-                posts = postRepository.searchByKeywordAndType(kw, type, pageable);
-            } else {
-                posts = postRepository.searchByKeyword(kw, pageable);
-            }
+            posts = normTags != null
+                    ? postRepository.searchCardsWithAnyTag(kw, normTags, type, pageable)
+                    : postRepository.searchCards(kw, type, pageable);
         } else {
-            if (normTags != null && type != null) {
-                posts = postRepository.findByAnyTagsAndType(normTags, type, pageable);
-            } else if (normTags != null) {
-                posts = postRepository.findByAnyTags(normTags, pageable);
-            } else if (type != null) {
-                posts = postRepository.findByTypeOrderByCreatedAtDesc(type, pageable);
-            } else {
-                posts = postRepository.findAllByOrderByCreatedAtDesc(pageable);
-            }
+            posts = normTags != null
+                    ? postRepository.findCardsWithAnyTag(normTags, type, pageable)
+                    : postRepository.findFeedCards(null, type, null, pageable);
         }
 
-        return posts.map(this::sanitizePrivatePost);
+        return postCardAssembler.toDtos(posts);
     }
 }
@@ -0,0 +1,50 @@
+package com.synapse.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sorted score boards for {@link HotRankingService}. Scores are kept in log2 space: adding a term
+ * {@code t} to a score {@code s} stores {@code log2(2^s + 2^t)}, so decayed sums never overflow and
+ * increments stay O(log n).
+ */
+public interface RankingIndex {
+
+    /** Scores within this many doublings below their previous value are treated as fully retracted. */
+    double RETRACTED = 30;
+
+    /** Adds {@code 2^term} to {@code member}'s score on {@code board}. */
+    void add(String board, String member, double term);
+
+    /** Subtracts {@code 2^term} from {@code member}'s score, dropping the member once nothing remains. */
+    void subtract(String board, String member, double term);
+
+    void remove(String board, String member);
+
+    /** Members ranked {@code offset} to {@code offset + limit - 1}, highest score first. */
+    List<String> top(String board, long offset, int limit);
+
+    long size(String board);
+
+    /** Drops all but the {@code keep} highest-scoring members. */
+    void trim(String board, int keep);
+
+    /** Atomically replaces the contents of {@code board}. */
+    void replace(String board, Map<String, Double> scores);
+
+    /** {@code log2(2^a + 2^b)}. */
+    static double logAdd(double a, double b) {
+        double hi = Math.max(a, b);
+        double lo = Math.min(a, b);
+        return hi + Math.log1p(Math.pow(2, lo - hi)) / Math.log(2);
+    }
+
+    /** {@code log2(2^a - 2^b)}, or negative infinity if (almost) nothing is left. */
+    static double logSubtract(double a, double b) {
+        if (b >= a) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        double result = a + Math.log1p(-Math.pow(2, b - a)) / Math.log(2);
+        return result < a - RETRACTED ? Double.NEGATIVE_INFINITY : result;
+    }
+}
@@ -0,0 +1,50 @@
+package com.synapse.service;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/** {@link JobLease} shared by all instances: each lease is a key with a TTL that only its owner renews. */
+public class RedisJobLease implements JobLease {
+
+    private static final String KEY_PREFIX = "lease:";
+
+    private static final RedisScript<Long> ACQUIRE = new DefaultRedisScript<>("""
+            local owner = redis.call('GET', KEYS[1])
+            if owner == ARGV[1] then
+              redis.call('PEXPIRE', KEYS[1], ARGV[2])
+              return 1
+            end
+            if not owner then
+              redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+              return 1
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+
+    public RedisJobLease(StringRedisTemplate redis) {
+        this.redis = redis;
+    }
+
+    @Override
+    public boolean acquire(String job, String owner, Duration ttl) {
+        Long acquired = redis.execute(ACQUIRE, List.of(KEY_PREFIX + job), owner, String.valueOf(ttl.toMillis()));
+        return acquired != null && acquired == 1;
+    }
+
+    @Override
+    public void release(String job, String owner) {
+        redis.execute(RELEASE, List.of(KEY_PREFIX + job), owner);
+    }
+}
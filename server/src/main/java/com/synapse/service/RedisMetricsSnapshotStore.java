@@ -0,0 +1,32 @@
+package com.synapse.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/** {@link MetricsSnapshotStore} shared by all instances, as a hash of metric name to value. */
+public class RedisMetricsSnapshotStore implements MetricsSnapshotStore {
+
+    private static final String SNAPSHOT_KEY = "metrics:snapshot";
+
+    private final StringRedisTemplate redis;
+
+    public RedisMetricsSnapshotStore(StringRedisTemplate redis) {
+        this.redis = redis;
+    }
+
+    @Override
+    public void publish(Map<String, Long> snapshot) {
+        Map<String, String> values = new HashMap<>();
+        snapshot.forEach((name, value) -> values.put(name, String.valueOf(value)));
+        redis.opsForHash().putAll(SNAPSHOT_KEY, values);
+    }
+
+    @Override
+    public Map<String, Long> read() {
+        Map<String, Long> snapshot = new HashMap<>();
+        redis.<String, String>opsForHash().entries(SNAPSHOT_KEY)
+                .forEach((name, value) -> snapshot.put(name, Long.parseLong(value)));
+        return snapshot;
+    }
+}
@@ -0,0 +1,109 @@
+package com.synapse.service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * {@link RankingIndex} on Redis sorted sets, shared by all instances. Log-space updates run as Lua
+ * scripts so concurrent increments of the same member are atomic.
+ */
+public class RedisRankingIndex implements RankingIndex {
+
+    private static final String KEY_PREFIX = "hot:";
+
+    private static final RedisScript<Long> ADD = new DefaultRedisScript<>("""
+            local term = tonumber(ARGV[2])
+            local score = redis.call('ZSCORE', KEYS[1], ARGV[1])
+            if score then
+              score = tonumber(score)
+              local hi, lo = math.max(score, term), math.min(score, term)
+              term = hi + math.log(1 + 2 ^ (lo - hi)) / math.log(2)
+            end
+            redis.call('ZADD', KEYS[1], term, ARGV[1])
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> SUBTRACT = new DefaultRedisScript<>("""
+            local score = redis.call('ZSCORE', KEYS[1], ARGV[1])
+            if not score then
+              return 0
+            end
+            score = tonumber(score)
+            local term = tonumber(ARGV[2])
+            local left = -1
+            if term < score then
+              left = score + math.log(1 - 2 ^ (term - score)) / math.log(2)
+            end
+            if term >= score or left < score - tonumber(ARGV[3]) then
+              redis.call('ZREM', KEYS[1], ARGV[1])
+            else
+              redis.call('ZADD', KEYS[1], left, ARGV[1])
+            end
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+
+    public RedisRankingIndex(StringRedisTemplate redis) {
+        this.redis = redis;
+    }
+
+    @Override
+    public void add(String board, String member, double term) {
+        redis.execute(ADD, List.of(key(board)), member, String.valueOf(term));
+    }
+
+    @Override
+    public void subtract(String board, String member, double term) {
+        redis.execute(SUBTRACT, List.of(key(board)), member, String.valueOf(term), String.valueOf(RETRACTED));
+    }
+
+    @Override
+    public void remove(String board, String member) {
+        redis.opsForZSet().remove(key(board), member);
+    }
+
+    @Override
+    public List<String> top(String board, long offset, int limit) {
+        Set<String> members = redis.opsForZSet().reverseRange(key(board), offset, offset + limit - 1);
+        return members == null ? List.of() : List.copyOf(members);
+    }
+
+    @Override
+    public long size(String board) {
+        Long size = redis.opsForZSet().zCard(key(board));
+        return size == null ? 0 : size;
+    }
+
+    @Override
+    public void trim(String board, int keep) {
+        redis.opsForZSet().removeRange(key(board), 0, -(keep + 1L));
+    }
+
+    @Override
+    public void replace(String board, Map<String, Double> scores) {
+        String key = key(board);
+        if (scores.isEmpty()) {
+            redis.delete(key);
+            return;
+        }
+        // Build aside and rename over the live board, so readers never see a partial ranking
+        String staging = key + ":rebuild";
+        Set<TypedTuple<String>> tuples = new HashSet<>();
+        scores.forEach((member, score) -> tuples.add(new DefaultTypedTuple<>(member, score)));
+        redis.delete(staging);
+        redis.opsForZSet().add(staging, tuples);
+        redis.rename(staging, key);
+    }
+
+    private static String key(String board) {
+        return KEY_PREFIX + board;
+    }
+}
@@ -0,0 +1,197 @@
+package com.synapse.service;
+
+import com.synapse.entity.PostImage;
+import com.synapse.entity.StoredObject;
+import com.synapse.repository.StoredObjectRepository;
+import com.synapse.util.FileUtil;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Stores uploads under content-addressed names ({@code <sha256>.<ext>}).
+ *
+ * The upload is hashed from Tomcat's buffered copy before anything is sent to MinIO, so a file that
+ * is already stored costs one indexed lookup and a timestamp update instead of another object write.
+ */
+@Timed("synapse.service")
+@Service
+@Slf4j
+public class StoredObjectService {
+
+    private final FileUtil fileUtil;
+    private final StoredObjectRepository storedObjectRepository;
+    private final ImageVariantService imageVariantService;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    public StoredObjectService(FileUtil fileUtil,
+                               StoredObjectRepository storedObjectRepository,
+                               ImageVariantService imageVariantService,
+                               MeterRegistry registry) {
+        this.fileUtil = fileUtil;
+        this.storedObjectRepository = storedObjectRepository;
+        this.imageVariantService = imageVariantService;
+        this.hits = lookups(registry, "hit");
+        this.misses = lookups(registry, "miss");
+        FunctionCounter.builder("synapse.storage.dedupe.bytes.saved", bytesSaved, AtomicLong::get)
+                .description("Upload bytes not written to object storage because the content already existed")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("synapse.storage.dedupe.hit.ratio", this, StoredObjectService::hitRatio)
+                .description("Share of uploads answered by an existing object since startup")
+                .register(registry);
+    }
+
+    private static Counter lookups(MeterRegistry registry, String result) {
+        return Counter.builder("synapse.storage.dedupe")
+                .tag("result", result)
+                .description("Uploads by content-hash dedupe outcome")
+                .register(registry);
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    /** Validates and stores an image upload, scheduling variants only for new content. */
+    public String saveImage(MultipartFile file) {
+        fileUtil.validateFile(file);
+        StoredFile stored = store(file, true);
+        if (stored.created()) {
+            imageVariantService.enqueue(stored.objectName());
+        }
+        return stored.objectName();
+    }
+
+    /** Validates and stores an attachment upload. */
+    public String saveAttachment(MultipartFile file) {
+        fileUtil.validateAttachment(file);
+        return store(file, false).objectName();
+    }
+
+    /**
+     * Post images for those of the given URLs that name an uploaded image of recorded size, keyed by URL.
+     * Other URLs (external, attachments, uploads from before sizes were kept) have no entry.
+     */
+    public Map<String, PostImage> describeImages(Collection<String> urls) {
+        Map<String, String> urlsByName = new HashMap<>();
+        for (String url : urls) {
+            if (url != null && !url.isBlank()) {
+                urlsByName.put(url.substring(url.lastIndexOf('/') + 1), url);
+            }
+        }
+        if (urlsByName.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, PostImage> images = new HashMap<>();
+        for (StoredObject object : storedObjectRepository.findByObjectNameIn(urlsByName.keySet())) {
+            if (object.getWidth() != null && object.getHeight() != null) {
+                String url = urlsByName.get(object.getObjectName());
+                images.put(url, new PostImage(url, object.getWidth(), object.getHeight()));
+            }
+        }
+        return images;
+    }
+
+    StoredFile store(MultipartFile file, boolean image) {
+        String hash = sha256(file);
+        Optional<StoredObject> existing = storedObjectRepository.findByContentHash(hash);
+        if (existing.isPresent() && storedObjectRepository.touchUploadedAt(hash, Instant.now()) > 0) {
+            hits.increment();
+            bytesSaved.addAndGet(file.getSize());
+            return new StoredFile(existing.get().getObjectName(), false);
+        }
+
+        String objectName = hash + fileUtil.getExtension(file.getOriginalFilename()).toLowerCase(Locale.ROOT);
+        fileUtil.upload(file, objectName);
+        ImageSize size = image ? readSize(file) : null;
+        try {
+            storedObjectRepository.saveAndFlush(StoredObject.builder()
+                    .contentHash(hash)
+                    .objectName(objectName)
+                    .size(file.getSize())
+                    .contentType(file.getContentType())
+                    .width(size != null ? size.width() : null)
+                    .height(size != null ? size.height() : null)
+                    .build());
+            misses.increment();
+            return new StoredFile(objectName, true);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with an identical upload: the bytes are the same, so share its record
+            log.debug("Concurrent upload of {} already registered", hash);
+            StoredObject winner = storedObjectRepository.findByContentHash(hash).orElseThrow(() -> e);
+            storedObjectRepository.touchUploadedAt(hash, Instant.now());
+            hits.increment();
+            return new StoredFile(winner.getObjectName(), false);
+        }
+    }
+
+    private static String sha256(MultipartFile file) {
+        try (InputStream in = file.getInputStream()) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read upload", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Reads the header only; formats ImageIO cannot read (WebP, corrupt files) simply have no size
+    static ImageSize readSize(MultipartFile file) {
+        try (InputStream in = file.getInputStream(); ImageInputStream stream = ImageIO.createImageInputStream(in)) {
+            if (stream == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(stream, true, true);
+                return new ImageSize(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            log.debug("Could not read image size of {}: {}", file.getOriginalFilename(), e.getMessage());
+            return null;
+        }
+    }
+
+    record StoredFile(String objectName, boolean created) {}
+
+    record ImageSize(int width, int height) {}
+}
@@ -0,0 +1,138 @@
+package com.synapse.service;
+
+import com.synapse.entity.Tag;
+import com.synapse.entity.TagCounter;
+import com.synapse.repository.TagCounterRepository;
+import com.synapse.repository.TagRepository;
+import io.micrometer.core.annotation.Timed;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps each tag's {@link TagCounter} in step with post writes.
+ *
+ * Post writes adjust the counters with atomic in-place increments, so popular tags are a top-K read
+ * over an index instead of a GROUP BY over post_tags. Recent counts only ever grow through increments
+ * (posts age out of the window silently), and rows written outside this service are not counted, so a
+ * scheduled reconciliation recomputes both counters from post_tags and fixes any drift.
+ */
+@Slf4j
+@Timed("synapse.service")
+@Service
+public class TagCounterService {
+
+    private final TagRepository tagRepository;
+    private final TagCounterRepository tagCounterRepository;
+    private final TransactionTemplate transaction;
+
+    @Value("${tags.counters.recent-window-days:7}")
+    private int recentWindowDays;
+
+    public TagCounterService(TagRepository tagRepository, TagCounterRepository tagCounterRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.tagRepository = tagRepository;
+        this.tagCounterRepository = tagCounterRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    public void postCreated(Collection<Tag> tags, Instant createdAt) {
+        adjust(ids(tags), 1, createdAt);
+    }
+
+    public void postDeleted(Collection<Tag> tags, Instant createdAt) {
+        adjust(ids(tags), -1, createdAt);
+    }
+
+    /** Applies the difference between a post's tags before and after an update. */
+    public void tagsChanged(Collection<Tag> before, Collection<Tag> after, Instant createdAt) {
+        Set<Long> oldIds = ids(before);
+        Set<Long> newIds = ids(after);
+        adjust(newIds.stream().filter(id -> !oldIds.contains(id)).collect(Collectors.toSet()), 1, createdAt);
+        adjust(oldIds.stream().filter(id -> !newIds.contains(id)).collect(Collectors.toSet()), -1, createdAt);
+    }
+
+    @Scheduled(cron = "${tags.counters.reconcile-cron:0 15 * * * *}")
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.warn("Tag counter reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recomputes every tag's counters from post_tags, creating the counters of tags that were written
+     * without one. A post written while this runs may be counted twice or not at all until the next
+     * pass; the counters are popularity hints, not invariants.
+     *
+     * @return number of tags whose counters had drifted
+     */
+    public int reconcile() {
+        Integer drifted = transaction.execute(status -> fixDrift());
+        if (drifted != null && drifted > 0) {
+            log.info("Reconciled post counters of {} tag(s)", drifted);
+        }
+        return drifted == null ? 0 : drifted;
+    }
+
+    private int fixDrift() {
+        Map<Long, long[]> actual = new HashMap<>();
+        for (Object[] row : tagRepository.countPostsByTag(recentSince())) {
+            long recent = row[2] == null ? 0 : ((Number) row[2]).longValue();
+            actual.put((Long) row[0], new long[] {((Number) row[1]).longValue(), recent});
+        }
+        Map<Long, TagCounter> counters = tagCounterRepository.findAll().stream()
+                .collect(Collectors.toMap(TagCounter::getTagId, Function.identity()));
+        int drifted = 0;
+        for (Tag tag : tagRepository.findAll()) {
+            long[] counts = actual.getOrDefault(tag.getId(), new long[2]);
+            TagCounter counter = counters.get(tag.getId());
+            if (counter == null) {
+                tagCounterRepository.save(TagCounter.builder()
+                        .tagId(tag.getId()).postCount(counts[0]).recentPostCount(counts[1]).build());
+                drifted++;
+            } else if (!Objects.equals(counter.getPostCount(), counts[0])
+                    || !Objects.equals(counter.getRecentPostCount(), counts[1])) {
+                counter.setPostCount(counts[0]);
+                counter.setRecentPostCount(counts[1]);
+                drifted++;
+            }
+        }
+        return drifted;
+    }
+
+    private void adjust(Set<Long> ids, long delta, Instant createdAt) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        boolean recent = createdAt == null || !createdAt.isBefore(recentSince());
+        tagCounterRepository.adjustPostCounts(ids, delta, recent ? delta : 0);
+    }
+
+    private Instant recentSince() {
+        return Instant.now().minus(Duration.ofDays(recentWindowDays));
+    }
+
+    private static Set<Long> ids(Collection<Tag> tags) {
+        if (tags == null) {
+            return Set.of();
+        }
+        return tags.stream().map(Tag::getId).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+}
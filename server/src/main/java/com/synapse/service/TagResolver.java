@@ -0,0 +1,159 @@
+package com.synapse.service;
+
+import com.synapse.entity.Tag;
+import com.synapse.repository.TagRepository;
+import io.micrometer.core.annotation.Timed;
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Turns tag names into {@link Tag} entities in a constant number of round trips.
+ *
+ * Known names come from a small in-process LRU, the rest from a single {@code IN} query. Names that
+ * do not exist yet are created with one batched insert-if-absent ({@code ON DUPLICATE KEY UPDATE} on
+ * MySQL, {@code MERGE ... KEY} on H2), so concurrent posts introducing the same tag never trip over
+ * the unique name constraint, and are then read back with a locking read that sees rows committed by
+ * the other writer; their {@code tag_counters} rows are created the same way. Freshly created tags are
+ * only cached once their transaction commits.
+ */
+@Slf4j
+@Timed("synapse.service")
+@Service
+public class TagResolver {
+
+    private static final String MYSQL_UPSERT = "INSERT INTO tags (name) VALUES (?) ON DUPLICATE KEY UPDATE name = name";
+    private static final String H2_UPSERT = "MERGE INTO tags (name) KEY (name) VALUES (?)";
+    private static final String MYSQL_COUNTER_UPSERT = "INSERT INTO tag_counters (tag_id, post_count, "
+            + "recent_post_count) VALUES (?, 0, 0) ON DUPLICATE KEY UPDATE tag_id = tag_id";
+    private static final String H2_COUNTER_UPSERT = "MERGE INTO tag_counters (tag_id) KEY (tag_id) VALUES (?)";
+
+    private final TagRepository tagRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean h2;
+    private final Map<String, Tag> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Value("${tags.resolver.cache-size:1000}")
+    private int cacheSize;
+
+    public TagResolver(TagRepository tagRepository, JdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.tagRepository = tagRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.h2 = isH2(dataSource);
+    }
+
+    private static boolean isH2(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return product.toLowerCase(Locale.ROOT).contains("h2");
+        } catch (MetaDataAccessException e) {
+            log.warn("Could not detect the database, assuming MySQL for tag upserts: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Resolves trimmed, non-blank {@code names} to tags, creating missing ones. Must run inside the
+     * transaction that will reference the tags.
+     */
+    public Set<Tag> resolve(Collection<String> names) {
+        Set<Tag> tags = new HashSet<>();
+        if (names == null) {
+            return tags;
+        }
+        List<String> uncached = new ArrayList<>();
+        for (String name : normalize(names)) {
+            Tag cached = cached(name);
+            if (cached != null) {
+                tags.add(cached);
+            } else {
+                uncached.add(name);
+            }
+        }
+        if (uncached.isEmpty()) {
+            return tags;
+        }
+        Set<String> missing = new LinkedHashSet<>(uncached);
+        for (Tag tag : tagRepository.findByNameIn(uncached)) {
+            remember(tag);
+            missing.remove(tag.getName());
+            tags.add(tag);
+        }
+        if (!missing.isEmpty()) {
+            List<String> inserts = List.copyOf(missing);
+            jdbcTemplate.batchUpdate(h2 ? H2_UPSERT : MYSQL_UPSERT, inserts, inserts.size(),
+                    (ps, name) -> ps.setString(1, name));
+            List<Tag> created = tagRepository.findLockedByNameIn(inserts);
+            jdbcTemplate.batchUpdate(h2 ? H2_COUNTER_UPSERT : MYSQL_COUNTER_UPSERT, created, created.size(),
+                    (ps, tag) -> ps.setLong(1, tag.getId()));
+            afterCommit(() -> created.forEach(this::remember));
+            tags.addAll(created);
+        }
+        return tags;
+    }
+
+    private static Set<String> normalize(Collection<String> names) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String name : names) {
+            String trimmed = name == null ? "" : name.trim();
+            if (!trimmed.isEmpty()) {
+                normalized.add(trimmed);
+            }
+        }
+        return normalized;
+    }
+
+    // The cache hands out detached copies: Post.tags does not cascade, so only their ids are written
+    private Tag cached(String name) {
+        synchronized (cache) {
+            Tag tag = cache.get(name);
+            return tag == null ? null : copy(tag);
+        }
+    }
+
+    private void remember(Tag tag) {
+        synchronized (cache) {
+            cache.put(tag.getName(), copy(tag));
+            while (cache.size() > cacheSize) {
+                cache.remove(cache.keySet().iterator().next());
+            }
+        }
+    }
+
+    private static Tag copy(Tag tag) {
+        return Tag.builder()
+                .id(tag.getId())
+                .name(tag.getName())
+                .icon(tag.getIcon())
+                .build();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -1,25 +1,53 @@
 package com.synapse.service;
 
 import com.synapse.dto.TagDto;
+import com.synapse.entity.Tag;
+import com.synapse.entity.TagCounter;
+import com.synapse.repository.TagCounterRepository;
 import com.synapse.repository.TagRepository;
+import io.micrometer.core.annotation.Timed;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+@Timed("synapse.service")
 @Service
 @RequiredArgsConstructor
 public class TagService {
 
     private final TagRepository tagRepository;
+    private final TagCounterRepository tagCounterRepository;
+    private final HotRankingService hotRankingService;
 
     @Cacheable(value = "tags", key = "'popular:' + #limit", unless = "#result == null || #result.isEmpty()")
     @Transactional(readOnly = true)
     public List<TagDto> getPopularTags(int limit) {
         int safeLimit = Math.min(Math.max(limit, 1), 50);
-        return tagRepository.findPopularTags(PageRequest.of(0, safeLimit)).stream()
+        return tagCounterRepository.findPopular(PageRequest.of(0, safeLimit)).stream()
+                .map(row -> TagDto.fromEntity((Tag) row[0], (TagCounter) row[1]))
+                .toList();
+    }
+
+    // Served straight from the ranking index; not cached since it shifts with every engagement
+    @Transactional(readOnly = true)
+    public List<TagDto> getTrendingTags(int limit) {
+        int safeLimit = Math.min(Math.max(limit, 1), 50);
+        List<String> names = hotRankingService.topTagNames(safeLimit);
+        if (names.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Tag> tags = tagRepository.findByNameIn(names).stream()
+                .collect(Collectors.toMap(Tag::getName, Function.identity()));
+        return names.stream()
+                .map(tags::get)
+                .filter(Objects::nonNull)
                 .map(TagDto::fromEntity)
                 .toList();
     }
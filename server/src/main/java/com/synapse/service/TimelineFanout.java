@@ -0,0 +1,143 @@
+package com.synapse.service;
+
+import com.synapse.repository.FollowRepository;
+import com.synapse.repository.PostRepository;
+import com.synapse.repository.TimelineEntry;
+import io.micrometer.core.annotation.Timed;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps the home timelines in {@link TimelineStore} current as posts and follows change (fan-out on
+ * write). Work runs on the timeline executor once the triggering transaction has committed.
+ *
+ * Authors with more than {@code timeline.celebrity-followers} followers are not fanned out: pushing to
+ * every follower would be too expensive, so {@link TimelineService} merges their posts in at read time.
+ */
+@Slf4j
+@Timed("synapse.service")
+@Component
+public class TimelineFanout {
+
+    private final TimelineStore store;
+    private final FollowRepository followRepository;
+    private final PostRepository postRepository;
+    private final Executor executor;
+
+    @Value("${timeline.celebrity-followers:10000}")
+    private long celebrityFollowers;
+
+    @Value("${timeline.fanout.batch-size:500}")
+    private int batchSize;
+
+    @Value("${timeline.follow-backfill:50}")
+    private int followBackfill;
+
+    public TimelineFanout(TimelineStore store,
+                          FollowRepository followRepository,
+                          PostRepository postRepository,
+                          @Qualifier("timelineExecutor") Executor executor) {
+        this.store = store;
+        this.followRepository = followRepository;
+        this.postRepository = postRepository;
+        this.executor = executor;
+    }
+
+    public void postCreated(Long authorId, TimelineEntry entry) {
+        afterCommit(() -> fanOut(authorId, entry));
+    }
+
+    public void postDeleted(Long authorId, Long postId) {
+        // Celebrity posts were never pushed; stale IDs are also dropped when a timeline is read
+        afterCommit(() -> {
+            if (!store.celebrities().contains(authorId)) {
+                forEachAudienceBatch(authorId, batch -> store.remove(batch, List.of(postId)));
+            }
+        });
+    }
+
+    /** Backfills the followed author's recent posts into the follower's timeline. */
+    public void followed(Long followerId, Long followingId) {
+        afterCommit(() -> {
+            if (!store.exists(followerId) || store.celebrities().contains(followingId)) {
+                return;
+            }
+            store.push(List.of(followerId), postRepository.findTimelineEntries(
+                    List.of(followingId), null, null, PageRequest.of(0, followBackfill)));
+        });
+    }
+
+    public void unfollowed(Long followerId, Long followingId) {
+        afterCommit(() -> {
+            // A timeline can only hold the author's newest capacity() posts
+            List<Long> postIds = postRepository.findTimelineEntries(
+                            List.of(followingId), null, null, PageRequest.of(0, store.capacity()))
+                    .stream().map(TimelineEntry::postId).toList();
+            store.remove(List.of(followerId), postIds);
+        });
+    }
+
+    void fanOut(Long authorId, TimelineEntry entry) {
+        boolean celebrity = followRepository.countByFollowingId(authorId) > celebrityFollowers;
+        store.setCelebrity(authorId, celebrity);
+        if (celebrity) {
+            return;
+        }
+        int[] pushed = {0};
+        forEachAudienceBatch(authorId, batch -> pushed[0] += store.push(batch, List.of(entry)));
+        log.debug("Fanned out post {} of user {} to {} timeline(s)", entry.postId(), authorId, pushed[0]);
+    }
+
+    /** Visits the author and their followers in batches of follower IDs. */
+    private void forEachAudienceBatch(Long authorId, Consumer<List<Long>> action) {
+        action.accept(List.of(authorId));
+        long after = 0;
+        while (true) {
+            List<Long> batch = followRepository.findFollowerIdsAfter(authorId, after, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return;
+            }
+            action.accept(batch);
+            after = batch.get(batch.size() - 1);
+        }
+    }
+
+    private void afterCommit(Runnable task) {
+        if (!store.isEnabled()) {
+            return;
+        }
+        Runnable submit = () -> {
+            try {
+                executor.execute(() -> {
+                    try {
+                        task.run();
+                    } catch (Exception e) {
+                        log.warn("Timeline update failed: {}", e.getMessage(), e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Timelines catch up when rebuilt after expiring
+                log.warn("Timeline update dropped, executor saturated");
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit.run();
+                }
+            });
+        } else {
+            submit.run();
+        }
+    }
+}
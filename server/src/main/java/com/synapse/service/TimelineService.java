@@ -0,0 +1,122 @@
+package com.synapse.service;
+
+import com.synapse.dto.PostDto;
+import com.synapse.dto.TimelinePageDto;
+import com.synapse.repository.FollowRepository;
+import com.synapse.repository.LikeRepository;
+import com.synapse.repository.PostRepository;
+import com.synapse.repository.TimelineEntry;
+import io.micrometer.core.annotation.Timed;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Home timeline: posts by the users someone follows, plus their own, newest first.
+ *
+ * With fan-out enabled the timeline is read from {@link TimelineStore} (rebuilt from the database on
+ * first read) and merged with recent posts of followed celebrity authors, which are not fanned out.
+ * Without it, the whole timeline is read from the database.
+ */
+@Timed("synapse.service")
+@Service
+@RequiredArgsConstructor
+public class TimelineService {
+
+    private final TimelineStore store;
+    private final PostRepository postRepository;
+    private final FollowRepository followRepository;
+    private final LikeRepository likeRepository;
+    private final PostCardAssembler postCardAssembler;
+
+    /**
+     * One page of {@code userId}'s home timeline.
+     *
+     * @param before cursor from the previous page, or null for the newest posts
+     * @throws IllegalArgumentException if {@code before} is not a timeline cursor
+     */
+    @Transactional(readOnly = true)
+    public TimelinePageDto getHomeTimeline(Long userId, String before, int size) {
+        TimelineEntry cursor = before == null ? null : TimelineEntry.fromCursor(before);
+        List<TimelineEntry> entries = store.isEnabled()
+                ? readMaterialized(userId, cursor, size)
+                : pull(audience(userId), cursor, size);
+        String nextCursor = entries.size() < size ? null : entries.get(entries.size() - 1).toCursor();
+        return new TimelinePageDto(hydrate(userId, entries), nextCursor);
+    }
+
+    private List<TimelineEntry> readMaterialized(Long userId, TimelineEntry cursor, int size) {
+        Set<Long> celebrities = store.celebrities();
+        if (!store.exists(userId)) {
+            List<Long> pushedAuthors = audience(userId);
+            pushedAuthors.removeAll(celebrities);
+            store.rebuild(userId, pull(pushedAuthors, null, store.capacity()));
+        }
+        List<TimelineEntry> entries = store.read(userId, cursor, size);
+        if (celebrities.isEmpty()) {
+            return entries;
+        }
+        List<Long> followedCelebrities = new ArrayList<>(followRepository.findFollowingIdsIn(userId, celebrities));
+        if (celebrities.contains(userId)) {
+            followedCelebrities.add(userId);
+        }
+        if (followedCelebrities.isEmpty()) {
+            return entries;
+        }
+        // Merge in timeline order; a post can be in both if its author recently became a celebrity
+        Map<Long, TimelineEntry> merged = new LinkedHashMap<>();
+        for (TimelineEntry entry : entries) {
+            merged.put(entry.postId(), entry);
+        }
+        for (TimelineEntry entry : pull(followedCelebrities, cursor, size)) {
+            merged.putIfAbsent(entry.postId(), entry);
+        }
+        return merged.values().stream()
+                .sorted(TimelineEntry.NEWEST_FIRST)
+                .limit(size)
+                .toList();
+    }
+
+    /** The users whose posts appear on {@code userId}'s timeline: everyone they follow, and themselves. */
+    private List<Long> audience(Long userId) {
+        List<Long> authors = new ArrayList<>(followRepository.findFollowingIds(userId));
+        authors.add(userId);
+        return authors;
+    }
+
+    private List<TimelineEntry> pull(List<Long> authorIds, TimelineEntry cursor, int limit) {
+        if (authorIds.isEmpty()) {
+            return List.of();
+        }
+        return cursor == null
+                ? postRepository.findTimelineEntries(authorIds, null, null, PageRequest.of(0, limit))
+                : postRepository.findTimelineEntries(authorIds, cursor.createdAt(), cursor.postId(),
+                        PageRequest.of(0, limit));
+    }
+
+    /** Loads the page's post cards and the viewer's likes, keeping timeline order. */
+    private List<PostDto> hydrate(Long userId, List<TimelineEntry> entries) {
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = entries.stream().map(TimelineEntry::postId).toList();
+        List<PostDto> posts = postCardAssembler.findByIds(ids);
+        Set<Long> liked = new HashSet<>(likeRepository.findLikedPostIds(userId, ids));
+
+        Set<Long> found = posts.stream().map(PostDto::getId).collect(Collectors.toSet());
+        List<Long> deleted = ids.stream().filter(id -> !found.contains(id)).toList();
+        if (store.isEnabled() && !deleted.isEmpty()) {
+            store.remove(List.of(userId), deleted);
+        }
+        posts.forEach(dto -> dto.getUserState().setLiked(liked.contains(dto.getId())));
+        return posts;
+    }
+}
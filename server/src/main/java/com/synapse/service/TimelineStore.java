@@ -0,0 +1,201 @@
+package com.synapse.service;
+
+import com.synapse.repository.TimelineEntry;
+import io.micrometer.core.annotation.Timed;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.stereotype.Component;
+
+/**
+ * Home timelines kept in Redis, one sorted set per user: members are post IDs, scores their creation
+ * time in epoch micros (exact in a double), and only the newest {@code timeline.max-size} entries are kept.
+ * Members sharing a score are ordered by numeric post ID here, not by Redis' string order.
+ *
+ * Posts are only pushed into timelines that already exist. A missing timeline (never read, or expired
+ * after {@code timeline.ttl-days} without reads) is rebuilt from the database on its next read, so
+ * inactive users cost nothing on write.
+ */
+@Timed("synapse.service")
+@Component
+public class TimelineStore {
+
+    // v2: scores are micros; the millisecond timelines under the old prefix are left to expire
+    private static final String KEY_PREFIX = "timeline:v2:";
+    private static final String CELEBRITIES_KEY = "timeline:celebrities";
+
+    private final StringRedisTemplate redis;
+
+    @Value("${timeline.fanout.enabled:false}")
+    private boolean enabled;
+
+    @Value("${timeline.max-size:800}")
+    private int maxSize;
+
+    @Value("${timeline.ttl-days:14}")
+    private long ttlDays;
+
+    public TimelineStore(StringRedisTemplate redis) {
+        this.redis = redis;
+    }
+
+    /** Whether timelines are materialized in Redis; when false they are read from the database. */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Maximum number of entries kept per timeline. */
+    public int capacity() {
+        return maxSize;
+    }
+
+    public boolean exists(Long userId) {
+        return Boolean.TRUE.equals(redis.hasKey(key(userId)));
+    }
+
+    /** Replaces {@code userId}'s timeline with {@code entries}. */
+    public void rebuild(Long userId, List<TimelineEntry> entries) {
+        String key = key(userId);
+        pipelined(ops -> {
+            ops.delete(key);
+            if (!entries.isEmpty()) {
+                ops.opsForZSet().add(key, tuples(entries));
+                ops.opsForZSet().removeRange(key, 0, -(maxSize + 1L));
+                ops.expire(key, Duration.ofDays(ttlDays));
+            }
+        });
+    }
+
+    /**
+     * Adds {@code entries} to the timelines of those {@code userIds} that exist.
+     *
+     * @return the number of timelines written to
+     */
+    public int push(Collection<Long> userIds, List<TimelineEntry> entries) {
+        if (userIds.isEmpty() || entries.isEmpty()) {
+            return 0;
+        }
+        List<String> keys = userIds.stream().map(TimelineStore::key).toList();
+        List<Object> exists = pipelined(ops -> keys.forEach(ops::hasKey));
+        List<String> live = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (Boolean.TRUE.equals(exists.get(i))) {
+                live.add(keys.get(i));
+            }
+        }
+        if (!live.isEmpty()) {
+            Set<TypedTuple<String>> tuples = tuples(entries);
+            pipelined(ops -> live.forEach(key -> {
+                ops.opsForZSet().add(key, tuples);
+                ops.opsForZSet().removeRange(key, 0, -(maxSize + 1L));
+            }));
+        }
+        return live.size();
+    }
+
+    /** Removes {@code postIds} from the timelines of {@code userIds}. */
+    public void remove(Collection<Long> userIds, Collection<Long> postIds) {
+        if (userIds.isEmpty() || postIds.isEmpty()) {
+            return;
+        }
+        Object[] members = postIds.stream().map(String::valueOf).toArray();
+        pipelined(ops -> userIds.forEach(userId -> ops.opsForZSet().remove(key(userId), members)));
+    }
+
+    /**
+     * Up to {@code limit} entries after {@code cursor} (or the newest, if null) in timeline order.
+     *
+     * Redis can only page by score, so the posts sharing the cursor's instant and those sharing the
+     * last instant of the page are read whole and ordered by ID here.
+     */
+    public List<TimelineEntry> read(Long userId, TimelineEntry cursor, int limit) {
+        String key = key(userId);
+        ZSetOperations<String, String> zset = redis.opsForZSet();
+        Map<Long, TimelineEntry> entries = new HashMap<>();
+        double max = Double.POSITIVE_INFINITY;
+        if (cursor != null) {
+            double score = score(cursor);
+            entries(zset.rangeByScoreWithScores(key, score, score)).stream()
+                    .filter(entry -> entry.isAfter(cursor))
+                    .forEach(entry -> entries.put(entry.postId(), entry));
+            max = score - 1;
+        }
+        List<TimelineEntry> page =
+                entries(zset.reverseRangeByScoreWithScores(key, Double.NEGATIVE_INFINITY, max, 0, limit));
+        page.forEach(entry -> entries.put(entry.postId(), entry));
+        if (page.size() == limit) {
+            double last = score(page.get(page.size() - 1));
+            entries(zset.rangeByScoreWithScores(key, last, last)).forEach(entry -> entries.put(entry.postId(), entry));
+        }
+        redis.expire(key, Duration.ofDays(ttlDays));
+        return entries.values().stream().sorted(TimelineEntry.NEWEST_FIRST).limit(limit).toList();
+    }
+
+    private static List<TimelineEntry> entries(Set<TypedTuple<String>> tuples) {
+        if (tuples == null) {
+            return List.of();
+        }
+        return tuples.stream()
+                .map(t -> new TimelineEntry(Long.valueOf(t.getValue()),
+                        TimelineEntry.ofEpochMicros(t.getScore().longValue())))
+                .toList();
+    }
+
+    /** Authors whose posts are merged in at read time instead of being fanned out. */
+    public Set<Long> celebrities() {
+        Set<String> members = redis.opsForSet().members(CELEBRITIES_KEY);
+        if (members == null) {
+            return Set.of();
+        }
+        return members.stream().map(Long::valueOf).collect(Collectors.toCollection(HashSet::new));
+    }
+
+    public void setCelebrity(Long authorId, boolean celebrity) {
+        if (celebrity) {
+            redis.opsForSet().add(CELEBRITIES_KEY, String.valueOf(authorId));
+        } else {
+            redis.opsForSet().remove(CELEBRITIES_KEY, String.valueOf(authorId));
+        }
+    }
+
+    private List<Object> pipelined(Consumer<RedisOperations<String, String>> commands) {
+        return redis.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                commands.accept((RedisOperations<String, String>) operations);
+                return null;
+            }
+        });
+    }
+
+    private static Set<TypedTuple<String>> tuples(List<TimelineEntry> entries) {
+        Set<TypedTuple<String>> tuples = new HashSet<>();
+        for (TimelineEntry entry : entries) {
+            tuples.add(new DefaultTypedTuple<>(String.valueOf(entry.postId()), score(entry)));
+        }
+        return tuples;
+    }
+
+    private static double score(TimelineEntry entry) {
+        return TimelineEntry.epochMicros(entry.createdAt());
+    }
+
+    private static String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+}
@@ -6,6 +6,7 @@ import com.synapse.dto.UserDto;
 import com.synapse.entity.User;
 import com.synapse.repository.PostRepository;
 import com.synapse.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
@@ -15,12 +16,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+@Timed("synapse.service")
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
     private final UserRepository userRepository;
     private final PostRepository postRepository;
+    private final PostCardAssembler postCardAssembler;
 
     @Cacheable(value = "users", key = "#id")
     @Transactional(readOnly = true)
@@ -43,8 +46,7 @@ public class UserService {
         if (!userRepository.existsById(userId)) {
             throw new IllegalArgumentException("User not found");
         }
-        return postRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable)
-                .map(PostDto::fromEntity);
+        return postCardAssembler.toDtos(postRepository.findFeedCards(null, null, userId, pageable));
     }
 
     @Caching(evict = {
@@ -53,7 +55,8 @@ public class UserService {
     })
     @Transactional
     public UserDto updateProfile(Long userId, UpdateProfileRequest request) {
-        User user = userRepository.findById(userId)
+        // Edits the database row, never a cached copy; the second-level cache entry is replaced on commit
+        User user = userRepository.findFreshById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
         if (request.getDisplayName() != null) {
@@ -1,8 +1,12 @@
 package com.synapse.util;
 
+import com.synapse.dto.UploadTicketDto;
 import io.minio.MinioClient;
+import io.minio.PostPolicy;
 import io.minio.PutObjectArgs;
 import io.minio.RemoveObjectArgs;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,8 +14,12 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.InputStream;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Component
@@ -19,6 +27,7 @@ import java.util.UUID;
 public class FileUtil {
 
     private final MinioClient minioClient;
+    private final MultipartUploader multipartUploader;
 
     @Value("${minio.bucket}")
     private String bucket;
@@ -26,6 +35,19 @@ public class FileUtil {
     @Value("${minio.public-url}")
     private String publicUrl;
 
+    @Value("${minio.multipart.threshold-mb:8}")
+    private long multipartThresholdMb;
+
+    @Value("${minio.upload-ticket-ttl-minutes:10}")
+    private long uploadTicketTtlMinutes;
+
+    public static final String KIND_IMAGE = "image";
+    public static final String KIND_ATTACHMENT = "attachment";
+    // Object metadata stamped by the presigned form, checked again when the upload is confirmed
+    private static final String UPLOADER_META = "uploader";
+    private static final Pattern OBJECT_NAME =
+            Pattern.compile("^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}\\.[A-Za-z0-9]{1,10}$");
+
     private static final Set<String> ALLOWED_TYPES = Set.of(
             "image/jpeg",
             "image/png",
@@ -72,10 +94,26 @@ public class FileUtil {
     }
 
     private String uploadToMinio(MultipartFile file) {
-        String originalFilename = file.getOriginalFilename();
-        String extension = getExtension(originalFilename);
-        String objectName = UUID.randomUUID().toString() + extension;
+        String objectName = UUID.randomUUID().toString() + getExtension(file.getOriginalFilename());
+        upload(file, objectName);
+        return objectName;
+    }
 
+    /**
+     * Writes {@code file} to MinIO under {@code objectName}; callers validate first. Files at or above
+     * the multipart threshold are sent as parallel parts.
+     */
+    public void upload(MultipartFile file, String objectName) {
+        if (file.getSize() >= multipartThresholdMb * 1024 * 1024) {
+            try {
+                multipartUploader.upload(objectName, file.getContentType(), file.getSize(), file);
+                log.debug("Uploaded file to MinIO in parts: {}", objectName);
+                return;
+            } catch (Exception e) {
+                log.error("Failed to upload file to MinIO", e);
+                throw new RuntimeException("Failed to upload file", e);
+            }
+        }
         try (InputStream inputStream = file.getInputStream()) {
             minioClient.putObject(
                     PutObjectArgs.builder()
@@ -85,28 +123,111 @@ public class FileUtil {
                             .contentType(file.getContentType())
                             .build());
             log.debug("Uploaded file to MinIO: {}", objectName);
-            return objectName;
         } catch (Exception e) {
             log.error("Failed to upload file to MinIO", e);
             throw new RuntimeException("Failed to upload file", e);
         }
     }
 
+    /**
+     * Issues a presigned POST form so the client can upload straight to MinIO. The policy pins the
+     * object name, content type, size range and uploader, so the bytes never pass through this server.
+     */
+    public UploadTicketDto createUploadTicket(String kind, String filename, String contentType,
+                                              long size, Long userId) {
+        validate(kind, contentType, filename, size);
+        String objectName = UUID.randomUUID() + getExtension(filename);
+        if (!OBJECT_NAME.matcher(objectName).matches()) {
+            throw new IllegalArgumentException("Invalid file name");
+        }
+        ZonedDateTime expiresAt = ZonedDateTime.now().plusMinutes(uploadTicketTtlMinutes);
+
+        PostPolicy policy = new PostPolicy(bucket, expiresAt);
+        policy.addEqualsCondition("key", objectName);
+        policy.addEqualsCondition("Content-Type", contentType);
+        policy.addEqualsCondition("x-amz-meta-" + UPLOADER_META, String.valueOf(userId));
+        policy.addContentLengthRangeCondition(1, maxSize(kind));
+
+        try {
+            Map<String, String> fields = new HashMap<>(minioClient.getPresignedPostFormData(policy));
+            fields.put("key", objectName);
+            fields.put("Content-Type", contentType);
+            fields.put("x-amz-meta-" + UPLOADER_META, String.valueOf(userId));
+            return UploadTicketDto.builder()
+                    .url(publicUrl + "/" + bucket)
+                    .fields(fields)
+                    .objectName(objectName)
+                    .maxSize(maxSize(kind))
+                    .expiresAt(expiresAt.toInstant())
+                    .build();
+        } catch (Exception e) {
+            log.error("Failed to presign upload form", e);
+            throw new RuntimeException("Failed to create upload ticket", e);
+        }
+    }
+
+    /**
+     * Validates an object uploaded with a ticket from its stored metadata. Objects that fail validation
+     * are removed so a rejected upload does not linger in the bucket.
+     *
+     * @return the stored object's metadata
+     */
+    public StatObjectResponse confirmUpload(String kind, String objectName, Long userId) {
+        if (objectName == null || !OBJECT_NAME.matcher(objectName).matches()) {
+            throw new IllegalArgumentException("Invalid object name");
+        }
+        StatObjectResponse stat;
+        try {
+            stat = minioClient.statObject(StatObjectArgs.builder().bucket(bucket).object(objectName).build());
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Uploaded file not found");
+        }
+        if (!String.valueOf(userId).equals(stat.userMetadata().get(UPLOADER_META))) {
+            // Someone else's object: leave it alone
+            throw new IllegalArgumentException("Uploaded file not found");
+        }
+        try {
+            validate(kind, stat.contentType(), objectName, stat.size());
+        } catch (IllegalArgumentException e) {
+            deleteFile(objectName);
+            throw e;
+        }
+        return stat;
+    }
+
+    private void validate(String kind, String contentType, String filename, long size) {
+        if (KIND_ATTACHMENT.equals(kind)) {
+            validateAttachment(contentType, filename, size);
+        } else {
+            validateImage(contentType, size);
+        }
+    }
+
+    private static long maxSize(String kind) {
+        return KIND_ATTACHMENT.equals(kind) ? MAX_ATTACHMENT_SIZE : MAX_SIZE;
+    }
+
     public String getPublicUrl(String objectName) {
         return publicUrl + "/" + bucket + "/" + objectName;
     }
 
-    private void validateAttachment(MultipartFile file) {
+    public void validateAttachment(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("File is empty");
         }
+        validateAttachment(file.getContentType(), file.getOriginalFilename(), file.getSize());
+    }
+
+    private void validateAttachment(String contentType, String filename, long size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("File is empty");
+        }
 
-        if (file.getSize() > MAX_ATTACHMENT_SIZE) {
+        if (size > MAX_ATTACHMENT_SIZE) {
             throw new IllegalArgumentException("File size exceeds 5MB limit");
         }
 
-        String contentType = file.getContentType();
-        String extension = getExtension(file.getOriginalFilename()).toLowerCase();
+        String extension = getExtension(filename).toLowerCase();
 
         boolean allowedByType = contentType != null
                 && (ALLOWED_ATTACHMENT_TYPES.contains(contentType)
@@ -119,22 +240,28 @@ public class FileUtil {
         }
     }
 
-    private void validateFile(MultipartFile file) {
+    public void validateFile(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("File is empty");
         }
+        validateImage(file.getContentType(), file.getSize());
+    }
+
+    private void validateImage(String contentType, long size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("File is empty");
+        }
 
-        if (file.getSize() > MAX_SIZE) {
+        if (size > MAX_SIZE) {
             throw new IllegalArgumentException("File size exceeds 10MB limit");
         }
 
-        String contentType = file.getContentType();
         if (contentType == null || !ALLOWED_TYPES.contains(contentType)) {
             throw new IllegalArgumentException("Only JPEG, PNG, GIF, and WebP images are allowed");
         }
     }
 
-    private String getExtension(String filename) {
+    public String getExtension(String filename) {
         if (filename == null || !filename.contains(".")) {
             return ".png";
         }
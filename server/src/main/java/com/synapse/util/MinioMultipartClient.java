@@ -0,0 +1,82 @@
+package com.synapse.util;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+import io.minio.ListPartsResponse;
+import io.minio.MinioAsyncClient;
+import io.minio.messages.Part;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Exposes the S3 multipart primitives that {@link io.minio.MinioClient} keeps protected, so parts
+ * can be uploaded in parallel and an interrupted upload can be resumed by its upload ID.
+ */
+public class MinioMultipartClient extends MinioAsyncClient {
+
+    private static final int LIST_PAGE_SIZE = 1000;
+
+    public MinioMultipartClient(MinioAsyncClient client) {
+        super(client);
+    }
+
+    /** Starts a multipart upload and returns its upload ID. */
+    public String createUpload(String bucket, String objectName, String contentType) throws Exception {
+        Multimap<String, String> headers = HashMultimap.create();
+        if (contentType != null) {
+            headers.put("Content-Type", contentType);
+        }
+        return await(createMultipartUploadAsync(bucket, null, objectName, headers, none())).result().uploadId();
+    }
+
+    /**
+     * Uploads one part and returns its ETag. The client sends a Content-MD5 header for byte-array
+     * bodies, so the server rejects a part that was corrupted in transit.
+     */
+    public String uploadPart(String bucket, String objectName, String uploadId, int partNumber,
+                             byte[] data, int length) throws Exception {
+        return await(uploadPartAsync(bucket, null, objectName, data, length, uploadId, partNumber, none(), none()))
+                .etag();
+    }
+
+    /** Lists the parts the server already holds for an upload. */
+    public List<Part> listUploadedParts(String bucket, String objectName, String uploadId) throws Exception {
+        List<Part> parts = new ArrayList<>();
+        Integer marker = null;
+        while (true) {
+            ListPartsResponse response = await(
+                    listPartsAsync(bucket, null, objectName, LIST_PAGE_SIZE, marker, uploadId, none(), none()));
+            parts.addAll(response.result().partList());
+            if (!response.result().isTruncated()) {
+                return parts;
+            }
+            marker = response.result().nextPartNumberMarker();
+        }
+    }
+
+    public void complete(String bucket, String objectName, String uploadId, Part[] parts) throws Exception {
+        await(completeMultipartUploadAsync(bucket, null, objectName, uploadId, parts, none(), none()));
+    }
+
+    public void abort(String bucket, String objectName, String uploadId) throws Exception {
+        await(abortMultipartUploadAsync(bucket, null, objectName, uploadId, none(), none()));
+    }
+
+    // The blocking S3Base variants are deprecated; wait on the async ones and rethrow what they failed with
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Multimap<String, String> none() {
+        return HashMultimap.create();
+    }
+}
@@ -0,0 +1,180 @@
+package com.synapse.util;
+
+import io.minio.messages.Part;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Streams large uploads to MinIO as a multipart upload with parts sent in parallel.
+ *
+ * The input is read sequentially into fixed-size parts; at most {@code parallelism} parts per upload
+ * are in flight, so memory stays bounded by {@code (parallelism + 1) * partSize}. Each part's MD5 is
+ * checked against the ETag the server returns. If a part fails, the upload is resumed under the same
+ * upload ID: parts the server already holds with a matching checksum are not sent again.
+ */
+@Slf4j
+@Component
+public class MultipartUploader {
+
+    private static final long MB = 1024 * 1024;
+    private static final long MIN_PART_SIZE = 5 * MB;
+    private static final int MAX_PARTS = 10_000;
+
+    private final MinioMultipartClient client;
+    private final Executor executor;
+
+    @Value("${minio.bucket}")
+    private String bucket;
+
+    @Value("${minio.multipart.part-size-mb:5}")
+    private long partSizeMb;
+
+    @Value("${minio.multipart.parallelism:4}")
+    private int parallelism;
+
+    @Value("${minio.multipart.max-attempts:3}")
+    private int maxAttempts;
+
+    public MultipartUploader(MinioMultipartClient client,
+                             @Qualifier("minioUploadExecutor") Executor executor) {
+        this.client = client;
+        this.executor = executor;
+    }
+
+    /**
+     * Uploads {@code size} bytes from {@code source} to {@code objectName}. The source is reopened
+     * when an attempt has to be resumed.
+     *
+     * @return the upload ID the object was assembled under
+     */
+    public String upload(String objectName, String contentType, long size, InputStreamSource source)
+            throws Exception {
+        String uploadId = client.createUpload(bucket, objectName, contentType);
+        Exception last = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                resume(uploadId, objectName, size, source, attempt > 1);
+                return uploadId;
+            } catch (Exception e) {
+                last = e;
+                log.warn("Multipart upload {} of {} failed (attempt {}/{}): {}",
+                        uploadId, objectName, attempt, maxAttempts, e.getMessage());
+            }
+        }
+        try {
+            client.abort(bucket, objectName, uploadId);
+        } catch (Exception e) {
+            log.warn("Failed to abort multipart upload {}: {}", uploadId, e.getMessage());
+        }
+        throw last;
+    }
+
+    /**
+     * Sends every part of {@code source} that the server does not already hold for {@code uploadId}
+     * and completes the upload.
+     */
+    public void resume(String uploadId, String objectName, long size, InputStreamSource source,
+                       boolean checkExisting) throws Exception {
+        Map<Integer, String> uploaded = new HashMap<>();
+        if (checkExisting) {
+            for (Part part : client.listUploadedParts(bucket, objectName, uploadId)) {
+                uploaded.put(part.partNumber(), normalize(part.etag()));
+            }
+        }
+        int partSize = partSize(size);
+        Semaphore inFlight = new Semaphore(parallelism);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<CompletableFuture<Part>> parts = new ArrayList<>();
+        try (InputStream in = source.getInputStream()) {
+            long remaining = size;
+            // Stop reading once a part has failed; the attempt is lost and will be resumed
+            for (int partNumber = 1; remaining > 0 && !failed.get(); partNumber++) {
+                int length = (int) Math.min(partSize, remaining);
+                byte[] data = in.readNBytes(length);
+                if (data.length != length) {
+                    throw new IOException("Upload ended after " + (size - remaining + data.length) + " bytes");
+                }
+                remaining -= length;
+                String md5 = md5Hex(data);
+                if (md5.equals(uploaded.get(partNumber))) {
+                    parts.add(CompletableFuture.completedFuture(new Part(partNumber, md5)));
+                    continue;
+                }
+                inFlight.acquire();
+                parts.add(sendPart(uploadId, objectName, partNumber, data, md5, inFlight)
+                        .whenComplete((part, error) -> failed.compareAndSet(false, error != null)));
+            }
+        } finally {
+            // Never leave parts running against a stream or upload we are about to give up on
+            CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+        }
+        Part[] completed;
+        try {
+            completed = parts.stream()
+                    .map(CompletableFuture::join)
+                    .sorted(Comparator.comparingInt(Part::partNumber))
+                    .toArray(Part[]::new);
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+        client.complete(bucket, objectName, uploadId, completed);
+        log.debug("Uploaded {} in {} part(s) as {}", objectName, completed.length, uploadId);
+    }
+
+    private CompletableFuture<Part> sendPart(String uploadId, String objectName, int partNumber,
+                                             byte[] data, String md5, Semaphore inFlight) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                String etag = normalize(client.uploadPart(bucket, objectName, uploadId, partNumber, data,
+                        data.length));
+                if (!md5.equals(etag)) {
+                    throw new IllegalStateException("Checksum mismatch for part " + partNumber);
+                }
+                return new Part(partNumber, etag);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            } finally {
+                inFlight.release();
+            }
+        }, executor);
+    }
+
+    /** Part size in bytes, grown if needed to stay under the S3 limit of 10,000 parts. */
+    int partSize(long size) {
+        long configured = Math.max(MIN_PART_SIZE, partSizeMb * MB);
+        long needed = (size + MAX_PARTS - 1) / MAX_PARTS;
+        return (int) Math.max(configured, needed);
+    }
+
+    private static String normalize(String etag) {
+        return etag == null ? null : etag.replace("\"", "");
+    }
+
+    private static String md5Hex(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package com.synapse.websocket;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
@@ -19,15 +21,28 @@ import org.springframework.web.socket.handler.TextWebSocketHandler;
  * Used by NotificationBroadcaster to push realtime updates to recipients.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class NotificationWebSocketHandler extends TextWebSocketHandler {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Timer sent;
+    private final Timer failed;
 
     // userId -> sessions
     private final Map<Long, Set<WebSocketSession>> userSessions = new ConcurrentHashMap<>();
 
+    public NotificationWebSocketHandler(MeterRegistry registry) {
+        this.sent = sends(registry, "success");
+        this.failed = sends(registry, "error");
+    }
+
+    private static Timer sends(MeterRegistry registry, String outcome) {
+        return Timer.builder("synapse.websocket.send")
+                .tag("outcome", outcome)
+                .description("Time to write one notification frame to one WebSocket session")
+                .register(registry);
+    }
+
     @Override
     public void afterConnectionEstablished(WebSocketSession session) {
         Object userIdObj = session.getAttributes().get("userId");
@@ -71,9 +86,12 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
             TextMessage msg = new TextMessage(text);
             sessions.forEach(s -> {
                 if (s.isOpen()) {
+                    long start = System.nanoTime();
                     try {
                         s.sendMessage(msg);
+                        sent.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
                     } catch (IOException e) {
+                        failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
                         log.debug("WS send failed: {}", e.getMessage());
                     }
                 }
@@ -25,6 +25,15 @@ MERGE INTO users (username, email, password, avatar_url, display_name, bio, prov
 MERGE INTO users (username, email, password, avatar_url, display_name, bio, provider) KEY (username) VALUES
 ('charlie', 'charlie@synapse.dev', '$2a$10$vElQynQ3WrgQ9jYGOokNMO9C94/FWxSJBdoSYWBSTXuerLdJsogKe', 'https://api.dicebear.com/7.x/notionists/svg?seed=Charlie', '查理', '后端架构师，专注微服务和分布式系统。Spring Boot 布道师。', 'LOCAL');
 
+-- Seeded posts, comments and follows are numbered 1, 2, 3... by temporary column defaults so the
+-- literal ids below hold; the application itself takes ids from pooled sequences (see the end of file)
+CREATE SEQUENCE seed_posts_seq;
+CREATE SEQUENCE seed_comments_seq;
+CREATE SEQUENCE seed_follows_seq;
+ALTER TABLE posts ALTER COLUMN id SET DEFAULT NEXT VALUE FOR seed_posts_seq;
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT NEXT VALUE FOR seed_comments_seq;
+ALTER TABLE follows ALTER COLUMN id SET DEFAULT NEXT VALUE FOR seed_follows_seq;
+
 -- Posts (文章/代码片段/动态)
 
 -- Code Snippet 1: QuickSort
@@ -508,3 +517,14 @@ MERGE INTO follows (follower_id, following_id, created_at) KEY (follower_id, fol
 -- alice (id=2) also follows charlie (id=4)
 MERGE INTO follows (follower_id, following_id, created_at) KEY (follower_id, following_id) VALUES
 (2, 4, TIMESTAMP '2024-01-06 16:00:00');
+
+-- Hand the seeding defaults back and start the application's id sequences after the seeded rows
+ALTER TABLE posts ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE comments ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE follows ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE seed_posts_seq;
+DROP SEQUENCE seed_comments_seq;
+DROP SEQUENCE seed_follows_seq;
+ALTER SEQUENCE posts_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM posts);
+ALTER SEQUENCE comments_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM comments);
+ALTER SEQUENCE follows_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM follows);
@@ -0,0 +1,3 @@
+-- Nothing ever decremented or read ref_count; whether an object is live is decided by the orphan
+-- collector's mark phase over the references themselves
+ALTER TABLE stored_objects DROP COLUMN ref_count;
@@ -0,0 +1,17 @@
+-- Tag counters change on every tagged post write; keeping them off the tags row lets the
+-- second-level cache hold tags without being invalidated by those writes
+CREATE TABLE tag_counters (
+  tag_id BIGINT NOT NULL PRIMARY KEY,
+  post_count BIGINT NOT NULL DEFAULT 0,
+  recent_post_count BIGINT NOT NULL DEFAULT 0,
+  CONSTRAINT fk_tag_counters_tag FOREIGN KEY (tag_id) REFERENCES tags (id) ON DELETE CASCADE
+);
+
+INSERT INTO tag_counters (tag_id, post_count, recent_post_count)
+SELECT id, post_count, recent_post_count FROM tags;
+
+CREATE INDEX idx_tag_counters_post_count ON tag_counters (post_count);
+
+DROP INDEX idx_tags_post_count ON tags;
+ALTER TABLE tags DROP COLUMN post_count;
+ALTER TABLE tags DROP COLUMN recent_post_count;
@@ -0,0 +1,13 @@
+-- Content-addressed upload registry (portable across H2/MySQL)
+CREATE TABLE stored_objects (
+  id BIGINT AUTO_INCREMENT PRIMARY KEY,
+  content_hash VARCHAR(64) NOT NULL,
+  object_name VARCHAR(255) NOT NULL,
+  size BIGINT NOT NULL,
+  content_type VARCHAR(255),
+  ref_count INT NOT NULL DEFAULT 1,
+  created_at TIMESTAMP
+);
+
+CREATE UNIQUE INDEX idx_stored_objects_hash ON stored_objects(content_hash);
+CREATE UNIQUE INDEX idx_stored_objects_name ON stored_objects(object_name);
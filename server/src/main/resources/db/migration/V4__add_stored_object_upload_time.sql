@@ -0,0 +1,3 @@
+-- Track the latest upload resolving to each stored object (used by the orphan collector)
+ALTER TABLE stored_objects ADD COLUMN last_uploaded_at TIMESTAMP;
+UPDATE stored_objects SET last_uploaded_at = created_at WHERE last_uploaded_at IS NULL;
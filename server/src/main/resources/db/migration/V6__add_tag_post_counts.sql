@@ -0,0 +1,12 @@
+-- Materialized per-tag post counters, replacing the GROUP BY over post_tags for popular tags
+ALTER TABLE tags ADD COLUMN post_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tags ADD COLUMN recent_post_count BIGINT NOT NULL DEFAULT 0;
+
+UPDATE tags SET
+    post_count = (SELECT COUNT(*) FROM post_tags pt WHERE pt.tag_id = tags.id),
+    recent_post_count = (
+        SELECT COUNT(*) FROM post_tags pt JOIN posts p ON p.id = pt.post_id
+        WHERE pt.tag_id = tags.id AND p.created_at >= NOW() - INTERVAL 7 DAY
+    );
+
+CREATE INDEX idx_tags_post_count ON tags (post_count);
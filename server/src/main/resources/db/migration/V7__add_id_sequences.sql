@@ -0,0 +1,25 @@
+-- Pooled id sequences for the write-heavy tables. MySQL has no sequences, so Hibernate emulates each
+-- one with a single-row table; next_val is the first id of the next block of 50 handed to a node.
+CREATE TABLE posts_seq (next_val BIGINT);
+INSERT INTO posts_seq SELECT COALESCE(MAX(id), 0) + 1 FROM posts;
+
+CREATE TABLE comments_seq (next_val BIGINT);
+INSERT INTO comments_seq SELECT COALESCE(MAX(id), 0) + 1 FROM comments;
+
+CREATE TABLE likes_seq (next_val BIGINT);
+INSERT INTO likes_seq SELECT COALESCE(MAX(id), 0) + 1 FROM likes;
+
+CREATE TABLE comment_likes_seq (next_val BIGINT);
+INSERT INTO comment_likes_seq SELECT COALESCE(MAX(id), 0) + 1 FROM comment_likes;
+
+CREATE TABLE notifications_seq (next_val BIGINT);
+INSERT INTO notifications_seq SELECT COALESCE(MAX(id), 0) + 1 FROM notifications;
+
+CREATE TABLE attachments_seq (next_val BIGINT);
+INSERT INTO attachments_seq SELECT COALESCE(MAX(id), 0) + 1 FROM attachments;
+
+CREATE TABLE follows_seq (next_val BIGINT);
+INSERT INTO follows_seq SELECT COALESCE(MAX(id), 0) + 1 FROM follows;
+
+CREATE TABLE bookmarks_seq (next_val BIGINT);
+INSERT INTO bookmarks_seq SELECT COALESCE(MAX(id), 0) + 1 FROM bookmarks;
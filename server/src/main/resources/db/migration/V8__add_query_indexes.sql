@@ -0,0 +1,17 @@
+-- Composite indexes for the hot repository queries: each leads with the equality filter and ends
+-- with the ORDER BY / range column, so pages and keyset scans read only the rows they return.
+-- created_at is stored descending because every listing is newest first
+CREATE INDEX idx_posts_created_at ON posts (created_at DESC);
+CREATE INDEX idx_posts_type_created_at ON posts (type, created_at DESC);
+CREATE INDEX idx_posts_user_created_at ON posts (user_id, created_at DESC);
+CREATE INDEX idx_post_tags_tag_post ON post_tags (tag_id, post_id);
+
+CREATE INDEX idx_notifications_user_created_at ON notifications (user_id, created_at DESC);
+CREATE INDEX idx_notifications_user_read_created_at ON notifications (user_id, is_read, created_at DESC);
+
+CREATE INDEX idx_follows_follower_created_at ON follows (follower_id, created_at DESC);
+CREATE INDEX idx_follows_following_created_at ON follows (following_id, created_at DESC);
+CREATE INDEX idx_follows_following_follower ON follows (following_id, follower_id);
+
+CREATE INDEX idx_bookmarks_user_created_at ON bookmarks (user_id, created_at DESC);
+CREATE INDEX idx_bookmarks_post_created_at ON bookmarks (post_id, created_at DESC);
@@ -0,0 +1,3 @@
+-- Pixel size of image uploads, read from the header at upload time and copied into post images
+ALTER TABLE stored_objects ADD COLUMN width INT;
+ALTER TABLE stored_objects ADD COLUMN height INT;
@@ -43,7 +43,6 @@ class OAuth2SecurityTest {
     void setUp() {
         userRepository.deleteAll();
         testUser = User.builder()
-            .id(1L)
             .username("testuser")
             .email("test@example.com")
             .password("hashed")
@@ -0,0 +1,168 @@
+package com.synapse.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/** Read/write routing against a primary and two replicas, all local in-memory H2 stand-ins. */
+@SpringBootTest(properties = {
+    "spring.datasource.url=" + ReplicaRoutingDataSourceTest.PRIMARY,
+    "datasource.replicas.urls=" + ReplicaRoutingDataSourceTest.REPLICA_1 + "," + ReplicaRoutingDataSourceTest.REPLICA_2,
+    "datasource.replicas.lag-query=SELECT seconds FROM replica_lag",
+    "datasource.replicas.max-lag=5s",
+    "datasource.replicas.read-your-writes-window=500ms",
+    "datasource.replicas.check-interval-ms=3600000"
+})
+@ActiveProfiles("dev")
+@DisplayName("ReplicaRoutingDataSource Tests")
+class ReplicaRoutingDataSourceTest {
+
+    static final String PRIMARY = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_1 = "jdbc:h2:mem:routing-replica-1;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_2 = "jdbc:h2:mem:routing-replica-2;DB_CLOSE_DELAY=-1";
+
+    private static final Map<String, String> DATABASES = Map.of(
+            "primary", PRIMARY, "replica-1", REPLICA_1, "replica-2", REPLICA_2);
+
+    @Autowired
+    private ReplicaRoutingDataSource routing;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    // Each database knows its own name, and each replica reports a configurable lag
+    @BeforeEach
+    void setUp() throws SQLException {
+        for (Map.Entry<String, String> database : DATABASES.entrySet()) {
+            execute(database.getValue(), "CREATE TABLE IF NOT EXISTS whoami (name VARCHAR(20))",
+                    "DELETE FROM whoami", "INSERT INTO whoami VALUES ('" + database.getKey() + "')");
+            if (!database.getKey().equals("primary")) {
+                execute(database.getValue(), "CREATE TABLE IF NOT EXISTS replica_lag (seconds INT)",
+                        "DELETE FROM replica_lag", "INSERT INTO replica_lag VALUES (0)");
+            }
+        }
+        routing.checkReplicas();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static void execute(String url, String... statements) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    private String served(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class));
+    }
+
+    private Set<String> reads(int count) {
+        Set<String> served = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            served.add(served(true));
+        }
+        return served;
+    }
+
+    private static void signIn(Long userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute("userId", userId);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @Test
+    @DisplayName("read-only transactions should alternate between replicas, others use the primary")
+    void readOnlyTransactions_shouldUseReplicas() {
+        assertThat(reads(4)).containsExactlyInAnyOrder("replica-1", "replica-2");
+        assertThat(served(false)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("lagging replicas should be skipped until none is left, then reads use the primary")
+    void laggingReplicas_shouldFallBackToPrimary() throws SQLException {
+        execute(REPLICA_2, "UPDATE replica_lag SET seconds = 60");
+        routing.checkReplicas();
+
+        assertThat(reads(4)).containsExactly("replica-1");
+        assertThat(registry.get("synapse.datasource.replica.available").tag("pool", "replica-2").gauge().value())
+                .isZero();
+
+        execute(REPLICA_1, "UPDATE replica_lag SET seconds = 60");
+        routing.checkReplicas();
+
+        assertThat(reads(2)).containsExactly("primary");
+    }
+
+    @Test
+    @DisplayName("a replica failing its health check should stop taking reads")
+    void failedHealthCheck_shouldSkipReplica() throws SQLException {
+        execute(REPLICA_1, "DROP TABLE replica_lag");
+        routing.checkReplicas();
+
+        assertThat(reads(4)).containsExactly("replica-2");
+        assertThat(registry.get("synapse.datasource.replica.lag").tag("pool", "replica-1").gauge().value()).isNaN();
+    }
+
+    @Test
+    @DisplayName("a user should read from the primary for a short window after their own write")
+    void readYourWrites_shouldPinWriterToPrimary() throws InterruptedException {
+        signIn(42L);
+        served(false);
+
+        assertThat(reads(3)).containsExactly("primary");
+
+        signIn(7L);
+        assertThat(reads(2)).containsExactlyInAnyOrder("replica-1", "replica-2");
+
+        Thread.sleep(600);
+        signIn(42L);
+        assertThat(reads(2)).containsExactlyInAnyOrder("replica-1", "replica-2");
+    }
+
+    @Test
+    @DisplayName("every pool should publish its own connection metrics")
+    void pools_shouldPublishMetrics() {
+        reads(2);
+
+        for (String pool : DATABASES.keySet()) {
+            assertThat(registry.get("hikaricp.connections.max").tag("pool", pool).gauge().value()).isPositive();
+        }
+        assertThat(registry.get("synapse.datasource.connections.routed").tag("pool", "replica-1").counter().count())
+                .isPositive();
+        assertThat(registry.get("synapse.datasource.replica.lag").tag("pool", "replica-2").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,166 @@
+package com.synapse.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.synapse.dto.UpdateProfileRequest;
+import com.synapse.entity.Tag;
+import com.synapse.entity.TagCounter;
+import com.synapse.entity.User;
+import com.synapse.repository.TagCounterRepository;
+import com.synapse.repository.TagRepository;
+import com.synapse.repository.UserRepository;
+import com.synapse.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@ActiveProfiles("dev")
+@DisplayName("Second-level cache Tests")
+class SecondLevelCacheConfigTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private TagCounterRepository tagCounterRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private Statistics statistics;
+    private String suffix;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> work.get());
+    }
+
+    private long hits(String region) {
+        return statistics.getCacheRegionStatistics(region).getHitCount();
+    }
+
+    private User createUser() {
+        String name = "cached-" + suffix;
+        return userRepository.save(User.builder()
+                .username(name).password("secret").email(name + "@example.com").build());
+    }
+
+    @Test
+    @DisplayName("users should be served from the cache by id and by username")
+    void users_shouldBeCachedByIdAndUsername() {
+        User user = createUser();
+        inTransaction(() -> userRepository.findByUsername(user.getUsername()));
+        long entityHits = hits("users");
+        long naturalIdHits = hits("users-by-username");
+
+        User byId = inTransaction(() -> userRepository.findById(user.getId()).orElseThrow());
+        User byName = inTransaction(() -> userRepository.findByUsername(user.getUsername()).orElseThrow());
+
+        assertThat(byId.getUsername()).isEqualTo(user.getUsername());
+        assertThat(byName.getId()).isEqualTo(user.getId());
+        assertThat(hits("users")).isGreaterThanOrEqualTo(entityHits + 2);
+        assertThat(hits("users-by-username")).isGreaterThan(naturalIdHits);
+    }
+
+    @Test
+    @DisplayName("tags should be served from the cache by name, and unknown names should not be remembered")
+    void tags_shouldBeCachedByName() {
+        String known = "cached-" + suffix;
+        String created = "created-" + suffix;
+        tagRepository.save(Tag.builder().name(known).build());
+        inTransaction(() -> tagRepository.findByName(known));
+        assertThat(inTransaction(() -> tagRepository.findByName(created))).isEmpty();
+        long naturalIdHits = hits("tags-by-name");
+
+        // Created the way TagResolver does, behind Hibernate's back
+        jdbcTemplate.update("MERGE INTO tags (name) KEY (name) VALUES (?)", created);
+
+        assertThat(inTransaction(() -> tagRepository.findByName(known))).isPresent();
+        assertThat(hits("tags-by-name")).isEqualTo(naturalIdHits + 1);
+        assertThat(inTransaction(() -> tagRepository.findByName(created))).isPresent();
+    }
+
+    @Test
+    @DisplayName("tag counter writes should leave cached tags in place")
+    void tagCounters_shouldNotEvictCachedTags() {
+        Tag tag = tagRepository.save(Tag.builder().name("counted-" + suffix).build());
+        tagCounterRepository.save(TagCounter.builder().tagId(tag.getId()).build());
+        inTransaction(() -> tagRepository.findById(tag.getId()));
+        long entityHits = hits("tags");
+
+        inTransaction(() -> tagCounterRepository.adjustPostCounts(List.of(tag.getId()), 1, 1));
+
+        assertThat(inTransaction(() -> tagRepository.findById(tag.getId()))).isPresent();
+        assertThat(hits("tags")).isEqualTo(entityHits + 1);
+        assertThat(tagCounterRepository.findById(tag.getId()).orElseThrow().getPostCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("updateProfile should edit the database row and replace the cached user")
+    void updateProfile_shouldRefreshCachedUser() {
+        User user = createUser();
+        inTransaction(() -> userRepository.findById(user.getId()));
+        // A change the cache cannot know about
+        jdbcTemplate.update("UPDATE users SET bio = 'from elsewhere' WHERE id = ?", user.getId());
+
+        UpdateProfileRequest request = new UpdateProfileRequest();
+        request.setDisplayName("Renamed");
+        userService.updateProfile(user.getId(), request);
+        long entityHits = hits("users");
+        User cached = inTransaction(() -> userRepository.findById(user.getId()).orElseThrow());
+
+        assertThat(hits("users")).isEqualTo(entityHits + 1);
+        assertThat(cached.getDisplayName()).isEqualTo("Renamed");
+        assertThat(cached.getBio()).isEqualTo("from elsewhere");
+    }
+
+    @Test
+    @DisplayName("hit ratios should be published per region")
+    void hitRatios_shouldBePublished() {
+        User user = createUser();
+        inTransaction(() -> userRepository.findById(user.getId()));
+        inTransaction(() -> userRepository.findById(user.getId()));
+
+        for (String region : SecondLevelCacheConfig.REGIONS) {
+            assertThat(registry.get("synapse.hibernate.cache.hit.ratio").tag("region", region).gauge()).isNotNull();
+        }
+        assertThat(registry.get("synapse.hibernate.cache.hit.ratio").tag("region", "users").gauge().value())
+                .isBetween(0.0, 1.0);
+        assertThat(registry.get("hibernate.second.level.cache.requests").tag("region", "users")
+                .tag("result", "hit").functionCounter().count()).isPositive();
+    }
+}
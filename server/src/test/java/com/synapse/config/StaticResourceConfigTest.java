@@ -0,0 +1,69 @@
+package com.synapse.config;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.io.InputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+@DisplayName("StaticResourceConfig Tests")
+class StaticResourceConfigTest {
+
+    // Fixture under src/test/resources/static/assets, compressed with client/scripts/compress-assets.mjs
+    private static final String ASSET = "/assets/encoding-check.js";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private static byte[] fixture(String name) throws IOException {
+        try (InputStream in = new ClassPathResource("static/assets/" + name).getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    @DisplayName("assets should be served Brotli-compressed when the client accepts br")
+    void asset_shouldServeBrotliVariant() throws Exception {
+        byte[] brotli = fixture("encoding-check.js.br");
+
+        mockMvc.perform(get(ASSET).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "br"))
+                .andExpect(header().string(HttpHeaders.VARY, "Accept-Encoding"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, brotli.length))
+                .andExpect(content().contentTypeCompatibleWith("application/javascript"))
+                .andExpect(content().bytes(brotli));
+    }
+
+    @Test
+    @DisplayName("assets should fall back to gzip when br is not accepted")
+    void asset_shouldServeGzipVariant() throws Exception {
+        mockMvc.perform(get(ASSET).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(content().bytes(fixture("encoding-check.js.gz")));
+    }
+
+    @Test
+    @DisplayName("assets should be served uncompressed without Accept-Encoding")
+    void asset_shouldServeIdentityByDefault() throws Exception {
+        mockMvc.perform(get(ASSET))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().bytes(fixture("encoding-check.js")));
+    }
+}
@@ -0,0 +1,56 @@
+package com.synapse.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+@DisplayName("TimedCacheManager Tests")
+class TimedCacheManagerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TimedCacheManager cacheManager =
+            new TimedCacheManager(new ConcurrentMapCacheManager("posts", "users"), registry);
+
+    private long count(String cache, String operation, String result) {
+        return registry.get("synapse.cache.operations")
+                .tags("cache", cache, "operation", operation, "result", result)
+                .timer().count();
+    }
+
+    @Test
+    @DisplayName("gets should be timed as hits or misses per cache name")
+    void get_shouldRecordHitsAndMisses() {
+        Cache posts = cacheManager.getCache("posts");
+
+        assertThat(posts.get(1L)).isNull();
+        posts.put(1L, "post");
+        assertThat(posts.get(1L, String.class)).isEqualTo("post");
+        assertThat(posts.get(1L, () -> "loaded")).isEqualTo("post");
+        assertThat(posts.get(2L, () -> "loaded")).isEqualTo("loaded");
+
+        assertThat(count("posts", "get", "hit")).isEqualTo(2);
+        assertThat(count("posts", "get", "miss")).isEqualTo(2);
+        assertThat(count("posts", "put", "none")).isEqualTo(1);
+        assertThat(registry.find("synapse.cache.operations").tag("cache", "users").timers()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("evictions and clears should be timed, and the cache shared per name")
+    void evict_shouldRecordWrites() {
+        Cache users = cacheManager.getCache("users");
+        users.put("alice", 1L);
+
+        users.evict("alice");
+        assertThat(users.evictIfPresent("alice")).isFalse();
+        users.clear();
+
+        assertThat(count("users", "evict", "none")).isEqualTo(2);
+        assertThat(count("users", "clear", "none")).isEqualTo(1);
+        assertThat(cacheManager.getCache("users")).isSameAs(users);
+        assertThat(cacheManager.getCacheNames()).containsExactlyInAnyOrder("posts", "users");
+    }
+}
@@ -2,6 +2,7 @@ package com.synapse.config;
 
 import com.synapse.websocket.JwtHandshakeInterceptor;
 import com.synapse.websocket.NotificationWebSocketHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,7 +21,7 @@ import static org.mockito.Mockito.when;
 
 @SpringBootTest(properties = {"spring.sql.init.mode=never"},
         classes = {WebSocketConfig.class, JwtHandshakeInterceptor.class, NotificationWebSocketHandler.class,
-                com.synapse.util.JwtUtil.class})
+                com.synapse.util.JwtUtil.class, SimpleMeterRegistry.class})
 @ActiveProfiles("dev")
 @DisplayName("WebSocketConfig Tests")
 class WebSocketConfigTest {
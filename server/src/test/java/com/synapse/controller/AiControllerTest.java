@@ -2,20 +2,26 @@ package com.synapse.controller;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.synapse.dto.AiChatRequest;
+import com.synapse.service.AiCompletionCache;
 import com.synapse.service.AiService;
+import com.synapse.service.AiStreamScheduler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
-import java.util.concurrent.Future;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,11 +35,10 @@ class AiControllerTest {
     private ObjectMapper objectMapper;
 
     @Mock
-    private ThreadPoolTaskExecutor aiExecutor;
+    private AiStreamScheduler streamScheduler;
 
-    @SuppressWarnings("rawtypes")
-    @Mock
-    private Future future;
+    @Spy
+    private AiCompletionCache completionCache = new AiCompletionCache(new SimpleMeterRegistry());
 
     @InjectMocks
     private AiController aiController;
@@ -51,7 +56,7 @@ class AiControllerTest {
                                 .build()))
                 .build();
 
-        ResponseBodyEmitter emitter = aiController.chat(request);
+        ResponseBodyEmitter emitter = aiController.chat(request, new MockHttpServletRequest());
 
         assertNotNull(emitter);
     }
@@ -60,7 +65,10 @@ class AiControllerTest {
     @DisplayName("chat should return ResponseBodyEmitter when AI is configured")
     void chat_shouldReturnSseEmitterWhenConfigured() {
         when(aiService.isConfigured()).thenReturn(true);
-        when(aiExecutor.submit(any(Runnable.class))).thenReturn(future);
+        when(streamScheduler.timingFirstToken(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(streamScheduler.submit(eq(7L), any(), any())).thenReturn(mock(AiStreamScheduler.Ticket.class));
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+        httpRequest.setAttribute("userId", 7L);
 
         AiChatRequest request = AiChatRequest.builder()
                 .messages(List.of(
@@ -70,8 +78,9 @@ class AiControllerTest {
                                 .build()))
                 .build();
 
-        ResponseBodyEmitter emitter = aiController.chat(request);
+        ResponseBodyEmitter emitter = aiController.chat(request, httpRequest);
 
         assertNotNull(emitter);
+        verify(streamScheduler).submit(eq(7L), any(), any());
     }
 }
@@ -0,0 +1,138 @@
+package com.synapse.controller;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.synapse.dto.UpdatePostRequest;
+import com.synapse.entity.Post;
+import com.synapse.entity.PostType;
+import com.synapse.entity.Tag;
+import com.synapse.entity.User;
+import com.synapse.repository.PostRepository;
+import com.synapse.repository.TagRepository;
+import com.synapse.repository.UserRepository;
+import com.synapse.service.PostService;
+import com.synapse.util.JwtUtil;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+@DisplayName("Conditional GET Tests")
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    private User owner;
+    private User viewer;
+    private Post post;
+    private String tagName;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        owner = userRepository.save(user("owner-" + suffix));
+        viewer = userRepository.save(user("viewer-" + suffix));
+        tagName = "etag-" + suffix;
+        Tag tag = tagRepository.save(Tag.builder().name(tagName).build());
+        post = Post.builder().type(PostType.ARTICLE).title("Title").content("Content").user(owner).build();
+        post.getTags().add(tag);
+        post = postRepository.save(post);
+    }
+
+    private static User user(String username) {
+        return User.builder().username(username).password("secret").email(username + "@example.com").build();
+    }
+
+    /** GET as a user who does not own the post under test. */
+    private MockHttpServletRequestBuilder viewerGet(String url) {
+        String token = jwtUtil.generateToken(viewer.getId(), viewer.getUsername());
+        return get(url).header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+
+    private String etagOf(String url) throws Exception {
+        String etag = mockMvc.perform(viewerGet(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag, "ETag for " + url);
+        return etag;
+    }
+
+    private void assertNotModified(String url, String etag) throws Exception {
+        mockMvc.perform(viewerGet(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    @DisplayName("post, profile and feed responses should answer a matching If-None-Match with 304")
+    void get_shouldReturnNotModifiedForMatchingEtag() throws Exception {
+        for (String url : List.of(
+                "/api/posts/" + post.getId(), "/api/posts", "/api/posts?type=ARTICLE",
+                "/api/posts?tag=" + tagName + "&type=ARTICLE", "/api/users/" + owner.getId(),
+                "/api/users/" + owner.getId() + "/posts")) {
+            assertNotModified(url, etagOf(url));
+        }
+    }
+
+    @Test
+    @DisplayName("the feed should report its newest post as Last-Modified")
+    void getPosts_shouldHonourIfModifiedSince() throws Exception {
+        String lastModified = mockMvc.perform(viewerGet("/api/posts"))
+                .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+        assertNotNull(lastModified);
+
+        mockMvc.perform(viewerGet("/api/posts").header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("editing a post should change its ETag and the ETags of feeds listing it")
+    void updatePost_shouldInvalidateEtags() throws Exception {
+        String postUrl = "/api/posts/" + post.getId();
+        String feedUrl = "/api/posts?tag=" + tagName;
+        String postEtag = etagOf(postUrl);
+        String feedEtag = etagOf(feedUrl);
+
+        // Re-submitting the same tags changes nothing but still counts as an edit
+        UpdatePostRequest request = new UpdatePostRequest();
+        request.setTags(List.of(tagName));
+        postService.updatePost(post.getId(), owner.getId(), request);
+
+        assertNotEquals(postEtag, etagOf(postUrl));
+        assertNotEquals(feedEtag, etagOf(feedUrl));
+        mockMvc.perform(viewerGet(postUrl).header(HttpHeaders.IF_NONE_MATCH, postEtag))
+                .andExpect(status().isOk());
+    }
+}
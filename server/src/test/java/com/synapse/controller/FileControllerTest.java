@@ -0,0 +1,202 @@
+package com.synapse.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.synapse.dto.ApiResponse;
+import com.synapse.dto.ConfirmUploadRequest;
+import com.synapse.service.DownloadCache;
+import com.synapse.service.ImageVariantService;
+import com.synapse.service.StoredObjectService;
+import com.synapse.util.FileUtil;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.MinioClient;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+import java.time.ZonedDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FileController Tests")
+class FileControllerTest {
+
+    private static final String OBJECT = "123e4567-e89b-12d3-a456-426614174000.pdf";
+    private static final ZonedDateTime MODIFIED = ZonedDateTime.of(2026, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC);
+
+    @Mock
+    private FileUtil fileUtil;
+
+    @Mock
+    private MinioClient minioClient;
+
+    @Mock
+    private ImageVariantService imageVariantService;
+
+    @Mock
+    private StoredObjectService storedObjectService;
+
+    @Mock
+    private DownloadCache downloadCache;
+
+    @InjectMocks
+    private FileController fileController;
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/download/" + OBJECT);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(fileController, "bucket", "test-bucket");
+        // Lenient: only the download tests read the object's metadata
+        StatObjectResponse stat = mock(StatObjectResponse.class);
+        lenient().when(stat.size()).thenReturn(1000L);
+        lenient().when(stat.etag()).thenReturn("abc123");
+        lenient().when(stat.lastModified()).thenReturn(MODIFIED);
+        lenient().when(minioClient.statObject(any(StatObjectArgs.class))).thenReturn(stat);
+    }
+
+    @Test
+    @DisplayName("downloadFile should answer 304 for a matching ETag without reading the object")
+    void downloadFile_shouldReturnNotModifiedForMatchingEtag() throws Exception {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", \"abc123\"");
+
+        ResponseEntity<Resource> response = fileController.downloadFile(OBJECT, null, request);
+
+        assertEquals(304, response.getStatusCode().value());
+        assertEquals("\"abc123\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+        verify(minioClient, never()).getObject(any(GetObjectArgs.class));
+    }
+
+    @Test
+    @DisplayName("downloadFile should answer 304 when not modified since the given date")
+    void downloadFile_shouldReturnNotModifiedSinceDate() throws Exception {
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, MODIFIED.toInstant().toEpochMilli());
+
+        ResponseEntity<Resource> response = fileController.downloadFile(OBJECT, null, request);
+
+        assertEquals(304, response.getStatusCode().value());
+        verify(minioClient, never()).getObject(any(GetObjectArgs.class));
+    }
+
+    @Test
+    @DisplayName("downloadFile should stream only the requested byte range")
+    void downloadFile_shouldReturnPartialContent() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=100-199");
+        when(minioClient.getObject(any(GetObjectArgs.class))).thenReturn(mock(GetObjectResponse.class));
+
+        ResponseEntity<Resource> response = fileController.downloadFile(OBJECT, "doc.pdf", request);
+
+        assertEquals(206, response.getStatusCode().value());
+        assertEquals(100, response.getHeaders().getContentLength());
+        assertEquals("bytes 100-199/1000", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        verify(minioClient).getObject(argThat((GetObjectArgs args) ->
+                args.offset() == 100L && args.length() == 100L));
+    }
+
+    @Test
+    @DisplayName("downloadFile should ignore Range when If-Range no longer matches")
+    void downloadFile_shouldServeFullObjectForStaleIfRange() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=100-199");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"stale\"");
+        when(minioClient.getObject(any(GetObjectArgs.class))).thenReturn(mock(GetObjectResponse.class));
+
+        ResponseEntity<Resource> response = fileController.downloadFile(OBJECT, null, request);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(1000, response.getHeaders().getContentLength());
+        assertEquals("bytes", response.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES));
+    }
+
+    @Test
+    @DisplayName("downloadFile should answer 416 for a range past the end of the object")
+    void downloadFile_shouldRejectUnsatisfiableRange() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=5000-");
+
+        ResponseEntity<Resource> response = fileController.downloadFile(OBJECT, null, request);
+
+        assertEquals(416, response.getStatusCode().value());
+        assertEquals("bytes */1000", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        verify(minioClient, never()).getObject(any(GetObjectArgs.class));
+    }
+
+    @Test
+    @DisplayName("downloadFile should hand cached ranges to Tomcat sendfile instead of MinIO")
+    void downloadFile_shouldUseSendfileForCachedObject(@TempDir Path dir) throws Exception {
+        Path cached = Files.write(dir.resolve("object.cache"), new byte[1000]);
+        when(downloadCache.lookup(eq(OBJECT), eq("abc123"), eq(1000L))).thenReturn(Optional.of(cached));
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=100-199");
+
+        ResponseEntity<Resource> response = fileController.downloadFile(OBJECT, null, request);
+
+        assertEquals(206, response.getStatusCode().value());
+        assertNull(response.getBody());
+        assertEquals(cached.toAbsolutePath().toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(100L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(200L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+        verify(downloadCache).recordServed(100L);
+        verify(minioClient, never()).getObject(any(GetObjectArgs.class));
+    }
+
+    @Test
+    @DisplayName("downloadFile should stream cached ranges from disk without sendfile support")
+    void downloadFile_shouldStreamCachedRange(@TempDir Path dir) throws Exception {
+        byte[] content = new byte[1000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) ('a' + i % 26);
+        }
+        Path cached = Files.write(dir.resolve("object.cache"), content);
+        when(downloadCache.lookup(eq(OBJECT), eq("abc123"), eq(1000L))).thenReturn(Optional.of(cached));
+        request.addHeader(HttpHeaders.RANGE, "bytes=26-30");
+
+        ResponseEntity<Resource> response = fileController.downloadFile(OBJECT, null, request);
+
+        assertEquals(206, response.getStatusCode().value());
+        try (var in = response.getBody().getInputStream()) {
+            assertEquals("abcde", new String(in.readAllBytes(), StandardCharsets.US_ASCII));
+        }
+        verify(minioClient, never()).getObject(any(GetObjectArgs.class));
+    }
+
+    @Test
+    @DisplayName("confirmUpload should answer 500 when storage or the registry fails")
+    void confirmUpload_shouldReportStorageFailures() {
+        request.setAttribute("userId", 1L);
+        when(fileUtil.confirmUpload(FileUtil.KIND_IMAGE, OBJECT, 1L))
+                .thenThrow(new IllegalStateException("MinIO unreachable"));
+
+        ResponseEntity<ApiResponse<Map<String, Object>>> response = fileController.confirmUpload(
+                ConfirmUploadRequest.builder().objectName(OBJECT).build(), request);
+
+        assertEquals(500, response.getStatusCode().value());
+        assertEquals("Failed to confirm upload", response.getBody().getMessage());
+        verify(imageVariantService, never()).enqueue(any());
+    }
+}
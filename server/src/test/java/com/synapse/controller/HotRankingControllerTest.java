@@ -0,0 +1,91 @@
+package com.synapse.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.synapse.entity.Post;
+import com.synapse.entity.PostType;
+import com.synapse.entity.Tag;
+import com.synapse.entity.User;
+import com.synapse.repository.PostRepository;
+import com.synapse.repository.TagRepository;
+import com.synapse.repository.UserRepository;
+import com.synapse.service.HotRankingService;
+import com.synapse.util.JwtUtil;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+@DisplayName("Hot ranking endpoint Tests")
+class HotRankingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private HotRankingService hotRankingService;
+
+    // The index is shared with other tests in this context; engagement in the future outranks theirs
+    private final Instant future = Instant.now().plus(Duration.ofDays(30));
+
+    private User user() {
+        String username = "hot-" + UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(User.builder()
+                .username(username).password("secret").email(username + "@example.com").build());
+    }
+
+    private Post post(User author, String content, Tag tag) {
+        Post post = Post.builder().type(PostType.ARTICLE).title(content).content(content).user(author).build();
+        post.getTags().add(tag);
+        return postRepository.save(post);
+    }
+
+    @Test
+    @DisplayName("sort=hot should order posts by ranked engagement and skip validators")
+    void getPosts_shouldRankHotPosts() throws Exception {
+        User author = user();
+        Tag tag = tagRepository.save(Tag.builder().name("hot-" + UUID.randomUUID().toString().substring(0, 8)).build());
+        Post warm = post(author, "warm", tag);
+        Post hot = post(author, "hot", tag);
+        hotRankingService.record(warm, HotRankingService.Engagement.LIKE, future);
+        hotRankingService.record(hot, HotRankingService.Engagement.COMMENT, future);
+        String token = "Bearer " + jwtUtil.generateToken(author.getId(), author.getUsername());
+
+        mockMvc.perform(get("/api/posts").param("sort", "hot").param("type", "ARTICLE").param("size", "2")
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.data.content[0].id").value(hot.getId()))
+                .andExpect(jsonPath("$.data.content[1].id").value(warm.getId()));
+
+        mockMvc.perform(get("/api/tags/trending").param("limit", "1").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].name").value(tag.getName()));
+    }
+}
@@ -0,0 +1,144 @@
+package com.synapse.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import com.synapse.entity.Follow;
+import com.synapse.entity.Post;
+import com.synapse.entity.PostType;
+import com.synapse.entity.User;
+import com.synapse.repository.FollowRepository;
+import com.synapse.repository.PostRepository;
+import com.synapse.repository.UserRepository;
+import com.synapse.util.JwtUtil;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+@DisplayName("TimelineController Tests")
+class TimelineControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user(String name) {
+        String username = name + "-" + UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(User.builder()
+                .username(username).password("secret").email(username + "@example.com").build());
+    }
+
+    private Post post(User author, String content) {
+        return postRepository.save(Post.builder().type(PostType.MOMENT).content(content).user(author).build());
+    }
+
+    private static String nextCursor(String body) {
+        return body.replaceAll(".*\"nextCursor\":\"([^\"]+)\".*", "$1");
+    }
+
+    @Test
+    @DisplayName("the timeline should list followed users' and own posts, newest first, with a cursor")
+    void getHomeTimeline_shouldPageThroughFollowedPosts() throws Exception {
+        User reader = user("reader");
+        User followed = user("followed");
+        User stranger = user("stranger");
+        followRepository.save(Follow.builder().follower(reader).following(followed).build());
+        post(followed, "first");
+        post(stranger, "not followed");
+        post(reader, "own");
+        String token = "Bearer " + jwtUtil.generateToken(reader.getId(), reader.getUsername());
+
+        String body = mockMvc.perform(get("/api/timeline").param("size", "1")
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.posts.length()").value(1))
+                .andExpect(jsonPath("$.data.posts[0].content").value("own"))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = nextCursor(body);
+
+        mockMvc.perform(get("/api/timeline").param("before", cursor).param("size", "5")
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.posts.length()").value(1))
+                .andExpect(jsonPath("$.data.posts[0].content").value("first"))
+                .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("posts created in the same instant should page across a boundary without skips or repeats")
+    void getHomeTimeline_shouldPageThroughPostsOfTheSameInstant() throws Exception {
+        User reader = user("reader");
+        Timestamp instant = Timestamp.from(Instant.parse("2026-01-01T12:00:00.123456Z"));
+        for (int i = 0; i < 5; i++) {
+            Post post = post(reader, "tied " + i);
+            jdbcTemplate.update("UPDATE posts SET created_at = ? WHERE id = ?", instant, post.getId());
+        }
+        String token = "Bearer " + jwtUtil.generateToken(reader.getId(), reader.getUsername());
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        for (int page = 0; page < 3; page++) {
+            MockHttpServletRequestBuilder request = get("/api/timeline").param("size", "2")
+                    .header(HttpHeaders.AUTHORIZATION, token);
+            if (cursor != null) {
+                request.param("before", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            seen.addAll(JsonPath.read(body, "$.data.posts[*].content"));
+            cursor = body.contains("\"nextCursor\":\"") ? nextCursor(body) : null;
+        }
+
+        assertThat(seen).containsExactly("tied 4", "tied 3", "tied 2", "tied 1", "tied 0");
+        assertThat(cursor).isNull();
+    }
+
+    @Test
+    @DisplayName("malformed cursors should be rejected")
+    void getHomeTimeline_shouldRejectMalformedCursor() throws Exception {
+        User reader = user("reader");
+        mockMvc.perform(get("/api/timeline").param("before", "1767225600000")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer "
+                                + jwtUtil.generateToken(reader.getId(), reader.getUsername())))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("the timeline should require authentication")
+    void getHomeTimeline_shouldRequireAuthentication() throws Exception {
+        mockMvc.perform(get("/api/timeline")).andExpect(status().isUnauthorized());
+    }
+}
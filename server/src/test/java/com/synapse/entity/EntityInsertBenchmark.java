@@ -0,0 +1,137 @@
+package com.synapse.entity;
+
+import com.synapse.repository.CommentRepository;
+import com.synapse.repository.PostRepository;
+import com.synapse.repository.UserRepository;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Insert throughput of the write-heavy entities against a database that is one network round trip
+ * away: every statement execution, batch and commit is delayed like a call to a remote MySQL.
+ *
+ * Not part of the regular suite (the class name does not match the Surefire includes); run with
+ * {@code mvn test -Dtest=EntityInsertBenchmark}.
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+class EntityInsertBenchmark {
+
+    private static final long ROUND_TRIP_MICROS = 300;
+    private static final AtomicLong ROUND_TRIPS = new AtomicLong();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void insertThroughput() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        String name = "bench-" + UUID.randomUUID().toString().substring(0, 8);
+        User user = userRepository.save(User.builder()
+                .username(name).password("secret").email(name + "@example.com").build());
+        Post target = postRepository.save(Post.builder().type(PostType.MOMENT).content("bench").user(user).build());
+
+        // The first round warms up the JIT and connection pool
+        for (int round = 0; round < 2; round++) {
+            int firstFloor = round * 1000 + 1;
+            measure("comments, 1000 per transaction", 1000, () -> transaction.executeWithoutResult(status -> {
+                List<Comment> comments = new ArrayList<>();
+                for (int i = 0; i < 1000; i++) {
+                    comments.add(Comment.builder().content("c" + i).user(user).post(target)
+                            .floor(firstFloor + i).build());
+                }
+                commentRepository.saveAll(comments);
+            }));
+            measure("posts with 9 attachments", 200 * 10, () -> {
+                for (int p = 0; p < 200; p++) {
+                    transaction.executeWithoutResult(status -> {
+                        Post post = Post.builder().type(PostType.MOMENT).content("files").user(user).build();
+                        for (int a = 0; a < 9; a++) {
+                            post.getAttachments().add(Attachment.builder().post(post).filename("f" + a)
+                                    .storedName(UUID.randomUUID() + ".bin").fileSize(1L)
+                                    .contentType("application/octet-stream").build());
+                        }
+                        postRepository.save(post);
+                    });
+                }
+            });
+        }
+    }
+
+    private static void measure(String label, int rows, Runnable work) {
+        long tripsBefore = ROUND_TRIPS.get();
+        long started = System.nanoTime();
+        work.run();
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("%s: %d rows in %.2fs (%.0f rows/s, %d round trips)%n",
+                label, rows, seconds, rows / seconds, ROUND_TRIPS.get() - tripsBefore);
+    }
+
+    @TestConfiguration
+    static class LatencyConfig {
+
+        @Bean
+        static BeanPostProcessor remoteDatabase() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? delayed(dataSource, DataSource.class) : bean;
+                }
+            };
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T delayed(T target, Class<T> type) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("execute") || name.equals("commit")) {
+                ROUND_TRIPS.incrementAndGet();
+                long until = System.nanoTime() + ROUND_TRIP_MICROS * 1000;
+                while (System.nanoTime() < until) {
+                    Thread.onSpinWait();
+                }
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof Connection connection) {
+                return delayed(connection, Connection.class);
+            }
+            if (result instanceof Statement statement && method.getReturnType().isInterface()) {
+                return delayed(statement, (Class<Statement>) method.getReturnType());
+            }
+            return result;
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+}
@@ -0,0 +1,59 @@
+package com.synapse.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("PostImagesConverter Tests")
+class PostImagesConverterTest {
+
+    private final PostImagesConverter converter = new PostImagesConverter();
+
+    @Test
+    @DisplayName("images should round-trip with their sizes, leaving out unknown ones")
+    void convert_shouldRoundTrip() {
+        List<PostImage> images = List.of(new PostImage("/a.png", 640, 480), PostImage.of("/b.gif"));
+
+        String json = converter.convertToDatabaseColumn(images);
+
+        assertThat(json).isEqualTo("[{\"url\":\"/a.png\",\"width\":640,\"height\":480},{\"url\":\"/b.gif\"}]");
+        assertThat(converter.convertToEntityAttribute(json)).isEqualTo(images);
+        assertThat(PostImagesConverter.isLegacy(json)).isFalse();
+    }
+
+    @Test
+    @DisplayName("plain and double-encoded URL arrays should still be read, and flagged for rewriting")
+    void convert_shouldReadLegacyFormats() {
+        String plain = "[\"/a.png\",\"/b.png\"]";
+        String doubleEncoded = "\"[\\\"/a.png\\\",\\\"/b.png\\\"]\"";
+        List<PostImage> expected = List.of(PostImage.of("/a.png"), PostImage.of("/b.png"));
+
+        assertThat(converter.convertToEntityAttribute(plain)).isEqualTo(expected);
+        assertThat(converter.convertToEntityAttribute(doubleEncoded)).isEqualTo(expected);
+        assertThat(PostImagesConverter.isLegacy(plain)).isTrue();
+        assertThat(PostImagesConverter.isLegacy(doubleEncoded)).isTrue();
+    }
+
+    @Test
+    @DisplayName("empty and unreadable values should be no images, stored as null")
+    void convert_shouldTolerateMissingValues() {
+        assertThat(converter.convertToEntityAttribute(null)).isEmpty();
+        assertThat(converter.convertToEntityAttribute("not json")).isEmpty();
+        assertThat(converter.convertToEntityAttribute("{\"url\":\"/a.png\"}")).isEmpty();
+        assertThat(converter.convertToDatabaseColumn(List.of())).isNull();
+        assertThat(PostImagesConverter.isLegacy("not json")).isFalse();
+    }
+
+    @Test
+    @DisplayName("a value should be parsed once and shared as an immutable list")
+    void convert_shouldCacheParsedValues() {
+        String json = "[{\"url\":\"/a.png\"}]";
+
+        List<PostImage> first = converter.convertToEntityAttribute(json);
+
+        assertThat(converter.convertToEntityAttribute(json)).isSameAs(first);
+        assertThat(first).isUnmodifiable();
+    }
+}
@@ -0,0 +1,377 @@
+package com.synapse.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.synapse.entity.Bookmark;
+import com.synapse.entity.Follow;
+import com.synapse.entity.Notification;
+import com.synapse.entity.NotificationType;
+import com.synapse.entity.Post;
+import com.synapse.entity.PostType;
+import com.synapse.entity.Tag;
+import com.synapse.entity.User;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs every query of the post, notification, follow and bookmark repositories against a seeded
+ * database, captures the SQL Hibernate sends together with its parameters, and checks with
+ * {@code EXPLAIN} that none of them reads a whole table.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:query-indexes")
+@ActiveProfiles("dev")
+@DisplayName("Repository query index coverage")
+class QueryIndexTest {
+
+    private static final Pattern TABLE_SCAN = Pattern.compile("/\\* PUBLIC\\.(\\w+)\\.tableScan");
+    private static final List<Statement> CAPTURED = Collections.synchronizedList(new ArrayList<>());
+    private static volatile boolean capturing;
+
+    /** Queries that read every row by design, so no index can or should serve them. */
+    private static final Set<String> WHOLE_TABLE_BY_DESIGN = Set.of(
+            // Storage GC marks every referenced image
+            "PostRepository.streamImageReferences",
+            "PostRepository.streamContents",
+            // Unfiltered substring search; every other search is narrowed by a tag or type index first
+            "PostRepository.searchCards",
+            // Site-wide statistics
+            "PostRepository.countByTypeAndPrivacy",
+            "NotificationRepository.countByTypeAndReadState");
+
+    private record Statement(String sql, Map<Integer, Object> parameters) {
+    }
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    @Autowired
+    private BookmarkRepository bookmarkRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Pageable page = PageRequest.of(0, 20);
+    private final List<String> tags = List.of("index-tag-1", "index-tag-2");
+    private User user;
+    private User other;
+    private Post post;
+    private Instant since;
+
+    @Test
+    @DisplayName("no repository query should scan a whole table")
+    void repositoryQueries_shouldUseIndexes() throws SQLException {
+        seed();
+        Map<String, Runnable> queries = queries();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<String> violations = new ArrayList<>();
+        for (Map.Entry<String, Runnable> query : queries.entrySet()) {
+            CAPTURED.clear();
+            capturing = true;
+            try {
+                // Rolled back, so modifying queries leave the data set unchanged
+                transaction.executeWithoutResult(status -> {
+                    query.getValue().run();
+                    status.setRollbackOnly();
+                });
+            } finally {
+                capturing = false;
+            }
+            assertThat(CAPTURED).as(query.getKey() + " ran no SQL").isNotEmpty();
+            for (Statement statement : List.copyOf(CAPTURED)) {
+                String plan = explain(statement);
+                Matcher scan = TABLE_SCAN.matcher(plan);
+                if (scan.find() && !WHOLE_TABLE_BY_DESIGN.contains(query.getKey())) {
+                    violations.add(query.getKey() + " scans " + scan.group(1) + ":\n" + plan);
+                }
+            }
+        }
+        assertThat(violations).isEmpty();
+    }
+
+    private Map<String, Runnable> queries() {
+        user = userRepository.findByUsername("index-user-1").orElseThrow();
+        other = userRepository.findByUsername("index-user-2").orElseThrow();
+        post = postRepository.findAll(PageRequest.of(0, 1)).getContent().get(0);
+        since = Instant.now().minus(Duration.ofHours(6));
+        Map<String, Runnable> q = postQueries();
+        q.putAll(relationQueries());
+        return q;
+    }
+
+    private Map<String, Runnable> postQueries() {
+        Map<String, Runnable> q = new LinkedHashMap<>();
+        q.put("PostRepository.countByTypeAndPrivacy", postRepository::countByTypeAndPrivacy);
+        q.put("PostRepository.streamImageReferences", () -> postRepository.streamImageReferences().count());
+        q.put("PostRepository.streamContents", () -> postRepository.streamContents().count());
+        q.put("PostRepository.findAllByOrderByCreatedAtDesc", postRepository::findAllByOrderByCreatedAtDesc);
+        q.put("PostRepository.findFeedCards", () -> postRepository.findFeedCards(null, null, null, page));
+        q.put("PostRepository.findFeedCards(tag)",
+                () -> postRepository.findFeedCards(tags.get(0), null, null, page));
+        q.put("PostRepository.findFeedCards(tag, type)",
+                () -> postRepository.findFeedCards(tags.get(0), PostType.MOMENT, null, page));
+        q.put("PostRepository.findFeedCards(type)",
+                () -> postRepository.findFeedCards(null, PostType.ARTICLE, null, page));
+        q.put("PostRepository.findFeedCards(user)",
+                () -> postRepository.findFeedCards(null, null, user.getId(), page));
+        q.put("PostRepository.findCardsByIdIn",
+                () -> postRepository.findCardsByIdIn(List.of(post.getId(), post.getId() + 1)));
+        q.put("PostRepository.findTagsByPostIdIn",
+                () -> postRepository.findTagsByPostIdIn(List.of(post.getId(), post.getId() + 1)));
+        q.put("PostRepository.findWithDetailsById", () -> postRepository.findWithDetailsById(post.getId()));
+        q.put("PostRepository.findByCreatedAtGreaterThanEqual",
+                () -> postRepository.findByCreatedAtGreaterThanEqual(since));
+        q.put("PostRepository.findTimelineEntries", () -> postRepository.findTimelineEntries(
+                List.of(user.getId(), other.getId()), since, post.getId(), page));
+        q.put("PostRepository.findForUpdateById", () -> postRepository.findForUpdateById(post.getId()));
+        q.put("PostRepository.findStampById", () -> postRepository.findStampById(post.getId()));
+        q.put("PostRepository.findFeedStamps", () -> postRepository.findFeedStamps(null, null, null, page));
+        q.put("PostRepository.findFeedStamps(tag)",
+                () -> postRepository.findFeedStamps(tags.get(0), null, null, page));
+        q.put("PostRepository.findFeedStamps(type)",
+                () -> postRepository.findFeedStamps(null, PostType.SNIPPET, null, page));
+        q.put("PostRepository.findFeedStamps(user)",
+                () -> postRepository.findFeedStamps(null, null, user.getId(), page));
+        q.put("PostRepository.findFeedWatermark(tag)",
+                () -> postRepository.findFeedWatermark(tags.get(0), null, null));
+        q.put("PostRepository.findFeedWatermark(type)",
+                () -> postRepository.findFeedWatermark(null, PostType.SNIPPET, null));
+        q.put("PostRepository.findFeedWatermark(user)",
+                () -> postRepository.findFeedWatermark(null, null, user.getId()));
+        q.put("PostRepository.searchCards", () -> postRepository.searchCards("post", null, page));
+        q.put("PostRepository.searchCards(type)",
+                () -> postRepository.searchCards("post", PostType.ARTICLE, page));
+        q.put("PostRepository.searchByKeywordAndTag",
+                () -> postRepository.searchByKeywordAndTag("post", tags.get(0), page));
+        q.put("PostRepository.searchByKeywordTagAndType",
+                () -> postRepository.searchByKeywordTagAndType("post", tags.get(0), PostType.ARTICLE, page));
+        q.put("PostRepository.searchCardsWithAnyTag",
+                () -> postRepository.searchCardsWithAnyTag("post", tags, null, page));
+        q.put("PostRepository.searchCardsWithAnyTag(type)",
+                () -> postRepository.searchCardsWithAnyTag("post", tags, PostType.ARTICLE, page));
+        q.put("PostRepository.findCardsWithAnyTag", () -> postRepository.findCardsWithAnyTag(tags, null, page));
+        q.put("PostRepository.findCardsWithAnyTag(type)",
+                () -> postRepository.findCardsWithAnyTag(tags, PostType.MOMENT, page));
+
+        return q;
+    }
+
+    private Map<String, Runnable> relationQueries() {
+        Map<String, Runnable> q = new LinkedHashMap<>();
+        q.put("NotificationRepository.findByUserIdOrderByCreatedAtDesc",
+                () -> notificationRepository.findByUserIdOrderByCreatedAtDesc(user.getId(), page));
+        q.put("NotificationRepository.countByUserIdAndIsReadFalse",
+                () -> notificationRepository.countByUserIdAndIsReadFalse(user.getId()));
+        q.put("NotificationRepository.countByTypeAndReadState", notificationRepository::countByTypeAndReadState);
+        q.put("NotificationRepository.markAsRead", () -> notificationRepository.markAsRead(1L, user.getId()));
+        q.put("NotificationRepository.markAllAsRead", () -> notificationRepository.markAllAsRead(user.getId()));
+
+        q.put("FollowRepository.findByFollowerIdAndFollowingId",
+                () -> followRepository.findByFollowerIdAndFollowingId(user.getId(), other.getId()));
+        q.put("FollowRepository.findEntriesByFollowerId",
+                () -> followRepository.findEntriesByFollowerId(user.getId(), page));
+        q.put("FollowRepository.findEntriesByFollowingId",
+                () -> followRepository.findEntriesByFollowingId(user.getId(), page));
+        q.put("FollowRepository.existsByFollowerIdAndFollowingId",
+                () -> followRepository.existsByFollowerIdAndFollowingId(user.getId(), other.getId()));
+        q.put("FollowRepository.deleteByFollowerIdAndFollowingId",
+                () -> followRepository.deleteByFollowerIdAndFollowingId(user.getId(), other.getId()));
+        q.put("FollowRepository.countByFollowerId", () -> followRepository.countByFollowerId(user.getId()));
+        q.put("FollowRepository.countByFollowingId", () -> followRepository.countByFollowingId(user.getId()));
+        q.put("FollowRepository.findFollowingIds", () -> followRepository.findFollowingIds(user.getId()));
+        q.put("FollowRepository.findFollowingIdsIn",
+                () -> followRepository.findFollowingIdsIn(user.getId(), List.of(other.getId())));
+        q.put("FollowRepository.findFollowerIdsAfter",
+                () -> followRepository.findFollowerIdsAfter(user.getId(), 0L, page));
+
+        q.put("BookmarkRepository.findCreatedAt",
+                () -> bookmarkRepository.findCreatedAt(user.getId(), post.getId()));
+        q.put("BookmarkRepository.findEngagementSince", () -> bookmarkRepository.findEngagementSince(since));
+        q.put("BookmarkRepository.findByUserIdAndPostId",
+                () -> bookmarkRepository.findByUserIdAndPostId(user.getId(), post.getId()));
+        q.put("BookmarkRepository.findEntriesByUserId",
+                () -> bookmarkRepository.findEntriesByUserId(user.getId(), page));
+        q.put("BookmarkRepository.findByPostIdOrderByCreatedAtDesc",
+                () -> bookmarkRepository.findByPostIdOrderByCreatedAtDesc(post.getId(), page));
+        q.put("BookmarkRepository.existsByUserIdAndPostId",
+                () -> bookmarkRepository.existsByUserIdAndPostId(user.getId(), post.getId()));
+        q.put("BookmarkRepository.deleteByUserIdAndPostId",
+                () -> bookmarkRepository.deleteByUserIdAndPostId(user.getId(), post.getId()));
+        q.put("BookmarkRepository.countByPostId", () -> bookmarkRepository.countByPostId(post.getId()));
+        return q;
+    }
+
+    /** 500 users, 20 tags, 2000 posts an hour apart, and follows, bookmarks and notifications of 100 users. */
+    private void seed() {
+        List<User> users = new ArrayList<>();
+        for (int i = 1; i <= 500; i++) {
+            users.add(User.builder().username("index-user-" + i).password("secret")
+                    .email("index-user-" + i + "@example.com").build());
+        }
+        users = userRepository.saveAll(users);
+        List<Tag> tags = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            tags.add(Tag.builder().name("index-tag-" + i).build());
+        }
+        tags = tagRepository.saveAll(tags);
+        List<Post> posts = new ArrayList<>();
+        PostType[] types = PostType.values();
+        for (int i = 0; i < 2000; i++) {
+            Post post = Post.builder().type(types[i % types.length]).title("post " + i).content("post body " + i)
+                    .user(users.get(i % users.size())).build();
+            post.getTags().add(tags.get(i % tags.size()));
+            posts.add(post);
+        }
+        posts = postRepository.saveAll(posts);
+        List<Follow> follows = new ArrayList<>();
+        List<Bookmark> bookmarks = new ArrayList<>();
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            for (int j = 1; j <= 10; j++) {
+                User other = users.get((i + j) % users.size());
+                follows.add(Follow.builder().follower(users.get(i)).following(other).build());
+                bookmarks.add(Bookmark.builder().user(users.get(i)).post(posts.get(i * 10 + j)).build());
+                notifications.add(Notification.builder().user(users.get(i)).actor(other)
+                        .type(NotificationType.values()[j % NotificationType.values().length])
+                        .post(posts.get(i * 10 + j)).isRead(j % 2 == 0).build());
+            }
+        }
+        followRepository.saveAll(follows);
+        bookmarkRepository.saveAll(bookmarks);
+        notificationRepository.saveAll(notifications);
+        for (String table : List.of("posts", "follows", "bookmarks", "notifications")) {
+            jdbcTemplate.update("UPDATE " + table + " SET created_at = DATEADD('HOUR', -id, CURRENT_TIMESTAMP)");
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    // Parameters are inlined the way Connector/J's client-side prepared statements send them, so the
+    // optimizer sees the values and can drop "(:x IS NULL OR ...)" branches of optional filters
+    private String explain(Statement statement) throws SQLException {
+        StringBuilder sql = new StringBuilder();
+        int parameter = 0;
+        for (char c : statement.sql().toCharArray()) {
+            if (c == '?') {
+                sql.append(literal(statement.parameters().get(++parameter)));
+            } else {
+                sql.append(c);
+            }
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            try (ResultSet plan = explain.executeQuery()) {
+                StringBuilder text = new StringBuilder();
+                while (plan.next()) {
+                    text.append(plan.getString(1)).append('\n');
+                }
+                return text.toString();
+            }
+        }
+    }
+
+    private static String literal(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return value.toString();
+        }
+        if (value instanceof Timestamp || value instanceof TemporalAccessor) {
+            return "TIMESTAMP WITH TIME ZONE '" + value + "'";
+        }
+        return "'" + value.toString().replace("'", "''") + "'";
+    }
+
+    @TestConfiguration
+    static class CaptureConfig {
+
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? capture(dataSource, DataSource.class, null) : bean;
+                }
+            };
+        }
+    }
+
+    /** Proxies JDBC objects, recording each prepared statement's SQL and parameters when it executes. */
+    @SuppressWarnings("unchecked")
+    private static <T> T capture(T target, Class<T> type, String sql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        InvocationHandler handler = (proxy, method, args) -> {
+            String name = method.getName();
+            if (sql != null && name.startsWith("set") && args != null && args.length >= 2
+                    && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            }
+            if (sql != null && capturing && name.startsWith("execute")) {
+                CAPTURED.add(new Statement(sql, new TreeMap<>(parameters)));
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof Connection connection) {
+                return capture(connection, Connection.class, null);
+            }
+            if (result instanceof PreparedStatement statement && name.equals("prepareStatement")) {
+                return capture(statement, PreparedStatement.class, (String) args[0]);
+            }
+            return result;
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+}
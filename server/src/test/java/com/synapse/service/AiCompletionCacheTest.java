@@ -0,0 +1,112 @@
+package com.synapse.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.synapse.dto.AiChatRequest;
+import com.synapse.dto.AiStreamChunk;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("AiCompletionCache Tests")
+class AiCompletionCacheTest {
+
+    private AiCompletionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new AiCompletionCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+        ReflectionTestUtils.setField(cache, "maxContentChars", 1000);
+    }
+
+    private static AiChatRequest.Message message(String role, String content) {
+        return AiChatRequest.Message.builder().role(role).content(content).build();
+    }
+
+    private static AiStreamChunk token(String delta) {
+        return AiStreamChunk.builder().type("content").delta(delta).build();
+    }
+
+    @Test
+    @DisplayName("keyFor should ignore whitespace, role case and blank messages")
+    void keyFor_shouldNormalizeMessages() {
+        String a = cache.keyFor("gpt-4o", List.of(message("user", "Summarize this\r\n")));
+        String b = cache.keyFor("gpt-4o", List.of(message("USER", "  Summarize this"), message("system", " ")));
+        String otherModel = cache.keyFor("gpt-4o-mini", List.of(message("user", "Summarize this")));
+
+        assertEquals(a, b);
+        assertNotEquals(a, otherModel);
+    }
+
+    @Test
+    @DisplayName("concurrent identical requests should share one upstream stream")
+    void open_shouldJoinInFlightStream() {
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+
+        AiCompletionCache.Subscription leader = cache.open("k", c -> first.add(c.getDelta()), () -> { });
+        leader.stream().publish(token("Hel"));
+        AiCompletionCache.Subscription follower = cache.open("k", c -> second.add(c.getDelta()), () -> { });
+        leader.stream().publish(token("lo"));
+        leader.stream().complete();
+
+        assertTrue(leader.isLeader());
+        assertFalse(follower.isLeader());
+        assertEquals(List.of("Hel", "lo"), first);
+        assertEquals(List.of("Hel", "lo"), second);
+    }
+
+    @Test
+    @DisplayName("completed answers should be replayed from the cache")
+    void open_shouldReplayCompletedAnswer() {
+        AiCompletionCache.Subscription leader = cache.open("k", c -> { }, () -> { });
+        leader.stream().publish(token("cached answer"));
+        leader.stream().complete();
+
+        List<String> replayed = new ArrayList<>();
+        AtomicInteger completions = new AtomicInteger();
+        AiCompletionCache.Subscription hit =
+                cache.open("k", c -> replayed.add(c.getDelta()), completions::incrementAndGet);
+
+        assertFalse(hit.isLeader());
+        assertEquals(List.of("cached answer"), replayed);
+        assertEquals(1, completions.get());
+    }
+
+    @Test
+    @DisplayName("failed answers should not be cached")
+    void open_shouldNotCacheErrors() {
+        AiCompletionCache.Subscription leader = cache.open("k", c -> { }, () -> { });
+        leader.stream().publish(token("partial"));
+        leader.stream().publish(AiStreamChunk.builder().type("error").delta("[Error]").build());
+        leader.stream().complete();
+
+        assertTrue(cache.open("k", c -> { }, () -> { }).isLeader());
+    }
+
+    @Test
+    @DisplayName("upstream should only be cancelled after the last subscriber leaves")
+    void cancel_shouldStopUpstreamWhenNobodyListens() {
+        AtomicInteger cancelled = new AtomicInteger();
+        AiCompletionCache.Subscription leader = cache.open("k", c -> { }, () -> { });
+        leader.stream().attachUpstream(cancelled::incrementAndGet);
+        AiCompletionCache.Subscription follower = cache.open("k", c -> { }, () -> { });
+
+        leader.cancel();
+        assertEquals(0, cancelled.get());
+
+        follower.cancel();
+        assertEquals(1, cancelled.get());
+        assertTrue(cache.open("k", c -> { }, () -> { }).isLeader());
+    }
+}
@@ -0,0 +1,108 @@
+package com.synapse.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synapse.dto.AiStreamChunk;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("AiStreamFramer Tests")
+class AiStreamFramerTest {
+
+    private final List<AiStreamChunk> sent = new ArrayList<>();
+    private final AtomicLong nanos = new AtomicLong();
+
+    private static AiStreamChunk token(String delta) {
+        return AiStreamChunk.builder().type("content").delta(delta).role("assistant").build();
+    }
+
+    @Test
+    @DisplayName("full mode should attach accumulated content to every token")
+    void fullMode_shouldAccumulateContent() {
+        AiStreamFramer framer = AiStreamFramer.forMode(null, sent::add, 256, 50);
+
+        framer.accept(token("Hel"));
+        framer.accept(token("lo"));
+        framer.finish();
+
+        assertEquals(2, sent.size());
+        assertEquals("Hel", sent.get(0).getContent());
+        assertEquals("Hello", sent.get(1).getContent());
+        assertNull(sent.get(1).getOffset());
+    }
+
+    @Test
+    @DisplayName("delta mode should coalesce tokens until the size bound is reached")
+    void deltaMode_shouldCoalesceBySize() {
+        AiStreamFramer framer = new AiStreamFramer(sent::add, true, 5, 1_000, nanos::get);
+
+        framer.accept(token("ab"));
+        framer.accept(token("cd"));
+        assertEquals(0, sent.size());
+
+        framer.accept(token("ef"));
+        framer.accept(token("g"));
+        framer.finish();
+
+        assertEquals(2, sent.size());
+        assertEquals("abcdef", sent.get(0).getDelta());
+        assertEquals(0, sent.get(0).getOffset());
+        assertNull(sent.get(0).getContent());
+        assertEquals("g", sent.get(1).getDelta());
+        assertEquals(6, sent.get(1).getOffset());
+        assertEquals(crc("abcdefg"), sent.get(1).getChecksum());
+    }
+
+    @Test
+    @DisplayName("delta mode should flush a frame once it is older than the delay bound")
+    void deltaMode_shouldFlushByAge() {
+        AiStreamFramer framer = new AiStreamFramer(sent::add, true, 1_000, 50, nanos::get);
+
+        framer.accept(token("a"));
+        nanos.addAndGet(60_000_000L);
+        framer.accept(token("b"));
+
+        assertEquals(1, sent.size());
+        assertEquals("ab", sent.get(0).getDelta());
+    }
+
+    @Test
+    @DisplayName("error chunks should flush pending text and pass through")
+    void errorChunk_shouldFlushAndPassThrough() {
+        AiStreamFramer framer = new AiStreamFramer(sent::add, true, 1_000, 1_000, nanos::get);
+        AiStreamChunk error = AiStreamChunk.builder().type("error").delta("boom").content("boom").build();
+
+        framer.accept(token("partial"));
+        framer.accept(error);
+
+        assertEquals(2, sent.size());
+        assertEquals("partial", sent.get(0).getDelta());
+        assertEquals(error, sent.get(1));
+    }
+
+    @Test
+    @DisplayName("legacy frames should keep every baseline field while delta frames leave unset ones out")
+    void frames_shouldKeepLegacyWireFormat() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        AiStreamFramer.forMode(null, sent::add, 256, 50).accept(token("Hi"));
+        new AiStreamFramer(sent::add, true, 1, 1_000, nanos::get).accept(token("Hi"));
+
+        assertEquals("{\"type\":\"content\",\"delta\":\"Hi\",\"content\":\"Hi\",\"role\":\"assistant\","
+                + "\"id\":null,\"model\":null,\"timestamp\":null}", mapper.writeValueAsString(sent.get(0)));
+        assertEquals("{\"type\":\"content\",\"delta\":\"Hi\",\"role\":\"assistant\",\"offset\":0,"
+                + "\"checksum\":\"" + crc("Hi") + "\"}", mapper.writeValueAsString(sent.get(1)));
+    }
+
+    private static String crc(String text) {
+        CRC32 crc = new CRC32();
+        crc.update(text.getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+}
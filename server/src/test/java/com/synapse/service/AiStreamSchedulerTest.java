@@ -0,0 +1,131 @@
+package com.synapse.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("AiStreamScheduler Tests")
+class AiStreamSchedulerTest {
+
+    private final ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Deque<Runnable> workers = new ArrayDeque<>();
+    private final List<String> ran = new ArrayList<>();
+    private final List<Long> rejections = new ArrayList<>();
+    private AiStreamScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        when(executor.getMaxPoolSize()).thenReturn(1);
+        when(executor.submit(any(Runnable.class))).thenAnswer(invocation -> {
+            workers.add(invocation.getArgument(0));
+            return mock(Future.class);
+        });
+        scheduler = new AiStreamScheduler(executor, registry);
+        ReflectionTestUtils.setField(scheduler, "maxActivePerUser", 2);
+        ReflectionTestUtils.setField(scheduler, "maxQueuedPerUser", 3);
+        ReflectionTestUtils.setField(scheduler, "maxQueued", 100);
+        ReflectionTestUtils.setField(scheduler, "retryAfterMs", 1500L);
+        ReflectionTestUtils.setField(scheduler, "userWeights", "1:2");
+    }
+
+    private AiStreamScheduler.Ticket submit(Long userId, String label) {
+        return scheduler.submit(userId, () -> ran.add(label), rejections::add);
+    }
+
+    /** Runs handed-over work one stream at a time, in the order the scheduler started it. */
+    private void drain() {
+        while (!workers.isEmpty()) {
+            workers.poll().run();
+        }
+    }
+
+    @Test
+    @DisplayName("queued streams should be served weighted round-robin across users")
+    void submit_shouldServeUsersWeightedRoundRobin() {
+        submit(3L, "c1");
+        for (int i = 1; i <= 3; i++) {
+            submit(1L, "a" + i);
+            submit(2L, "b" + i);
+        }
+
+        drain();
+
+        assertEquals(List.of("c1", "a1", "a2", "b1", "a3", "b2", "b3"), ran);
+        assertTrue(rejections.isEmpty());
+    }
+
+    @Test
+    @DisplayName("a weight above the per-user cap should raise the user's running cap with it")
+    void submit_shouldScaleRunningCapByWeight() {
+        when(executor.getMaxPoolSize()).thenReturn(4);
+        ReflectionTestUtils.setField(scheduler, "maxActivePerUser", 1);
+        ReflectionTestUtils.setField(scheduler, "userWeights", "1:3");
+
+        for (int i = 1; i <= 4; i++) {
+            submit(1L, "a" + i);
+        }
+        submit(2L, "b1");
+
+        assertEquals(4, workers.size());
+        assertEquals(4.0, registry.get("synapse.ai.streams.active").gauge().value());
+        drain();
+        assertEquals(List.of("a1", "a2", "a3", "b1", "a4"), ran);
+    }
+
+    @Test
+    @DisplayName("requests over the per-user queue bound should be rejected with a retry hint")
+    void submit_shouldRejectOverPerUserLimit() {
+        for (int i = 0; i < 4; i++) {
+            submit(1L, "a" + i);
+        }
+        submit(1L, "overflow");
+        submit(2L, "b");
+
+        assertEquals(List.of(1500L), rejections);
+        assertEquals(1.0, registry.get("synapse.ai.rejected").tag("reason", "user_limit").counter().count());
+        assertEquals(4.0, registry.get("synapse.ai.queue.size").gauge().value());
+
+        drain();
+        assertEquals(List.of("a0", "a1", "a2", "b", "a3"), ran);
+    }
+
+    @Test
+    @DisplayName("cancelling a queued stream should remove it without running it")
+    void cancel_shouldDequeueWaitingStream() {
+        submit(1L, "a1");
+        AiStreamScheduler.Ticket waiting = submit(2L, "b1");
+
+        waiting.cancel();
+        drain();
+
+        assertEquals(List.of("a1"), ran);
+        assertEquals(0.0, registry.get("synapse.ai.streams.active").gauge().value());
+    }
+
+    @Test
+    @DisplayName("executor rejections should free the slot and notify the caller")
+    void submit_shouldReportExecutorRejection() {
+        when(executor.submit(any(Runnable.class))).thenThrow(new TaskRejectedException("full"));
+
+        submit(1L, "a1");
+
+        assertEquals(List.of(1500L), rejections);
+        assertEquals(0.0, registry.get("synapse.ai.streams.active").gauge().value());
+    }
+}
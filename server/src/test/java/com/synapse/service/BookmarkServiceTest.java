@@ -1,12 +1,15 @@
 package com.synapse.service;
 
 import com.synapse.dto.BookmarkDto;
+import com.synapse.dto.PostDto;
 import com.synapse.entity.Bookmark;
 import com.synapse.entity.Post;
 import com.synapse.entity.PostType;
 import com.synapse.entity.User;
+import com.synapse.repository.BookmarkEntry;
 import com.synapse.repository.BookmarkRepository;
 import com.synapse.repository.PostRepository;
+import com.synapse.repository.UniqueRowInserter;
 import com.synapse.repository.UserRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,17 +17,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -42,24 +48,35 @@ class BookmarkServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private HotRankingService hotRankingService;
+
+    @Mock
+    private UniqueRowInserter rowInserter;
+
+    @Mock
+    private PostCardAssembler postCardAssembler;
+
     @InjectMocks
     private BookmarkService bookmarkService;
 
     @Test
     @DisplayName("getUserBookmarks should return paginated bookmarks")
     void getUserBookmarks_shouldReturnPaginatedBookmarks() {
-        User user = User.builder().id(1L).username("user").build();
-        Post post = Post.builder().id(1L).type(PostType.ARTICLE).title("Test").user(user).build();
-        Bookmark bookmark = Bookmark.builder().id(1L).user(user).post(post).build();
+        Instant bookmarkedAt = Instant.parse("2026-01-01T00:00:00Z");
+        PostDto post = PostDto.builder().id(1L).type(PostType.ARTICLE).title("Test").build();
 
         when(userRepository.existsById(1L)).thenReturn(true);
-        when(bookmarkRepository.findByUserIdOrderByCreatedAtDesc(1L, PageRequest.of(0, 10)))
-                .thenReturn(new PageImpl<>(List.of(bookmark)));
+        when(bookmarkRepository.findEntriesByUserId(1L, PageRequest.of(0, 10)))
+                .thenReturn(new PageImpl<>(List.of(new BookmarkEntry(3L, 1L, bookmarkedAt))));
+        when(postCardAssembler.findByIds(List.of(1L))).thenReturn(List.of(post));
 
         Page<BookmarkDto> result = bookmarkService.getUserBookmarks(1L, PageRequest.of(0, 10));
 
         assertEquals(1, result.getContent().size());
+        assertEquals(3L, result.getContent().get(0).getId());
         assertEquals(1L, result.getContent().get(0).getPost().getId());
+        assertEquals(bookmarkedAt, result.getContent().get(0).getCreatedAt());
     }
 
     @Test
@@ -96,37 +113,40 @@ class BookmarkServiceTest {
     void addBookmark_shouldCreateNewBookmark() {
         User user = User.builder().id(1L).username("user").build();
         Post post = Post.builder().id(1L).type(PostType.ARTICLE).title("Test").user(user).build();
-        Bookmark bookmark = Bookmark.builder().id(1L).user(user).post(post).build();
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(rowInserter.insertIfAbsent(eq(Bookmark.class), eq("bookmarks"), anyMap())).thenReturn(Optional.of(7L));
         when(postRepository.findById(1L)).thenReturn(Optional.of(post));
-        when(bookmarkRepository.existsByUserIdAndPostId(1L, 1L)).thenReturn(false);
-        when(bookmarkRepository.save(any(Bookmark.class))).thenReturn(bookmark);
 
         BookmarkDto result = bookmarkService.addBookmark(1L, 1L);
 
-        assertNotNull(result);
-        verify(bookmarkRepository).save(any(Bookmark.class));
+        assertEquals(7L, result.getId());
+        assertEquals(1L, result.getPost().getId());
+        verify(hotRankingService).record(eq(post), eq(HotRankingService.Engagement.BOOKMARK), any());
     }
 
     @Test
     @DisplayName("addBookmark should throw when already bookmarked")
     void addBookmark_shouldThrowWhenAlreadyBookmarked() {
-        User user = User.builder().id(1L).username("user").build();
-        Post post = Post.builder().id(1L).type(PostType.ARTICLE).title("Test").user(user).build();
+        when(rowInserter.insertIfAbsent(eq(Bookmark.class), eq("bookmarks"), anyMap())).thenReturn(Optional.empty());
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
-        when(bookmarkRepository.existsByUserIdAndPostId(1L, 1L)).thenReturn(true);
+        assertThrows(IllegalArgumentException.class, () -> bookmarkService.addBookmark(1L, 1L));
+        verify(hotRankingService, never()).record(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("addBookmark should throw for non-existent post")
+    void addBookmark_shouldThrowForNonExistentPost() {
+        when(rowInserter.insertIfAbsent(eq(Bookmark.class), eq("bookmarks"), anyMap()))
+                .thenThrow(new DataIntegrityViolationException("fk_bookmarks_post"));
 
         assertThrows(IllegalArgumentException.class, () -> bookmarkService.addBookmark(1L, 1L));
-        verify(bookmarkRepository, never()).save(any(Bookmark.class));
+        verify(postRepository, never()).findById(any());
     }
 
     @Test
     @DisplayName("removeBookmark should delete bookmark")
     void removeBookmark_shouldDeleteBookmark() {
-        when(bookmarkRepository.existsByUserIdAndPostId(1L, 1L)).thenReturn(true);
+        when(bookmarkRepository.findCreatedAt(1L, 1L)).thenReturn(Optional.of(Instant.EPOCH));
 
         bookmarkService.removeBookmark(1L, 1L);
 
@@ -136,9 +156,10 @@ class BookmarkServiceTest {
     @Test
     @DisplayName("removeBookmark should throw when bookmark not found")
     void removeBookmark_shouldThrowWhenNotFound() {
-        when(bookmarkRepository.existsByUserIdAndPostId(1L, 1L)).thenReturn(false);
+        when(bookmarkRepository.findCreatedAt(1L, 1L)).thenReturn(Optional.empty());
 
         assertThrows(IllegalArgumentException.class, () -> bookmarkService.removeBookmark(1L, 1L));
+        verify(bookmarkRepository, never()).deleteByUserIdAndPostId(any(), any());
     }
 
     @Test
@@ -1,19 +1,15 @@
 package com.synapse.service;
 
-import com.synapse.entity.Comment;
 import com.synapse.entity.CommentLike;
-import com.synapse.entity.Post;
-import com.synapse.entity.PostType;
-import com.synapse.entity.User;
 import com.synapse.repository.CommentLikeRepository;
-import com.synapse.repository.CommentRepository;
-import com.synapse.repository.UserRepository;
+import com.synapse.repository.UniqueRowInserter;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.Optional;
 
@@ -22,6 +18,9 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -33,10 +32,7 @@ class CommentLikeServiceTest {
     private CommentLikeRepository commentLikeRepository;
 
     @Mock
-    private CommentRepository commentRepository;
-
-    @Mock
-    private UserRepository userRepository;
+    private UniqueRowInserter rowInserter;
 
     @InjectMocks
     private CommentLikeService commentLikeService;
@@ -44,62 +40,41 @@ class CommentLikeServiceTest {
     @Test
     @DisplayName("toggleCommentLike should create like when not exists")
     void toggleCommentLike_shouldCreateLikeWhenNotExists() {
-        User user = User.builder().id(1L).username("user").build();
-        Post post = Post.builder().id(1L).type(PostType.ARTICLE).title("Test").user(user).build();
-        Comment comment = Comment.builder().id(1L).content("Nice post!").user(user).post(post).build();
-        CommentLike like = CommentLike.builder().id(1L).user(user).comment(comment).build();
-
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(commentRepository.findById(1L)).thenReturn(Optional.of(comment));
-        when(commentLikeRepository.existsByUserIdAndCommentId(1L, 1L)).thenReturn(false);
-        when(commentLikeRepository.save(any(CommentLike.class))).thenReturn(like);
-        when(commentLikeRepository.countByCommentId(1L)).thenReturn(1L);
+        when(rowInserter.insertIfAbsent(eq(CommentLike.class), eq("comment_likes"), anyMap()))
+                .thenReturn(Optional.of(10L));
+        when(commentLikeRepository.findCommentLikeCount(1L)).thenReturn(Optional.of(1));
 
         CommentLikeService.ToggleResult result = commentLikeService.toggleCommentLike(1L, 1L);
 
         assertTrue(result.liked());
         assertEquals(1L, result.count());
-        verify(commentLikeRepository).save(any(CommentLike.class));
         verify(commentLikeRepository).incrementCommentLikeCount(1L);
+        verify(commentLikeRepository, never()).deleteByUserIdAndCommentId(any(), any());
     }
 
     @Test
     @DisplayName("toggleCommentLike should remove like when exists")
     void toggleCommentLike_shouldRemoveLikeWhenExists() {
-        User user = User.builder().id(1L).username("user").build();
-        Post post = Post.builder().id(1L).type(PostType.ARTICLE).title("Test").user(user).build();
-        Comment comment = Comment.builder().id(1L).content("Nice post!").user(user).post(post).build();
-
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(commentRepository.findById(1L)).thenReturn(Optional.of(comment));
-        when(commentLikeRepository.existsByUserIdAndCommentId(1L, 1L)).thenReturn(true);
-        when(commentLikeRepository.countByCommentId(1L)).thenReturn(0L);
+        when(rowInserter.insertIfAbsent(eq(CommentLike.class), eq("comment_likes"), anyMap()))
+                .thenReturn(Optional.empty());
+        when(commentLikeRepository.deleteByUserIdAndCommentId(1L, 1L)).thenReturn(1);
+        when(commentLikeRepository.findCommentLikeCount(1L)).thenReturn(Optional.of(0));
 
         CommentLikeService.ToggleResult result = commentLikeService.toggleCommentLike(1L, 1L);
 
         assertFalse(result.liked());
         assertEquals(0L, result.count());
-        verify(commentLikeRepository).deleteByUserIdAndCommentId(1L, 1L);
         verify(commentLikeRepository).decrementCommentLikeCount(1L);
     }
 
-    @Test
-    @DisplayName("toggleCommentLike should throw for non-existent user")
-    void toggleCommentLike_shouldThrowForNonExistentUser() {
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
-
-        assertThrows(IllegalArgumentException.class, () -> commentLikeService.toggleCommentLike(1L, 1L));
-    }
-
     @Test
     @DisplayName("toggleCommentLike should throw for non-existent comment")
     void toggleCommentLike_shouldThrowForNonExistentComment() {
-        User user = User.builder().id(1L).username("user").build();
-
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(commentRepository.findById(1L)).thenReturn(Optional.empty());
+        when(rowInserter.insertIfAbsent(eq(CommentLike.class), eq("comment_likes"), anyMap()))
+                .thenThrow(new DataIntegrityViolationException("fk_comment_likes_comment"));
 
         assertThrows(IllegalArgumentException.class, () -> commentLikeService.toggleCommentLike(1L, 1L));
+        verify(commentLikeRepository, never()).incrementCommentLikeCount(any());
     }
 
     @Test
@@ -47,6 +47,9 @@ class CommentServiceTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private HotRankingService hotRankingService;
+
     @InjectMocks
     private CommentService commentService;
 
@@ -0,0 +1,150 @@
+package com.synapse.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.MinioClient;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.stream.Stream;
+import okhttp3.Headers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("DownloadCache Tests")
+class DownloadCacheTest {
+
+    private static final long MB = 1024 * 1024;
+
+    @TempDir
+    Path directory;
+
+    private final MinioClient minioClient = mock(MinioClient.class);
+    private final ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Deque<Runnable> fills = new ArrayDeque<>();
+    private DownloadCache cache;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        doAnswer(invocation -> fills.add(invocation.getArgument(0))).when(executor).execute(any(Runnable.class));
+        when(minioClient.getObject(any(GetObjectArgs.class))).thenAnswer(invocation -> new GetObjectResponse(
+                Headers.of(), "test-bucket", null, "object", new ByteArrayInputStream(new byte[(int) MB])));
+        cache = new DownloadCache(minioClient, executor, registry);
+        ReflectionTestUtils.setField(cache, "bucket", "test-bucket");
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "directory", directory);
+        ReflectionTestUtils.setField(cache, "maxSizeMb", 2L);
+        ReflectionTestUtils.setField(cache, "maxObjectSizeMb", 1L);
+        ReflectionTestUtils.setField(cache, "sendfileGraceMs", 60_000L);
+        cache.init();
+    }
+
+    private long filesOnDisk() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private void runFills() {
+        while (!fills.isEmpty()) {
+            fills.poll().run();
+        }
+    }
+
+    @Test
+    @DisplayName("concurrent misses on one object should share a single background fill")
+    void lookup_shouldCoalesceFills() throws Exception {
+        assertTrue(cache.lookup("a.pdf", "v1", MB).isEmpty());
+        assertTrue(cache.lookup("a.pdf", "v1", MB).isEmpty());
+        assertEquals(1, fills.size());
+
+        runFills();
+        Optional<Path> hit = cache.lookup("a.pdf", "v1", MB);
+
+        assertTrue(hit.isPresent());
+        assertEquals(MB, Files.size(hit.get()));
+        verify(minioClient, times(1)).getObject(any(GetObjectArgs.class));
+        assertEquals(1.0, registry.get("synapse.download.cache").tag("result", "hit").counter().count());
+        assertEquals(2.0, registry.get("synapse.download.cache").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("a new ETag should miss instead of serving the old copy")
+    void lookup_shouldMissOnChangedEtag() {
+        cache.lookup("a.pdf", "v1", MB);
+        runFills();
+
+        assertTrue(cache.lookup("a.pdf", "v2", MB).isEmpty());
+    }
+
+    @Test
+    @DisplayName("filling past the size bound should evict the least recently used object")
+    void fill_shouldEvictLeastRecentlyUsed() throws Exception {
+        cache.lookup("a.pdf", "v1", MB);
+        cache.lookup("b.pdf", "v1", MB);
+        runFills();
+        cache.lookup("a.pdf", "v1", MB);
+
+        cache.lookup("c.pdf", "v1", MB);
+        runFills();
+
+        assertTrue(cache.lookup("a.pdf", "v1", MB).isPresent());
+        assertTrue(cache.lookup("c.pdf", "v1", MB).isPresent());
+        assertFalse(cache.lookup("b.pdf", "v1", MB).isPresent());
+        assertEquals(2.0 * MB, registry.get("synapse.download.cache.size").gauge().value());
+        assertEquals(2, filesOnDisk());
+    }
+
+    @Test
+    @DisplayName("recently served files should outlive eviction until the grace period, within the size bound")
+    void fill_shouldKeepServedFilesUntilGracePasses() throws Exception {
+        ReflectionTestUtils.setField(cache, "sendfileGraceMs", 200L);
+        cache.lookup("a.pdf", "v1", MB);
+        cache.lookup("b.pdf", "v1", MB);
+        runFills();
+        Path a = cache.lookup("a.pdf", "v1", MB).orElseThrow();
+        Path b = cache.lookup("b.pdf", "v1", MB).orElseThrow();
+
+        cache.lookup("c.pdf", "v1", MB);
+        runFills();
+
+        // Both served files stay for sendfile, so there is no room left for the new one
+        assertTrue(Files.exists(a));
+        assertTrue(Files.exists(b));
+        assertEquals(2, filesOnDisk());
+        assertEquals(2.0 * MB, registry.get("synapse.download.cache.size").gauge().value());
+        assertTrue(cache.lookup("a.pdf", "v1", MB).isEmpty());
+
+        Thread.sleep(250);
+        cache.purgeEvicted();
+
+        assertEquals(0, filesOnDisk());
+        assertEquals(0.0, registry.get("synapse.download.cache.size").gauge().value());
+    }
+
+    @Test
+    @DisplayName("objects above the per-object limit should never be cached")
+    void lookup_shouldSkipOversizedObjects() {
+        assertTrue(cache.lookup("big.zip", "v1", 2 * MB).isEmpty());
+        assertTrue(fills.isEmpty());
+    }
+}
@@ -0,0 +1,187 @@
+package com.synapse.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.synapse.dto.BookmarkDto;
+import com.synapse.dto.FollowDto;
+import com.synapse.dto.PostDto;
+import com.synapse.entity.Attachment;
+import com.synapse.entity.Bookmark;
+import com.synapse.entity.Follow;
+import com.synapse.entity.Post;
+import com.synapse.entity.PostImage;
+import com.synapse.entity.PostType;
+import com.synapse.entity.Tag;
+import com.synapse.entity.User;
+import com.synapse.repository.BookmarkRepository;
+import com.synapse.repository.FollowRepository;
+import com.synapse.repository.PostRepository;
+import com.synapse.repository.TagRepository;
+import com.synapse.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("dev")
+@DisplayName("Feed projection Tests")
+class FeedProjectionTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BookmarkService bookmarkService;
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private BookmarkRepository bookmarkRepository;
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String suffix;
+    private User author;
+    private Tag tag;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+        author = createUser("author");
+        tag = tagRepository.save(Tag.builder().name("feed-" + suffix).build());
+    }
+
+    private User createUser(String prefix) {
+        String name = prefix + "-" + suffix;
+        return userRepository.save(User.builder()
+                .username(name).password("secret").email(name + "@example.com").build());
+    }
+
+    private Post createPost(PostType type, boolean isPrivate) {
+        Post post = Post.builder().type(type).title(type + " " + suffix).content("full " + type + " text")
+                .summary("summary").images(List.of(PostImage.of("/uploads/a.png"))).user(author).isPrivate(isPrivate)
+                .password(isPrivate ? "secret" : null).build();
+        post.getTags().add(tag);
+        post.getAttachments().add(Attachment.builder().post(post).filename("a.pdf")
+                .storedName(UUID.randomUUID() + ".pdf").fileSize(1L).contentType("application/pdf").build());
+        return postRepository.save(post);
+    }
+
+    private long postLoads() {
+        return statistics.getEntityStatistics(Post.class.getName()).getLoadCount();
+    }
+
+    private static Map<Long, PostDto> byId(List<PostDto> posts) {
+        return posts.stream().collect(Collectors.toMap(PostDto::getId, Function.identity()));
+    }
+
+    @Test
+    @DisplayName("feed cards should carry what a card shows without loading post entities")
+    void getPosts_shouldBuildCardsFromProjections() {
+        Post moment = createPost(PostType.MOMENT, false);
+        Post article = createPost(PostType.ARTICLE, false);
+        Post hidden = createPost(PostType.SNIPPET, true);
+        long loads = postLoads();
+
+        Page<PostDto> page = postService.getPosts(tag.getName(), null, PageRequest.of(0, 10));
+
+        assertThat(postLoads()).isEqualTo(loads);
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(PostDto::getId)
+                .containsExactly(hidden.getId(), article.getId(), moment.getId());
+        Map<Long, PostDto> cards = byId(page.getContent());
+
+        PostDto momentCard = cards.get(moment.getId());
+        assertThat(momentCard.getContent()).isEqualTo("full MOMENT text");
+        assertThat(momentCard.getImages()).containsExactly("/uploads/a.png");
+        assertThat(momentCard.getAttachments()).extracting("filename").containsExactly("a.pdf");
+        assertThat(momentCard.getTags()).extracting("name").containsExactly(tag.getName());
+        assertThat(momentCard.getUser().getUsername()).isEqualTo(author.getUsername());
+
+        PostDto articleCard = cards.get(article.getId());
+        assertThat(articleCard.getContent()).isNull();
+        assertThat(articleCard.getSummary()).isEqualTo("summary");
+
+        PostDto hiddenCard = cards.get(hidden.getId());
+        assertThat(hiddenCard.isPrivate()).isTrue();
+        assertThat(hiddenCard.getContent()).isNull();
+        assertThat(hiddenCard.getImages()).isNull();
+        assertThat(hiddenCard.getAttachments()).isNull();
+        assertThat(hiddenCard.getTags()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("search and profile listings should use the same cards")
+    void searchAndUserPosts_shouldReturnCards() {
+        Post snippet = createPost(PostType.SNIPPET, false);
+        createPost(PostType.MOMENT, false);
+
+        Page<PostDto> search = postService.searchPosts("snippet " + suffix, List.of(tag.getName()), null,
+                PageRequest.of(0, 10));
+        Page<PostDto> profile = userService.getUserPosts(author.getId(), PageRequest.of(0, 1));
+
+        assertThat(search.getContent()).extracting(PostDto::getId).containsExactly(snippet.getId());
+        assertThat(search.getContent().get(0).getContent()).isEqualTo("full SNIPPET text");
+        assertThat(profile.getTotalElements()).isEqualTo(2);
+        assertThat(profile.getContent()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("bookmark and follow pages should be built from projections and cached users")
+    void bookmarksAndFollows_shouldNotLoadEntities() {
+        User reader = createUser("reader");
+        Post post = createPost(PostType.MOMENT, false);
+        Bookmark bookmark = bookmarkRepository.save(Bookmark.builder().user(reader).post(post).build());
+        followRepository.save(Follow.builder().follower(reader).following(author).build());
+        long postLoads = postLoads();
+        long bookmarkLoads = statistics.getEntityStatistics(Bookmark.class.getName()).getLoadCount();
+        long followLoads = statistics.getEntityStatistics(Follow.class.getName()).getLoadCount();
+
+        List<BookmarkDto> bookmarks = bookmarkService.getUserBookmarks(reader.getId(), PageRequest.of(0, 10))
+                .getContent();
+        List<FollowDto> following = followService.getFollowing(reader.getId(), PageRequest.of(0, 10)).getContent();
+        List<FollowDto> followers = followService.getFollowers(author.getId(), PageRequest.of(0, 10)).getContent();
+
+        assertThat(bookmarks).extracting(BookmarkDto::getId).containsExactly(bookmark.getId());
+        assertThat(bookmarks.get(0).getPost().getTags()).hasSize(1);
+        assertThat(following).extracting(follow -> follow.getFollowing().getUsername())
+                .containsExactly(author.getUsername());
+        assertThat(followers).extracting(follow -> follow.getFollower().getUsername())
+                .containsExactly(reader.getUsername());
+        assertThat(postLoads()).isEqualTo(postLoads);
+        assertThat(statistics.getEntityStatistics(Bookmark.class.getName()).getLoadCount()).isEqualTo(bookmarkLoads);
+        assertThat(statistics.getEntityStatistics(Follow.class.getName()).getLoadCount()).isEqualTo(followLoads);
+    }
+}
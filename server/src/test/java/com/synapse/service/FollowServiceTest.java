@@ -3,7 +3,9 @@ package com.synapse.service;
 import com.synapse.dto.FollowDto;
 import com.synapse.entity.Follow;
 import com.synapse.entity.User;
+import com.synapse.repository.FollowEntry;
 import com.synapse.repository.FollowRepository;
+import com.synapse.repository.UniqueRowInserter;
 import com.synapse.repository.UserRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,17 +13,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -39,6 +44,12 @@ class FollowServiceTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private TimelineFanout timelineFanout;
+
+    @Mock
+    private UniqueRowInserter rowInserter;
+
     @InjectMocks
     private FollowService followService;
 
@@ -47,16 +58,17 @@ class FollowServiceTest {
     void getFollowing_shouldReturnPaginatedFollowing() {
         User follower = User.builder().id(1L).username("follower").build();
         User following = User.builder().id(2L).username("following").build();
-        Follow follow = Follow.builder().id(1L).follower(follower).following(following).build();
 
         when(userRepository.existsById(1L)).thenReturn(true);
-        when(followRepository.findByFollowerIdOrderByCreatedAtDesc(1L, PageRequest.of(0, 10)))
-                .thenReturn(new PageImpl<>(List.of(follow)));
+        when(followRepository.findEntriesByFollowerId(1L, PageRequest.of(0, 10)))
+                .thenReturn(new PageImpl<>(List.of(new FollowEntry(1L, 1L, 2L, null))));
+        when(userRepository.findAllCachedById(Set.of(1L, 2L))).thenReturn(List.of(follower, following));
 
         Page<FollowDto> result = followService.getFollowing(1L, PageRequest.of(0, 10));
 
         assertEquals(1, result.getContent().size());
         assertEquals(2L, result.getContent().get(0).getFollowing().getId());
+        assertEquals("follower", result.getContent().get(0).getFollower().getUsername());
     }
 
     @Test
@@ -73,11 +85,11 @@ class FollowServiceTest {
     void getFollowers_shouldReturnPaginatedFollowers() {
         User follower = User.builder().id(1L).username("follower").build();
         User following = User.builder().id(2L).username("following").build();
-        Follow follow = Follow.builder().id(1L).follower(follower).following(following).build();
 
         when(userRepository.existsById(2L)).thenReturn(true);
-        when(followRepository.findByFollowingIdOrderByCreatedAtDesc(2L, PageRequest.of(0, 10)))
-                .thenReturn(new PageImpl<>(List.of(follow)));
+        when(followRepository.findEntriesByFollowingId(2L, PageRequest.of(0, 10)))
+                .thenReturn(new PageImpl<>(List.of(new FollowEntry(1L, 1L, 2L, null))));
+        when(userRepository.findAllCachedById(Set.of(1L, 2L))).thenReturn(List.of(following, follower));
 
         Page<FollowDto> result = followService.getFollowers(2L, PageRequest.of(0, 10));
 
@@ -110,57 +122,63 @@ class FollowServiceTest {
     void followUser_shouldCreateFollow() {
         User follower = User.builder().id(1L).username("follower").build();
         User following = User.builder().id(2L).username("following").build();
-        Follow follow = Follow.builder().id(1L).follower(follower).following(following).build();
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(follower));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(following));
-        when(followRepository.existsByFollowerIdAndFollowingId(1L, 2L)).thenReturn(false);
-        when(followRepository.save(any(Follow.class))).thenReturn(follow);
+        when(rowInserter.insertIfAbsent(eq(Follow.class), eq("follows"), anyMap())).thenReturn(Optional.of(5L));
+        when(userRepository.getReferenceById(1L)).thenReturn(follower);
+        when(userRepository.getReferenceById(2L)).thenReturn(following);
 
         FollowDto result = followService.followUser(1L, 2L);
 
-        assertNotNull(result);
-        verify(followRepository).save(any(Follow.class));
+        assertEquals(5L, result.getId());
+        assertEquals(2L, result.getFollowing().getId());
         verify(notificationService).createNotification(following, follower,
                 com.synapse.entity.NotificationType.FOLLOW, null, null);
+        verify(timelineFanout).followed(1L, 2L);
     }
 
     @Test
     @DisplayName("followUser should throw when following self")
     void followUser_shouldThrowWhenFollowingSelf() {
         assertThrows(IllegalArgumentException.class, () -> followService.followUser(1L, 1L));
-        verify(followRepository, never()).save(any(Follow.class));
+        verify(rowInserter, never()).insertIfAbsent(any(), any(), anyMap());
     }
 
     @Test
     @DisplayName("followUser should throw when already following")
     void followUser_shouldThrowWhenAlreadyFollowing() {
-        User follower = User.builder().id(1L).username("follower").build();
-        User following = User.builder().id(2L).username("following").build();
-
-        when(userRepository.findById(1L)).thenReturn(Optional.of(follower));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(following));
-        when(followRepository.existsByFollowerIdAndFollowingId(1L, 2L)).thenReturn(true);
+        when(rowInserter.insertIfAbsent(eq(Follow.class), eq("follows"), anyMap())).thenReturn(Optional.empty());
 
         assertThrows(IllegalArgumentException.class, () -> followService.followUser(1L, 2L));
+        verify(timelineFanout, never()).followed(any(), any());
+    }
+
+    @Test
+    @DisplayName("followUser should throw for non-existent user")
+    void followUser_shouldThrowForNonExistentUser() {
+        when(rowInserter.insertIfAbsent(eq(Follow.class), eq("follows"), anyMap()))
+                .thenThrow(new DataIntegrityViolationException("fk_follows_following"));
+
+        assertThrows(IllegalArgumentException.class, () -> followService.followUser(1L, 999L));
+        verify(notificationService, never()).createNotification(any(), any(), any(), any(), any());
     }
 
     @Test
     @DisplayName("unfollowUser should delete follow relationship")
     void unfollowUser_shouldDeleteFollow() {
-        when(followRepository.existsByFollowerIdAndFollowingId(1L, 2L)).thenReturn(true);
+        when(followRepository.deleteByFollowerIdAndFollowingId(1L, 2L)).thenReturn(1);
 
         followService.unfollowUser(1L, 2L);
 
-        verify(followRepository).deleteByFollowerIdAndFollowingId(1L, 2L);
+        verify(timelineFanout).unfollowed(1L, 2L);
     }
 
     @Test
     @DisplayName("unfollowUser should throw when not following")
     void unfollowUser_shouldThrowWhenNotFollowing() {
-        when(followRepository.existsByFollowerIdAndFollowingId(1L, 2L)).thenReturn(false);
+        when(followRepository.deleteByFollowerIdAndFollowingId(1L, 2L)).thenReturn(0);
 
         assertThrows(IllegalArgumentException.class, () -> followService.unfollowUser(1L, 2L));
+        verify(timelineFanout, never()).unfollowed(any(), any());
     }
 
     @Test
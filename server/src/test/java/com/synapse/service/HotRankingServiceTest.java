@@ -0,0 +1,153 @@
+package com.synapse.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.synapse.entity.Post;
+import com.synapse.entity.PostType;
+import com.synapse.entity.Tag;
+import com.synapse.repository.BookmarkRepository;
+import com.synapse.repository.CommentRepository;
+import com.synapse.repository.LikeRepository;
+import com.synapse.repository.PostRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("HotRankingService Tests")
+class HotRankingServiceTest {
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final LikeRepository likeRepository = mock(LikeRepository.class);
+    private final CommentRepository commentRepository = mock(CommentRepository.class);
+    private final BookmarkRepository bookmarkRepository = mock(BookmarkRepository.class);
+    private final Instant now = Instant.parse("2026-06-01T12:00:00Z");
+    private HotRankingService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new HotRankingService(new InMemoryRankingIndex(),
+                postRepository, likeRepository, commentRepository, bookmarkRepository);
+        ReflectionTestUtils.setField(service, "halfLifeHours", 24.0);
+        ReflectionTestUtils.setField(service, "postWeight", 1.0);
+        ReflectionTestUtils.setField(service, "likeWeight", 1.0);
+        ReflectionTestUtils.setField(service, "commentWeight", 3.0);
+        ReflectionTestUtils.setField(service, "bookmarkWeight", 2.0);
+        ReflectionTestUtils.setField(service, "maxPosts", 2);
+        ReflectionTestUtils.setField(service, "rebuildDays", 7);
+    }
+
+    private Post post(long id, PostType type, Instant createdAt, String... tags) {
+        Post post = Post.builder().type(type).content("post " + id).createdAt(createdAt).build();
+        post.setId(id);
+        for (String tag : tags) {
+            post.getTags().add(Tag.builder().name(tag).build());
+        }
+        return post;
+    }
+
+    @Test
+    @DisplayName("recent engagement should outrank the same engagement a few half-lives ago")
+    void record_shouldDecayOlderEngagement() {
+        Post old = post(1L, PostType.MOMENT, now.minus(Duration.ofDays(3)));
+        Post fresh = post(2L, PostType.MOMENT, now);
+        for (int i = 0; i < 6; i++) {
+            service.record(old, HotRankingService.Engagement.LIKE, old.getCreatedAt());
+        }
+        service.record(fresh, HotRankingService.Engagement.LIKE, now);
+
+        // 6 likes three half-lives ago are worth 0.75 of one like now
+        assertThat(service.topPostIds(null, 0, 10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("comments should weigh more than likes at the same time")
+    void record_shouldApplyEngagementWeights() {
+        Post liked = post(1L, PostType.MOMENT, now);
+        Post commented = post(2L, PostType.MOMENT, now);
+        service.record(liked, HotRankingService.Engagement.LIKE, now);
+        service.record(liked, HotRankingService.Engagement.LIKE, now);
+        service.record(commented, HotRankingService.Engagement.COMMENT, now);
+
+        assertThat(service.topPostIds(null, 0, 10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("retracting the only engagement should drop the post from the ranking")
+    void retract_shouldRemoveFullyRetractedPost() {
+        Post post = post(1L, PostType.MOMENT, now);
+        service.record(post, HotRankingService.Engagement.LIKE, now);
+        service.retract(post, HotRankingService.Engagement.LIKE, now);
+
+        assertThat(service.topPostIds(null, 0, 10)).isEmpty();
+        assertThat(service.rankedPostCount(null)).isZero();
+    }
+
+    @Test
+    @DisplayName("posts should also be ranked on their type's board and deleted from both")
+    void postDeleted_shouldRemoveFromAllBoards() {
+        Post moment = post(1L, PostType.MOMENT, now);
+        Post article = post(2L, PostType.ARTICLE, now);
+        service.record(moment, HotRankingService.Engagement.POST, now);
+        service.record(article, HotRankingService.Engagement.POST, now);
+
+        assertThat(service.topPostIds(PostType.ARTICLE, 0, 10)).containsExactly(2L);
+
+        service.postDeleted(article);
+
+        assertThat(service.topPostIds(PostType.ARTICLE, 0, 10)).isEmpty();
+        assertThat(service.topPostIds(null, 0, 10)).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("tags should collect the engagement of their posts")
+    void topTagNames_shouldRankTagsByPostEngagement() {
+        service.record(post(1L, PostType.MOMENT, now, "java", "spring"), HotRankingService.Engagement.LIKE, now);
+        service.record(post(2L, PostType.MOMENT, now, "java"), HotRankingService.Engagement.LIKE, now);
+
+        assertThat(service.topTagNames(10)).containsExactly("java", "spring");
+        assertThat(service.topTagNames(1)).containsExactly("java");
+    }
+
+    @Test
+    @DisplayName("trim should cap the post boards at the configured size")
+    void trim_shouldKeepHottestPosts() {
+        for (long id = 1; id <= 3; id++) {
+            service.record(post(id, PostType.MOMENT, now), HotRankingService.Engagement.POST, now.plusSeconds(id));
+        }
+
+        service.trim();
+
+        assertThat(service.topPostIds(null, 0, 10)).containsExactly(3L, 2L);
+        assertThat(service.topPostIds(PostType.MOMENT, 0, 10)).containsExactly(3L, 2L);
+    }
+
+    @Test
+    @DisplayName("rebuild should score recent posts from their stored engagement")
+    void rebuild_shouldRankFromDatabase() {
+        Instant recent = Instant.now().minus(Duration.ofHours(1));
+        Post quiet = post(1L, PostType.MOMENT, recent, "java");
+        Post busy = post(2L, PostType.MOMENT, recent, "kotlin");
+        when(postRepository.findByCreatedAtGreaterThanEqual(ArgumentMatchers.any())).thenReturn(List.of(quiet, busy));
+        List<Object[]> likes = new ArrayList<>();
+        likes.add(new Object[] {2L, recent});
+        likes.add(new Object[] {99L, recent});
+        when(likeRepository.findEngagementSince(ArgumentMatchers.any())).thenReturn(likes);
+        when(commentRepository.findEngagementSince(ArgumentMatchers.any())).thenReturn(List.of());
+        when(bookmarkRepository.findEngagementSince(ArgumentMatchers.any())).thenReturn(List.of());
+
+        service.rebuild();
+
+        assertThat(service.topPostIds(null, 0, 10)).containsExactly(2L, 1L);
+        assertThat(service.topTagNames(10)).containsExactly("kotlin", "java");
+        assertThat(Set.copyOf(service.topPostIds(PostType.MOMENT, 0, 10))).containsExactlyInAnyOrder(1L, 2L);
+    }
+}
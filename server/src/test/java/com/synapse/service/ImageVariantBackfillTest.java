@@ -0,0 +1,115 @@
+package com.synapse.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.minio.ListObjectsArgs;
+import io.minio.MinioClient;
+import io.minio.Result;
+import io.minio.messages.Item;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ImageVariantBackfill Tests")
+class ImageVariantBackfillTest {
+
+    private static final String DONE = "11111111-1111-1111-1111-111111111111";
+    private static final String PARTIAL = "22222222-2222-2222-2222-222222222222";
+    private static final String LEGACY = "ab".repeat(32);
+    private static final String FRESH = "33333333-3333-3333-3333-333333333333";
+
+    @Mock
+    private MinioClient minioClient;
+
+    @Mock
+    private ImageVariantService imageVariantService;
+
+    @Mock
+    private JobLease lease;
+
+    private ImageVariantBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        backfill = new ImageVariantBackfill(minioClient, imageVariantService, lease);
+        ReflectionTestUtils.setField(backfill, "bucket", "test-bucket");
+        ReflectionTestUtils.setField(backfill, "batchSize", 100);
+        ReflectionTestUtils.setField(backfill, "batchPauseMs", 0L);
+        ReflectionTestUtils.setField(backfill, "leaseMinutes", 30L);
+
+        ZonedDateTime old = ZonedDateTime.now().minusDays(3);
+        List<Result<Item>> listing = new ArrayList<>();
+        listing.add(item(DONE + ".jpg", old));
+        listing.add(item(PARTIAL + ".png", old));
+        listing.add(item(FRESH + ".jpg", ZonedDateTime.now().plusMinutes(1)));
+        listing.add(item("44444444-4444-4444-4444-444444444444.gif", old));
+        listing.add(item(LEGACY + ".jpeg", old));
+        listing.add(item("manual/photo.jpg", old));
+        listing.add(item("variants/" + DONE + "/feed.jpg", old));
+        listing.add(item("variants/" + DONE + "/full.jpg", old));
+        listing.add(item("variants/" + DONE + "/thumb.jpg", old));
+        listing.add(item("variants/" + PARTIAL + "/thumb.jpg", old));
+        lenient().when(minioClient.listObjects(any(ListObjectsArgs.class))).thenReturn(listing);
+    }
+
+    private static Result<Item> item(String name, ZonedDateTime lastModified) {
+        Item item = mock(Item.class);
+        lenient().when(item.objectName()).thenReturn(name);
+        lenient().when(item.lastModified()).thenReturn(lastModified);
+        return new Result<>(item);
+    }
+
+    @Test
+    @DisplayName("run should enqueue only existing uploads without a complete variant set")
+    void run_shouldEnqueueUploadsMissingVariants() {
+        when(lease.acquire(eq("image-variants-backfill"), anyString(), any())).thenReturn(true);
+
+        assertEquals(2, backfill.run());
+
+        verify(imageVariantService).enqueue(PARTIAL + ".png");
+        verify(imageVariantService).enqueue(LEGACY + ".jpeg");
+        verify(imageVariantService, never()).enqueue(DONE + ".jpg");
+        verify(imageVariantService, never()).enqueue(FRESH + ".jpg");
+        verify(lease).release(eq("image-variants-backfill"), anyString());
+    }
+
+    @Test
+    @DisplayName("run should wait for each batch to drain before enqueuing more")
+    void run_shouldPaceBatches() {
+        ReflectionTestUtils.setField(backfill, "batchSize", 1);
+        when(lease.acquire(eq("image-variants-backfill"), anyString(), any())).thenReturn(true);
+        when(imageVariantService.pending()).thenReturn(1, 0);
+
+        assertEquals(2, backfill.run());
+        verify(imageVariantService, times(2)).pending();
+    }
+
+    @Test
+    @DisplayName("run should be skipped while another instance holds the lease")
+    void run_shouldSkipWithoutLease() {
+        when(lease.acquire(eq("image-variants-backfill"), anyString(), any())).thenReturn(false);
+
+        assertEquals(-1, backfill.run());
+
+        verify(minioClient, never()).listObjects(any(ListObjectsArgs.class));
+        verify(imageVariantService, never()).enqueue(anyString());
+        verify(lease, never()).release(anyString(), anyString());
+    }
+}
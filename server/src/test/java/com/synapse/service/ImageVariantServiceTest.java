@@ -0,0 +1,125 @@
+package com.synapse.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.synapse.dto.ImageVariantsDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import javax.imageio.ImageIO;
+import okhttp3.Headers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("ImageVariantService Tests")
+class ImageVariantServiceTest {
+
+    private static final String BASE = "123e4567-e89b-12d3-a456-426614174000";
+
+    private final MinioClient minioClient = mock(MinioClient.class);
+    private final ThreadPoolTaskExecutor imageExecutor = mock(ThreadPoolTaskExecutor.class);
+    private ImageVariantService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ImageVariantService(minioClient, imageExecutor, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "bucket", "test-bucket");
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "maxAttempts", 3);
+        ReflectionTestUtils.setField(service, "jpegQuality", 0.8f);
+    }
+
+    @Test
+    @DisplayName("generate should write every variant as a downscaled JPEG")
+    void generate_shouldStoreAllVariants() throws Exception {
+        when(minioClient.getObject(any(GetObjectArgs.class))).thenReturn(object(png(2000, 1000)));
+        List<String> stored = new ArrayList<>();
+        when(minioClient.putObject(any(PutObjectArgs.class))).thenAnswer(invocation -> {
+            PutObjectArgs args = invocation.getArgument(0);
+            stored.add(args.object());
+            BufferedImage variant = ImageIO.read(args.stream());
+            assertTrue(Math.max(variant.getWidth(), variant.getHeight()) <= 1600);
+            assertEquals("image/jpeg", args.contentType());
+            return null;
+        });
+
+        assertTrue(service.generate(BASE + ".png", BASE));
+
+        verify(minioClient, times(3)).putObject(any(PutObjectArgs.class));
+        assertTrue(stored.contains("variants/" + BASE + "/thumb.jpg"));
+        assertTrue(stored.contains("variants/" + BASE + "/feed.jpg"));
+        assertTrue(stored.contains("variants/" + BASE + "/full.jpg"));
+    }
+
+    @Test
+    @DisplayName("generate should skip objects that are not decodable images")
+    void generate_shouldSkipUndecodableObjects() throws Exception {
+        when(minioClient.getObject(any(GetObjectArgs.class))).thenReturn(object("not an image".getBytes()));
+
+        assertFalse(service.generate(BASE + ".png", BASE));
+        verify(minioClient, never()).putObject(any(PutObjectArgs.class));
+    }
+
+    @Test
+    @DisplayName("scale should only shrink and keep the aspect ratio")
+    void scale_shouldPreserveAspectRatio() {
+        BufferedImage scaled =
+                ImageVariantService.scale(new BufferedImage(1000, 500, BufferedImage.TYPE_INT_ARGB), 320);
+        BufferedImage small = ImageVariantService.scale(new BufferedImage(100, 50, BufferedImage.TYPE_INT_RGB), 320);
+
+        assertEquals(320, scaled.getWidth());
+        assertEquals(160, scaled.getHeight());
+        assertEquals(100, small.getWidth());
+    }
+
+    @Test
+    @DisplayName("enqueue should only schedule uploaded JPEG and PNG images")
+    void enqueue_shouldIgnoreUnsupportedObjects() {
+        service.enqueue(BASE + ".gif");
+        service.enqueue("avatar.png");
+        verify(imageExecutor, never()).execute(any(Runnable.class));
+
+        service.enqueue(BASE + ".JPG");
+        verify(imageExecutor).execute(any(Runnable.class));
+    }
+
+    @Test
+    @DisplayName("variant URLs should be derived from uploaded image URLs only")
+    void fromUrl_shouldDeriveVariantUrls() {
+        ImageVariantsDto variants = ImageVariantsDto.fromUrl("http://cdn.local/synapse/" + BASE + ".jpeg");
+
+        assertEquals("http://cdn.local/synapse/variants/" + BASE + "/thumb.jpg", variants.getThumb());
+        assertEquals("http://cdn.local/synapse/variants/" + BASE + "/full.jpg", variants.getFull());
+        assertNull(ImageVariantsDto.fromUrl("https://avatars.githubusercontent.com/u/1"));
+        assertNull(ImageVariantsDto.fromUrl("http://cdn.local/synapse/" + BASE + ".gif"));
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", out);
+        return out.toByteArray();
+    }
+
+    private static GetObjectResponse object(byte[] bytes) {
+        return new GetObjectResponse(Headers.of(), "test-bucket", null, "object", new ByteArrayInputStream(bytes));
+    }
+}
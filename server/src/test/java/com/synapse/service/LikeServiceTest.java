@@ -7,6 +7,7 @@ import com.synapse.entity.PostType;
 import com.synapse.entity.User;
 import com.synapse.repository.LikeRepository;
 import com.synapse.repository.PostRepository;
+import com.synapse.repository.UniqueRowInserter;
 import com.synapse.repository.UserRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,7 +15,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.time.Instant;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -22,6 +25,9 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -41,6 +47,12 @@ class LikeServiceTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private HotRankingService hotRankingService;
+
+    @Mock
+    private UniqueRowInserter rowInserter;
+
     @InjectMocks
     private LikeService likeService;
 
@@ -49,61 +61,65 @@ class LikeServiceTest {
     void togglePostLike_shouldCreateLikeWhenNotExists() {
         User user = User.builder().id(1L).username("user").build();
         User postOwner = User.builder().id(2L).username("owner").build();
-        Post post = Post.builder().id(1L).type(PostType.ARTICLE).title("Test").user(postOwner).likeCount(0).build();
-        Like like = Like.builder().id(1L).user(user).post(post).build();
+        Post post = Post.builder().id(1L).type(PostType.ARTICLE).title("Test").user(postOwner).likeCount(1).build();
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(rowInserter.insertIfAbsent(eq(Like.class), eq("likes"), anyMap())).thenReturn(Optional.of(10L));
         when(postRepository.findById(1L)).thenReturn(Optional.of(post));
-        when(likeRepository.existsByUserIdAndPostId(1L, 1L)).thenReturn(false);
-        when(likeRepository.save(any(Like.class))).thenReturn(like);
-        when(likeRepository.countByPostId(1L)).thenReturn(1L);
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
 
         LikeService.ToggleResult result = likeService.togglePostLike(1L, 1L);
 
         assertTrue(result.liked());
         assertEquals(1L, result.count());
-        verify(likeRepository).save(any(Like.class));
         verify(likeRepository).incrementPostLikeCount(1L);
+        verify(likeRepository, never()).deleteByUserIdAndPostId(any(), any());
         verify(notificationService).createNotification(postOwner, user, NotificationType.LIKE, post, null);
     }
 
     @Test
     @DisplayName("togglePostLike should remove like when exists")
     void togglePostLike_shouldRemoveLikeWhenExists() {
-        User user = User.builder().id(1L).username("user").build();
         User postOwner = User.builder().id(2L).username("owner").build();
         Post post = Post.builder().id(1L).type(PostType.ARTICLE).title("Test").user(postOwner).build();
+        Instant likedAt = Instant.parse("2026-01-01T00:00:00Z");
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(rowInserter.insertIfAbsent(eq(Like.class), eq("likes"), anyMap())).thenReturn(Optional.empty());
+        when(likeRepository.findCreatedAt(1L, 1L)).thenReturn(Optional.of(likedAt));
+        when(likeRepository.deleteByUserIdAndPostId(1L, 1L)).thenReturn(1);
         when(postRepository.findById(1L)).thenReturn(Optional.of(post));
-        when(likeRepository.existsByUserIdAndPostId(1L, 1L)).thenReturn(true);
-        when(likeRepository.countByPostId(1L)).thenReturn(0L);
 
         LikeService.ToggleResult result = likeService.togglePostLike(1L, 1L);
 
         assertFalse(result.liked());
         assertEquals(0L, result.count());
-        verify(likeRepository).deleteByUserIdAndPostId(1L, 1L);
         verify(likeRepository).decrementPostLikeCount(1L);
+        verify(hotRankingService).retract(post, HotRankingService.Engagement.LIKE, likedAt);
+        verify(notificationService, never()).createNotification(any(), any(), any(), any(), any());
     }
 
     @Test
-    @DisplayName("togglePostLike should throw for non-existent user")
-    void togglePostLike_shouldThrowForNonExistentUser() {
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+    @DisplayName("togglePostLike should leave the counter alone when a concurrent unlike removed the like first")
+    void togglePostLike_shouldNotDecrementTwice() {
+        Post post = Post.builder().id(1L).type(PostType.ARTICLE).title("Test").build();
 
-        assertThrows(IllegalArgumentException.class, () -> likeService.togglePostLike(1L, 1L));
+        when(rowInserter.insertIfAbsent(eq(Like.class), eq("likes"), anyMap())).thenReturn(Optional.empty());
+        when(likeRepository.deleteByUserIdAndPostId(1L, 1L)).thenReturn(0);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+
+        likeService.togglePostLike(1L, 1L);
+
+        verify(likeRepository, never()).decrementPostLikeCount(any());
+        verify(hotRankingService, never()).retract(any(), any(), any());
     }
 
     @Test
     @DisplayName("togglePostLike should throw for non-existent post")
     void togglePostLike_shouldThrowForNonExistentPost() {
-        User user = User.builder().id(1L).username("user").build();
-
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(postRepository.findById(1L)).thenReturn(Optional.empty());
+        when(rowInserter.insertIfAbsent(eq(Like.class), eq("likes"), anyMap()))
+                .thenThrow(new DataIntegrityViolationException("fk_likes_post"));
 
         assertThrows(IllegalArgumentException.class, () -> likeService.togglePostLike(1L, 1L));
+        verify(likeRepository, never()).incrementPostLikeCount(any());
     }
 
     @Test
@@ -0,0 +1,137 @@
+package com.synapse.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.synapse.entity.NotificationType;
+import com.synapse.entity.PostType;
+import com.synapse.repository.BookmarkRepository;
+import com.synapse.repository.CommentLikeRepository;
+import com.synapse.repository.CommentRepository;
+import com.synapse.repository.FollowRepository;
+import com.synapse.repository.LikeRepository;
+import com.synapse.repository.NotificationRepository;
+import com.synapse.repository.PostRepository;
+import com.synapse.repository.TagRepository;
+import com.synapse.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MetricsService Tests")
+class MetricsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private LikeRepository likeRepository;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private FollowRepository followRepository;
+
+    @Mock
+    private BookmarkRepository bookmarkRepository;
+
+    @Mock
+    private CommentLikeRepository commentLikeRepository;
+
+    @Mock
+    private TagRepository tagRepository;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    // Gauges only hold their service weakly
+    private MetricsService service;
+
+    private void metrics(MetricsSnapshotStore store, JobLease jobLease) {
+        service = new MetricsService(registry, userRepository, postRepository, commentRepository,
+                likeRepository, notificationRepository, followRepository, bookmarkRepository,
+                commentLikeRepository, tagRepository, store, jobLease, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "refreshIntervalMs", 60_000L);
+    }
+
+    private double gauge(String name) {
+        return registry.get(name).gauge().value();
+    }
+
+    private double gauge(String name, String type) {
+        return registry.get(name).tag("type", type).gauge().value();
+    }
+
+    @Test
+    @DisplayName("scrapes should read the snapshot without querying the database")
+    void gauges_shouldServeSnapshot() {
+        when(userRepository.count()).thenReturn(7L);
+        when(postRepository.countByTypeAndPrivacy()).thenReturn(List.of(
+                new Object[] {PostType.ARTICLE, false, 3L},
+                new Object[] {PostType.ARTICLE, true, 1L},
+                new Object[] {PostType.MOMENT, false, 2L}));
+        when(notificationRepository.countByTypeAndReadState()).thenReturn(List.of(
+                new Object[] {NotificationType.LIKE, false, 4L},
+                new Object[] {NotificationType.LIKE, true, 5L}));
+        metrics(new InMemoryMetricsSnapshotStore(), new InMemoryJobLease());
+
+        assertTrue(Double.isNaN(gauge("synapse.users.total")));
+        assertTrue(service.refresh());
+
+        for (int scrape = 0; scrape < 3; scrape++) {
+            assertEquals(7, gauge("synapse.users.total"));
+            assertEquals(6, gauge("synapse.posts.total"));
+            assertEquals(1, gauge("synapse.posts.private"));
+            assertEquals(4, gauge("synapse.posts.by_type", "article"));
+            assertEquals(0, gauge("synapse.posts.by_type", "snippet"));
+            assertEquals(9, gauge("synapse.notifications.total"));
+            assertEquals(4, gauge("synapse.notifications.unread"));
+            assertEquals(9, gauge("synapse.notifications.by_type", "like"));
+            assertEquals(0, gauge("synapse.likes.total"));
+        }
+        verify(userRepository).count();
+        verify(postRepository).countByTypeAndPrivacy();
+        verifyNoMoreInteractions(userRepository, postRepository);
+        assertTrue(gauge("synapse.metrics.snapshot.age") < 60);
+    }
+
+    @Test
+    @DisplayName("instances without the lease should export the published snapshot without counting")
+    void refresh_shouldOnlyCountOnLeaseHolder() {
+        MetricsSnapshotStore store = mock(MetricsSnapshotStore.class);
+        JobLease jobLease = mock(JobLease.class);
+        when(jobLease.acquire(eq("metrics"), anyString(), any())).thenReturn(false);
+        when(store.read()).thenReturn(Map.of("synapse.users.total", 42L));
+        metrics(store, jobLease);
+
+        assertFalse(service.refresh());
+
+        assertEquals(42, gauge("synapse.users.total"));
+        assertTrue(Double.isNaN(gauge("synapse.posts.total")));
+        verify(store, never()).publish(any());
+        verifyNoInteractions(userRepository, postRepository, notificationRepository);
+    }
+}
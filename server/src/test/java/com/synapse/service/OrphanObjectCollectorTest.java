@@ -0,0 +1,196 @@
+package com.synapse.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.synapse.entity.PostImage;
+import com.synapse.entity.StoredObject;
+import com.synapse.repository.AttachmentRepository;
+import com.synapse.repository.CommentRepository;
+import com.synapse.repository.PostRepository;
+import com.synapse.repository.StoredObjectRepository;
+import com.synapse.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.minio.ListObjectsArgs;
+import io.minio.MinioClient;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.messages.Item;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrphanObjectCollector Tests")
+class OrphanObjectCollectorTest {
+
+    private static final String REFERENCED = "11111111-1111-1111-1111-111111111111.png";
+    private static final String ORPHAN = "22222222-2222-2222-2222-222222222222.pdf";
+    private static final String YOUNG_ORPHAN = "33333333-3333-3333-3333-333333333333.png";
+    private static final String AVATAR = "44444444-4444-4444-4444-444444444444.jpg";
+    private static final String INLINE = "ab".repeat(32) + ".png";
+    private static final String COMMENT_VARIANT = "variants/" + "cd".repeat(32) + "/feed.jpg";
+
+    @Mock
+    private MinioClient minioClient;
+
+    @Mock
+    private AttachmentRepository attachmentRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private StoredObjectRepository storedObjectRepository;
+
+    @Mock
+    private JobLease lease;
+
+    private OrphanObjectCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        collector = new OrphanObjectCollector(minioClient, attachmentRepository, postRepository, commentRepository,
+                userRepository, storedObjectRepository, lease, mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(collector, "bucket", "test-bucket");
+        ReflectionTestUtils.setField(collector, "gracePeriodHours", 24L);
+        ReflectionTestUtils.setField(collector, "batchSize", 100);
+        ReflectionTestUtils.setField(collector, "batchPauseMs", 0L);
+        ReflectionTestUtils.setField(collector, "maxDeletesPerRun", 1000);
+        ReflectionTestUtils.setField(collector, "leaseMinutes", 30L);
+        // Lenient: a run without the lease reads none of this
+        lenient().when(lease.acquire(eq("storage-gc"), anyString(), any())).thenReturn(true);
+
+        lenient().when(attachmentRepository.streamAllStoredNames()).thenReturn(Stream.of());
+        lenient().when(postRepository.streamImageReferences()).thenReturn(Stream.<Object[]>of(
+                new Object[] {null, List.of(PostImage.of("http://minio/synapse/" + REFERENCED))}));
+        lenient().when(postRepository.streamContents()).thenReturn(Stream.of(
+                "Intro\n\n![](http://minio/synapse/" + INLINE + ")\n\nMore text"));
+        lenient().when(commentRepository.streamContents()).thenReturn(Stream.of(
+                "<img src=\"/synapse/" + COMMENT_VARIANT + "\">"));
+        lenient().when(userRepository.streamAvatarUrls()).thenReturn(Stream.of("http://minio/synapse/" + AVATAR));
+        lenient().when(storedObjectRepository.findObjectNamesUploadedSince(any())).thenReturn(List.of());
+
+        ZonedDateTime old = ZonedDateTime.now().minusDays(3);
+        List<Result<Item>> listing = new ArrayList<>();
+        listing.add(item(REFERENCED, old));
+        listing.add(item(ORPHAN, old));
+        listing.add(item(YOUNG_ORPHAN, ZonedDateTime.now()));
+        listing.add(item("variants/11111111-1111-1111-1111-111111111111/thumb.jpg", old));
+        listing.add(item("variants/22222222-2222-2222-2222-222222222222/thumb.jpg", old));
+        listing.add(item(AVATAR, old));
+        listing.add(item(INLINE, old));
+        listing.add(item(COMMENT_VARIANT, old));
+        listing.add(item("manual/backup.tar", old));
+        lenient().when(minioClient.listObjects(any(ListObjectsArgs.class))).thenReturn(listing);
+    }
+
+    private static Result<Item> item(String name, ZonedDateTime lastModified) {
+        Item item = mock(Item.class);
+        lenient().when(item.objectName()).thenReturn(name);
+        lenient().when(item.lastModified()).thenReturn(lastModified);
+        return new Result<>(item);
+    }
+
+    @Test
+    @DisplayName("run should remove only old, unreferenced uploads and their variants")
+    @SuppressWarnings("unchecked")
+    void run_shouldRemoveOrphans() {
+        ReflectionTestUtils.setField(collector, "dryRun", false);
+        when(minioClient.removeObjects(any(RemoveObjectsArgs.class))).thenReturn(List.of());
+
+        int found = collector.run();
+
+        ArgumentCaptor<Collection<String>> removed = ArgumentCaptor.forClass(Collection.class);
+        verify(storedObjectRepository).deleteByObjectNamesUploadedBefore(removed.capture(), any());
+        assertEquals(2, found);
+        assertEquals(Set.of(ORPHAN, "variants/22222222-2222-2222-2222-222222222222/thumb.jpg"),
+                Set.copyOf(removed.getValue()));
+        verify(minioClient).removeObjects(any(RemoveObjectsArgs.class));
+    }
+
+    @Test
+    @DisplayName("dry run should report orphans without deleting anything")
+    void run_shouldNotDeleteInDryRun() {
+        ReflectionTestUtils.setField(collector, "dryRun", true);
+
+        assertEquals(2, collector.run());
+        verify(minioClient, never()).removeObjects(any(RemoveObjectsArgs.class));
+        verify(storedObjectRepository, never()).deleteByObjectNamesUploadedBefore(any(), any());
+    }
+
+    @Test
+    @DisplayName("uploads linked only from post or comment bodies should survive a sweep")
+    @SuppressWarnings("unchecked")
+    void run_shouldKeepObjectsEmbeddedInContent() {
+        ReflectionTestUtils.setField(collector, "dryRun", false);
+        when(minioClient.removeObjects(any(RemoveObjectsArgs.class))).thenReturn(List.of());
+
+        collector.run();
+
+        ArgumentCaptor<Collection<String>> removed = ArgumentCaptor.forClass(Collection.class);
+        verify(storedObjectRepository).deleteByObjectNamesUploadedBefore(removed.capture(), any());
+        assertFalse(removed.getValue().contains(INLINE));
+        assertFalse(removed.getValue().contains(COMMENT_VARIANT));
+    }
+
+    @Test
+    @DisplayName("orphans whose content was uploaded again during the sweep should keep their object")
+    @SuppressWarnings("unchecked")
+    void run_shouldKeepObjectsUploadedAgain() {
+        String hash = "ef".repeat(32);
+        String reuploaded = hash + ".png";
+        List<Result<Item>> listing = new ArrayList<>();
+        listing.add(item(ORPHAN, ZonedDateTime.now().minusDays(3)));
+        listing.add(item(reuploaded, ZonedDateTime.now().minusDays(3)));
+        when(minioClient.listObjects(any(ListObjectsArgs.class))).thenReturn(listing);
+        when(storedObjectRepository.lockByContentHashIn(Set.of(hash))).thenReturn(List.of(StoredObject.builder()
+                .contentHash(hash).objectName(reuploaded).lastUploadedAt(Instant.now()).build()));
+        when(minioClient.removeObjects(any(RemoveObjectsArgs.class))).thenReturn(List.of());
+        ReflectionTestUtils.setField(collector, "dryRun", false);
+
+        collector.run();
+
+        ArgumentCaptor<Collection<String>> removed = ArgumentCaptor.forClass(Collection.class);
+        verify(storedObjectRepository).deleteByObjectNamesUploadedBefore(removed.capture(), any());
+        assertEquals(List.of(ORPHAN), List.copyOf(removed.getValue()));
+    }
+
+    @Test
+    @DisplayName("run should be skipped while another instance holds the lease")
+    void run_shouldSkipWithoutLease() {
+        when(lease.acquire(eq("storage-gc"), anyString(), any())).thenReturn(false);
+
+        assertEquals(-1, collector.run());
+        verify(minioClient, never()).listObjects(any(ListObjectsArgs.class));
+        verify(lease, never()).release(anyString(), anyString());
+    }
+}
@@ -0,0 +1,96 @@
+package com.synapse.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.synapse.entity.Post;
+import com.synapse.entity.PostImage;
+import com.synapse.entity.PostImagesConverter;
+import com.synapse.entity.PostType;
+import com.synapse.entity.StoredObject;
+import com.synapse.entity.User;
+import com.synapse.repository.PostRepository;
+import com.synapse.repository.StoredObjectRepository;
+import com.synapse.repository.UserRepository;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("dev")
+@DisplayName("PostImageBackfill Tests")
+class PostImageBackfillTest {
+
+    @Autowired
+    private PostImageBackfill backfill;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StoredObjectRepository storedObjectRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User author;
+
+    @BeforeEach
+    void setUp() {
+        String name = "backfill-" + UUID.randomUUID().toString().substring(0, 8);
+        author = userRepository.save(User.builder()
+                .username(name).password("secret").email(name + "@example.com").build());
+    }
+
+    private Post createPost(List<PostImage> images) {
+        return postRepository.save(Post.builder().type(PostType.MOMENT).content("pictures").images(images)
+                .user(author).build());
+    }
+
+    private String rawImages(Long postId) {
+        return jdbcTemplate.queryForObject("SELECT images FROM posts WHERE id = ?", String.class, postId);
+    }
+
+    @Test
+    @DisplayName("legacy URL arrays should be rewritten with recorded sizes and a new version")
+    void run_shouldRewriteLegacyRows() {
+        String hash = UUID.randomUUID().toString().replace("-", "").repeat(2);
+        String uploaded = "http://minio/synapse/" + hash + ".png";
+        String external = "https://example.com/cat.gif";
+        storedObjectRepository.save(StoredObject.builder().contentHash(hash).objectName(hash + ".png")
+                .size(1L).width(800).height(600).build());
+        Post post = createPost(null);
+        jdbcTemplate.update("UPDATE posts SET images = ? WHERE id = ?",
+                "[\"" + uploaded + "\",\"" + external + "\"]", post.getId());
+        assertThat(PostImagesConverter.isLegacy(rawImages(post.getId()))).isTrue();
+
+        assertThat(backfill.run()).isEqualTo(1);
+
+        Post rewritten = postRepository.findById(post.getId()).orElseThrow();
+        assertThat(rewritten.getImages())
+                .containsExactly(new PostImage(uploaded, 800, 600), PostImage.of(external));
+        assertThat(rewritten.getVersion()).isEqualTo(post.getVersion() + 1);
+        assertThat(PostImagesConverter.isLegacy(rawImages(post.getId()))).isFalse();
+        assertThat(backfill.run()).isZero();
+    }
+
+    @Test
+    @DisplayName("rows already in the typed format should be left alone")
+    void run_shouldSkipTypedRows() {
+        Post post = createPost(List.of(new PostImage("/uploads/a.png", 10, 20)));
+
+        backfill.run();
+
+        Post unchanged = postRepository.findById(post.getId()).orElseThrow();
+        assertThat(unchanged.getVersion()).isEqualTo(post.getVersion());
+        assertThat(unchanged.getImages()).containsExactly(new PostImage("/uploads/a.png", 10, 20));
+    }
+}
@@ -1,15 +1,15 @@
 package com.synapse.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.synapse.dto.CreatePostRequest;
 import com.synapse.dto.PostDto;
 import com.synapse.dto.UpdatePostRequest;
 import com.synapse.entity.Post;
+import com.synapse.entity.PostImage;
 import com.synapse.entity.PostType;
 import com.synapse.entity.Tag;
 import com.synapse.entity.User;
+import com.synapse.repository.PostCard;
 import com.synapse.repository.PostRepository;
-import com.synapse.repository.TagRepository;
 import com.synapse.repository.UserRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -21,8 +21,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -42,32 +44,44 @@ class PostServiceTest {
     private PostRepository postRepository;
 
     @Mock
-    private TagRepository tagRepository;
+    private TagResolver tagResolver;
 
     @Mock
     private UserRepository userRepository;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private TimelineFanout timelineFanout;
+
+    @Mock
+    private HotRankingService hotRankingService;
+
+    @Mock
+    private TagCounterService tagCounterService;
+
+    @Mock
+    private PostCardAssembler postCardAssembler;
+
+    @Mock
+    private StoredObjectService storedObjectService;
 
     @InjectMocks
     private PostService postService;
 
+    private static PostCard card(Long id, PostType type, String title) {
+        return new PostCard(id, type, title, null, null, null, null, null, 1L, 0, false, Instant.now());
+    }
+
+    // What the assembler makes of the cards, minus authors, tags and attachments
+    private static Page<PostDto> dtos(Page<PostCard> cards) {
+        return cards.map(card -> PostDto.builder().id(card.id()).type(card.type()).title(card.title()).build());
+    }
+
     @Test
     @DisplayName("getPosts should return all posts when no filters")
     void getPosts_shouldReturnAllPosts() {
-        User user = User.builder().id(1L).username("user").build();
-        Post post = Post.builder()
-                .id(1L)
-                .type(PostType.ARTICLE)
-                .title("Test Post")
-                .content("Content")
-                .user(user)
-                .tags(new HashSet<>())
-                .build();
-
-        when(postRepository.findAllByOrderByCreatedAtDesc(PageRequest.of(0, 10)))
-                .thenReturn(new PageImpl<>(List.of(post)));
+        Page<PostCard> cards = new PageImpl<>(List.of(card(1L, PostType.ARTICLE, "Test Post")));
+        when(postRepository.findFeedCards(null, null, null, PageRequest.of(0, 10))).thenReturn(cards);
+        when(postCardAssembler.toDtos(cards)).thenReturn(dtos(cards));
 
         Page<PostDto> result = postService.getPosts(null, null, PageRequest.of(0, 10));
 
@@ -78,18 +92,9 @@ class PostServiceTest {
     @Test
     @DisplayName("getPosts should filter by type")
     void getPosts_shouldFilterByType() {
-        User user = User.builder().id(1L).username("user").build();
-        Post post = Post.builder()
-                .id(1L)
-                .type(PostType.SNIPPET)
-                .title("Test Snippet")
-                .content("code")
-                .user(user)
-                .tags(new HashSet<>())
-                .build();
-
-        when(postRepository.findByTypeOrderByCreatedAtDesc(PostType.SNIPPET, PageRequest.of(0, 10)))
-                .thenReturn(new PageImpl<>(List.of(post)));
+        Page<PostCard> cards = new PageImpl<>(List.of(card(1L, PostType.SNIPPET, "Test Snippet")));
+        when(postRepository.findFeedCards(null, PostType.SNIPPET, null, PageRequest.of(0, 10))).thenReturn(cards);
+        when(postCardAssembler.toDtos(cards)).thenReturn(dtos(cards));
 
         Page<PostDto> result = postService.getPosts(null, PostType.SNIPPET, PageRequest.of(0, 10));
 
@@ -143,6 +148,30 @@ class PostServiceTest {
         assertNull(result.getContent());
     }
 
+    @Test
+    @DisplayName("getPost should hide image variants of a private post from non-owners")
+    void getPost_shouldHideImageVariantsForPrivatePost() {
+        User owner = User.builder().id(1L).username("owner").build();
+        Post post = Post.builder()
+                .id(1L)
+                .type(PostType.MOMENT)
+                .content("Secret content")
+                .user(owner)
+                .tags(new HashSet<>())
+                .images(List.of(new PostImage(
+                        "http://localhost:9000/synapse/123e4567-e89b-12d3-a456-426614174000.jpg", 800, 600)))
+                .isPrivate(true)
+                .build();
+
+        when(postRepository.findWithDetailsById(1L)).thenReturn(Optional.of(post));
+
+        PostDto result = postService.getPost(1L, 2L);
+
+        assertNull(result.getImages());
+        assertNull(result.getImageVariants());
+        assertNull(result.getImageSizes());
+    }
+
     @Test
     @DisplayName("getPost should throw for non-existent post")
     void getPost_shouldThrowForNonExistentPost() {
@@ -213,7 +242,7 @@ class PostServiceTest {
         request.setTags(List.of("java"));
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(tagRepository.findByName("java")).thenReturn(Optional.of(javaTag));
+        when(tagResolver.resolve(List.of("java"))).thenReturn(Set.of(javaTag));
         when(postRepository.save(any(Post.class))).thenAnswer(invocation -> {
             Post p = invocation.getArgument(0);
             p.setId(1L);
@@ -275,6 +304,7 @@ class PostServiceTest {
         postService.deletePost(1L, 1L);
 
         verify(postRepository).delete(post);
+        verify(timelineFanout).postDeleted(1L, 1L);
     }
 
     @Test
@@ -310,7 +340,7 @@ class PostServiceTest {
         UpdatePostRequest request = new UpdatePostRequest();
         request.setTitle("New Title");
 
-        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(postRepository.findForUpdateById(1L)).thenReturn(Optional.of(post));
         when(postRepository.save(any(Post.class))).thenReturn(post);
 
         PostDto result = postService.updatePost(1L, 1L, request);
@@ -334,7 +364,7 @@ class PostServiceTest {
         UpdatePostRequest request = new UpdatePostRequest();
         request.setTitle("New Title");
 
-        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(postRepository.findForUpdateById(1L)).thenReturn(Optional.of(post));
 
         assertThrows(IllegalArgumentException.class, () -> postService.updatePost(1L, 2L, request));
     }
@@ -342,21 +372,25 @@ class PostServiceTest {
     @Test
     @DisplayName("searchPosts should search by keyword")
     void searchPosts_shouldSearchByKeyword() {
-        User user = User.builder().id(1L).username("user").build();
-        Set<Tag> tags = new HashSet<>();
-        Post post = Post.builder()
-                .id(1L)
-                .type(PostType.ARTICLE)
-                .title("Java Tutorial")
-                .content("Learn Java programming")
-                .user(user)
-                .tags(tags)
-                .build();
+        Page<PostCard> cards = new PageImpl<>(List.of(card(1L, PostType.ARTICLE, "Java Tutorial")));
+        when(postRepository.searchCards("java", null, PageRequest.of(0, 10))).thenReturn(cards);
+        when(postCardAssembler.toDtos(cards)).thenReturn(dtos(cards));
+
+        Page<PostDto> result = postService.searchPosts(" java ", null, null, PageRequest.of(0, 10));
+
+        assertEquals(1, result.getContent().size());
+    }
 
-        when(postRepository.searchByKeyword("java", PageRequest.of(0, 10)))
-                .thenReturn(new PageImpl<>(List.of(post)));
+    @Test
+    @DisplayName("searchPosts should match any of the given tags, ignoring blank and repeated names")
+    void searchPosts_shouldSearchByAnyTag() {
+        Page<PostCard> cards = new PageImpl<>(List.of(card(1L, PostType.MOMENT, "Tagged")));
+        when(postRepository.searchCardsWithAnyTag("java", List.of("a", "b"), PostType.MOMENT, PageRequest.of(0, 10)))
+                .thenReturn(cards);
+        when(postCardAssembler.toDtos(cards)).thenReturn(dtos(cards));
 
-        Page<PostDto> result = postService.searchPosts("java", null, null, PageRequest.of(0, 10));
+        Page<PostDto> result = postService.searchPosts("java", List.of("a", " ", "b", "a"), PostType.MOMENT,
+                PageRequest.of(0, 10));
 
         assertEquals(1, result.getContent().size());
     }
@@ -364,19 +398,9 @@ class PostServiceTest {
     @Test
     @DisplayName("searchPosts should handle empty keyword")
     void searchPosts_shouldHandleEmptyKeyword() {
-        User user = User.builder().id(1L).username("user").build();
-        Set<Tag> tags = new HashSet<>();
-        Post post = Post.builder()
-                .id(1L)
-                .type(PostType.ARTICLE)
-                .title("Test")
-                .content("Content")
-                .user(user)
-                .tags(tags)
-                .build();
-
-        when(postRepository.findAllByOrderByCreatedAtDesc(PageRequest.of(0, 10)))
-                .thenReturn(new PageImpl<>(List.of(post)));
+        Page<PostCard> cards = new PageImpl<>(List.of(card(1L, PostType.ARTICLE, "Test")));
+        when(postRepository.findFeedCards(null, null, null, PageRequest.of(0, 10))).thenReturn(cards);
+        when(postCardAssembler.toDtos(cards)).thenReturn(dtos(cards));
 
         Page<PostDto> result = postService.searchPosts("", null, null, PageRequest.of(0, 10));
 
@@ -384,8 +408,8 @@ class PostServiceTest {
     }
 
     @Test
-    @DisplayName("createPost should create new tags when not exist")
-    void createPost_shouldCreateNewTags() {
+    @DisplayName("createPost should attach the tags resolved for its names")
+    void createPost_shouldResolveTags() {
         User user = User.builder().id(1L).username("user").build();
         Tag newTag = Tag.builder().id(1L).name("python").build();
 
@@ -396,8 +420,7 @@ class PostServiceTest {
         request.setTags(List.of("python"));
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(tagRepository.findByName("python")).thenReturn(Optional.empty());
-        when(tagRepository.save(any(Tag.class))).thenReturn(newTag);
+        when(tagResolver.resolve(List.of("python"))).thenReturn(Set.of(newTag));
         when(postRepository.save(any(Post.class))).thenAnswer(invocation -> {
             Post p = invocation.getArgument(0);
             p.setId(1L);
@@ -407,6 +430,32 @@ class PostServiceTest {
         PostDto result = postService.createPost(1L, request);
 
         assertNotNull(result);
-        verify(tagRepository).save(any(Tag.class));
+        assertEquals("python", result.getTags().get(0).getName());
+        verify(tagResolver).resolve(List.of("python"));
+    }
+
+    @Test
+    @DisplayName("createPost should store images with the sizes recorded at upload")
+    void createPost_shouldStoreImageSizes() {
+        User user = User.builder().id(1L).username("user").build();
+        String uploaded = "http://minio/synapse/" + "a".repeat(64) + ".png";
+        String external = "https://example.com/cat.gif";
+
+        CreatePostRequest request = new CreatePostRequest();
+        request.setType(PostType.MOMENT);
+        request.setContent("Look");
+        request.setImages(List.of(uploaded, external));
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(storedObjectService.describeImages(List.of(uploaded, external)))
+                .thenReturn(Map.of(uploaded, new PostImage(uploaded, 640, 480)));
+        when(postRepository.save(any(Post.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        PostDto result = postService.createPost(1L, request);
+
+        assertEquals(List.of(uploaded, external), result.getImages());
+        assertEquals(640, result.getImageSizes().get(0).getWidth());
+        assertNull(result.getImageSizes().get(1));
+        assertNotNull(result.getImageVariants().get(0));
     }
 }
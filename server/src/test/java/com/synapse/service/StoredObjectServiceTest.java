@@ -0,0 +1,136 @@
+package com.synapse.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.synapse.entity.StoredObject;
+import com.synapse.repository.StoredObjectRepository;
+import com.synapse.util.FileUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Optional;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StoredObjectService Tests")
+class StoredObjectServiceTest {
+
+    @Mock
+    private FileUtil fileUtil;
+
+    @Mock
+    private StoredObjectRepository storedObjectRepository;
+
+    @Mock
+    private ImageVariantService imageVariantService;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private StoredObjectService service;
+
+    private final MockMultipartFile file =
+            new MockMultipartFile("file", "Meme.JPG", "image/jpeg", "same bytes".getBytes());
+    private String hash;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new StoredObjectService(fileUtil, storedObjectRepository, imageVariantService, registry);
+        hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest("same bytes".getBytes()));
+        Mockito.lenient().when(fileUtil.getExtension("Meme.JPG")).thenReturn(".JPG");
+    }
+
+    @Test
+    @DisplayName("new content should be uploaded under its hash and registered")
+    void saveImage_shouldUploadNewContent() {
+        when(storedObjectRepository.findByContentHash(hash)).thenReturn(Optional.empty());
+
+        String objectName = service.saveImage(file);
+
+        assertEquals(hash + ".jpg", objectName);
+        verify(fileUtil).validateFile(file);
+        verify(fileUtil).upload(file, hash + ".jpg");
+        verify(storedObjectRepository).saveAndFlush(any(StoredObject.class));
+        verify(imageVariantService).enqueue(hash + ".jpg");
+    }
+
+    @Test
+    @DisplayName("duplicate content should reuse the existing object without writing to storage")
+    void saveImage_shouldShortCircuitDuplicates() {
+        StoredObject existing = StoredObject.builder().contentHash(hash).objectName(hash + ".jpeg").build();
+        when(storedObjectRepository.findByContentHash(hash)).thenReturn(Optional.of(existing));
+        when(storedObjectRepository.touchUploadedAt(eq(hash), any())).thenReturn(1);
+
+        String objectName = service.saveImage(file);
+
+        assertEquals(hash + ".jpeg", objectName);
+        verify(fileUtil, never()).upload(any(MultipartFile.class), anyString());
+        verify(imageVariantService, never()).enqueue(anyString());
+        assertEquals(1.0, registry.get("synapse.storage.dedupe").tag("result", "hit").counter().count());
+        assertEquals(file.getSize(), registry.get("synapse.storage.dedupe.bytes.saved").functionCounter().count());
+        assertEquals(1.0, registry.get("synapse.storage.dedupe.hit.ratio").gauge().value());
+    }
+
+    @Test
+    @DisplayName("losing an insert race should share the winner's record")
+    void saveAttachment_shouldShareRecordAfterRace() {
+        StoredObject winner = StoredObject.builder().contentHash(hash).objectName(hash + ".jpg").build();
+        when(storedObjectRepository.findByContentHash(hash))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(winner));
+        when(storedObjectRepository.saveAndFlush(any(StoredObject.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        assertEquals(hash + ".jpg", service.saveAttachment(file));
+        verify(storedObjectRepository).touchUploadedAt(eq(hash), any());
+    }
+
+    @Test
+    @DisplayName("invalid files should be rejected before hashing")
+    void saveImage_shouldValidateFirst() {
+        Mockito.doThrow(new IllegalArgumentException("bad")).when(fileUtil).validateFile(file);
+
+        assertThrows(IllegalArgumentException.class, () -> service.saveImage(file));
+        verify(storedObjectRepository, never()).findByContentHash(anyString());
+        assertTrue(registry.get("synapse.storage.dedupe").counters().stream().allMatch(c -> c.count() == 0));
+    }
+
+    @Test
+    @DisplayName("new images should be registered with their pixel size")
+    void saveImage_shouldRecordImageSize() throws Exception {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(64, 48, BufferedImage.TYPE_INT_RGB), "png", png);
+        MockMultipartFile image = new MockMultipartFile("file", "shot.png", "image/png", png.toByteArray());
+        when(fileUtil.getExtension("shot.png")).thenReturn(".png");
+        when(storedObjectRepository.findByContentHash(anyString())).thenReturn(Optional.empty());
+
+        service.saveImage(image);
+        service.saveAttachment(file);
+
+        ArgumentCaptor<StoredObject> saved = ArgumentCaptor.forClass(StoredObject.class);
+        verify(storedObjectRepository, Mockito.times(2)).saveAndFlush(saved.capture());
+        assertEquals(64, saved.getAllValues().get(0).getWidth());
+        assertEquals(48, saved.getAllValues().get(0).getHeight());
+        assertNull(saved.getAllValues().get(1).getWidth());
+    }
+}
@@ -0,0 +1,142 @@
+package com.synapse.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.synapse.dto.CreatePostRequest;
+import com.synapse.dto.PostDto;
+import com.synapse.dto.UpdatePostRequest;
+import com.synapse.entity.PostType;
+import com.synapse.dto.TagDto;
+import com.synapse.entity.Tag;
+import com.synapse.entity.TagCounter;
+import com.synapse.entity.User;
+import com.synapse.repository.TagCounterRepository;
+import com.synapse.repository.TagRepository;
+import com.synapse.repository.UserRepository;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("dev")
+@DisplayName("TagCounterService Tests")
+class TagCounterServiceTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private TagCounterService tagCounterService;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private TagCounterRepository tagCounterRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User author;
+    private String suffix;
+
+    @BeforeEach
+    void setUp() {
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+        author = userRepository.save(User.builder()
+                .username("tags-" + suffix).password("secret").email("tags-" + suffix + "@example.com").build());
+    }
+
+    private String tag(String name) {
+        return name + "-" + suffix;
+    }
+
+    private TagCounter counter(String name) {
+        return tagCounterRepository.findById(tagRepository.findByName(tag(name)).orElseThrow().getId()).orElseThrow();
+    }
+
+    private long[] counts(String name) {
+        TagCounter counter = counter(name);
+        return new long[] {counter.getPostCount(), counter.getRecentPostCount()};
+    }
+
+    private PostDto create(String... tags) {
+        CreatePostRequest request = new CreatePostRequest();
+        request.setType(PostType.MOMENT);
+        request.setContent("tagged");
+        request.setTags(List.of(tags));
+        return postService.createPost(author.getId(), request);
+    }
+
+    @Test
+    @DisplayName("creating, retagging and deleting posts should keep tag counters in step")
+    void postWrites_shouldAdjustCounters() {
+        PostDto first = create(tag("a"), tag("b"));
+        create(tag("b"));
+
+        assertThat(first.getTags()).extracting(TagDto::getPostCount).containsOnlyNulls();
+
+        assertThat(counts("a")).containsExactly(1, 1);
+        assertThat(counts("b")).containsExactly(2, 2);
+
+        UpdatePostRequest update = new UpdatePostRequest();
+        update.setTags(List.of(tag("b"), tag("c")));
+        postService.updatePost(first.getId(), author.getId(), update);
+
+        assertThat(counts("a")).containsExactly(0, 0);
+        assertThat(counts("b")).containsExactly(2, 2);
+        assertThat(counts("c")).containsExactly(1, 1);
+
+        postService.deletePost(first.getId(), author.getId());
+
+        assertThat(counts("b")).containsExactly(1, 1);
+        assertThat(counts("c")).containsExactly(0, 0);
+    }
+
+    @Test
+    @DisplayName("popular tags should be read from the counters, highest first")
+    void findPopularTags_shouldOrderByCounter() {
+        create(tag("x"), tag("y"));
+        create(tag("y"));
+        Tag x = tagRepository.findByName(tag("x")).orElseThrow();
+        Tag y = tagRepository.findByName(tag("y")).orElseThrow();
+
+        List<Object[]> popular = tagCounterRepository.findPopular(PageRequest.of(0, 1000));
+
+        assertThat(popular).extracting(row -> ((Tag) row[0]).getId()).containsSubsequence(y.getId(), x.getId());
+        assertThat(popular).allMatch(row -> ((TagCounter) row[1]).getPostCount() > 0);
+    }
+
+    @Test
+    @DisplayName("reconcile should restore counters that drifted from post_tags")
+    void reconcile_shouldFixDrift() {
+        create(tag("d"));
+        TagCounter drifted = counter("d");
+        drifted.setPostCount(99L);
+        drifted.setRecentPostCount(0L);
+        tagCounterRepository.save(drifted);
+
+        assertThat(tagCounterService.reconcile()).isGreaterThanOrEqualTo(1);
+
+        assertThat(counts("d")).containsExactly(1, 1);
+        assertThat(tagCounterService.reconcile()).isZero();
+    }
+
+    @Test
+    @DisplayName("reconcile should create the counters of tags written without one")
+    void reconcile_shouldCreateMissingCounters() {
+        Tag seeded = tagRepository.save(Tag.builder().name(tag("seeded")).build());
+        create(tag("seeded"));
+        assertThat(tagCounterRepository.findById(seeded.getId())).isEmpty();
+
+        assertThat(tagCounterService.reconcile()).isGreaterThanOrEqualTo(1);
+
+        assertThat(counts("seeded")).containsExactly(1, 1);
+    }
+}
@@ -0,0 +1,106 @@
+package com.synapse.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.synapse.entity.Tag;
+import com.synapse.repository.TagRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@ActiveProfiles("dev")
+@DisplayName("TagResolver Tests")
+class TagResolverTest {
+
+    @Autowired
+    private TagResolver tagResolver;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private String suffix;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private String name(String base) {
+        return base + "-" + suffix;
+    }
+
+    private Set<Tag> resolve(String... names) {
+        return transaction.execute(status -> tagResolver.resolve(Arrays.asList(names)));
+    }
+
+    @Test
+    @DisplayName("resolve should return existing tags and create missing ones once")
+    void resolve_shouldCreateMissingTags() {
+        Tag existing = tagRepository.save(Tag.builder().name(name("old")).build());
+
+        Set<Tag> tags = resolve(name("old"), " " + name("new") + " ", name("new"), "  ", null);
+
+        assertThat(tags).extracting(Tag::getName).containsExactlyInAnyOrder(name("old"), name("new"));
+        assertThat(tags).extracting(Tag::getId).contains(existing.getId());
+        assertThat(tagRepository.findByNameIn(List.of(name("new")))).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("resolve should serve known tags from its cache")
+    void resolve_shouldCacheKnownTags() {
+        resolve(name("cached"));
+        jdbcTemplate.update("UPDATE tags SET icon = 'x' WHERE name = ?", name("cached"));
+
+        Tag tag = resolve(name("cached")).iterator().next();
+
+        assertThat(tag.getIcon()).isNull();
+    }
+
+    @Test
+    @DisplayName("concurrent posts introducing the same tag should share one row")
+    void resolve_shouldNotRaceOnNewNames() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Set<Tag>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 4; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return resolve(name("race"));
+                }));
+            }
+            start.countDown();
+            for (Future<Set<Tag>> result : results) {
+                assertThat(result.get()).extracting(Tag::getName).containsExactly(name("race"));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(tagRepository.findByNameIn(List.of(name("race")))).hasSize(1);
+    }
+}
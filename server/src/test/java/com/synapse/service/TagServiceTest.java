@@ -2,6 +2,8 @@ package com.synapse.service;
 
 import com.synapse.dto.TagDto;
 import com.synapse.entity.Tag;
+import com.synapse.entity.TagCounter;
+import com.synapse.repository.TagCounterRepository;
 import com.synapse.repository.TagRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -25,9 +27,19 @@ class TagServiceTest {
     @Mock
     private TagRepository tagRepository;
 
+    @Mock
+    private TagCounterRepository tagCounterRepository;
+
+    @Mock
+    private HotRankingService hotRankingService;
+
     @InjectMocks
     private TagService tagService;
 
+    private static Object[] row(Tag tag, long postCount) {
+        return new Object[] {tag, TagCounter.builder().tagId(tag.getId()).postCount(postCount).build()};
+    }
+
     @Test
     @DisplayName("getPopularTags should return limited list of popular tags")
     void getPopularTags_shouldReturnLimitedList() {
@@ -35,49 +47,50 @@ class TagServiceTest {
         Tag pythonTag = Tag.builder().id(2L).name("python").build();
         Tag javascriptTag = Tag.builder().id(3L).name("javascript").build();
 
-        when(tagRepository.findPopularTags(PageRequest.of(0, 10)))
-                .thenReturn(List.of(javaTag, pythonTag, javascriptTag));
+        when(tagCounterRepository.findPopular(PageRequest.of(0, 10)))
+                .thenReturn(List.of(row(javaTag, 3), row(pythonTag, 2), row(javascriptTag, 1)));
 
         List<TagDto> result = tagService.getPopularTags(10);
 
         assertNotNull(result);
         assertEquals(3, result.size());
         assertEquals("java", result.get(0).getName());
+        assertEquals(3L, result.get(0).getPostCount());
         assertEquals("python", result.get(1).getName());
-        verify(tagRepository).findPopularTags(PageRequest.of(0, 10));
+        verify(tagCounterRepository).findPopular(PageRequest.of(0, 10));
     }
 
     @Test
     @DisplayName("getPopularTags should clamp limit to minimum of 1")
     void getPopularTags_shouldClampLimitToMin() {
-        when(tagRepository.findPopularTags(PageRequest.of(0, 1)))
+        when(tagCounterRepository.findPopular(PageRequest.of(0, 1)))
                 .thenReturn(List.of());
 
         tagService.getPopularTags(0);
 
-        verify(tagRepository).findPopularTags(PageRequest.of(0, 1));
+        verify(tagCounterRepository).findPopular(PageRequest.of(0, 1));
     }
 
     @Test
     @DisplayName("getPopularTags should clamp limit to maximum of 50")
     void getPopularTags_shouldClampLimitToMax() {
-        when(tagRepository.findPopularTags(PageRequest.of(0, 50)))
+        when(tagCounterRepository.findPopular(PageRequest.of(0, 50)))
                 .thenReturn(List.of());
 
         tagService.getPopularTags(100);
 
-        verify(tagRepository).findPopularTags(PageRequest.of(0, 50));
+        verify(tagCounterRepository).findPopular(PageRequest.of(0, 50));
     }
 
     @Test
     @DisplayName("getPopularTags should handle negative limit")
     void getPopularTags_shouldHandleNegativeLimit() {
-        when(tagRepository.findPopularTags(PageRequest.of(0, 1)))
+        when(tagCounterRepository.findPopular(PageRequest.of(0, 1)))
                 .thenReturn(List.of());
 
         tagService.getPopularTags(-5);
 
-        verify(tagRepository).findPopularTags(PageRequest.of(0, 1));
+        verify(tagCounterRepository).findPopular(PageRequest.of(0, 1));
     }
 
     @Test
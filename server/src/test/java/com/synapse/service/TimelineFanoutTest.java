@@ -0,0 +1,103 @@
+package com.synapse.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.synapse.repository.FollowRepository;
+import com.synapse.repository.PostRepository;
+import com.synapse.repository.TimelineEntry;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("TimelineFanout Tests")
+class TimelineFanoutTest {
+
+    private final TimelineStore store = mock(TimelineStore.class);
+    private final FollowRepository followRepository = mock(FollowRepository.class);
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final TimelineEntry entry = new TimelineEntry(100L, Instant.parse("2026-01-01T00:00:00Z"));
+    private TimelineFanout fanout;
+
+    @BeforeEach
+    void setUp() {
+        // Runs work inline; no transaction is active, so nothing waits for a commit
+        fanout = new TimelineFanout(store, followRepository, postRepository, Runnable::run);
+        ReflectionTestUtils.setField(fanout, "celebrityFollowers", 1000L);
+        ReflectionTestUtils.setField(fanout, "batchSize", 2);
+        ReflectionTestUtils.setField(fanout, "followBackfill", 50);
+        when(store.isEnabled()).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("a new post should be pushed to the author and all followers in batches")
+    void postCreated_shouldPushToFollowersInBatches() {
+        when(followRepository.countByFollowingId(7L)).thenReturn(3L);
+        when(followRepository.findFollowerIdsAfter(7L, 0L, PageRequest.of(0, 2))).thenReturn(List.of(1L, 2L));
+        when(followRepository.findFollowerIdsAfter(7L, 2L, PageRequest.of(0, 2))).thenReturn(List.of(5L));
+        when(followRepository.findFollowerIdsAfter(7L, 5L, PageRequest.of(0, 2))).thenReturn(List.of());
+
+        fanout.postCreated(7L, entry);
+
+        verify(store).setCelebrity(7L, false);
+        verify(store).push(List.of(7L), List.of(entry));
+        verify(store).push(List.of(1L, 2L), List.of(entry));
+        verify(store).push(List.of(5L), List.of(entry));
+    }
+
+    @Test
+    @DisplayName("posts by authors over the celebrity threshold should not be fanned out")
+    void postCreated_shouldSkipCelebrities() {
+        when(followRepository.countByFollowingId(7L)).thenReturn(5000L);
+
+        fanout.postCreated(7L, entry);
+
+        verify(store).setCelebrity(7L, true);
+        verify(store, never()).push(anyList(), anyList());
+    }
+
+    @Test
+    @DisplayName("following someone should backfill their recent posts into an existing timeline")
+    void followed_shouldBackfillRecentPosts() {
+        when(store.exists(1L)).thenReturn(true);
+        when(store.celebrities()).thenReturn(Set.of());
+        when(postRepository.findTimelineEntries(List.of(7L), null, null, PageRequest.of(0, 50)))
+                .thenReturn(List.of(entry));
+
+        fanout.followed(1L, 7L);
+
+        verify(store).push(List.of(1L), List.of(entry));
+    }
+
+    @Test
+    @DisplayName("unfollowing should remove the author's posts from the follower's timeline")
+    void unfollowed_shouldRemoveAuthorsPosts() {
+        when(store.capacity()).thenReturn(800);
+        when(postRepository.findTimelineEntries(List.of(7L), null, null, PageRequest.of(0, 800)))
+                .thenReturn(List.of(entry));
+
+        fanout.unfollowed(1L, 7L);
+
+        verify(store).remove(List.of(1L), List.of(100L));
+    }
+
+    @Test
+    @DisplayName("nothing should be written when fan-out is disabled")
+    void postCreated_shouldDoNothingWhenDisabled() {
+        when(store.isEnabled()).thenReturn(false);
+
+        fanout.postCreated(7L, entry);
+
+        verify(followRepository, never()).countByFollowingId(any());
+        verify(store, never()).push(anyList(), anyList());
+    }
+}
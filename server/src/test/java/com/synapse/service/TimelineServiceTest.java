@@ -0,0 +1,149 @@
+package com.synapse.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.synapse.dto.PostDto;
+import com.synapse.dto.TimelinePageDto;
+import com.synapse.dto.UserStateDto;
+import com.synapse.entity.PostType;
+import com.synapse.repository.FollowRepository;
+import com.synapse.repository.LikeRepository;
+import com.synapse.repository.PostRepository;
+import com.synapse.repository.TimelineEntry;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TimelineService Tests")
+class TimelineServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    @Mock
+    private TimelineStore store;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private FollowRepository followRepository;
+
+    @Mock
+    private LikeRepository likeRepository;
+
+    @Mock
+    private PostCardAssembler postCardAssembler;
+
+    @InjectMocks
+    private TimelineService timelineService;
+
+    private static TimelineEntry entry(long postId, long minutesAgo) {
+        return new TimelineEntry(postId, NOW.minusSeconds(minutesAgo * 60));
+    }
+
+    // Cards as the assembler returns them: in the requested order, without the posts that are gone
+    private static List<PostDto> posts(long... ids) {
+        return Arrays.stream(ids)
+                .mapToObj(id -> PostDto.builder().id(id).type(PostType.MOMENT).content("post " + id)
+                        .userState(new UserStateDto(false)).build())
+                .toList();
+    }
+
+    @Test
+    @DisplayName("without fan-out the timeline should be read from followed users' posts in the database")
+    void getHomeTimeline_shouldPullFromDatabaseWhenFanoutDisabled() {
+        when(store.isEnabled()).thenReturn(false);
+        when(followRepository.findFollowingIds(1L)).thenReturn(List.of(2L));
+        when(postRepository.findTimelineEntries(List.of(2L, 1L), null, null, PageRequest.of(0, 2)))
+                .thenReturn(List.of(entry(11, 1), entry(10, 5)));
+        when(postCardAssembler.findByIds(List.of(11L, 10L))).thenReturn(posts(11, 10));
+        when(likeRepository.findLikedPostIds(1L, List.of(11L, 10L))).thenReturn(List.of(10L));
+
+        TimelinePageDto page = timelineService.getHomeTimeline(1L, null, 2);
+
+        assertEquals(List.of(11L, 10L), page.getPosts().stream().map(PostDto::getId).toList());
+        assertFalse(page.getPosts().get(0).getUserState().isLiked());
+        assertTrue(page.getPosts().get(1).getUserState().isLiked());
+        assertEquals(entry(10, 5).toCursor(), page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("a missing timeline should be rebuilt from non-celebrity authors and merged with celebrity posts")
+    void getHomeTimeline_shouldRebuildAndMergeCelebrities() {
+        when(store.isEnabled()).thenReturn(true);
+        when(store.capacity()).thenReturn(800);
+        when(store.celebrities()).thenReturn(Set.of(3L));
+        when(store.exists(1L)).thenReturn(false);
+        when(followRepository.findFollowingIds(1L)).thenReturn(List.of(2L, 3L));
+        List<TimelineEntry> pushed = List.of(entry(20, 2), entry(21, 10));
+        when(postRepository.findTimelineEntries(List.of(2L, 1L), null, null, PageRequest.of(0, 800)))
+                .thenReturn(pushed);
+        when(store.read(1L, null, 3)).thenReturn(pushed);
+        when(followRepository.findFollowingIdsIn(1L, Set.of(3L))).thenReturn(List.of(3L));
+        when(postRepository.findTimelineEntries(List.of(3L), null, null, PageRequest.of(0, 3)))
+                .thenReturn(List.of(entry(30, 1), entry(31, 5)));
+        when(postCardAssembler.findByIds(List.of(30L, 20L, 31L))).thenReturn(posts(30, 20, 31));
+
+        TimelinePageDto page = timelineService.getHomeTimeline(1L, null, 3);
+
+        verify(store).rebuild(1L, pushed);
+        assertEquals(List.of(30L, 20L, 31L), page.getPosts().stream().map(PostDto::getId).toList());
+    }
+
+    @Test
+    @DisplayName("deleted posts should be skipped and dropped from the stored timeline")
+    void getHomeTimeline_shouldDropDeletedPosts() {
+        TimelineEntry before = new TimelineEntry(50L, NOW);
+        when(store.isEnabled()).thenReturn(true);
+        when(store.celebrities()).thenReturn(Set.of());
+        when(store.exists(1L)).thenReturn(true);
+        when(store.read(1L, before, 5)).thenReturn(List.of(entry(40, 1), entry(41, 2)));
+        when(postCardAssembler.findByIds(List.of(40L, 41L))).thenReturn(posts(41));
+
+        TimelinePageDto page = timelineService.getHomeTimeline(1L, before.toCursor(), 5);
+
+        assertEquals(List.of(41L), page.getPosts().stream().map(PostDto::getId).toList());
+        assertNull(page.getNextCursor());
+        verify(store).remove(List.of(1L), List.of(40L));
+        verify(store, never()).rebuild(eq(1L), anyList());
+    }
+
+    @Test
+    @DisplayName("the database should be paged after the cursor's instant and post ID")
+    void getHomeTimeline_shouldPassKeysetCursorToDatabase() {
+        TimelineEntry before = new TimelineEntry(50L, NOW);
+        when(store.isEnabled()).thenReturn(false);
+        when(followRepository.findFollowingIds(1L)).thenReturn(List.of());
+        when(postRepository.findTimelineEntries(List.of(1L), NOW, 50L, PageRequest.of(0, 1)))
+                .thenReturn(List.of(new TimelineEntry(49L, NOW)));
+        when(postCardAssembler.findByIds(List.of(49L))).thenReturn(posts(49));
+
+        TimelinePageDto page = timelineService.getHomeTimeline(1L, before.toCursor(), 1);
+
+        assertEquals(new TimelineEntry(49L, NOW).toCursor(), page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("malformed cursors should be rejected")
+    void getHomeTimeline_shouldRejectMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> timelineService.getHomeTimeline(1L, "1767225600000", 5));
+    }
+}
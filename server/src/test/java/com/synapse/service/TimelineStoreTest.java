@@ -0,0 +1,97 @@
+package com.synapse.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.synapse.repository.TimelineEntry;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("TimelineStore Tests")
+class TimelineStoreTest {
+
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ZSetOperations<String, String> zset = mock(ZSetOperations.class);
+    private TimelineStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new TimelineStore(redis);
+        ReflectionTestUtils.setField(store, "maxSize", 800);
+        ReflectionTestUtils.setField(store, "ttlDays", 14L);
+        when(redis.opsForZSet()).thenReturn(zset);
+    }
+
+    /** Runs pipelined callbacks directly against the mocked template, answering EXISTS with {@code exists}. */
+    private void pipelineReturning(List<Object> exists) {
+        when(redis.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            SessionCallback<?> callback = invocation.getArgument(0);
+            callback.execute(redis);
+            return exists;
+        });
+    }
+
+    @Test
+    @DisplayName("push should only write to timelines that already exist and trim them to capacity")
+    void push_shouldSkipMissingTimelines() {
+        pipelineReturning(List.of(true, false));
+        TimelineEntry entry = new TimelineEntry(9L, Instant.ofEpochMilli(1_000));
+
+        int written = store.push(List.of(1L, 2L), List.of(entry));
+
+        assertEquals(1, written);
+        verify(zset).add("timeline:v2:1", Set.of(new DefaultTypedTuple<>("9", 1_000_000d)));
+        verify(zset).removeRange("timeline:v2:1", 0, -801);
+        verify(zset, never()).add(eq("timeline:v2:2"), anySet());
+    }
+
+    private static Set<TypedTuple<String>> tuples(double score, String... members) {
+        Set<TypedTuple<String>> tuples = new LinkedHashSet<>();
+        for (String member : members) {
+            tuples.add(new DefaultTypedTuple<>(member, score));
+        }
+        return tuples;
+    }
+
+    private static List<Long> ids(List<TimelineEntry> entries) {
+        return entries.stream().map(TimelineEntry::postId).toList();
+    }
+
+    @Test
+    @DisplayName("posts sharing an instant across a page boundary should each be read exactly once, by ID")
+    void read_shouldPageThroughTiesByPostId() {
+        // Redis orders equal scores by member string, so "9" comes before "12" in a reverse range
+        double tie = 2_000;
+        when(zset.reverseRangeByScoreWithScores("timeline:v2:1", Double.NEGATIVE_INFINITY,
+                Double.POSITIVE_INFINITY, 0, 3)).thenReturn(tuples(tie, "9", "7", "5"));
+        when(zset.rangeByScoreWithScores("timeline:v2:1", tie, tie))
+                .thenReturn(tuples(tie, "10", "12", "5", "7", "9"));
+        when(zset.reverseRangeByScoreWithScores("timeline:v2:1", Double.NEGATIVE_INFINITY, tie - 1, 0, 3))
+                .thenReturn(tuples(1_000, "3"));
+
+        List<TimelineEntry> first = store.read(1L, null, 3);
+        List<TimelineEntry> second = store.read(1L, first.get(2), 3);
+
+        assertEquals(List.of(12L, 10L, 9L), ids(first));
+        assertEquals(List.of(7L, 5L, 3L), ids(second));
+        assertEquals(Instant.ofEpochMilli(2), first.get(0).createdAt());
+    }
+}
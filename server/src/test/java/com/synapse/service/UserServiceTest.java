@@ -3,9 +3,9 @@ package com.synapse.service;
 import com.synapse.dto.PostDto;
 import com.synapse.dto.UpdateProfileRequest;
 import com.synapse.dto.UserDto;
-import com.synapse.entity.Post;
 import com.synapse.entity.PostType;
 import com.synapse.entity.User;
+import com.synapse.repository.PostCard;
 import com.synapse.repository.PostRepository;
 import com.synapse.repository.UserRepository;
 import org.junit.jupiter.api.DisplayName;
@@ -39,6 +39,9 @@ class UserServiceTest {
     @Mock
     private PostRepository postRepository;
 
+    @Mock
+    private PostCardAssembler postCardAssembler;
+
     @InjectMocks
     private UserService userService;
 
@@ -104,29 +107,16 @@ class UserServiceTest {
     @Test
     @DisplayName("getUserPosts should return paginated posts")
     void getUserPosts_shouldReturnPaginatedPosts() {
-        User user = User.builder()
-                .id(1L)
-                .username("testuser")
-                .build();
-        Post post1 = Post.builder()
-                .id(1L)
-                .type(PostType.ARTICLE)
-                .title("Test Post 1")
-                .content("Content 1")
-                .user(user)
-                .build();
-        Post post2 = Post.builder()
-                .id(2L)
-                .type(PostType.SNIPPET)
-                .title("Test Post 2")
-                .content("Content 2")
-                .user(user)
-                .build();
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<PostCard> cards = new PageImpl<>(List.of(
+                new PostCard(1L, PostType.ARTICLE, "Test Post 1", null, null, null, null, null, 1L, 0, false, null),
+                new PostCard(2L, PostType.SNIPPET, "Test Post 2", null, "Content 2", null, null, null, 1L, 0, false,
+                        null)));
+        Page<PostDto> posts = cards.map(card -> PostDto.builder().id(card.id()).title(card.title()).build());
 
         when(userRepository.existsById(1L)).thenReturn(true);
-        Pageable pageable = PageRequest.of(0, 10);
-        when(postRepository.findByUserIdOrderByCreatedAtDesc(1L, pageable))
-                .thenReturn(new PageImpl<>(List.of(post1, post2)));
+        when(postRepository.findFeedCards(null, null, 1L, pageable)).thenReturn(cards);
+        when(postCardAssembler.toDtos(cards)).thenReturn(posts);
 
         Page<PostDto> result = userService.getUserPosts(1L, pageable);
 
@@ -155,7 +145,7 @@ class UserServiceTest {
                 .build();
         UpdateProfileRequest request = new UpdateProfileRequest("New Name", null, null);
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findFreshById(1L)).thenReturn(Optional.of(user));
         when(userRepository.save(any(User.class))).thenReturn(user);
 
         UserDto result = userService.updateProfile(1L, request);
@@ -175,7 +165,7 @@ class UserServiceTest {
                 .build();
         UpdateProfileRequest request = new UpdateProfileRequest(null, "New bio", null);
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findFreshById(1L)).thenReturn(Optional.of(user));
         when(userRepository.save(any(User.class))).thenReturn(user);
 
         UserDto result = userService.updateProfile(1L, request);
@@ -194,7 +184,7 @@ class UserServiceTest {
                 .build();
         UpdateProfileRequest request = new UpdateProfileRequest(null, null, "new-avatar.jpg");
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findFreshById(1L)).thenReturn(Optional.of(user));
         when(userRepository.save(any(User.class))).thenReturn(user);
 
         UserDto result = userService.updateProfile(1L, request);
@@ -208,7 +198,7 @@ class UserServiceTest {
     void updateProfile_shouldThrowForNonExistentUser() {
         UpdateProfileRequest request = new UpdateProfileRequest("Name", null, null);
 
-        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+        when(userRepository.findFreshById(999L)).thenReturn(Optional.empty());
 
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
                 () -> userService.updateProfile(999L, request));
@@ -228,7 +218,7 @@ class UserServiceTest {
         UpdateProfileRequest request = new UpdateProfileRequest(
                 "New Name", "New bio", "new-avatar.jpg");
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findFreshById(1L)).thenReturn(Optional.of(user));
         when(userRepository.save(any(User.class))).thenReturn(user);
 
         UserDto result = userService.updateProfile(1L, request);
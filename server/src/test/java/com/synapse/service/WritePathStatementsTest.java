@@ -0,0 +1,248 @@
+package com.synapse.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.synapse.entity.Bookmark;
+import com.synapse.entity.Comment;
+import com.synapse.entity.Post;
+import com.synapse.entity.PostType;
+import com.synapse.entity.User;
+import com.synapse.repository.BookmarkRepository;
+import com.synapse.repository.CommentRepository;
+import com.synapse.repository.FollowRepository;
+import com.synapse.repository.PostRepository;
+import com.synapse.repository.UserRepository;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Counts the statements that liking, bookmarking and following send to the database: the row itself
+ * is written without reading the user, the target or an existing row first.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:write-paths")
+@ActiveProfiles("dev")
+@DisplayName("Write path statement counts")
+class WritePathStatementsTest {
+
+    private static final List<String> EXECUTED = Collections.synchronizedList(new ArrayList<>());
+    private static volatile boolean capturing;
+
+    @Autowired
+    private LikeService likeService;
+
+    @Autowired
+    private CommentLikeService commentLikeService;
+
+    @Autowired
+    private BookmarkService bookmarkService;
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private BookmarkRepository bookmarkRepository;
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User reader;
+    private User author;
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        reader = createUser("reader");
+        author = createUser("author");
+        post = postRepository.save(Post.builder().type(PostType.ARTICLE).title("Counted").content("body")
+                .user(author).build());
+        // Users are served from the second-level cache once read, as active users are in production
+        userRepository.findAllById(List.of(reader.getId(), author.getId()));
+    }
+
+    private User createUser(String prefix) {
+        String name = prefix + "-" + UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(User.builder()
+                .username(name).password("secret").email(name + "@example.com").build());
+    }
+
+    private <T> List<String> statementsOf(Supplier<T> work) {
+        EXECUTED.clear();
+        capturing = true;
+        try {
+            work.get();
+        } finally {
+            capturing = false;
+        }
+        // Sequence fetches are amortised over the generator's allocation size
+        return EXECUTED.stream().filter(sql -> !sql.startsWith("select next value for")).toList();
+    }
+
+    private static long count(List<String> statements, String prefix) {
+        return statements.stream().filter(sql -> sql.startsWith(prefix)).count();
+    }
+
+    private static long reading(List<String> statements, String table) {
+        return statements.stream()
+                .filter(sql -> sql.startsWith("select") && sql.contains(" from " + table + " "))
+                .count();
+    }
+
+    @Test
+    @DisplayName("liking a post should insert the like and move the counter without reading the like or user")
+    void togglePostLike_shouldWriteWithoutLookups() {
+        List<String> statements = statementsOf(() -> likeService.togglePostLike(reader.getId(), post.getId()));
+
+        assertThat(count(statements, "insert into likes")).isEqualTo(1);
+        assertThat(count(statements, "update posts")).isEqualTo(1);
+        assertThat(reading(statements, "likes")).isZero();
+        assertThat(reading(statements, "users")).isZero();
+        // The one read of the post feeds the returned count, ranking and the notification
+        assertThat(reading(statements, "posts")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("unliking a post should delete the like in one statement and report the new count")
+    void togglePostLike_shouldUnlikeOnSecondToggle() {
+        likeService.togglePostLike(reader.getId(), post.getId());
+
+        LikeService.ToggleResult result = likeService.togglePostLike(reader.getId(), post.getId());
+
+        assertThat(result.liked()).isFalse();
+        assertThat(result.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("liking a comment should take an insert, a counter update and a counter read")
+    void toggleCommentLike_shouldWriteWithoutLookups() {
+        Comment comment = commentRepository.save(Comment.builder().content("c").user(author).post(post)
+                .floor(1).build());
+
+        List<String> statements = statementsOf(() ->
+                commentLikeService.toggleCommentLike(reader.getId(), comment.getId()));
+
+        assertThat(statements).hasSize(3);
+        assertThat(count(statements, "insert into comment_likes")).isEqualTo(1);
+        assertThat(count(statements, "update comments")).isEqualTo(1);
+        assertThat(commentLikeService.toggleCommentLike(reader.getId(), comment.getId()).count()).isZero();
+    }
+
+    @Test
+    @DisplayName("bookmarking should insert without checking the user or an existing bookmark")
+    void addBookmark_shouldWriteWithoutLookups() {
+        List<String> statements = statementsOf(() -> bookmarkService.addBookmark(reader.getId(), post.getId()));
+
+        assertThat(count(statements, "insert into bookmarks")).isEqualTo(1);
+        assertThat(reading(statements, "bookmarks")).isZero();
+        assertThat(reading(statements, "users")).isZero();
+    }
+
+    @Test
+    @DisplayName("a stored bookmark should read back like one Hibernate wrote")
+    void addBookmark_shouldStoreRowHibernateCanRead() {
+        Instant before = Instant.now();
+        Long id = bookmarkService.addBookmark(reader.getId(), post.getId()).getId();
+
+        Bookmark stored = new TransactionTemplate(transactionManager).execute(status ->
+                bookmarkRepository.findById(id).orElseThrow());
+
+        assertThat(stored.getCreatedAt()).isBetween(before.minus(Duration.ofSeconds(1)), Instant.now());
+        assertThat(bookmarkService.isBookmarked(reader.getId(), post.getId())).isTrue();
+    }
+
+    @Test
+    @DisplayName("duplicate bookmarks and missing posts should be reported from the constraints")
+    void addBookmark_shouldReportConstraintViolations() {
+        bookmarkService.addBookmark(reader.getId(), post.getId());
+
+        assertThatThrownBy(() -> bookmarkService.addBookmark(reader.getId(), post.getId()))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Already bookmarked");
+        assertThatThrownBy(() -> bookmarkService.addBookmark(reader.getId(), Long.MAX_VALUE))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Post not found");
+    }
+
+    @Test
+    @DisplayName("following should insert without checking either user or an existing follow")
+    void followUser_shouldWriteWithoutLookups() {
+        List<String> statements = statementsOf(() -> followService.followUser(reader.getId(), author.getId()));
+
+        assertThat(count(statements, "insert into follows")).isEqualTo(1);
+        assertThat(reading(statements, "follows")).isZero();
+        assertThat(reading(statements, "users")).isZero();
+        assertThatThrownBy(() -> followService.followUser(reader.getId(), author.getId()))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Already following this user");
+        assertThat(followRepository.existsByFollowerIdAndFollowingId(reader.getId(), author.getId())).isTrue();
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? capturing(dataSource, DataSource.class, null) : bean;
+                }
+            };
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T capturing(T target, Class<T> type, String sql) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (sql != null && capturing && method.getName().startsWith("execute")) {
+                EXECUTED.add(sql.toLowerCase(Locale.ROOT).replaceAll("\\s+", " "));
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof Connection connection) {
+                return capturing(connection, Connection.class, null);
+            }
+            if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                return capturing(statement, PreparedStatement.class, (String) args[0]);
+            }
+            return result;
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+}
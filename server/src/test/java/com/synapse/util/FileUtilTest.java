@@ -38,7 +38,8 @@ class FileUtilTest {
 
     @BeforeEach
     void setUp() {
-        fileUtil = new FileUtil(minioClient);
+        fileUtil = new FileUtil(minioClient, mock(MultipartUploader.class));
+        ReflectionTestUtils.setField(fileUtil, "multipartThresholdMb", 8L);
         ReflectionTestUtils.setField(fileUtil, "bucket", TEST_BUCKET);
         ReflectionTestUtils.setField(fileUtil, "publicUrl", TEST_PUBLIC_URL);
     }
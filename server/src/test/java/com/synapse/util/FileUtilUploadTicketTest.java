@@ -0,0 +1,119 @@
+package com.synapse.util;
+
+import com.synapse.dto.UploadTicketDto;
+import io.minio.MinioClient;
+import io.minio.PostPolicy;
+import io.minio.RemoveObjectArgs;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FileUtil Upload Ticket Tests")
+class FileUtilUploadTicketTest {
+
+    @Mock
+    private MinioClient minioClient;
+
+    private FileUtil fileUtil;
+
+    private static final String TEST_BUCKET = "test-bucket";
+    private static final String TEST_PUBLIC_URL = "http://localhost:9000";
+    private static final String OBJECT_NAME = "123e4567-e89b-12d3-a456-426614174000.png";
+
+    @BeforeEach
+    void setUp() {
+        fileUtil = new FileUtil(minioClient, mock(MultipartUploader.class));
+        ReflectionTestUtils.setField(fileUtil, "multipartThresholdMb", 8L);
+        ReflectionTestUtils.setField(fileUtil, "bucket", TEST_BUCKET);
+        ReflectionTestUtils.setField(fileUtil, "publicUrl", TEST_PUBLIC_URL);
+        ReflectionTestUtils.setField(fileUtil, "uploadTicketTtlMinutes", 10L);
+    }
+
+    @Test
+    @DisplayName("createUploadTicket should pin object name, type and uploader in the form")
+    void createUploadTicket_shouldReturnPresignedForm() throws Exception {
+        when(minioClient.getPresignedPostFormData(any(PostPolicy.class)))
+                .thenReturn(Map.of("policy", "p", "x-amz-signature", "s"));
+
+        UploadTicketDto ticket = fileUtil.createUploadTicket(
+                FileUtil.KIND_IMAGE, "photo.jpg", "image/jpeg", 1024, 7L);
+
+        assertTrue(ticket.getObjectName().endsWith(".jpg"));
+        assertEquals(TEST_PUBLIC_URL + "/" + TEST_BUCKET, ticket.getUrl());
+        assertEquals(ticket.getObjectName(), ticket.getFields().get("key"));
+        assertEquals("image/jpeg", ticket.getFields().get("Content-Type"));
+        assertEquals("7", ticket.getFields().get("x-amz-meta-uploader"));
+        assertEquals("s", ticket.getFields().get("x-amz-signature"));
+    }
+
+    @Test
+    @DisplayName("createUploadTicket should reject disallowed types before presigning")
+    void createUploadTicket_shouldRejectInvalidType() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> fileUtil.createUploadTicket(
+                FileUtil.KIND_IMAGE, "script.js", "application/javascript", 10, 7L));
+        assertThrows(IllegalArgumentException.class, () -> fileUtil.createUploadTicket(
+                FileUtil.KIND_ATTACHMENT, "big.pdf", "application/pdf", 6 * 1024 * 1024, 7L));
+        verify(minioClient, never()).getPresignedPostFormData(any(PostPolicy.class));
+    }
+
+    @Test
+    @DisplayName("confirmUpload should accept a valid object uploaded by the caller")
+    void confirmUpload_shouldAcceptValidObject() throws Exception {
+        StatObjectResponse stat = stat("image/png", 2048, "7");
+        when(minioClient.statObject(any(StatObjectArgs.class))).thenReturn(stat);
+
+        assertEquals(stat, fileUtil.confirmUpload(FileUtil.KIND_IMAGE, OBJECT_NAME, 7L));
+        verify(minioClient, never()).removeObject(any(RemoveObjectArgs.class));
+    }
+
+    @Test
+    @DisplayName("confirmUpload should remove objects that fail validation")
+    void confirmUpload_shouldRemoveInvalidObject() throws Exception {
+        StatObjectResponse stat = stat("text/html", 2048, "7");
+        when(minioClient.statObject(any(StatObjectArgs.class))).thenReturn(stat);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> fileUtil.confirmUpload(FileUtil.KIND_IMAGE, OBJECT_NAME, 7L));
+        verify(minioClient).removeObject(any(RemoveObjectArgs.class));
+    }
+
+    @Test
+    @DisplayName("confirmUpload should not touch objects uploaded by someone else")
+    void confirmUpload_shouldRejectOtherUploader() throws Exception {
+        StatObjectResponse stat = stat("image/png", 2048, "8");
+        when(minioClient.statObject(any(StatObjectArgs.class))).thenReturn(stat);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> fileUtil.confirmUpload(FileUtil.KIND_IMAGE, OBJECT_NAME, 7L));
+        assertThrows(IllegalArgumentException.class,
+                () -> fileUtil.confirmUpload(FileUtil.KIND_IMAGE, "../other/object.png", 7L));
+        verify(minioClient, never()).removeObject(any(RemoveObjectArgs.class));
+    }
+
+    private static StatObjectResponse stat(String contentType, long size, String uploader) {
+        StatObjectResponse stat = mock(StatObjectResponse.class);
+        when(stat.userMetadata()).thenReturn(Map.of("uploader", uploader));
+        lenient().when(stat.contentType()).thenReturn(contentType);
+        lenient().when(stat.size()).thenReturn(size);
+        return stat;
+    }
+}
@@ -0,0 +1,88 @@
+package com.synapse.util;
+
+import io.minio.MinioAsyncClient;
+import io.minio.messages.Part;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Throughput of {@link MultipartUploader} at different parallelism levels against a stand-in MinIO
+ * whose connections are latency- and bandwidth-bound, like a remote object store.
+ *
+ * Not part of the regular suite (the class name does not match the Surefire includes); run with
+ * {@code mvn test -Dtest=MultipartUploaderBenchmark}.
+ */
+class MultipartUploaderBenchmark {
+
+    private static final int MB = 1024 * 1024;
+    private static final int OBJECT_MB = 64;
+    private static final long ROUND_TRIP_MS = 20;
+    private static final double CONNECTION_MB_PER_SECOND = 25;
+
+    @Test
+    void uploadThroughput() throws Exception {
+        byte[] content = new byte[OBJECT_MB * MB];
+        new Random(1).nextBytes(content);
+        ExecutorService workers = Executors.newFixedThreadPool(16);
+        try {
+            for (int parallelism : new int[] {1, 2, 4, 8}) {
+                MultipartUploader uploader = new MultipartUploader(new StandInMinio(), workers);
+                ReflectionTestUtils.setField(uploader, "bucket", "bench");
+                ReflectionTestUtils.setField(uploader, "partSizeMb", 8L);
+                ReflectionTestUtils.setField(uploader, "parallelism", parallelism);
+                ReflectionTestUtils.setField(uploader, "maxAttempts", 1);
+
+                long started = System.nanoTime();
+                uploader.upload("bench.bin", "application/octet-stream", content.length,
+                        new ByteArrayResource(content));
+                double seconds = (System.nanoTime() - started) / 1e9;
+                System.out.printf("parallelism=%d: %d MB in %.2fs (%.1f MB/s)%n",
+                        parallelism, OBJECT_MB, seconds, OBJECT_MB / seconds);
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /** Accepts parts after a delay proportional to their size and answers with their MD5. */
+    private static final class StandInMinio extends MinioMultipartClient {
+
+        StandInMinio() {
+            super(MinioAsyncClient.builder().endpoint("http://localhost:9000").build());
+        }
+
+        @Override
+        public String createUpload(String bucket, String objectName, String contentType) throws Exception {
+            Thread.sleep(ROUND_TRIP_MS);
+            return "bench-upload";
+        }
+
+        @Override
+        public String uploadPart(String bucket, String objectName, String uploadId, int partNumber,
+                                 byte[] data, int length) throws Exception {
+            Thread.sleep(ROUND_TRIP_MS + (long) (length / (CONNECTION_MB_PER_SECOND * MB) * 1000));
+            return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(data));
+        }
+
+        @Override
+        public List<Part> listUploadedParts(String bucket, String objectName, String uploadId) {
+            return List.of();
+        }
+
+        @Override
+        public void complete(String bucket, String objectName, String uploadId, Part[] parts) throws Exception {
+            Thread.sleep(ROUND_TRIP_MS);
+        }
+
+        @Override
+        public void abort(String bucket, String objectName, String uploadId) {
+        }
+    }
+}
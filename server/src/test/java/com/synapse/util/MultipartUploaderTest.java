@@ -0,0 +1,129 @@
+package com.synapse.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.minio.messages.Part;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("MultipartUploader Tests")
+class MultipartUploaderTest {
+
+    private static final int MB = 1024 * 1024;
+    private static final String OBJECT = "big.zip";
+
+    private final MinioMultipartClient client = mock(MinioMultipartClient.class);
+    private final List<Integer> sent = Collections.synchronizedList(new ArrayList<>());
+    private final byte[] content = new byte[12 * MB];
+    private MultipartUploader uploader;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        new Random(42).nextBytes(content);
+        uploader = new MultipartUploader(client, Runnable::run);
+        ReflectionTestUtils.setField(uploader, "bucket", "test-bucket");
+        ReflectionTestUtils.setField(uploader, "partSizeMb", 5L);
+        ReflectionTestUtils.setField(uploader, "parallelism", 2);
+        ReflectionTestUtils.setField(uploader, "maxAttempts", 2);
+        when(client.createUpload("test-bucket", OBJECT, "application/zip")).thenReturn("upload-1");
+    }
+
+    /** Stand-in for the server: answers each part with the MD5 of what it received. */
+    private void acceptParts() throws Exception {
+        when(client.uploadPart(eq("test-bucket"), eq(OBJECT), eq("upload-1"), anyInt(), any(), anyInt()))
+                .thenAnswer(invocation -> {
+                    sent.add(invocation.getArgument(3));
+                    byte[] data = invocation.getArgument(4);
+                    return "\"" + md5(data) + "\"";
+                });
+    }
+
+    private static String md5(byte[] data) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(data));
+    }
+
+    private String md5OfPart(int partNumber) throws Exception {
+        int from = (partNumber - 1) * 5 * MB;
+        int to = Math.min(content.length, from + 5 * MB);
+        return md5(Arrays.copyOfRange(content, from, to));
+    }
+
+    @Test
+    @DisplayName("upload should split the stream into parts and complete them in order")
+    void upload_shouldSendAllPartsAndComplete() throws Exception {
+        acceptParts();
+
+        String uploadId = uploader.upload(OBJECT, "application/zip", content.length, new ByteArrayResource(content));
+
+        assertEquals("upload-1", uploadId);
+        assertEquals(3, sent.size());
+        ArgumentCaptor<Part[]> parts = ArgumentCaptor.forClass(Part[].class);
+        verify(client).complete(eq("test-bucket"), eq(OBJECT), eq("upload-1"), parts.capture());
+        assertArrayEquals(new int[] {1, 2, 3},
+                Arrays.stream(parts.getValue()).mapToInt(Part::partNumber).toArray());
+        assertEquals(md5OfPart(3), parts.getValue()[2].etag());
+    }
+
+    @Test
+    @DisplayName("a failed attempt should resume and resend only parts the server is missing")
+    void upload_shouldResumeMissingParts() throws Exception {
+        when(client.uploadPart(eq("test-bucket"), eq(OBJECT), eq("upload-1"), anyInt(), any(), anyInt()))
+                .thenAnswer(invocation -> {
+                    int partNumber = invocation.getArgument(3);
+                    sent.add(partNumber);
+                    if (partNumber == 2 && sent.size() == 2) {
+                        throw new IOException("connection reset");
+                    }
+                    return md5(invocation.getArgument(4));
+                });
+        when(client.listUploadedParts("test-bucket", OBJECT, "upload-1"))
+                .thenReturn(List.of(new Part(1, "\"" + md5OfPart(1) + "\"")));
+
+        uploader.upload(OBJECT, "application/zip", content.length, new ByteArrayResource(content));
+
+        assertEquals(List.of(1, 2, 2, 3), sent);
+        verify(client).complete(eq("test-bucket"), eq(OBJECT), eq("upload-1"), any());
+        verify(client, never()).abort(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("a part whose ETag does not match its checksum should fail and abort the upload")
+    void upload_shouldAbortOnChecksumMismatch() throws Exception {
+        when(client.uploadPart(eq("test-bucket"), eq(OBJECT), eq("upload-1"), anyInt(), any(), anyInt()))
+                .thenReturn("\"00000000000000000000000000000000\"");
+
+        assertThrows(IllegalStateException.class, () ->
+                uploader.upload(OBJECT, "application/zip", content.length, new ByteArrayResource(content)));
+
+        verify(client).abort("test-bucket", OBJECT, "upload-1");
+        verify(client, never()).complete(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("partSize should grow to keep huge uploads under 10,000 parts")
+    void partSize_shouldRespectPartLimit() {
+        assertEquals(5 * MB, uploader.partSize(12L * MB));
+        assertEquals(10_737_419, uploader.partSize(100L * 1024 * MB));
+    }
+}
@@ -1,5 +1,6 @@
 package com.synapse.websocket;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
@@ -7,6 +8,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.IOException;
 import java.net.URI;
 import java.util.HashMap;
@@ -25,6 +27,7 @@ import org.springframework.web.socket.WebSocketSession;
 @DisplayName("NotificationWebSocketHandler Tests")
 class NotificationWebSocketHandlerTest {
 
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
     private NotificationWebSocketHandler handler;
 
     @Mock
@@ -34,7 +37,7 @@ class NotificationWebSocketHandlerTest {
 
     @BeforeEach
     void setUp() throws IOException {
-        handler = new NotificationWebSocketHandler();
+        handler = new NotificationWebSocketHandler(registry);
         sessionAttributes = new HashMap<>();
 
         lenient().when(session.getAttributes()).thenReturn(sessionAttributes);
@@ -112,6 +115,7 @@ class NotificationWebSocketHandlerTest {
 
         verify(session1).sendMessage(new TextMessage("{\"type\":\"unreadCount\",\"count\":3}"));
         verify(session2).sendMessage(new TextMessage("{\"type\":\"unreadCount\",\"count\":3}"));
+        assertEquals(2, registry.get("synapse.websocket.send").tag("outcome", "success").timer().count());
     }
 
     @Test
@@ -236,7 +240,7 @@ class NotificationWebSocketHandlerTest {
 
         handler.sendToUser(userId, testPayload);
 
-        assertTrue(true, "sendToUser should handle IOException gracefully");
+        assertEquals(1, registry.get("synapse.websocket.send").tag("outcome", "error").timer().count());
     }
 
     @Test
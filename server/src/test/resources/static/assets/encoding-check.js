@@ -0,0 +1,63 @@
+export function encodingCheck(n) {
+  // padding line 0 so the asset is large enough to compress
+  // padding line 1 so the asset is large enough to compress
+  // padding line 2 so the asset is large enough to compress
+  // padding line 3 so the asset is large enough to compress
+  // padding line 4 so the asset is large enough to compress
+  // padding line 5 so the asset is large enough to compress
+  // padding line 6 so the asset is large enough to compress
+  // padding line 7 so the asset is large enough to compress
+  // padding line 8 so the asset is large enough to compress
+  // padding line 9 so the asset is large enough to compress
+  // padding line 10 so the asset is large enough to compress
+  // padding line 11 so the asset is large enough to compress
+  // padding line 12 so the asset is large enough to compress
+  // padding line 13 so the asset is large enough to compress
+  // padding line 14 so the asset is large enough to compress
+  // padding line 15 so the asset is large enough to compress
+  // padding line 16 so the asset is large enough to compress
+  // padding line 17 so the asset is large enough to compress
+  // padding line 18 so the asset is large enough to compress
+  // padding line 19 so the asset is large enough to compress
+  // padding line 20 so the asset is large enough to compress
+  // padding line 21 so the asset is large enough to compress
+  // padding line 22 so the asset is large enough to compress
+  // padding line 23 so the asset is large enough to compress
+  // padding line 24 so the asset is large enough to compress
+  // padding line 25 so the asset is large enough to compress
+  // padding line 26 so the asset is large enough to compress
+  // padding line 27 so the asset is large enough to compress
+  // padding line 28 so the asset is large enough to compress
+  // padding line 29 so the asset is large enough to compress
+  // padding line 30 so the asset is large enough to compress
+  // padding line 31 so the asset is large enough to compress
+  // padding line 32 so the asset is large enough to compress
+  // padding line 33 so the asset is large enough to compress
+  // padding line 34 so the asset is large enough to compress
+  // padding line 35 so the asset is large enough to compress
+  // padding line 36 so the asset is large enough to compress
+  // padding line 37 so the asset is large enough to compress
+  // padding line 38 so the asset is large enough to compress
+  // padding line 39 so the asset is large enough to compress
+  // padding line 40 so the asset is large enough to compress
+  // padding line 41 so the asset is large enough to compress
+  // padding line 42 so the asset is large enough to compress
+  // padding line 43 so the asset is large enough to compress
+  // padding line 44 so the asset is large enough to compress
+  // padding line 45 so the asset is large enough to compress
+  // padding line 46 so the asset is large enough to compress
+  // padding line 47 so the asset is large enough to compress
+  // padding line 48 so the asset is large enough to compress
+  // padding line 49 so the asset is large enough to compress
+  // padding line 50 so the asset is large enough to compress
+  // padding line 51 so the asset is large enough to compress
+  // padding line 52 so the asset is large enough to compress
+  // padding line 53 so the asset is large enough to compress
+  // padding line 54 so the asset is large enough to compress
+  // padding line 55 so the asset is large enough to compress
+  // padding line 56 so the asset is large enough to compress
+  // padding line 57 so the asset is large enough to compress
+  // padding line 58 so the asset is large enough to compress
+  // padding line 59 so the asset is large enough to compress
+  return n * 2
+}